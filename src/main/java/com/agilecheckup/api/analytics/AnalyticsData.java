@@ -0,0 +1,79 @@
+package com.agilecheckup.api.analytics;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Typed view of a DashboardAnalytics analyticsDataJson blob, including the
+ * top and bottom pillar and category ranked while it was parsed.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class AnalyticsData {
+
+  /** Result for a missing, empty or malformed analytics blob. */
+  public static final AnalyticsData EMPTY = new AnalyticsData(Collections.emptyList(), null, null, null, null, null, null, null);
+
+  /** Pillars in document order. */
+  private final List<PillarData> pillars;
+  private final PillarData topPillar;
+  private final PillarData bottomPillar;
+  private final CategoryData topCategory;
+  /** Pillar the top category belongs to. */
+  private final PillarData topCategoryPillar;
+  private final CategoryData bottomCategory;
+  /** Pillar the bottom category belongs to. */
+  private final PillarData bottomCategoryPillar;
+  /** Word cloud, or null when the blob has none or it is empty. */
+  private final WordCloudData wordCloud;
+
+  /**
+   * Score values are primitives, with {@link Double#NaN} marking a value
+   * missing from the blob.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public static final class PillarData {
+    private final String name;
+    private final double percentage;
+    private final double actualScore;
+    private final double potentialScore;
+    private final double gapFromPotential;
+    /** Categories in document order. */
+    private final List<CategoryData> categories;
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static final class CategoryData {
+    private final String name;
+    private final double percentage;
+    private final double actualScore;
+    private final double potentialScore;
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static final class WordCloudData {
+    private final String status;
+    private final int totalResponses;
+    private final List<WordData> words;
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static final class WordData {
+    private final String text;
+    private final int count;
+  }
+
+  /**
+   * @return The value, or the fallback when the value is missing
+   */
+  public static double orDefault(double value, double fallback) {
+    return Double.isNaN(value) ? fallback : value;
+  }
+}
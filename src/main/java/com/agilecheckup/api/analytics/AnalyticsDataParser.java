@@ -0,0 +1,295 @@
+package com.agilecheckup.api.analytics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.agilecheckup.api.analytics.AnalyticsData.CategoryData;
+import com.agilecheckup.api.analytics.AnalyticsData.PillarData;
+import com.agilecheckup.api.analytics.AnalyticsData.WordCloudData;
+import com.agilecheckup.api.analytics.AnalyticsData.WordData;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads an analyticsDataJson blob into {@link AnalyticsData} in a single pass
+ * over the token stream, without building an intermediate Map tree. The top
+ * and bottom pillar and category are ranked as each pillar is completed.
+ *
+ * Expected shape:
+ * <pre>
+ * {"pillars": {"&lt;id&gt;": {"name", "percentage", "actualScore", "potentialScore", "gapFromPotential",
+ *                          "categories": {"&lt;id&gt;": {"name", "percentage", "actualScore", "potentialScore"}}}},
+ *  "wordCloud": {"status", "totalResponses", "words": [{"text", "count"}]}}
+ * </pre>
+ * Unknown fields are skipped and values of an unexpected type are treated as
+ * missing. A malformed blob yields {@link AnalyticsData#EMPTY}.
+ *
+ * Instances are stateless and thread-safe.
+ */
+public final class AnalyticsDataParser {
+
+  private final JsonFactory jsonFactory;
+
+  public AnalyticsDataParser(JsonFactory jsonFactory) {
+    this.jsonFactory = jsonFactory;
+  }
+
+  public AnalyticsData parse(String analyticsDataJson) {
+    if (analyticsDataJson == null || analyticsDataJson.trim().isEmpty()) {
+      return AnalyticsData.EMPTY;
+    }
+
+    try (JsonParser parser = jsonFactory.createParser(analyticsDataJson)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return AnalyticsData.EMPTY;
+      }
+
+      Ranking ranking = new Ranking();
+      List<PillarData> pillars = Collections.emptyList();
+      WordCloudData wordCloud = null;
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if ("pillars".equals(field) && value == JsonToken.START_OBJECT) {
+          pillars = readPillars(parser, ranking);
+        }
+        else if ("wordCloud".equals(field) && value == JsonToken.START_OBJECT) {
+          wordCloud = readWordCloud(parser);
+        }
+        else {
+          parser.skipChildren();
+        }
+      }
+
+      return new AnalyticsData(pillars, ranking.topPillar, ranking.bottomPillar, ranking.topCategory, ranking.topCategoryPillar, ranking.bottomCategory, ranking.bottomCategoryPillar, wordCloud);
+    }
+    catch (IOException e) {
+      return AnalyticsData.EMPTY;
+    }
+  }
+
+  private List<PillarData> readPillars(JsonParser parser, Ranking ranking) throws IOException {
+    List<PillarData> pillars = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        parser.skipChildren();
+        continue;
+      }
+      PillarData pillar = readPillar(parser);
+      pillars.add(pillar);
+      ranking.accept(pillar);
+    }
+    return pillars;
+  }
+
+  private PillarData readPillar(JsonParser parser) throws IOException {
+    String name = null;
+    double percentage = Double.NaN;
+    double actualScore = Double.NaN;
+    double potentialScore = Double.NaN;
+    double gapFromPotential = Double.NaN;
+    List<CategoryData> categories = Collections.emptyList();
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      switch (field) {
+        case "name":
+          name = readText(parser, value);
+          break;
+        case "percentage":
+          percentage = readDouble(parser, value);
+          break;
+        case "actualScore":
+          actualScore = readDouble(parser, value);
+          break;
+        case "potentialScore":
+          potentialScore = readDouble(parser, value);
+          break;
+        case "gapFromPotential":
+          gapFromPotential = readDouble(parser, value);
+          break;
+        case "categories":
+          if (value == JsonToken.START_OBJECT) {
+            categories = readCategories(parser);
+          }
+          else {
+            parser.skipChildren();
+          }
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    return new PillarData(name, percentage, actualScore, potentialScore, gapFromPotential, categories);
+  }
+
+  private List<CategoryData> readCategories(JsonParser parser) throws IOException {
+    List<CategoryData> categories = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        parser.skipChildren();
+        continue;
+      }
+
+      String name = null;
+      double percentage = Double.NaN;
+      double actualScore = Double.NaN;
+      double potentialScore = Double.NaN;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        switch (field) {
+          case "name":
+            name = readText(parser, value);
+            break;
+          case "percentage":
+            percentage = readDouble(parser, value);
+            break;
+          case "actualScore":
+            actualScore = readDouble(parser, value);
+            break;
+          case "potentialScore":
+            potentialScore = readDouble(parser, value);
+            break;
+          default:
+            parser.skipChildren();
+        }
+      }
+      categories.add(new CategoryData(name, percentage, actualScore, potentialScore));
+    }
+    return categories;
+  }
+
+  /**
+   * Reads the word cloud, or returns null when it has no fields so callers
+   * fall back to their empty word cloud.
+   */
+  private WordCloudData readWordCloud(JsonParser parser) throws IOException {
+    boolean hasFields = false;
+    String status = null;
+    int totalResponses = 0;
+    List<WordData> words = Collections.emptyList();
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      hasFields = true;
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if ("status".equals(field)) {
+        status = readText(parser, value);
+      }
+      else if ("totalResponses".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+        totalResponses = parser.getIntValue();
+      }
+      else if ("words".equals(field) && value == JsonToken.START_ARRAY) {
+        words = readWords(parser);
+      }
+      else {
+        parser.skipChildren();
+      }
+    }
+    return hasFields ? new WordCloudData(status, totalResponses, words) : null;
+  }
+
+  private List<WordData> readWords(JsonParser parser) throws IOException {
+    List<WordData> words = new ArrayList<>();
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+      if (token != JsonToken.START_OBJECT) {
+        parser.skipChildren();
+        continue;
+      }
+
+      String text = null;
+      Integer count = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if ("text".equals(field)) {
+          text = readText(parser, value);
+        }
+        else if ("count".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+          count = parser.getIntValue();
+        }
+        else {
+          parser.skipChildren();
+        }
+      }
+      // Words without text or count are dropped
+      if (text != null && count != null) {
+        words.add(new WordData(text, count));
+      }
+    }
+    return words;
+  }
+
+  private static String readText(JsonParser parser, JsonToken value) throws IOException {
+    if (value == JsonToken.VALUE_STRING) {
+      return parser.getText();
+    }
+    parser.skipChildren();
+    return null;
+  }
+
+  private static double readDouble(JsonParser parser, JsonToken value) throws IOException {
+    if (value == JsonToken.VALUE_NUMBER_FLOAT || value == JsonToken.VALUE_NUMBER_INT) {
+      return parser.getDoubleValue();
+    }
+    parser.skipChildren();
+    return Double.NaN;
+  }
+
+  /**
+   * Tracks the highest and lowest pillar and category percentage. Candidates
+   * are compared in document order with strict comparisons, so the first of
+   * equal percentages wins, and the top candidate must be above
+   * Double.MIN_VALUE as the dashboard always ranked it.
+   */
+  private static final class Ranking {
+    private double maxPillarPercentage = Double.MIN_VALUE;
+    private double minPillarPercentage = Double.MAX_VALUE;
+    private double maxCategoryPercentage = Double.MIN_VALUE;
+    private double minCategoryPercentage = Double.MAX_VALUE;
+    private PillarData topPillar;
+    private PillarData bottomPillar;
+    private CategoryData topCategory;
+    private PillarData topCategoryPillar;
+    private CategoryData bottomCategory;
+    private PillarData bottomCategoryPillar;
+
+    private void accept(PillarData pillar) {
+      double percentage = pillar.getPercentage();
+      if (!Double.isNaN(percentage)) {
+        if (percentage > maxPillarPercentage) {
+          maxPillarPercentage = percentage;
+          topPillar = pillar;
+        }
+        if (percentage < minPillarPercentage) {
+          minPillarPercentage = percentage;
+          bottomPillar = pillar;
+        }
+      }
+
+      for (CategoryData category : pillar.getCategories()) {
+        double categoryPercentage = category.getPercentage();
+        if (Double.isNaN(categoryPercentage)) {
+          continue;
+        }
+        if (categoryPercentage > maxCategoryPercentage) {
+          maxCategoryPercentage = categoryPercentage;
+          topCategory = category;
+          topCategoryPillar = pillar;
+        }
+        if (categoryPercentage < minCategoryPercentage) {
+          minCategoryPercentage = categoryPercentage;
+          bottomCategory = category;
+          bottomCategoryPillar = pillar;
+        }
+      }
+    }
+  }
+}
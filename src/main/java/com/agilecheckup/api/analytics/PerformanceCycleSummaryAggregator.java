@@ -0,0 +1,136 @@
+package com.agilecheckup.api.analytics;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.agilecheckup.gate.dto.PerformanceCycleSummaryResponse;
+import com.agilecheckup.gate.dto.PerformanceCycleSummaryResponse.PerformanceCycleCard;
+import com.agilecheckup.persistency.entity.AssessmentMatrix;
+import com.agilecheckup.persistency.entity.Company;
+import com.agilecheckup.persistency.entity.DashboardAnalytics;
+import com.agilecheckup.persistency.entity.PerformanceCycle;
+import com.agilecheckup.service.AssessmentMatrixService;
+import com.agilecheckup.service.CompanyService;
+import com.agilecheckup.service.DashboardAnalyticsService;
+import com.agilecheckup.service.PerformanceCycleService;
+
+/**
+ * Builds the performance cycle summary of a company: every cycle with its
+ * assessment matrices and their overview analytics rolled up into one card.
+ *
+ * The company, its cycles and its matrices are loaded concurrently, then the
+ * overview analytics of all matrices are fetched concurrently, so the cost is
+ * two round trips rather than one lookup per matrix.
+ */
+public class PerformanceCycleSummaryAggregator {
+
+  private final PerformanceCycleService performanceCycleService;
+  private final AssessmentMatrixService assessmentMatrixService;
+  private final DashboardAnalyticsService dashboardAnalyticsService;
+  private final CompanyService companyService;
+  private final Executor executor;
+
+  public PerformanceCycleSummaryAggregator(PerformanceCycleService performanceCycleService, AssessmentMatrixService assessmentMatrixService, DashboardAnalyticsService dashboardAnalyticsService, CompanyService companyService, Executor executor) {
+    this.performanceCycleService = performanceCycleService;
+    this.assessmentMatrixService = assessmentMatrixService;
+    this.dashboardAnalyticsService = dashboardAnalyticsService;
+    this.companyService = companyService;
+    this.executor = executor;
+  }
+
+  /**
+   * @param companyId The company (tenant) to summarize
+   * @return The summary, with cycles ordered by start date, most recent first
+   */
+  public PerformanceCycleSummaryResponse aggregate(String companyId) {
+    CompletableFuture<Optional<Company>> companyFuture = CompletableFuture.supplyAsync(() -> companyService.findById(companyId), executor);
+    CompletableFuture<List<PerformanceCycle>> cyclesFuture = CompletableFuture.supplyAsync(() -> performanceCycleService.findAllByTenantId(companyId), executor);
+    CompletableFuture<List<AssessmentMatrix>> matricesFuture = CompletableFuture.supplyAsync(() -> assessmentMatrixService.findAllByTenantId(companyId), executor);
+
+    List<AssessmentMatrix> matrices = join(matricesFuture);
+    Map<String, CompletableFuture<Optional<DashboardAnalytics>>> overviewFutures = matrices.stream()
+        .collect(Collectors.toMap(AssessmentMatrix::getId, matrix -> CompletableFuture.supplyAsync(() -> dashboardAnalyticsService.getOverview(matrix.getId()), executor), (first, second) -> first));
+
+    Map<String, List<AssessmentMatrix>> matricesByCycle = matrices.stream().filter(matrix -> matrix.getPerformanceCycleId() != null).collect(Collectors.groupingBy(AssessmentMatrix::getPerformanceCycleId));
+    Map<String, DashboardAnalytics> overviews = overviewFutures.entrySet().stream().map(entry -> join(entry.getValue()).map(overview -> Map.entry(entry.getKey(), overview))).flatMap(Optional::stream)
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+    String companyName = join(companyFuture).map(Company::getName).orElse("N/A");
+    List<PerformanceCycleCard> cards = join(cyclesFuture).stream()
+        .sorted(Comparator.comparing(PerformanceCycle::getStartDate, Comparator.nullsLast(Comparator.reverseOrder())))
+        .map(cycle -> buildCard(cycle, matricesByCycle.getOrDefault(cycle.getId(), List.of()), overviews::get))
+        .collect(Collectors.toList());
+
+    return PerformanceCycleSummaryResponse.builder().companyId(companyId).companyName(companyName).performanceCycles(cards).build();
+  }
+
+  private PerformanceCycleCard buildCard(PerformanceCycle cycle, List<AssessmentMatrix> matrices, Function<String, DashboardAnalytics> overviews) {
+    int totalEmployees = 0;
+    int completed = 0;
+    Instant lastActivity = null;
+    for (AssessmentMatrix matrix : matrices) {
+      DashboardAnalytics overview = overviews.apply(matrix.getId());
+      if (overview == null) {
+        continue;
+      }
+      int employees = orZero(overview.getEmployeeCount()).intValue();
+      totalEmployees += employees;
+      completed += (int) Math.round(employees * orZero(overview.getCompletionPercentage()).doubleValue() / 100.0);
+      Instant updated = overview.getLastUpdated();
+      if (updated != null && (lastActivity == null || updated.isAfter(lastActivity))) {
+        lastActivity = updated;
+      }
+    }
+
+    Double completionPercentage = totalEmployees > 0 ? completed * 100.0 / totalEmployees : 0.0;
+    return PerformanceCycleCard.builder().id(cycle.getId()).name(cycle.getName()).description(cycle.getDescription()).status(resolveStatus(cycle, LocalDate.now())).startDate(toStringOrNull(cycle.getStartDate())).endDate(toStringOrNull(cycle.getEndDate())).createdDate(toStringOrNull(cycle.getCreatedDate())).lastActivityDate(toStringOrNull(lastActivity)).assessmentMatrixCount(matrices.size()).totalEmployeeAssessments(totalEmployees).completedAssessments(completed).completionPercentage(completionPercentage).build();
+  }
+
+  /**
+   * ACTIVE, UPCOMING, COMPLETED (deactivated) or EXPIRED (past its end date)
+   */
+  static String resolveStatus(PerformanceCycle cycle, LocalDate today) {
+    if (Boolean.FALSE.equals(cycle.getIsActive())) {
+      return "COMPLETED";
+    }
+    if (cycle.getStartDate() != null && cycle.getStartDate().isAfter(today)) {
+      return "UPCOMING";
+    }
+    if (cycle.getEndDate() != null && cycle.getEndDate().isBefore(today)) {
+      return "EXPIRED";
+    }
+    return "ACTIVE";
+  }
+
+  private static Number orZero(Number value) {
+    return value != null ? value : 0;
+  }
+
+  private static String toStringOrNull(Object value) {
+    return value != null ? value.toString() : null;
+  }
+
+  /**
+   * Waits for a lookup, rethrowing its own failure rather than the CompletionException wrapper.
+   */
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    }
+    catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.agilecheckup.api.dashboard;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.agilecheckup.gate.cache.SizeEstimated;
+import com.agilecheckup.gate.dto.TeamSummary;
+import com.agilecheckup.service.dto.EmployeeAssessmentSummary;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Unpaginated assessment matrix dashboard, loaded once per matrix and tenant
+ * and cached so every page and page size is sliced from the same load.
+ *
+ * Team summaries are converted once, as every page shows them. Employee
+ * summaries are kept as loaded and only the requested page is converted.
+ * Filtered or sorted queries go through an employee index built on first use.
+ */
+@Getter
+public final class DashboardDataset implements SizeEstimated {
+
+  // Rough retained sizes: a summary with its strings and nested scores, and the index entries built per employee
+  private static final long BASE_BYTES = 256;
+  private static final long TEAM_SUMMARY_BYTES = 512;
+  private static final long EMPLOYEE_SUMMARY_BYTES = 640;
+  private static final long EMPLOYEE_INDEX_BYTES = 160;
+
+
+  private final String matrixId;
+  private final String matrixName;
+  private final Object potentialScore;
+  private final List<TeamSummary> teamSummaries;
+  private final List<EmployeeAssessmentSummary> employeeSummaries;
+  private final int totalEmployees;
+  private final int completedAssessments;
+  @Getter(AccessLevel.NONE)
+  private volatile DashboardEmployeeIndex employeeIndex;
+
+  public DashboardDataset(String matrixId, String matrixName, Object potentialScore, List<TeamSummary> teamSummaries, List<EmployeeAssessmentSummary> employeeSummaries, int totalEmployees, int completedAssessments) {
+    this.matrixId = matrixId;
+    this.matrixName = matrixName;
+    this.potentialScore = potentialScore;
+    this.teamSummaries = teamSummaries;
+    this.employeeSummaries = employeeSummaries != null ? employeeSummaries : Collections.emptyList();
+    this.totalEmployees = totalEmployees;
+    this.completedAssessments = completedAssessments;
+  }
+
+  /**
+   * Counts the employee index as built, since it may be built while the dataset is cached.
+   */
+  @Override
+  public long estimatedBytes() {
+    int teams = teamSummaries != null ? teamSummaries.size() : 0;
+    return BASE_BYTES + teams * TEAM_SUMMARY_BYTES + employeeSummaries.size() * (EMPLOYEE_SUMMARY_BYTES + EMPLOYEE_INDEX_BYTES);
+  }
+
+  /**
+   * @param query    Filters, search and sort to apply
+   * @param page     1-based page number
+   * @param pageSize Employees per page
+   * @return The matching employees on the page and the number of matching employees
+   */
+  public DashboardEmployeeIndex.Page query(DashboardEmployeeQuery query, int page, int pageSize) {
+    if (query.isUnrestricted()) {
+      return new DashboardEmployeeIndex.Page(employeePage(page, pageSize), employeeSummaries.size());
+    }
+    return employeeIndex().query(query, page, pageSize);
+  }
+
+  private DashboardEmployeeIndex employeeIndex() {
+    DashboardEmployeeIndex index = employeeIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = employeeIndex;
+        if (index == null) {
+          index = new DashboardEmployeeIndex(employeeSummaries);
+          employeeIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * @param page     1-based page number
+   * @param pageSize Employees per page
+   * @return A view of the employees on the page, empty past the last page
+   */
+  public List<EmployeeAssessmentSummary> employeePage(int page, int pageSize) {
+    int totalCount = employeeSummaries.size();
+    long startIndex = (long) (page - 1) * pageSize;
+    if (startIndex >= totalCount) {
+      return Collections.emptyList();
+    }
+    return employeeSummaries.subList((int) startIndex, (int) Math.min(startIndex + pageSize, totalCount));
+  }
+}
@@ -0,0 +1,300 @@
+package com.agilecheckup.api.dashboard;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import com.agilecheckup.api.dashboard.DashboardEmployeeQuery.SortField;
+import com.agilecheckup.service.dto.EmployeeAssessmentSummary;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory indexes over the employees of one dashboard dataset, built once
+ * and shared by every query against that dataset.
+ *
+ * Each sort field has a precomputed ordering, so an unfiltered sorted page
+ * costs O(page). Filters resolve to index ranges or posting lists (score
+ * range and name/email prefix by binary search, team and status by lookup);
+ * the smallest candidate set is checked against the remaining filters and
+ * ordered by precomputed rank, so a filtered page costs O(log n + k log k)
+ * for k matching employees rather than a scan of the whole list.
+ */
+public final class DashboardEmployeeIndex {
+
+  private static final int[] NONE = new int[0];
+
+  private final List<EmployeeAssessmentSummary> employees;
+  private final Map<String, int[]> positionsByTeam;
+  private final Map<String, int[]> positionsByStatus;
+  private final Map<SortField, Ordering> orderings = new EnumMap<>(SortField.class);
+  private final double[] sortedScores;
+  private final PrefixIndex names;
+  private final PrefixIndex emails;
+
+  public DashboardEmployeeIndex(List<EmployeeAssessmentSummary> employees) {
+    this.employees = employees;
+    this.positionsByTeam = postings(EmployeeAssessmentSummary::getTeamId);
+    this.positionsByStatus = postings(DashboardEmployeeIndex::statusKey);
+
+    orderings.put(SortField.NAME, new Ordering(Comparator.comparing(DashboardEmployeeIndex::nameKey, Comparator.nullsLast(Comparator.naturalOrder())), summary -> nameKey(summary) == null));
+    orderings.put(SortField.SCORE, new Ordering(Comparator.comparing(EmployeeAssessmentSummary::getCurrentScore, Comparator.nullsLast(Comparator.naturalOrder())), summary -> summary.getCurrentScore() == null));
+    orderings.put(SortField.LAST_ACTIVITY_DATE, new Ordering(Comparator.comparing(EmployeeAssessmentSummary::getLastActivityDate, Comparator.nullsLast(Comparator.<LocalDateTime> naturalOrder())), summary -> summary.getLastActivityDate() == null));
+
+    Ordering byScore = orderings.get(SortField.SCORE);
+    this.sortedScores = new double[byScore.nonNullCount];
+    for (int i = 0; i < sortedScores.length; i++) {
+      sortedScores[i] = employees.get(byScore.order[i]).getCurrentScore();
+    }
+
+    this.names = new PrefixIndex(DashboardEmployeeIndex::nameKey);
+    this.emails = new PrefixIndex(DashboardEmployeeIndex::emailKey);
+  }
+
+  /**
+   * Runs a query and returns one page of the matching employees.
+   *
+   * @param query    Filters, search and sort to apply
+   * @param page     1-based page number
+   * @param pageSize Employees per page
+   * @return The employees on the page and the number of matching employees
+   */
+  public Page query(DashboardEmployeeQuery query, int page, int pageSize) {
+    long start = (long) (page - 1) * pageSize;
+    Ordering ordering = query.getSort() != null ? orderings.get(query.getSort()) : null;
+
+    if (!query.isFiltered()) {
+      int total = employees.size();
+      List<EmployeeAssessmentSummary> content = new ArrayList<>();
+      for (long i = start; i < total && i < start + pageSize; i++) {
+        int position = ordering != null ? ordering.positionAt((int) i, query.isDescending()) : (int) i;
+        content.add(employees.get(position));
+      }
+      return new Page(content, total);
+    }
+
+    int[] matches = matches(query);
+    if (ordering != null) {
+      // Sort by rank in the requested order, then map ranks back to positions
+      int[] ranks = new int[matches.length];
+      for (int i = 0; i < matches.length; i++) {
+        ranks[i] = ordering.rankOf(matches[i], query.isDescending());
+      }
+      Arrays.sort(ranks);
+      for (int i = 0; i < ranks.length; i++) {
+        matches[i] = ordering.positionAt(ranks[i], query.isDescending());
+      }
+    }
+    else {
+      Arrays.sort(matches);
+    }
+
+    List<EmployeeAssessmentSummary> content = new ArrayList<>();
+    for (long i = start; i < matches.length && i < start + pageSize; i++) {
+      content.add(employees.get(matches[(int) i]));
+    }
+    return new Page(content, matches.length);
+  }
+
+  /**
+   * Resolves the smallest index-backed candidate set and keeps the candidates matching every filter.
+   */
+  private int[] matches(DashboardEmployeeQuery query) {
+    List<int[]> candidateSets = new ArrayList<>(4);
+    if (query.getTeamId() != null) {
+      candidateSets.add(positionsByTeam.getOrDefault(query.getTeamId(), NONE));
+    }
+    if (query.getStatus() != null) {
+      candidateSets.add(positionsByStatus.getOrDefault(query.getStatus().toUpperCase(Locale.ROOT), NONE));
+    }
+    if (query.getMinScore() != null || query.getMaxScore() != null) {
+      candidateSets.add(scoreRange(query.getMinScore(), query.getMaxScore()));
+    }
+    String prefix = query.getSearch() != null ? query.getSearch().toLowerCase(Locale.ROOT) : null;
+    if (prefix != null) {
+      candidateSets.add(union(names.range(prefix), emails.range(prefix)));
+    }
+
+    int[] smallest = Collections.min(candidateSets, Comparator.comparingInt(set -> set.length));
+    return Arrays.stream(smallest).filter(position -> matches(employees.get(position), query, prefix)).toArray();
+  }
+
+  private static boolean matches(EmployeeAssessmentSummary summary, DashboardEmployeeQuery query, String prefix) {
+    if (query.getTeamId() != null && !query.getTeamId().equals(summary.getTeamId())) {
+      return false;
+    }
+    if (query.getStatus() != null && !query.getStatus().equalsIgnoreCase(statusKey(summary))) {
+      return false;
+    }
+    Double score = summary.getCurrentScore();
+    if ((query.getMinScore() != null || query.getMaxScore() != null) && (score == null || (query.getMinScore() != null && score < query.getMinScore()) || (query.getMaxScore() != null && score > query.getMaxScore()))) {
+      return false;
+    }
+    if (prefix != null) {
+      String name = nameKey(summary);
+      String email = emailKey(summary);
+      return (name != null && name.startsWith(prefix)) || (email != null && email.startsWith(prefix));
+    }
+    return true;
+  }
+
+  /**
+   * Positions of the employees scoring within [minScore, maxScore]; employees without a score never match.
+   */
+  private int[] scoreRange(Double minScore, Double maxScore) {
+    int from = minScore != null ? lowerBound(sortedScores, minScore) : 0;
+    int to = maxScore != null ? upperBound(sortedScores, maxScore) : sortedScores.length;
+    return from < to ? Arrays.copyOfRange(orderings.get(SortField.SCORE).order, from, to) : NONE;
+  }
+
+  private Map<String, int[]> postings(Function<EmployeeAssessmentSummary, String> key) {
+    Map<String, List<Integer>> lists = new HashMap<>();
+    for (int i = 0; i < employees.size(); i++) {
+      String value = key.apply(employees.get(i));
+      if (value != null) {
+        lists.computeIfAbsent(value, ignored -> new ArrayList<>()).add(i);
+      }
+    }
+    Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+    lists.forEach((value, positions) -> postings.put(value, positions.stream().mapToInt(Integer::intValue).toArray()));
+    return postings;
+  }
+
+  private static int[] union(int[] first, int[] second) {
+    return IntStream.concat(Arrays.stream(first), Arrays.stream(second)).distinct().toArray();
+  }
+
+  private static int lowerBound(double[] values, double key) {
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (values[mid] < key) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static int upperBound(double[] values, double key) {
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (values[mid] <= key) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static String nameKey(EmployeeAssessmentSummary summary) {
+    return summary.getEmployeeName() != null ? summary.getEmployeeName().toLowerCase(Locale.ROOT) : null;
+  }
+
+  private static String emailKey(EmployeeAssessmentSummary summary) {
+    return summary.getEmployeeEmail() != null ? summary.getEmployeeEmail().toLowerCase(Locale.ROOT) : null;
+  }
+
+  private static String statusKey(EmployeeAssessmentSummary summary) {
+    return summary.getAssessmentStatus() != null ? summary.getAssessmentStatus().toString().toUpperCase(Locale.ROOT) : null;
+  }
+
+  /**
+   * One page of query results.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  public static final class Page {
+    private final List<EmployeeAssessmentSummary> content;
+    private final int totalCount;
+  }
+
+  /**
+   * Ascending order of the employees by one field, nulls last, with the rank
+   * of every employee in that order. Descending order reverses the non-null
+   * part only, so employees missing the field stay last either way.
+   */
+  private final class Ordering {
+    private final int[] order;
+    private final int[] rank;
+    private final int nonNullCount;
+
+    private Ordering(Comparator<EmployeeAssessmentSummary> comparator, Predicate<EmployeeAssessmentSummary> isNull) {
+      this.order = IntStream.range(0, employees.size()).boxed().sorted((a, b) -> comparator.compare(employees.get(a), employees.get(b))).mapToInt(Integer::intValue).toArray();
+      this.rank = new int[order.length];
+      int nonNull = 0;
+      for (int i = 0; i < order.length; i++) {
+        rank[order[i]] = i;
+        if (!isNull.test(employees.get(order[i]))) {
+          nonNull++;
+        }
+      }
+      this.nonNullCount = nonNull;
+    }
+
+    private int positionAt(int index, boolean descending) {
+      return descending && index < nonNullCount ? order[nonNullCount - 1 - index] : order[index];
+    }
+
+    private int rankOf(int position, boolean descending) {
+      int ascending = rank[position];
+      return descending && ascending < nonNullCount ? nonNullCount - 1 - ascending : ascending;
+    }
+  }
+
+  /**
+   * Lower-cased keys in sorted order, so every key starting with a prefix sits in one contiguous range.
+   */
+  private final class PrefixIndex {
+    private final String[] keys;
+    private final int[] positions;
+
+    private PrefixIndex(Function<EmployeeAssessmentSummary, String> key) {
+      int[] sorted = IntStream.range(0, employees.size()).filter(i -> key.apply(employees.get(i)) != null).boxed().sorted(Comparator.comparing(i -> key.apply(employees.get(i)))).mapToInt(Integer::intValue).toArray();
+      this.positions = sorted;
+      this.keys = new String[sorted.length];
+      for (int i = 0; i < sorted.length; i++) {
+        keys[i] = key.apply(employees.get(sorted[i]));
+      }
+    }
+
+    private int[] range(String prefix) {
+      int from = lowerBound(prefix);
+      int to = lowerBound(prefix + Character.MAX_VALUE);
+      return from < to ? Arrays.copyOfRange(positions, from, to) : NONE;
+    }
+
+    private int lowerBound(String key) {
+      int low = 0;
+      int high = keys.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (keys[mid].compareTo(key) < 0) {
+          low = mid + 1;
+        }
+        else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.agilecheckup.api.dashboard;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Filter, search and sort options for the dashboard employee list. Unset
+ * options do not restrict the result.
+ */
+@Getter
+@Builder
+public final class DashboardEmployeeQuery {
+
+  public enum SortField {
+    NAME, SCORE, LAST_ACTIVITY_DATE
+  }
+
+  private final String teamId;
+  private final String status;
+  private final Double minScore;
+  private final Double maxScore;
+  // Case-insensitive prefix of the employee name or email
+  private final String search;
+  private final SortField sort;
+  private final boolean descending;
+
+  /**
+   * @return true when the query neither filters nor sorts, so the dataset order can be paged directly
+   */
+  public boolean isUnrestricted() {
+    return !isFiltered() && sort == null;
+  }
+
+  /**
+   * @return A string identifying the query, equal for queries returning the same employees in the same order
+   */
+  public String cacheKey() {
+    if (isUnrestricted()) {
+      return "all";
+    }
+    return "team=" + teamId + "|status=" + status + "|min=" + minScore + "|max=" + maxScore + "|search=" + (search != null ? search.toLowerCase() : null) + "|sort=" + sort + "|desc=" + descending;
+  }
+
+  boolean isFiltered() {
+    return teamId != null || status != null || minScore != null || maxScore != null || search != null;
+  }
+}
@@ -1,60 +1,40 @@
 package com.agilecheckup.api.handler;
 
-import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.Map;
 
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-public abstract class AbstractCrudRequestHandler<T> implements RequestHandlerStrategy {
+public abstract class AbstractCrudRequestHandler<T, H extends AbstractCrudRequestHandler<T, H>> implements RoutedRequestHandler<H> {
 
-  protected final ObjectMapper objectMapper;
-  private final Pattern getAllPattern;
-  private final Pattern singleResourcePattern;
+  protected final JsonCodecRegistry json;
 
-  protected AbstractCrudRequestHandler(ObjectMapper objectMapper, String resourcePath) {
-    this.objectMapper = objectMapper;
-    this.getAllPattern = Pattern.compile("^/" + resourcePath + "/?$");
-    this.singleResourcePattern = Pattern.compile("^/" + resourcePath + "/([^/]+)/?$");
+  protected AbstractCrudRequestHandler(JsonCodecRegistry json) {
+    this.json = json;
+  }
+
+  /**
+   * Builds the standard CRUD routes for a resource. Subclasses add their custom
+   * endpoints to the returned trie and expose it through {@link #routes()}.
+   */
+  protected static <H extends AbstractCrudRequestHandler<?, H>> RouteTrie<RouteAction<H>> crudRoutes(String resourcePath) {
+    String collection = "/" + resourcePath;
+    String single = collection + "/{id}";
+    return new RouteTrie<RouteAction<H>>()
+        .add("GET", collection, (handler, input, context, params) -> handler.handleGetAll(input))
+        .add("GET", single, (handler, input, context, params) -> handler.handleGetById(params.get("id")))
+        .add("POST", collection, (handler, input, context, params) -> handler.handleCreate(input.getBody(), context))
+        .add("PUT", single, (handler, input, context, params) -> handler.handleUpdate(params.get("id"), input.getBody(), context))
+        .add("DELETE", single, (handler, input, context, params) -> handler.handleDelete(params.get("id")));
   }
 
   @Override
-  public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
+  public APIGatewayProxyResponseEvent handleRoute(RouteAction<H> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context) {
     try {
-      String path = input.getPath();
-      String method = input.getHttpMethod();
-
-      // Check for custom endpoints first
-      Optional<APIGatewayProxyResponseEvent> customResponse = handleCustomEndpoint(method, path, input, context);
-      if (customResponse.isPresent()) {
-        return customResponse.get();
-      }
-
-      // Standard CRUD operations
-      if (method.equals("GET") && getAllPattern.matcher(path).matches()) {
-        return handleGetAll(input);
-      }
-      else if (method.equals("GET") && singleResourcePattern.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleGetById(id);
-      }
-      else if (method.equals("POST") && getAllPattern.matcher(path).matches()) {
-        return handleCreate(input.getBody(), context);
-      }
-      else if (method.equals("PUT") && singleResourcePattern.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleUpdate(id, input.getBody(), context);
-      }
-      else if (method.equals("DELETE") && singleResourcePattern.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleDelete(id);
-      }
-      else {
-        return ResponseBuilder.buildResponse(405, "Method Not Allowed");
-      }
-
+      return action.handle(self(), input, context, pathParameters);
     }
     catch (IllegalArgumentException e) {
       System.err.println("[ERROR] IllegalArgumentException in " + getResourceName() + " endpoint: " + e.getMessage());
@@ -70,6 +50,11 @@ public abstract class AbstractCrudRequestHandler<T> implements RequestHandlerStr
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private H self() {
+    return (H) this;
+  }
+
   // Abstract methods for CRUD operations
   protected abstract APIGatewayProxyResponseEvent handleGetAll(APIGatewayProxyRequestEvent input) throws Exception;
 
@@ -81,19 +66,9 @@ public abstract class AbstractCrudRequestHandler<T> implements RequestHandlerStr
 
   protected abstract APIGatewayProxyResponseEvent handleDelete(String id) throws Exception;
 
-  // Hook for custom endpoints - default returns empty
-  protected Optional<APIGatewayProxyResponseEvent> handleCustomEndpoint(String method, String path, APIGatewayProxyRequestEvent input, Context context) throws Exception {
-    return Optional.empty();
-  }
-
   // Helper method for resource name (for error messages)
   protected abstract String getResourceName();
 
-  // Common utility methods
-  protected String extractIdFromPath(String path) {
-    return path.substring(path.lastIndexOf("/") + 1);
-  }
-
   // Common response helpers
   protected APIGatewayProxyResponseEvent buildNotFoundResponse() {
     return ResponseBuilder.buildResponse(404, getResourceName() + " not found");
@@ -3,83 +3,57 @@ package com.agilecheckup.api.handler;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.cache.CacheTags;
 import com.agilecheckup.persistency.entity.question.Answer;
 import com.agilecheckup.service.AnswerService;
 import com.agilecheckup.service.AssessmentNavigationService;
+import com.agilecheckup.service.EmployeeAssessmentService;
 import com.agilecheckup.util.DateTimeUtil;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-public class AnswerRequestHandler implements RequestHandlerStrategy {
+public class AnswerRequestHandler implements RoutedRequestHandler<AnswerRequestHandler> {
 
-  // Regex patterns for path matching
-  private static final Pattern GET_ALL_PATTERN = Pattern.compile("^/answers/?$");
-  private static final Pattern SINGLE_RESOURCE_PATTERN = Pattern.compile("^/answers/([^/]+)/?$");
-  private static final Pattern GET_BY_EMPLOYEE_ASSESSMENT_PATTERN = Pattern.compile("^/answers/employeeassessment/([^/]+)/?$");
-  private static final Pattern SAVE_AND_NEXT_PATTERN = Pattern.compile("^/answers/save-and-next/?$");
+  static final RouteTrie<RouteAction<AnswerRequestHandler>> ROUTES = new RouteTrie<RouteAction<AnswerRequestHandler>>()
+      .add("POST", "/answers/save-and-next", (handler, input, context, params) -> handler.handleSaveAndGetNext(input.getBody()))
+      .add("GET", "/answers/save-and-next", (handler, input, context, params) -> ResponseBuilder.buildResponse(405, "Method Not Allowed"))
+      .add("GET", "/answers", (handler, input, context, params) -> handler.handleGetAll(input.getQueryStringParameters()))
+      .add("GET", "/answers/{id}", (handler, input, context, params) -> handler.handleGetById(params.get("id")))
+      .add("GET", "/answers/employeeassessment/{employeeAssessmentId}", (handler, input, context, params) -> handler.handleGetByEmployeeAssessmentId(params.get("employeeAssessmentId"), input.getQueryStringParameters()))
+      .add("POST", "/answers", (handler, input, context, params) -> handler.handleCreate(input.getBody()))
+      .add("PUT", "/answers/{id}", (handler, input, context, params) -> handler.handleUpdate(params.get("id"), input.getBody()))
+      .add("DELETE", "/answers/{id}", (handler, input, context, params) -> handler.handleDelete(params.get("id")));
 
   private final AnswerService answerService;
   private final AssessmentNavigationService assessmentNavigationService;
-  private final ObjectMapper objectMapper;
+  private final EmployeeAssessmentService employeeAssessmentService;
+  private final JsonCodecRegistry json;
+  private final CacheRegions cacheRegions;
 
-  public AnswerRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper) {
+  // Constructor sharing the cache whose dashboard entries answer writes invalidate
+  public AnswerRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json, CacheRegions cacheRegions) {
     this.answerService = serviceComponent.buildAnswerService();
     this.assessmentNavigationService = serviceComponent.buildAssessmentNavigationService();
-    this.objectMapper = objectMapper;
+    this.employeeAssessmentService = serviceComponent.buildEmployeeAssessmentService();
+    this.json = json;
+    this.cacheRegions = cacheRegions;
   }
 
   @Override
-  public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
-    try {
-      String path = input.getPath();
-      String method = input.getHttpMethod();
-
-      // POST /answers/save-and-next (check this first to avoid matching SINGLE_RESOURCE_PATTERN)
-      if (method.equals("POST") && SAVE_AND_NEXT_PATTERN.matcher(path).matches()) {
-        return handleSaveAndGetNext(input.getBody());
-      }
-      // GET /answers/save-and-next (return method not allowed)
-      else if (method.equals("GET") && SAVE_AND_NEXT_PATTERN.matcher(path).matches()) {
-        return ResponseBuilder.buildResponse(405, "Method Not Allowed");
-      }
-      // GET /answers
-      else if (method.equals("GET") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleGetAll();
-      }
-      // GET /answers/{id}
-      else if (method.equals("GET") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleGetById(id);
-      }
-      // GET /answers/employeeassessment/{employeeAssessmentId}
-      else if (method.equals("GET") && GET_BY_EMPLOYEE_ASSESSMENT_PATTERN.matcher(path).matches()) {
-        String employeeAssessmentId = path.substring(path.lastIndexOf("/") + 1);
-        return handleGetByEmployeeAssessmentId(employeeAssessmentId, input.getQueryStringParameters());
-      }
-      // POST /answers
-      else if (method.equals("POST") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleCreate(input.getBody());
-      }
-      // PUT /answers/{id}
-      else if (method.equals("PUT") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleUpdate(id, input.getBody());
-      }
-      // DELETE /answers/{id}
-      else if (method.equals("DELETE") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleDelete(id);
-      }
-      // Method not supported
-      else {
-        return ResponseBuilder.buildResponse(405, "Method Not Allowed");
-      }
+  public RouteTrie<RouteAction<AnswerRequestHandler>> routes() {
+    return ROUTES;
+  }
 
+  @Override
+  public APIGatewayProxyResponseEvent handleRoute(RouteAction<AnswerRequestHandler> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context) {
+    try {
+      return action.handle(this, input, context, pathParameters);
     }
     catch (Exception e) {
       context.getLogger().log("Error in answer endpoint: " + e.getMessage());
@@ -87,15 +61,15 @@ public class AnswerRequestHandler implements RequestHandlerStrategy {
     }
   }
 
-  private APIGatewayProxyResponseEvent handleGetAll() throws Exception {
-    return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(answerService.findAll()));
+  private APIGatewayProxyResponseEvent handleGetAll(Map<String, String> queryParams) throws Exception {
+    return PagedResponses.page(json, queryParams, answerService::findAll, Answer::getId);
   }
 
   private APIGatewayProxyResponseEvent handleGetById(String id) throws Exception {
     Optional<Answer> answer = answerService.findById(id);
 
     if (answer.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(answer.get()));
+      return ResponseBuilder.buildResponse(200, json.write(answer.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Answer not found");
@@ -108,13 +82,13 @@ public class AnswerRequestHandler implements RequestHandlerStrategy {
       return ResponseBuilder.buildResponse(400, "Missing required query parameter: tenantId");
     }
 
-    return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(
+    return ResponseBuilder.buildResponse(200, json.write(
         answerService.findByEmployeeAssessmentId(employeeAssessmentId, tenantId)
     ));
   }
 
   private APIGatewayProxyResponseEvent handleCreate(String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
     // Parse the LocalDateTime using utility class
     String answeredAtStr = (String) requestMap.get("answeredAt");
@@ -131,7 +105,8 @@ public class AnswerRequestHandler implements RequestHandlerStrategy {
     );
 
     if (answer.isPresent()) {
-      return ResponseBuilder.buildResponse(201, objectMapper.writeValueAsString(answer.get()));
+      invalidateDashboard((String) requestMap.get("employeeAssessmentId"), (String) requestMap.get("tenantId"));
+      return ResponseBuilder.buildResponse(201, json.write(answer.get()));
     }
     else {
       return ResponseBuilder.buildResponse(400, "Failed to create answer");
@@ -139,7 +114,7 @@ public class AnswerRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleUpdate(String id, String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
     // Parse the LocalDateTime using utility class
     LocalDateTime answeredAt = DateTimeUtil.parseDateTime((String) requestMap.get("answeredAt"));
@@ -149,7 +124,8 @@ public class AnswerRequestHandler implements RequestHandlerStrategy {
     );
 
     if (answer.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(answer.get()));
+      invalidateDashboard(answer.get().getEmployeeAssessmentId(), answer.get().getTenantId());
+      return ResponseBuilder.buildResponse(200, json.write(answer.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Answer not found or update failed");
@@ -160,6 +136,7 @@ public class AnswerRequestHandler implements RequestHandlerStrategy {
     boolean deleted = answerService.deleteById(id);
 
     if (deleted) {
+      cacheRegions.invalidateTag(CacheTags.resource(AssessmentMatrixRequestHandler.DASHBOARD_RESOURCE));
       return ResponseBuilder.buildResponse(204, "");
     }
     else {
@@ -167,15 +144,26 @@ public class AnswerRequestHandler implements RequestHandlerStrategy {
     }
   }
 
-  private String extractIdFromPath(String path) {
-    // Extract ID from path like /answers/{id}
-    return path.substring(path.lastIndexOf("/") + 1);
-  }
 
+  /**
+   * Drops the cached dashboard of the matrix the answered employee assessment belongs to.
+   */
+  private void invalidateDashboard(String employeeAssessmentId, String tenantId) {
+    if (employeeAssessmentId == null || tenantId == null) {
+      return;
+    }
+    try {
+      employeeAssessmentService.findById(employeeAssessmentId, tenantId).ifPresent(assessment -> cacheRegions.invalidateTag(CacheTags.matrix(assessment.getAssessmentMatrixId())));
+    }
+    catch (RuntimeException e) {
+      // The answer is already saved: fall back to dropping every cached dashboard rather than failing the request
+      cacheRegions.invalidateTag(CacheTags.resource(AssessmentMatrixRequestHandler.DASHBOARD_RESOURCE));
+    }
+  }
 
   private APIGatewayProxyResponseEvent handleSaveAndGetNext(String requestBody) throws Exception {
     try {
-      Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+      Map<String, Object> requestMap = json.readMap(requestBody);
 
       String employeeAssessmentId = (String) requestMap.get("employeeAssessmentId");
       String questionId = (String) requestMap.get("questionId");
@@ -209,8 +197,9 @@ public class AnswerRequestHandler implements RequestHandlerStrategy {
       com.agilecheckup.service.dto.AnswerWithProgressResponse response = assessmentNavigationService.saveAnswerAndGetNext(
           employeeAssessmentId, questionId, answeredAt, value, tenantId, notes
       );
+      invalidateDashboard(employeeAssessmentId, tenantId);
 
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      return ResponseBuilder.buildResponse(200, json.write(response));
     }
     catch (RuntimeException e) {
       return ResponseBuilder.buildResponse(400, "Failed to save answer and get next: " + e.getMessage());
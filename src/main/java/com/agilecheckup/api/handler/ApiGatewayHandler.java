@@ -2,16 +2,22 @@ package com.agilecheckup.api.handler;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+import com.agilecheckup.api.routing.Route;
+import com.agilecheckup.api.routing.RouteMatch;
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.DaggerServiceComponent;
-import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.component.DaggerGateComponent;
+import com.agilecheckup.gate.component.GateComponent;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 public class ApiGatewayHandler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
@@ -19,75 +25,86 @@ public class ApiGatewayHandler implements RequestHandler<APIGatewayProxyRequestE
     System.setProperty("aws.java.v1.disableDeprecationAnnouncement", "true");
   }
 
-  private static final ObjectMapper objectMapper = new ObjectMapper();
-  private final Map<String, RequestHandlerStrategy> routeHandlers;
-  private final InvitationRequestHandler invitationHandler;
-  private final DashboardAnalyticsRequestHandler dashboardAnalyticsHandler;
+  private final InitTimingReport initTimings = new InitTimingReport();
+  private final ResponseCompression compression = new ResponseCompression();
+  private final JsonCodecRegistry json;
+  private final ObjectMapper objectMapper;
+  private final BatchDispatcher batch;
+  private final RouteTrie<RouteBinding<?>> routes = new RouteTrie<>();
+  private final Map<String, LazyHandler<? extends RequestHandlerStrategy>> routeHandlers;
+  private final LazyHandler<InvitationRequestHandler> invitationHandler;
+  private final LazyHandler<DashboardAnalyticsRequestHandler> dashboardAnalyticsHandler;
+  private final CacheRegions cacheRegions;
+  // The memory limit is only known from the Context of the first request
+  private volatile boolean cacheFittedToMemoryLimit;
 
   public ApiGatewayHandler() {
-    // Initialize your Dagger component
-    ServiceComponent serviceComponent = DaggerServiceComponent.create();
+    // Initialize your Dagger component; services are only built when a handler needs them.
+    // The gate component adds the shared cache and JSON codecs on top of the service component
+    GateComponent serviceComponent = initTimings.time("dagger", () -> DaggerGateComponent.builder().serviceComponent(DaggerServiceComponent.create()).build());
 
     // Initialize route handlers
     this.routeHandlers = new HashMap<>();
 
-    // Register JavaTimeModule to handle LocalDateTime serialization/deserialization
-    objectMapper.registerModule(new JavaTimeModule());
-    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-
-    // Configure Jackson to handle empty strings as null for enums (to support optional Gender/GenderPronoun)
-    objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
-
-    // Register all handlers
-    this.routeHandlers.put("companies", new CompanyRequestHandler(serviceComponent, objectMapper));
-    this.routeHandlers.put("departments", new DepartmentRequestHandler(serviceComponent, objectMapper));
-    this.routeHandlers.put("teams", new TeamRequestHandler(serviceComponent, objectMapper));
-    this.routeHandlers.put("performancecycles", new PerformanceCycleRequestHandler(serviceComponent, objectMapper));
-    this.routeHandlers.put("assessmentmatrices", new AssessmentMatrixRequestHandler(serviceComponent, objectMapper));
-    this.routeHandlers.put("questions", new QuestionRequestHandler(serviceComponent, objectMapper));
-    this.routeHandlers.put("answers", new AnswerRequestHandler(serviceComponent, objectMapper));
-    this.routeHandlers.put("employeeassessments", new EmployeeAssessmentRequestHandler(serviceComponent, objectMapper));
-    this.routeHandlers.put("dashboard-analytics", new DashboardAnalyticsRequestHandler(serviceComponent, objectMapper));
-
-    // Initialize special handlers
-    this.invitationHandler = new InvitationRequestHandler(serviceComponent, objectMapper);
-    this.dashboardAnalyticsHandler = new DashboardAnalyticsRequestHandler(serviceComponent, objectMapper);
+    // One configured mapper and its prepared readers and writers, shared by the handlers
+    this.json = initTimings.time("jackson", serviceComponent::jsonCodecs);
+    this.objectMapper = json.getObjectMapper();
+    this.batch = new BatchDispatcher(objectMapper, this::dispatch);
+
+    // One cache shared by the handlers, so writes through one handler invalidate entries cached by another
+    this.cacheRegions = serviceComponent.cacheRegions();
+
+    // Register all handlers; each one is constructed on the first request it serves.
+    // Invitation routes go first as they nest under /assessmentmatrices
+    long routesStart = System.nanoTime();
+    this.invitationHandler = register("invitation", InvitationRequestHandler.ROUTES, () -> new InvitationRequestHandler(serviceComponent, json));
+    register("companies", CompanyRequestHandler.ROUTES, () -> new CompanyRequestHandler(serviceComponent, json));
+    register("departments", DepartmentRequestHandler.ROUTES, () -> new DepartmentRequestHandler(serviceComponent, json, cacheRegions));
+    register("teams", TeamRequestHandler.ROUTES, () -> new TeamRequestHandler(serviceComponent, json));
+    register("performancecycles", PerformanceCycleRequestHandler.ROUTES, () -> new PerformanceCycleRequestHandler(serviceComponent, json, cacheRegions));
+    register("assessmentmatrices", AssessmentMatrixRequestHandler.ROUTES, () -> new AssessmentMatrixRequestHandler(serviceComponent, json, cacheRegions));
+    register("questions", QuestionRequestHandler.ROUTES, () -> new QuestionRequestHandler(serviceComponent, json, cacheRegions));
+    register("answers", AnswerRequestHandler.ROUTES, () -> new AnswerRequestHandler(serviceComponent, json, cacheRegions));
+    register("employeeassessments", EmployeeAssessmentRequestHandler.ROUTES, () -> new EmployeeAssessmentRequestHandler(serviceComponent, json, cacheRegions));
+    this.dashboardAnalyticsHandler = register("dashboard-analytics", DashboardAnalyticsRequestHandler.ROUTES, () -> new DashboardAnalyticsRequestHandler(serviceComponent, json, cacheRegions));
+    initTimings.record("routes", System.nanoTime() - routesStart);
   }
 
   @Override
   public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
+    RequestIdentityMap identityMap = RequestIdentityMap.open();
     try {
       // Log request info
       context.getLogger().log("Received event: " + input.getPath() + " " + input.getHttpMethod());
 
+      if (!cacheFittedToMemoryLimit) {
+        cacheRegions.fitToMemoryLimit(context.getMemoryLimitInMB());
+        cacheFittedToMemoryLimit = true;
+      }
+
       // Parse the request path
       String path = input.getPath();
       if (path == null || path.isEmpty()) {
         return ResponseBuilder.buildResponse(404, "Not Found");
       }
 
-      // Remove leading slash and get first path segment
-      String[] pathSegments = path.replaceAll("^/", "").split("/");
-      if (pathSegments.length == 0) {
-        return ResponseBuilder.buildResponse(404, "Not Found");
-      }
-
-      String resourceType = pathSegments[0];
-
-      // Check for invitation endpoints first
-      if (path.contains("/generate-invitation-token") || path.startsWith("/invitation/")) {
-        return invitationHandler.handleRequest(input, context);
+      if (path.equals(BatchDispatcher.PATH)) {
+        if (!"POST".equals(input.getHttpMethod())) {
+          return ResponseBuilder.buildResponse(405, "Method Not Allowed");
+        }
+        return finish("POST " + BatchDispatcher.PATH, input, batch.handle(input, context), context);
       }
 
-      // Check for performance cycle summary endpoints
-      if (path.startsWith("/performance-cycle-summary/")) {
-        return dashboardAnalyticsHandler.handleRequest(input, context);
+      Optional<RouteMatch<RouteBinding<?>>> match = routes.match(input.getHttpMethod(), path);
+      if (match.isPresent()) {
+        APIGatewayProxyResponseEvent response = match.get().getTarget().dispatch(match.get().getPathParameters(), input, context);
+        return finish(input.getHttpMethod() + " " + match.get().getTemplate(), input, response, context);
       }
 
-      // Delegate to the appropriate handler based on resource type
-      RequestHandlerStrategy handler = routeHandlers.get(resourceType);
+      // No route matched: let the owning handler build its own 404/405 response
+      LazyHandler<? extends RequestHandlerStrategy> handler = fallbackHandler(path);
       if (handler != null) {
-        return handler.handleRequest(input, context);
+        return finish(input.getHttpMethod() + " /" + RouteTrie.firstSegment(path) + "/**", input, handler.get().handleRequest(input, context), context);
       }
 
       // No handler found for this path
@@ -98,5 +115,95 @@ public class ApiGatewayHandler implements RequestHandler<APIGatewayProxyRequestE
       context.getLogger().log("Error processing request: " + e.getMessage());
       return ResponseBuilder.buildResponse(500, "Internal Server Error: " + e.getMessage());
     }
+    finally {
+      identityMap.close();
+      String lookups = identityMap.format();
+      if (lookups != null) {
+        context.getLogger().log(lookups);
+      }
+
+      // Log init phases not reported yet: the constructor ones on the first request, then each lazily built handler
+      String timings = initTimings.drainUnreported();
+      if (timings != null) {
+        context.getLogger().log(timings);
+      }
+    }
+  }
+
+  /**
+   * Reads are cut to the requested fields and get an ETag, and polls still
+   * holding the current one a 304 without body; what is still sent is
+   * compressed when the client accepts it.
+   */
+  private APIGatewayProxyResponseEvent finish(String route, APIGatewayProxyRequestEvent input, APIGatewayProxyResponseEvent response, Context context) {
+    return compression.apply(route, input, ResponseBuilder.conditional(input, ResponseBuilder.selectFields(input, response, objectMapper.getFactory())), context.getLogger());
+  }
+
+  /**
+   * Dispatches a batch sub-request: routed like any request, with the fields
+   * selected, but neither conditional nor compressed as it is sent within the
+   * batch response.
+   */
+  private APIGatewayProxyResponseEvent dispatch(APIGatewayProxyRequestEvent input, Context context) {
+    APIGatewayProxyResponseEvent response;
+    Optional<RouteMatch<RouteBinding<?>>> match = routes.match(input.getHttpMethod(), input.getPath());
+    if (match.isPresent()) {
+      response = match.get().getTarget().dispatch(match.get().getPathParameters(), input, context);
+    }
+    else {
+      LazyHandler<? extends RequestHandlerStrategy> handler = fallbackHandler(input.getPath());
+      response = handler != null ? handler.get().handleRequest(input, context) : ResponseBuilder.buildResponse(404, "Resource Not Found");
+    }
+    return ResponseBuilder.selectFields(input, response, objectMapper.getFactory());
+  }
+
+  /**
+   * @return Compression ratio and time of every route compressed so far
+   */
+  String getCompressionReport() {
+    return compression.format();
+  }
+
+  /**
+   * @return Timings of every initialization phase recorded so far
+   */
+  String getInitTimingReport() {
+    return initTimings.format();
+  }
+
+  /**
+   * Adds every route of a handler to the global trie and records the handler
+   * as the owner of its first path segment. The handler itself is only
+   * constructed when one of its routes is first dispatched.
+   */
+  private <H extends RoutedRequestHandler<H>> LazyHandler<H> register(String resourceType, RouteTrie<RouteAction<H>> handlerRoutes, Supplier<H> factory) {
+    LazyHandler<H> handler = new LazyHandler<>(resourceType, factory, initTimings);
+    for (Route<RouteAction<H>> route : handlerRoutes.getRoutes()) {
+      routes.add(route.getMethod(), route.getTemplate(), new RouteBinding<H>(handler, route.getTarget()));
+    }
+    routeHandlers.put(resourceType, handler);
+    return handler;
+  }
+
+  /**
+   * Resolves the handler owning a path that matched no route, mirroring the
+   * original resource-type dispatch.
+   */
+  private LazyHandler<? extends RequestHandlerStrategy> fallbackHandler(String path) {
+    if (path.contains("/generate-invitation-token") || path.startsWith("/invitation/")) {
+      return invitationHandler;
+    }
+    if (path.startsWith("/performance-cycle-summary/")) {
+      return dashboardAnalyticsHandler;
+    }
+    return routeHandlers.get(RouteTrie.firstSegment(path));
+  }
+
+  /**
+   * @return Whether the handler registered for the resource type has been constructed
+   */
+  boolean isHandlerInitialized(String resourceType) {
+    LazyHandler<? extends RequestHandlerStrategy> handler = routeHandlers.get(resourceType);
+    return handler != null && handler.isInitialized();
   }
-}
\ No newline at end of file
+}
@@ -1,17 +1,24 @@
 package com.agilecheckup.api.handler;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
+import com.agilecheckup.api.dashboard.DashboardDataset;
+import com.agilecheckup.api.dashboard.DashboardEmployeeIndex;
+import com.agilecheckup.api.dashboard.DashboardEmployeeQuery;
 import com.agilecheckup.api.model.CategoryApi;
 import com.agilecheckup.api.model.PillarApi;
+import com.agilecheckup.api.pagination.PageRequest;
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
 import com.agilecheckup.gate.cache.CacheManager;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.cache.CacheTags;
+import com.agilecheckup.gate.cache.MaterializedResponse;
 import com.agilecheckup.gate.dto.DashboardResponse;
 import com.agilecheckup.gate.dto.EmployeeAssessmentDetail;
 import com.agilecheckup.gate.dto.EmployeePageResponse;
@@ -25,29 +32,38 @@ import com.agilecheckup.service.AssessmentMatrixService;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<AssessmentMatrix> {
+public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<AssessmentMatrix, AssessmentMatrixRequestHandler> {
 
-  private static final Pattern UPDATE_POTENTIAL_SCORE_PATTERN = Pattern.compile("^/assessmentmatrices/([^/]+)/potentialscore/?$");
-  private static final Pattern DASHBOARD_PATTERN = Pattern.compile("^/assessmentmatrices/([^/]+)/dashboard/?$");
+  static final RouteTrie<RouteAction<AssessmentMatrixRequestHandler>> ROUTES = AbstractCrudRequestHandler.<AssessmentMatrixRequestHandler>crudRoutes("assessmentmatrices")
+      .add("POST", "/assessmentmatrices/{id}/potentialscore", (handler, input, context, params) -> handler.handleUpdatePotentialScore(params.get("id"), input.getBody()))
+      .add("GET", "/assessmentmatrices/{id}/dashboard", (handler, input, context, params) -> handler.handleGetDashboard(params.get("id"), input, context));
+
+  // Resource tag of cached dashboard datasets, invalidated by writes that cannot name their matrix
+  static final String DASHBOARD_RESOURCE = "dashboard";
+  private static final String DASHBOARD_CACHE_PREFIX = "dashboard:";
+  private static final String DASHBOARD_RESPONSE_CACHE_PREFIX = "dashboard-response:";
+  // Pages at least this large are cached gzipped
+  private static final int DASHBOARD_COMPRESSION_THRESHOLD = 16 * 1024;
+  // Resource tag of cached matrices, kept apart from the matrix tag that every answer invalidates
+  private static final String MATRICES_RESOURCE = "assessmentmatrices";
+  private static final String MATRICES_BY_TENANT_CACHE_PREFIX = "matrices-by-tenant:";
+  private static final String MATRIX_CACHE_PREFIX = "matrix:";
+  private static final int MATRIX_COMPRESSION_THRESHOLD = 16 * 1024;
 
   private final AssessmentMatrixService assessmentMatrixService;
+  private final CacheRegions cacheRegions;
   private final CacheManager cacheManager;
+  private final CacheManager matrixCache;
 
-  public AssessmentMatrixRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper) {
-    super(objectMapper, "assessmentmatrices");
+  public AssessmentMatrixRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json, CacheRegions cacheRegions) {
+    super(json);
     // Using  service directly through assessmentMatrixService
     this.assessmentMatrixService = serviceComponent.buildAssessmentMatrixService();
-    this.cacheManager = new CacheManager(); // Simple instantiation for now - to be fixed later
-  }
-
-  // Constructor for testing with mocked cache manager
-  public AssessmentMatrixRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper, CacheManager cacheManager) {
-    super(objectMapper, "assessmentmatrices");
-    // Using  service directly through assessmentMatrixService
-    this.assessmentMatrixService = serviceComponent.buildAssessmentMatrixService();
-    this.cacheManager = cacheManager;
+    this.cacheRegions = cacheRegions;
+    // Dashboard TTLs come from the region configuration; writes invalidate them by tag
+    this.cacheManager = cacheRegions.region(CacheRegions.DASHBOARDS);
+    this.matrixCache = cacheRegions.region(CacheRegions.MATRICES);
   }
 
   @Override
@@ -56,20 +72,8 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
   }
 
   @Override
-  protected Optional<APIGatewayProxyResponseEvent> handleCustomEndpoint(String method, String path, APIGatewayProxyRequestEvent input, Context context) throws Exception {
-    // Handle special endpoint: POST /assessmentmatrices/{id}/potentialscore
-    if (method.equals("POST") && UPDATE_POTENTIAL_SCORE_PATTERN.matcher(path).matches()) {
-      String id = extractIdFromPath(path.replace("/potentialscore", ""));
-      return Optional.of(handleUpdatePotentialScore(id, input.getBody()));
-    }
-
-    // Handle dashboard endpoint: GET /assessmentmatrices/{id}/dashboard
-    if (method.equals("GET") && DASHBOARD_PATTERN.matcher(path).matches()) {
-      String id = extractIdFromPath(path.replace("/dashboard", ""));
-      return Optional.of(handleGetDashboard(id, input, context));
-    }
-
-    return Optional.empty();
+  public RouteTrie<RouteAction<AssessmentMatrixRequestHandler>> routes() {
+    return ROUTES;
   }
 
   @Override
@@ -78,9 +82,19 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
 
     if (queryParams != null && queryParams.containsKey("tenantId")) {
       String tenantId = queryParams.get("tenantId");
-      List<AssessmentMatrix> matrices = assessmentMatrixService.findAllByTenantId(tenantId);
-      String jsonResponse = objectMapper.writeValueAsString(matrices);
-      return ResponseBuilder.buildResponse(200, jsonResponse);
+      Optional<PageRequest> page;
+      try {
+        page = PageRequest.from(queryParams);
+      }
+      catch (IllegalArgumentException e) {
+        return ResponseBuilder.buildResponse(400, e.getMessage());
+      }
+      String cacheKey = MATRICES_BY_TENANT_CACHE_PREFIX + tenantId + page.map(request -> ":" + request.cacheKey()).orElse("");
+      Optional<MaterializedResponse> response = matrixCache.get(cacheKey, MaterializedResponse.class, () -> {
+        List<AssessmentMatrix> matrices = assessmentMatrixService.findAllByTenantId(tenantId);
+        return MaterializedResponse.of(json.writeBytes(PagedResponses.body(page, matrices, AssessmentMatrix::getId)), MATRIX_COMPRESSION_THRESHOLD);
+      }, CacheTags.resource(MATRICES_RESOURCE));
+      return ResponseBuilder.buildResponse(200, response.get());
     }
 
     // No tenantId provided - return error for security
@@ -89,10 +103,13 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
 
   @Override
   protected APIGatewayProxyResponseEvent handleGetById(String id) throws Exception {
-    Optional<AssessmentMatrix> assessmentMatrix = assessmentMatrixService.findById(id);
+    Optional<MaterializedResponse> assessmentMatrix = matrixCache.get(MATRIX_CACHE_PREFIX + id, MaterializedResponse.class, () -> {
+      Optional<AssessmentMatrix> found = RequestIdentityMap.find(AssessmentMatrix.class, id, assessmentMatrixService::findById);
+      return found.isPresent() ? MaterializedResponse.of(json.writeBytes(found.get()), MATRIX_COMPRESSION_THRESHOLD) : null;
+    }, CacheTags.resource(MATRICES_RESOURCE));
 
     if (assessmentMatrix.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(assessmentMatrix.get()));
+      return ResponseBuilder.buildResponse(200, assessmentMatrix.get());
     }
     else {
       return ResponseBuilder.buildResponse(404, "Assessment matrix not found");
@@ -102,7 +119,7 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
   @Override
   protected APIGatewayProxyResponseEvent handleCreate(String requestBody, Context context) throws Exception {
     try {
-      Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+      Map<String, Object> requestMap = json.readMap(requestBody);
 
       // Create the pillar map with  types
       Map<String, Pillar> pillarMap = buildPillarMap(requestMap);
@@ -116,7 +133,10 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
       );
 
       if (assessmentMatrix.isPresent()) {
-        return ResponseBuilder.buildResponse(201, objectMapper.writeValueAsString(assessmentMatrix.get()));
+        cacheRegions.ownership().remember(assessmentMatrix.get().getId(), assessmentMatrix.get().getTenantId());
+        cacheRegions.invalidateTag(CacheTags.tenant((String) requestMap.get("tenantId")));
+        cacheRegions.invalidateTag(CacheTags.resource(MATRICES_RESOURCE));
+        return ResponseBuilder.buildResponse(201, json.write(assessmentMatrix.get()));
       }
       else {
         return ResponseBuilder.buildResponse(400, "Failed to create assessment matrix");
@@ -131,7 +151,7 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
   @Override
   protected APIGatewayProxyResponseEvent handleUpdate(String id, String requestBody, Context context) throws Exception {
     try {
-      Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+      Map<String, Object> requestMap = json.readMap(requestBody);
 
       // Create the pillar map with  types
       Map<String, Pillar> pillarMap = buildPillarMap(requestMap);
@@ -144,7 +164,8 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
       );
 
       if (assessmentMatrix.isPresent()) {
-        return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(assessmentMatrix.get()));
+        invalidateMatrixCaches(id, (String) requestMap.get("tenantId"));
+        return ResponseBuilder.buildResponse(200, json.write(assessmentMatrix.get()));
       }
       else {
         return ResponseBuilder.buildResponse(404, "Assessment matrix not found or update failed");
@@ -192,13 +213,14 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
   }
 
   private APIGatewayProxyResponseEvent handleUpdatePotentialScore(String id, String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
     String tenantId = (String) requestMap.get("tenantId");
 
     AssessmentMatrix assessmentMatrix = assessmentMatrixService.updateCurrentPotentialScore(id, tenantId);
 
     if (assessmentMatrix != null) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(assessmentMatrix));
+      invalidateMatrixCaches(id, tenantId);
+      return ResponseBuilder.buildResponse(200, json.write(assessmentMatrix));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Assessment matrix not found or update failed");
@@ -207,9 +229,13 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
 
   @Override
   protected APIGatewayProxyResponseEvent handleDelete(String id) throws Exception {
+    // The owner is resolved before the delete: tenant-wide aggregates such as the cycle summary include the matrix
+    Optional<String> tenantId = cacheRegions.ownership().ownerOf(id, matrixId -> RequestIdentityMap.find(AssessmentMatrix.class, matrixId, assessmentMatrixService::findById).map(AssessmentMatrix::getTenantId));
     boolean deleted = assessmentMatrixService.deleteById(id);
 
     if (deleted) {
+      cacheRegions.ownership().evict(id);
+      invalidateMatrixCaches(id, tenantId.orElse(null));
       return ResponseBuilder.buildResponse(204, "");
     }
     else {
@@ -217,6 +243,18 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
     }
   }
 
+  /**
+   * Drops the cached matrices, data derived from the matrix, and the tenant-wide aggregates including it.
+   */
+  private void invalidateMatrixCaches(String matrixId, String tenantId) {
+    RequestIdentityMap.evict(AssessmentMatrix.class, matrixId);
+    cacheRegions.invalidateTag(CacheTags.matrix(matrixId));
+    if (tenantId != null) {
+      cacheRegions.invalidateTag(CacheTags.tenant(tenantId));
+    }
+    cacheRegions.invalidateTag(CacheTags.resource(MATRICES_RESOURCE));
+  }
+
   /**
    * Handles GET /assessmentmatrices/{id}/dashboard endpoint.
    * Returns comprehensive dashboard data with caching and pagination support.
@@ -240,28 +278,25 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
         return ResponseBuilder.buildResponse(400, "Invalid pagination parameters. Page must be >= 1, pageSize must be 1-200");
       }
 
-      // Check cache first (include pagination in cache key)
-      String cacheKey = "dashboard:" + matrixId + ":" + tenantId + ":" + page + ":" + pageSize;
-      Optional<DashboardResponse> cachedResponse = cacheManager.get(cacheKey, DashboardResponse.class);
-
-      if (cachedResponse.isPresent()) {
-        return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(cachedResponse.get()));
+      // Optional employee filters, search and sort
+      DashboardEmployeeQuery employeeQuery;
+      try {
+        employeeQuery = extractEmployeeQuery(queryParams);
+      }
+      catch (IllegalArgumentException e) {
+        return ResponseBuilder.buildResponse(400, e.getMessage());
       }
 
-      // Get dashboard data from service
-      Optional<com.agilecheckup.service.dto.AssessmentDashboardData> dashboardData = assessmentMatrixService.getAssessmentDashboard(matrixId, tenantId);
+      // Each page is cached as its serialized payload, so a hit returns without running Jackson
+      String responseKey = DASHBOARD_RESPONSE_CACHE_PREFIX + matrixId + ":" + tenantId + ":" + page + ":" + pageSize + ":" + employeeQuery.cacheKey();
+      Optional<MaterializedResponse> response = cacheManager.get(responseKey, MaterializedResponse.class, () -> materializeDashboardPage(matrixId, tenantId, employeeQuery, page, pageSize), CacheTags.matrix(matrixId), CacheTags.resource(DASHBOARD_RESOURCE));
 
-      if (!dashboardData.isPresent()) {
+      if (response.isEmpty()) {
         return ResponseBuilder.buildResponse(404, "Assessment matrix not found or access denied");
       }
 
-      // Convert to presentation DTO with pagination
-      DashboardResponse response = convertToDashboardResponse(dashboardData.get(), page, pageSize);
-
-      // Cache the response
-      cacheManager.put(cacheKey, response);
-
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      // A poll holding the current ETag gets its 304 without the page being decompressed
+      return ResponseBuilder.buildResponse(input, response.get());
 
     }
     catch (Exception e) {
@@ -270,6 +305,77 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
     }
   }
 
+  /**
+   * Serializes one dashboard page, sliced from the dataset cached for the matrix.
+   *
+   * @return The page payload, or null when the matrix is not found or not accessible
+   */
+  private MaterializedResponse materializeDashboardPage(String matrixId, String tenantId, DashboardEmployeeQuery employeeQuery, int page, int pageSize) throws Exception {
+    // The whole dataset is cached so every page is sliced from one backend load, shared by concurrent misses
+    String cacheKey = DASHBOARD_CACHE_PREFIX + matrixId + ":" + tenantId;
+    Optional<DashboardDataset> dataset = cacheManager.get(cacheKey, DashboardDataset.class, () -> assessmentMatrixService.getAssessmentDashboard(matrixId, tenantId).map(this::toDashboardDataset).orElse(null), CacheTags.matrix(matrixId), CacheTags.resource(DASHBOARD_RESOURCE));
+
+    if (dataset.isEmpty()) {
+      return null;
+    }
+
+    // Convert only the requested page to presentation DTOs
+    DashboardResponse response = convertToDashboardResponse(dataset.get(), employeeQuery, page, pageSize);
+    return MaterializedResponse.of(json.writeBytes(response), DASHBOARD_COMPRESSION_THRESHOLD);
+  }
+
+  /**
+   * Extracts the employee filters (team, status, minScore, maxScore), prefix search (search)
+   * and sort (sort=name|score|lastActivityDate, order=asc|desc) from the query string.
+   *
+   * @throws IllegalArgumentException if a parameter has an invalid value
+   */
+  private DashboardEmployeeQuery extractEmployeeQuery(Map<String, String> queryParams) {
+    String sort = queryParams.get("sort");
+    DashboardEmployeeQuery.SortField sortField = null;
+    if (sort != null) {
+      switch (sort) {
+        case "name":
+          sortField = DashboardEmployeeQuery.SortField.NAME;
+          break;
+        case "score":
+          sortField = DashboardEmployeeQuery.SortField.SCORE;
+          break;
+        case "lastActivityDate":
+          sortField = DashboardEmployeeQuery.SortField.LAST_ACTIVITY_DATE;
+          break;
+        default:
+          throw new IllegalArgumentException("Invalid sort parameter. Must be one of: name, score, lastActivityDate");
+      }
+    }
+
+    String order = queryParams.getOrDefault("order", "asc");
+    if (!"asc".equals(order) && !"desc".equals(order)) {
+      throw new IllegalArgumentException("Invalid order parameter. Must be asc or desc");
+    }
+
+    String search = queryParams.get("search");
+    return DashboardEmployeeQuery.builder().teamId(queryParams.get("team")).status(queryParams.get("status")).minScore(extractDoubleParam(queryParams, "minScore")).maxScore(extractDoubleParam(queryParams, "maxScore")).search(search == null || search.isBlank() ? null : search.trim()).sort(sortField).descending("desc".equals(order)).build();
+  }
+
+  /**
+   * Extracts an optional decimal parameter from query string.
+   *
+   * @throws IllegalArgumentException if the parameter is not a number
+   */
+  private Double extractDoubleParam(Map<String, String> queryParams, String paramName) {
+    String value = queryParams.get(paramName);
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Double.valueOf(value);
+    }
+    catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + paramName + " parameter. Must be a number");
+    }
+  }
+
   /**
    * Extracts integer parameter from query string with default value.
    */
@@ -286,30 +392,23 @@ public class AssessmentMatrixRequestHandler extends AbstractCrudRequestHandler<A
   }
 
   /**
-   * Converts domain DTO to presentation DTO with pagination support.
+   * Converts domain DTO to the cacheable dashboard dataset; team summaries are converted once here.
    */
-  private DashboardResponse convertToDashboardResponse(com.agilecheckup.service.dto.AssessmentDashboardData dashboardData, int page, int pageSize) {
-    // Convert  summaries to presentation DTOs
-    List<TeamSummary> teamSummaries = convertTeamSummaries(dashboardData.getTeamSummaries());
-    List<EmployeeAssessmentDetail> allEmployeeDetails = convertEmployeeSummaries(dashboardData.getEmployeeSummaries());
-
-    // Apply pagination
-    int totalEmployees = allEmployeeDetails.size();
-    int startIndex = (page - 1) * pageSize;
-    int endIndex = Math.min(startIndex + pageSize, totalEmployees);
-
-    List<EmployeeAssessmentDetail> paginatedEmployeeDetails = startIndex < totalEmployees ? allEmployeeDetails.subList(startIndex, endIndex) : new ArrayList<>();
-
-    return DashboardResponse.builder().matrixId(dashboardData.getAssessmentMatrixId()).matrixName(dashboardData.getMatrixName()).potentialScore(dashboardData.getPotentialScore()).teamSummaries(teamSummaries).employees(EmployeePageResponse.builder().content(paginatedEmployeeDetails).totalCount(totalEmployees).page(page).pageSize(pageSize).build()).totalEmployees(dashboardData.getTotalEmployees()).completedAssessments(dashboardData.getCompletedAssessments()).build();
+  private DashboardDataset toDashboardDataset(com.agilecheckup.service.dto.AssessmentDashboardData dashboardData) {
+    return new DashboardDataset(dashboardData.getAssessmentMatrixId(), dashboardData.getMatrixName(), dashboardData.getPotentialScore(), convertTeamSummaries(dashboardData.getTeamSummaries()), dashboardData.getEmployeeSummaries(), dashboardData.getTotalEmployees(), dashboardData.getCompletedAssessments());
   }
 
   /**
-   * Backward compatibility method for tests.
+   * Converts the dashboard dataset to presentation DTO, converting only the employees of the requested page.
    */
-  private DashboardResponse convertToDashboardResponse(com.agilecheckup.service.dto.AssessmentDashboardData dashboardData) {
-    return convertToDashboardResponse(dashboardData, 1, 50);
+  private DashboardResponse convertToDashboardResponse(DashboardDataset dataset, DashboardEmployeeQuery employeeQuery, int page, int pageSize) {
+    DashboardEmployeeIndex.Page employeePage = dataset.query(employeeQuery, page, pageSize);
+    List<EmployeeAssessmentDetail> paginatedEmployeeDetails = convertEmployeeSummaries(employeePage.getContent());
+
+    return DashboardResponse.builder().matrixId(dataset.getMatrixId()).matrixName(dataset.getMatrixName()).potentialScore(dataset.getPotentialScore()).teamSummaries(dataset.getTeamSummaries()).employees(EmployeePageResponse.builder().content(paginatedEmployeeDetails).totalCount(employeePage.getTotalCount()).page(page).pageSize(pageSize).build()).totalEmployees(dataset.getTotalEmployees()).completedAssessments(dataset.getCompletedAssessments()).build();
   }
 
+
   /**
    * Builds Pillar map from request data using entities
    */
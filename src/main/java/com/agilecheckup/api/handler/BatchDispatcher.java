@@ -0,0 +1,226 @@
+package com.agilecheckup.api.handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+/**
+ * Serves POST /batch: a JSON array of {@code {method, path, query, body}}
+ * sub-requests, dispatched through the regular routes on a bounded executor
+ * and answered with one {@code {status, body}} per sub-request, in order.
+ * A screen needing several resources then pays the gateway and Lambda
+ * overhead once.
+ *
+ * Sub-requests share the identity map of the batch, and whatever is not
+ * done when the invocation is about to time out is answered with a 504.
+ */
+final class BatchDispatcher {
+
+  static final String PATH = "/batch";
+  static final int MAX_ITEMS = 25;
+  // Left to answer the items done and serialize the response before the Lambda timeout
+  static final long DEADLINE_MARGIN_MS = 1000;
+  private static final int WORKER_THREADS = 8;
+  // Headers that would make a sub-response a 304 or a gzipped body, neither of which fits in the batch response
+  private static final List<String> PARENT_ONLY_HEADERS = List.of(ResponseBuilder.IF_NONE_MATCH.toLowerCase(Locale.ROOT), "accept-encoding", "content-length");
+
+  /**
+   * Dispatches one sub-request through the routes.
+   */
+  interface Dispatch {
+    APIGatewayProxyResponseEvent apply(APIGatewayProxyRequestEvent request, Context context);
+  }
+
+  private final ObjectMapper objectMapper;
+  // Reads sub-response bodies whole: a valid value followed by anything else is not JSON
+  private final ObjectReader bodyReader;
+  private final Dispatch dispatch;
+  private final ExecutorService executor;
+
+  BatchDispatcher(ObjectMapper objectMapper, Dispatch dispatch) {
+    this(objectMapper, dispatch, new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_ITEMS), runnable -> {
+      Thread thread = new Thread(runnable, "batch-dispatch");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  // Constructor for testing with a controllable executor
+  BatchDispatcher(ObjectMapper objectMapper, Dispatch dispatch, ExecutorService executor) {
+    this.objectMapper = objectMapper;
+    this.bodyReader = objectMapper.reader().with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    this.dispatch = dispatch;
+    this.executor = executor;
+  }
+
+  APIGatewayProxyResponseEvent handle(APIGatewayProxyRequestEvent input, Context context) throws JsonProcessingException {
+    List<APIGatewayProxyRequestEvent> requests;
+    try {
+      requests = parse(input);
+    }
+    catch (IllegalArgumentException e) {
+      return ResponseBuilder.buildResponse(400, e.getMessage());
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, context.getRemainingTimeInMillis() - DEADLINE_MARGIN_MS));
+    RequestIdentityMap identityMap = RequestIdentityMap.current();
+    List<Future<APIGatewayProxyResponseEvent>> futures = new ArrayList<>(requests.size());
+    for (APIGatewayProxyRequestEvent request : requests) {
+      try {
+        futures.add(executor.submit(() -> identityMap != null ? identityMap.runWith(() -> dispatch.apply(request, context)) : dispatch.apply(request, context)));
+      }
+      catch (RejectedExecutionException e) {
+        futures.add(null);
+      }
+    }
+
+    ArrayNode responses = objectMapper.createArrayNode();
+    for (Future<APIGatewayProxyResponseEvent> future : futures) {
+      responses.add(item(await(future, deadline, context)));
+    }
+    return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(responses));
+  }
+
+  private APIGatewayProxyResponseEvent await(Future<APIGatewayProxyResponseEvent> future, long deadline, Context context) {
+    if (future == null) {
+      return ResponseBuilder.buildResponse(503, "Too many batch requests in progress, please retry later");
+    }
+    try {
+      return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+    catch (TimeoutException e) {
+      future.cancel(true);
+      return ResponseBuilder.buildResponse(504, "Batch deadline exceeded");
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      return ResponseBuilder.buildResponse(504, "Batch deadline exceeded");
+    }
+    catch (ExecutionException e) {
+      context.getLogger().log("Error in batch sub-request: " + e.getCause().getMessage());
+      return ResponseBuilder.buildResponse(500, "Internal Server Error: " + e.getCause().getMessage());
+    }
+  }
+
+  private ObjectNode item(APIGatewayProxyResponseEvent response) {
+    ObjectNode item = objectMapper.createObjectNode();
+    item.put("status", response.getStatusCode());
+    String body = response.getBody();
+    if (body == null || body.isEmpty()) {
+      item.putNull("body");
+    }
+    else {
+      item.set("body", bodyNode(body));
+    }
+    return item;
+  }
+
+  /**
+   * @return The body as JSON when it parses as such, otherwise as a JSON string,
+   *         so a malformed body cannot corrupt the batch response
+   */
+  private JsonNode bodyNode(String body) {
+    String content = body.stripLeading();
+    if (content.startsWith("{") || content.startsWith("[")) {
+      try {
+        return bodyReader.readTree(body);
+      }
+      catch (JsonProcessingException e) {
+        // Sent as text below
+      }
+    }
+    return TextNode.valueOf(body);
+  }
+
+  /**
+   * @throws IllegalArgumentException if the body is not an array of at most MAX_ITEMS sub-requests with a method and a path
+   */
+  private List<APIGatewayProxyRequestEvent> parse(APIGatewayProxyRequestEvent input) {
+    JsonNode items;
+    try {
+      items = objectMapper.readTree(input.getBody() == null ? "" : input.getBody());
+    }
+    catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Invalid batch: the body must be a JSON array");
+    }
+    if (items == null || !items.isArray() || items.isEmpty()) {
+      throw new IllegalArgumentException("Invalid batch: the body must be a non-empty JSON array");
+    }
+    if (items.size() > MAX_ITEMS) {
+      throw new IllegalArgumentException("Invalid batch: at most " + MAX_ITEMS + " requests are allowed");
+    }
+
+    Map<String, String> headers = new HashMap<>();
+    if (input.getHeaders() != null) {
+      input.getHeaders().forEach((name, value) -> {
+        if (!PARENT_ONLY_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+          headers.put(name, value);
+        }
+      });
+    }
+
+    List<APIGatewayProxyRequestEvent> requests = new ArrayList<>(items.size());
+    for (JsonNode item : items) {
+      String method = item.path("method").asText(null);
+      String path = item.path("path").asText(null);
+      if (method == null || path == null || !path.startsWith("/")) {
+        throw new IllegalArgumentException("Invalid batch: every request needs a method and a path");
+      }
+      if (path.equals(PATH) || path.startsWith(PATH + "/")) {
+        throw new IllegalArgumentException("Invalid batch: batches cannot be nested");
+      }
+      // The request context tells routes the sub-request came through API Gateway, like its batch
+      requests.add(new APIGatewayProxyRequestEvent().withHttpMethod(method.toUpperCase(Locale.ROOT)).withPath(path).withHeaders(headers).withQueryStringParameters(query(item.get("query"))).withBody(body(item.get("body"))).withRequestContext(input.getRequestContext()));
+    }
+    return requests;
+  }
+
+  private static Map<String, String> query(JsonNode query) {
+    if (query == null || query.isNull()) {
+      return null;
+    }
+    if (!query.isObject()) {
+      throw new IllegalArgumentException("Invalid batch: query must be an object");
+    }
+    Map<String, String> parameters = new HashMap<>();
+    for (Iterator<Map.Entry<String, JsonNode>> fields = query.fields(); fields.hasNext(); ) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      parameters.put(field.getKey(), field.getValue().asText());
+    }
+    return parameters;
+  }
+
+  /**
+   * A body given as a JSON value is passed on serialized, as API Gateway would.
+   */
+  private static String body(JsonNode body) {
+    if (body == null || body.isNull()) {
+      return null;
+    }
+    return body.isTextual() ? body.asText() : body.toString();
+  }
+}
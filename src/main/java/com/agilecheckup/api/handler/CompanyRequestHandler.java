@@ -1,8 +1,10 @@
 package com.agilecheckup.api.handler;
 
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.api.validator.CompanyValidator;
 import com.agilecheckup.api.validator.ValidationResult;
 import com.agilecheckup.dagger.component.ServiceComponent;
@@ -19,55 +21,33 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-public class CompanyRequestHandler implements RequestHandlerStrategy {
+public class CompanyRequestHandler implements RoutedRequestHandler<CompanyRequestHandler> {
+
+  static final RouteTrie<RouteAction<CompanyRequestHandler>> ROUTES = new RouteTrie<RouteAction<CompanyRequestHandler>>()
+      .add("GET", "/companies", (handler, input, context, params) -> handler.handleGetAll(input.getQueryStringParameters()))
+      .add("GET", "/companies/{id}", (handler, input, context, params) -> handler.handleGetById(params.get("id")))
+      .add("POST", "/companies", (handler, input, context, params) -> handler.handleCreate(input.getBody()))
+      .add("PUT", "/companies/{id}", (handler, input, context, params) -> handler.handleUpdate(params.get("id"), input.getBody()))
+      .add("DELETE", "/companies/{id}", (handler, input, context, params) -> handler.handleDelete(params.get("id")));
 
-  // Regex patterns for path matching
-  private static final Pattern GET_ALL_PATTERN = Pattern.compile("^/companies/?$");
-  private static final Pattern SINGLE_RESOURCE_PATTERN = Pattern.compile("^/companies/([^/]+)/?$");
   private final CompanyService companyService;
-  private final ObjectMapper objectMapper;
+  private final JsonCodecRegistry json;
 
-  public CompanyRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper) {
+  public CompanyRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json) {
     this.companyService = serviceComponent.buildCompanyService();
-    this.objectMapper = objectMapper;
+    this.json = json;
   }
 
   @Override
-  public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
-    try {
-      String path = input.getPath();
-      String method = input.getHttpMethod();
-
-      // GET /companies
-      if (method.equals("GET") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleGetAll();
-      }
-      // GET /companies/{id}
-      else if (method.equals("GET") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleGetById(id);
-      }
-      // POST /companies
-      else if (method.equals("POST") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleCreate(input.getBody());
-      }
-      // PUT /companies/{id}
-      else if (method.equals("PUT") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleUpdate(id, input.getBody());
-      }
-      // DELETE /companies/{id}
-      else if (method.equals("DELETE") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleDelete(id);
-      }
-      // Method not supported
-      else {
-        return ResponseBuilder.buildResponse(405, "Method Not Allowed");
-      }
+  public RouteTrie<RouteAction<CompanyRequestHandler>> routes() {
+    return ROUTES;
+  }
 
+  @Override
+  public APIGatewayProxyResponseEvent handleRoute(RouteAction<CompanyRequestHandler> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context) {
+    try {
+      return action.handle(this, input, context, pathParameters);
     }
     catch (IllegalArgumentException e) {
       context.getLogger().log("Validation error in company endpoint: " + e.getMessage());
@@ -79,15 +59,15 @@ public class CompanyRequestHandler implements RequestHandlerStrategy {
     }
   }
 
-  private APIGatewayProxyResponseEvent handleGetAll() throws Exception {
-    return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(companyService.findAll()));
+  private APIGatewayProxyResponseEvent handleGetAll(Map<String, String> queryParams) throws Exception {
+    return PagedResponses.page(json, queryParams, companyService::findAll, Company::getId);
   }
 
   private APIGatewayProxyResponseEvent handleGetById(String id) throws Exception {
-    Optional<Company> company = companyService.findById(id);
+    Optional<Company> company = RequestIdentityMap.find(Company.class, id, companyService::findById);
 
     if (company.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(company.get()));
+      return ResponseBuilder.buildResponse(200, json.write(company.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Company not found");
@@ -115,7 +95,7 @@ public class CompanyRequestHandler implements RequestHandlerStrategy {
     );
 
     if (company.isPresent()) {
-      return ResponseBuilder.buildResponse(201, objectMapper.writeValueAsString(company.get()));
+      return ResponseBuilder.buildResponse(201, json.write(company.get()));
     }
     else {
       return ResponseBuilder.buildResponse(400, "Failed to create company");
@@ -139,12 +119,13 @@ public class CompanyRequestHandler implements RequestHandlerStrategy {
     Address address = convertDtoToAddress(companyBody.getAddress());
 
     // Use update method
+    RequestIdentityMap.evict(Company.class, id);
     Optional<Company> company = companyService.update(
         id, companyBody.getDocumentNumber(), companyBody.getName(), companyBody.getEmail(), companyBody.getDescription(), companyBody.getTenantId(), size, industry, companyBody.getWebsite(), companyBody.getLegalName(), contactPerson, address
     );
 
     if (company.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(company.get()));
+      return ResponseBuilder.buildResponse(200, json.write(company.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Company not found or update failed");
@@ -152,14 +133,15 @@ public class CompanyRequestHandler implements RequestHandlerStrategy {
   }
 
   private com.agilecheckup.api.model.Company parseCompanyRequest(String requestBody) throws JsonProcessingException {
-    return objectMapper.readValue(requestBody, com.agilecheckup.api.model.Company.class);
+    return json.read(requestBody, com.agilecheckup.api.model.Company.class);
   }
 
   private APIGatewayProxyResponseEvent handleDelete(String id) {
-    Optional<Company> company = companyService.findById(id);
+    Optional<Company> company = RequestIdentityMap.find(Company.class, id, companyService::findById);
 
     if (company.isPresent()) {
       companyService.deleteById(id);
+      RequestIdentityMap.evict(Company.class, id);
       return ResponseBuilder.buildResponse(204, "");
     }
     else {
@@ -167,11 +149,6 @@ public class CompanyRequestHandler implements RequestHandlerStrategy {
     }
   }
 
-  private String extractIdFromPath(String path) {
-    // Extract ID from path like /companies/{id}
-    return path.substring(path.lastIndexOf("/") + 1);
-  }
-
   private CompanySize parseCompanySize(String sizeStr) {
     if (sizeStr == null || sizeStr.trim().isEmpty()) {
       return null;
@@ -1,14 +1,35 @@
 package com.agilecheckup.api.handler;
 
+import static com.agilecheckup.api.analytics.AnalyticsData.orDefault;
+
+import java.time.Instant;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
+import com.agilecheckup.api.analytics.AnalyticsData;
+import com.agilecheckup.api.analytics.AnalyticsData.CategoryData;
+import com.agilecheckup.api.analytics.AnalyticsData.PillarData;
+import com.agilecheckup.api.analytics.AnalyticsData.WordCloudData;
+import com.agilecheckup.api.analytics.AnalyticsData.WordData;
+import com.agilecheckup.api.analytics.AnalyticsDataParser;
+import com.agilecheckup.api.analytics.PerformanceCycleSummaryAggregator;
+import com.agilecheckup.api.jobs.ComputeJob;
+import com.agilecheckup.api.jobs.ComputeJobLauncher;
+import com.agilecheckup.api.jobs.ComputeJobRegistry;
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheManager;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.cache.CacheTags;
+import com.agilecheckup.gate.cache.MaterializedResponse;
+import com.agilecheckup.gate.dto.ComputeJobResponse;
 import com.agilecheckup.gate.dto.DashboardAnalyticsOverviewResponse;
 import com.agilecheckup.gate.dto.DashboardAnalyticsTeamResponse;
-import com.agilecheckup.gate.dto.PerformanceCycleSummaryResponse;
 import com.agilecheckup.persistency.entity.AnalyticsScope;
 import com.agilecheckup.persistency.entity.AssessmentMatrix;
 import com.agilecheckup.persistency.entity.DashboardAnalytics;
@@ -17,72 +38,64 @@ import com.agilecheckup.service.DashboardAnalyticsService;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy {
 
-  // Regex patterns for path matching
-  private static final Pattern OVERVIEW_PATTERN = Pattern.compile("^/dashboard-analytics/overview/([^/]+)/?$");
-  private static final Pattern TEAM_PATTERN = Pattern.compile("^/dashboard-analytics/team/([^/]+)/([^/]+)/?$");
-  private static final Pattern COMPUTE_PATTERN = Pattern.compile("^/dashboard-analytics/compute/([^/]+)/?$");
-  private static final Pattern PERFORMANCE_CYCLE_SUMMARY_PATTERN = Pattern.compile("^/performance-cycle-summary/([^/]+)/?$");
+public class DashboardAnalyticsRequestHandler implements RoutedRequestHandler<DashboardAnalyticsRequestHandler> {
+
+  static final RouteTrie<RouteAction<DashboardAnalyticsRequestHandler>> ROUTES = new RouteTrie<RouteAction<DashboardAnalyticsRequestHandler>>()
+      .add("POST", "/dashboard-analytics/compute/{assessmentMatrixId}", (handler, input, context, params) -> handler.handleComputeAnalytics(params.get("assessmentMatrixId"), input.getQueryStringParameters(), context))
+      .add(RouteTrie.ANY_METHOD, "/dashboard-analytics/compute/{assessmentMatrixId}", (handler, input, context, params) -> ResponseBuilder.buildResponse(405, "Method Not Allowed - POST required for compute endpoint"))
+      .add("GET", "/dashboard-analytics/compute-jobs/{jobId}", (handler, input, context, params) -> handler.handleGetComputeJob(params.get("jobId"), input.getQueryStringParameters()))
+      .add("POST", "/dashboard-analytics/compute-jobs/{jobId}/run", (handler, input, context, params) -> handler.handleRunComputeJob(params.get("jobId"), input, context))
+      .add("GET", "/dashboard-analytics/overview/{assessmentMatrixId}", (handler, input, context, params) -> handler.handleGetOverview(params.get("assessmentMatrixId"), input.getQueryStringParameters(), context))
+      .add("GET", "/dashboard-analytics/team/{assessmentMatrixId}/{teamId}", (handler, input, context, params) -> handler.handleGetTeamAnalytics(params.get("assessmentMatrixId"), params.get("teamId"), input.getQueryStringParameters(), context))
+      .add("GET", "/performance-cycle-summary/{companyId}", (handler, input, context, params) -> handler.handleGetPerformanceCycleSummary(params.get("companyId"), input.getQueryStringParameters()));
+
+  // Materialized responses, keyed by matrix (and team) plus the analytics lastUpdated version
+  private static final String OVERVIEW_CACHE_PREFIX = "analytics-overview:";
+  private static final String TEAM_CACHE_PREFIX = "analytics-team:";
+  // Performance cycle summaries, keyed and tagged by company and invalidated when a compute of one of its matrices finishes
+  private static final String SUMMARY_CACHE_PREFIX = "performance-cycle-summary:";
+  private static final int SUMMARY_FETCH_THREADS = 4;
+  private static final Executor SUMMARY_FETCH_EXECUTOR = Executors.newFixedThreadPool(SUMMARY_FETCH_THREADS, runnable -> {
+    Thread thread = new Thread(runnable, "performance-cycle-summary");
+    thread.setDaemon(true);
+    return thread;
+  });
 
   private final DashboardAnalyticsService dashboardAnalyticsService;
   private final AssessmentMatrixService assessmentMatrixService;
-  private final ObjectMapper objectMapper;
+  private final JsonCodecRegistry json;
+  private final AnalyticsDataParser analyticsDataParser;
+  private final CacheRegions cacheRegions;
+  private final CacheManager cacheManager;
+  private final ComputeJobRegistry computeJobs;
+  private final PerformanceCycleSummaryAggregator summaryAggregator;
+
+  public DashboardAnalyticsRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json, CacheRegions cacheRegions) {
+    this(serviceComponent, json, cacheRegions, new ComputeJobRegistry(cacheRegions.region(CacheRegions.COMPUTE_JOBS), ComputeJobLauncher.forEnvironment(cacheRegions.isShared())));
+  }
 
-  public DashboardAnalyticsRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper) {
+  // Constructor for testing with a controllable compute job launcher
+  public DashboardAnalyticsRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json, CacheRegions cacheRegions, ComputeJobRegistry computeJobs) {
     this.dashboardAnalyticsService = serviceComponent.buildDashboardAnalyticsService();
     this.assessmentMatrixService = serviceComponent.buildAssessmentMatrixService();
-    this.objectMapper = objectMapper;
+    this.json = json;
+    this.analyticsDataParser = new AnalyticsDataParser(json.getObjectMapper().getFactory());
+    this.cacheRegions = cacheRegions;
+    this.cacheManager = cacheRegions.region(CacheRegions.ANALYTICS);
+    this.computeJobs = computeJobs;
+    this.summaryAggregator = new PerformanceCycleSummaryAggregator(serviceComponent.buildPerformanceCycleService(), assessmentMatrixService, dashboardAnalyticsService, serviceComponent.buildCompanyService(), SUMMARY_FETCH_EXECUTOR);
   }
 
   @Override
-  public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
-    try {
-      String path = input.getPath();
-      String method = input.getHttpMethod();
-
-      // Handle compute endpoint (POST)
-      Matcher computeMatcher = COMPUTE_PATTERN.matcher(path);
-      if (computeMatcher.matches()) {
-        if (!method.equals("POST")) {
-          return ResponseBuilder.buildResponse(405, "Method Not Allowed - POST required for compute endpoint");
-        }
-        String assessmentMatrixId = computeMatcher.group(1);
-        return handleComputeAnalytics(assessmentMatrixId, input.getQueryStringParameters(), context);
-      }
-
-      // Only support GET requests for read analytics endpoints
-      if (!method.equals("GET")) {
-        return ResponseBuilder.buildResponse(405, "Method Not Allowed");
-      }
-
-      // GET /dashboard-analytics/overview/{assessmentMatrixId}
-      Matcher overviewMatcher = OVERVIEW_PATTERN.matcher(path);
-      if (overviewMatcher.matches()) {
-        String assessmentMatrixId = overviewMatcher.group(1);
-        return handleGetOverview(assessmentMatrixId, input.getQueryStringParameters(), context);
-      }
-
-      // GET /dashboard-analytics/team/{assessmentMatrixId}/{teamId}
-      Matcher teamMatcher = TEAM_PATTERN.matcher(path);
-      if (teamMatcher.matches()) {
-        String assessmentMatrixId = teamMatcher.group(1);
-        String teamId = teamMatcher.group(2);
-        return handleGetTeamAnalytics(assessmentMatrixId, teamId, input.getQueryStringParameters(), context);
-      }
-
-      // GET /performance-cycle-summary/{companyId}
-      Matcher performanceCycleMatcher = PERFORMANCE_CYCLE_SUMMARY_PATTERN.matcher(path);
-      if (performanceCycleMatcher.matches()) {
-        String companyId = performanceCycleMatcher.group(1);
-        return handleGetPerformanceCycleSummary(companyId, input.getQueryStringParameters());
-      }
-
-      return ResponseBuilder.buildResponse(404, "Not Found");
+  public RouteTrie<RouteAction<DashboardAnalyticsRequestHandler>> routes() {
+    return ROUTES;
+  }
 
+  @Override
+  public APIGatewayProxyResponseEvent handleRoute(RouteAction<DashboardAnalyticsRequestHandler> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context) {
+    try {
+      return action.handle(this, input, context, pathParameters);
     }
     catch (Exception e) {
       context.getLogger().log("Error in DashboardAnalyticsRequestHandler: " + e.getMessage());
@@ -90,8 +103,18 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
     }
   }
 
+  @Override
+  public APIGatewayProxyResponseEvent handleUnmatched(APIGatewayProxyRequestEvent input, Context context) {
+    // Only GET is supported for read analytics endpoints
+    if (!"GET".equals(input.getHttpMethod())) {
+      return ResponseBuilder.buildResponse(405, "Method Not Allowed");
+    }
+    return ResponseBuilder.buildResponse(404, "Not Found");
+  }
+
   /**
    * Handle POST /dashboard-analytics/compute/{assessmentMatrixId}
+   * With async=true the compute runs as a background job and 202 is returned with the job ID.
    */
   private APIGatewayProxyResponseEvent handleComputeAnalytics(String assessmentMatrixId, Map<String, String> queryParams, Context context) {
     try {
@@ -107,15 +130,19 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
         return accessCheck; // Return 403 or 404 if access denied or matrix not found
       }
 
+      if (Boolean.parseBoolean(queryParams.get("async"))) {
+        return submitComputeJob(assessmentMatrixId, tenantId, context);
+      }
+
       // Trigger analytics computation
-      dashboardAnalyticsService.updateAssessmentMatrixAnalytics(assessmentMatrixId);
+      computeAnalytics(assessmentMatrixId, tenantId);
 
       // Return success response
       Map<String, Object> response = Map.of(
           "success", true, "message", "Dashboard analytics computed successfully", "assessmentMatrixId", assessmentMatrixId, "computedAt", java.time.LocalDateTime.now().toString()
       );
 
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      return ResponseBuilder.buildResponse(200, json.write(response));
 
     }
     catch (Exception e) {
@@ -129,6 +156,64 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
     }
   }
 
+  /**
+   * Recompute the matrix analytics; the company summary rolls them up, so it is evicted afterwards
+   */
+  private void computeAnalytics(String assessmentMatrixId, String tenantId) {
+    dashboardAnalyticsService.updateAssessmentMatrixAnalytics(assessmentMatrixId);
+    cacheRegions.invalidateTag(CacheTags.tenant(tenantId));
+  }
+
+  /**
+   * Queue the compute as a job; a matrix with a job already queued or running joins that job
+   */
+  private APIGatewayProxyResponseEvent submitComputeJob(String assessmentMatrixId, String tenantId, Context context) throws Exception {
+    ComputeJob job;
+    try {
+      job = computeJobs.submit(assessmentMatrixId, tenantId, started -> computeAnalytics(assessmentMatrixId, tenantId));
+    }
+    catch (RejectedExecutionException e) {
+      context.getLogger().log("DashboardAnalyticsRequestHandler: Compute job not started for assessmentMatrixId=" + assessmentMatrixId + ": " + e.getMessage());
+      return ResponseBuilder.buildResponse(503, "Too many analytics computes in progress, please retry later");
+    }
+    return ResponseBuilder.buildResponse(202, json.write(buildComputeJobResponse(job)));
+  }
+
+  /**
+   * Handle GET /dashboard-analytics/compute-jobs/{jobId}
+   */
+  private APIGatewayProxyResponseEvent handleGetComputeJob(String jobId, Map<String, String> queryParams) throws Exception {
+    String tenantId = extractTenantId(queryParams);
+    if (tenantId == null) {
+      return ResponseBuilder.buildResponse(400, "Missing required parameter: tenantId");
+    }
+
+    Optional<ComputeJob> job = computeJobs.find(jobId, tenantId);
+    if (job.isEmpty()) {
+      return ResponseBuilder.buildResponse(404, "Compute job not found");
+    }
+    return ResponseBuilder.buildResponse(200, json.write(buildComputeJobResponse(job.get())));
+  }
+
+  /**
+   * Handle POST /dashboard-analytics/compute-jobs/{jobId}/run, the invocation the
+   * job launcher makes of this function. Requests through API Gateway carry a
+   * request context and are not served.
+   */
+  private APIGatewayProxyResponseEvent handleRunComputeJob(String jobId, APIGatewayProxyRequestEvent input, Context context) throws Exception {
+    if (input.getRequestContext() != null) {
+      return ResponseBuilder.buildResponse(404, "Not Found");
+    }
+
+    Optional<ComputeJob> job = computeJobs.run(jobId, started -> computeAnalytics(started.getAssessmentMatrixId(), started.getTenantId()));
+    if (job.isEmpty()) {
+      context.getLogger().log("DashboardAnalyticsRequestHandler: Compute job " + jobId + " not found");
+      return ResponseBuilder.buildResponse(404, "Compute job not found");
+    }
+    context.getLogger().log("DashboardAnalyticsRequestHandler: Compute job " + jobId + " " + job.get().getStatus() + " in " + job.get().getDurationMillis() + " ms");
+    return ResponseBuilder.buildResponse(200, json.write(buildComputeJobResponse(job.get())));
+  }
+
   /**
    * Handle GET /dashboard-analytics/overview/{assessmentMatrixId}
    */
@@ -151,17 +236,18 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
       if (overviewOpt.isEmpty()) {
         // Return empty analytics response (tenant access already verified)
         DashboardAnalyticsOverviewResponse emptyResponse = buildEmptyOverviewResponse(assessmentMatrixId, tenantId);
-        return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(emptyResponse));
+        return ResponseBuilder.buildResponse(200, json.write(emptyResponse));
       }
 
       DashboardAnalytics overview = overviewOpt.get();
 
-      // Get all analytics for teams
-      List<DashboardAnalytics> allAnalytics = dashboardAnalyticsService.getAllAnalytics(assessmentMatrixId);
-
-      DashboardAnalyticsOverviewResponse response = buildOverviewResponse(overview, allAnalytics);
-
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      // Analytics only change on compute, which moves lastUpdated: a body materialized for this version is current
+      String cacheKey = materializedKey(OVERVIEW_CACHE_PREFIX + assessmentMatrixId, overview);
+      return materialize(cacheKey, () -> {
+        // Get all analytics for teams
+        List<DashboardAnalytics> allAnalytics = dashboardAnalyticsService.getAllAnalytics(assessmentMatrixId);
+        return buildOverviewResponse(overview, allAnalytics);
+      }, CacheTags.matrix(assessmentMatrixId));
 
     }
     catch (Exception e) {
@@ -197,14 +283,13 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
       if (teamAnalyticsOpt.isEmpty()) {
         // Return empty team analytics response (tenant access already verified)
         DashboardAnalyticsTeamResponse emptyResponse = buildEmptyTeamResponse(assessmentMatrixId, teamId, tenantId);
-        return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(emptyResponse));
+        return ResponseBuilder.buildResponse(200, json.write(emptyResponse));
       }
 
       DashboardAnalytics teamAnalytics = teamAnalyticsOpt.get();
 
-      DashboardAnalyticsTeamResponse response = buildTeamResponse(teamAnalytics);
-
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      String cacheKey = materializedKey(TEAM_CACHE_PREFIX + assessmentMatrixId + ":" + teamId, teamAnalytics);
+      return materialize(cacheKey, () -> buildTeamResponse(teamAnalytics), CacheTags.matrix(assessmentMatrixId));
 
     }
     catch (Exception e) {
@@ -234,11 +319,7 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
         return ResponseBuilder.buildResponse(403, "Access denied to this company data");
       }
 
-      // TODO: Implement performance cycle summary logic
-      // For now, return placeholder response
-      PerformanceCycleSummaryResponse response = PerformanceCycleSummaryResponse.builder().companyId(companyId).companyName("Sample Company").performanceCycles(new ArrayList<>()).build();
-
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      return materialize(SUMMARY_CACHE_PREFIX + companyId, () -> summaryAggregator.aggregate(companyId), CacheTags.tenant(companyId));
 
     }
     catch (Exception e) {
@@ -246,22 +327,46 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
     }
   }
 
+  /**
+   * Builds the cache key of a materialized response for the analytics version
+   * the record carries, or null when the record has no version to key on.
+   */
+  private String materializedKey(String baseKey, DashboardAnalytics analytics) {
+    Instant lastUpdated = analytics.getLastUpdated();
+    return lastUpdated != null ? baseKey + ":" + lastUpdated.toEpochMilli() : null;
+  }
+
+  /**
+   * Returns the bytes cached under the key as the 200 response, building and
+   * serializing the response on a miss. Concurrent misses share one build; a
+   * null key, for a record without a version, builds the response uncached.
+   */
+  private APIGatewayProxyResponseEvent materialize(String cacheKey, Callable<?> response, String... tags) throws Exception {
+    Callable<MaterializedResponse> loader = () -> new MaterializedResponse(json.writeBytes(response.call()));
+    MaterializedResponse materialized = cacheKey != null ? cacheManager.get(cacheKey, MaterializedResponse.class, loader, tags).get() : loader.call();
+    return ResponseBuilder.buildResponse(200, materialized);
+  }
+
+  /**
+   * Build compute job response from the current job state
+   */
+  private ComputeJobResponse buildComputeJobResponse(ComputeJob job) {
+    return ComputeJobResponse.builder().jobId(job.getJobId()).assessmentMatrixId(job.getAssessmentMatrixId()).status(job.getStatus().name()).progress(job.getProgress()).durationMillis(job.getDurationMillis()).createdAt(job.getCreatedAt().toString()).startedAt(job.getStartedAt() != null ? job.getStartedAt().toString() : null).finishedAt(job.getFinishedAt() != null ? job.getFinishedAt().toString() : null).errorMessage(job.getErrorMessage()).build();
+  }
+
   /**
    * Build overview response from dashboard analytics data
    */
   private DashboardAnalyticsOverviewResponse buildOverviewResponse(DashboardAnalytics overview, List<DashboardAnalytics> allAnalytics) {
     try {
-      // Parse analytics data from JSON
-      Map<String, Object> analyticsData = parseAnalyticsData(overview.getAnalyticsDataJson());
+      // Parse analytics data from JSON; top/bottom pillars and categories are ranked while parsing
+      AnalyticsData analyticsData = analyticsDataParser.parse(overview.getAnalyticsDataJson());
 
       // Build metadata using denormalized names
       DashboardAnalyticsOverviewResponse.Metadata metadata = DashboardAnalyticsOverviewResponse.Metadata.builder().assessmentMatrixId(overview.getAssessmentMatrixId()).companyName(overview.getCompanyName() != null ? overview.getCompanyName() : "N/A").performanceCycle(overview.getPerformanceCycleName() != null ? overview.getPerformanceCycleName() : "N/A").assessmentMatrixName(overview.getAssessmentMatrixName() != null ? overview.getAssessmentMatrixName() : "N/A").lastUpdated(overview.getLastUpdated().toString()).build();
 
-      // Extract top/bottom pillars and categories from analytics data
-      TopBottomAnalytics topBottomAnalytics = extractTopBottomAnalytics(analyticsData);
-
       // Build summary
-      DashboardAnalyticsOverviewResponse.Summary summary = DashboardAnalyticsOverviewResponse.Summary.builder().generalAverage(overview.getGeneralAverage()).topPillar(topBottomAnalytics.getTopPillar()).bottomPillar(topBottomAnalytics.getBottomPillar()).topCategory(topBottomAnalytics.getTopCategory()).bottomCategory(topBottomAnalytics.getBottomCategory()).totalEmployees(overview.getEmployeeCount()).completionPercentage(overview.getCompletionPercentage()).build();
+      DashboardAnalyticsOverviewResponse.Summary summary = DashboardAnalyticsOverviewResponse.Summary.builder().generalAverage(overview.getGeneralAverage()).topPillar(buildPillarSummary(analyticsData.getTopPillar())).bottomPillar(buildPillarSummary(analyticsData.getBottomPillar())).topCategory(buildCategorySummary(analyticsData.getTopCategory(), analyticsData.getTopCategoryPillar())).bottomCategory(buildCategorySummary(analyticsData.getBottomCategory(), analyticsData.getBottomCategoryPillar())).totalEmployees(overview.getEmployeeCount()).completionPercentage(overview.getCompletionPercentage()).build();
 
       // Build team overviews (only include TEAM scope records)
       List<DashboardAnalyticsOverviewResponse.TeamOverview> teams = allAnalytics.stream().filter(analytics -> AnalyticsScope.TEAM.equals(analytics.getScope())).map(this::buildTeamOverview).collect(Collectors.toList());
@@ -280,7 +385,7 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
   private DashboardAnalyticsTeamResponse buildTeamResponse(DashboardAnalytics teamAnalytics) {
     try {
       // Parse analytics data from JSON
-      Map<String, Object> analyticsData = parseAnalyticsData(teamAnalytics.getAnalyticsDataJson());
+      AnalyticsData analyticsData = analyticsDataParser.parse(teamAnalytics.getAnalyticsDataJson());
 
       // Build pillar scores (same structure as overview endpoint)
       Map<String, DashboardAnalyticsTeamResponse.PillarScore> pillarScores = buildTeamPillarScoresMap(analyticsData);
@@ -302,7 +407,7 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
   private DashboardAnalyticsOverviewResponse.TeamOverview buildTeamOverview(DashboardAnalytics analytics) {
     try {
       // Parse analytics data to extract pillar scores
-      Map<String, Object> analyticsData = parseAnalyticsData(analytics.getAnalyticsDataJson());
+      AnalyticsData analyticsData = analyticsDataParser.parse(analytics.getAnalyticsDataJson());
       Map<String, DashboardAnalyticsOverviewResponse.PillarScore> pillarScores = buildPillarScoresMap(analyticsData);
 
       return DashboardAnalyticsOverviewResponse.TeamOverview.builder().teamId(analytics.getTeamId()).teamName(analytics.getTeamName()).totalScore(analytics.getGeneralAverage()).employeeCount(analytics.getEmployeeCount()).completionPercentage(analytics.getCompletionPercentage()).pillarScores(pillarScores).build();
@@ -314,51 +419,17 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
   }
 
 
-  /**
-   * Parse analytics data JSON
-   */
-  private Map<String, Object> parseAnalyticsData(String analyticsDataJson) {
-    try {
-      if (analyticsDataJson == null || analyticsDataJson.trim().isEmpty()) {
-        return Map.of();
-      }
-      return objectMapper.readValue(analyticsDataJson, new TypeReference<Map<String, Object>>() {
-      });
-    }
-    catch (Exception e) {
-      return Map.of();
-    }
-  }
-
   /**
    * Build pillar scores map from analytics data
    */
-  private Map<String, DashboardAnalyticsOverviewResponse.PillarScore> buildPillarScoresMap(Map<String, Object> analyticsData) {
+  private Map<String, DashboardAnalyticsOverviewResponse.PillarScore> buildPillarScoresMap(AnalyticsData analyticsData) {
     Map<String, DashboardAnalyticsOverviewResponse.PillarScore> pillarScores = new HashMap<>();
 
-    try {
-      Map<String, Object> pillars = (Map<String, Object>) analyticsData.get("pillars");
-
-      if (pillars == null || pillars.isEmpty()) {
-        return pillarScores;
+    for (PillarData pillar : analyticsData.getPillars()) {
+      if (pillar.getName() == null) {
+        continue; // Skip pillars without names
       }
-
-      for (Map.Entry<String, Object> pillarEntry : pillars.entrySet()) {
-        Map<String, Object> pillarData = (Map<String, Object>) pillarEntry.getValue();
-
-        String pillarName = (String) pillarData.get("name");
-        if (pillarName == null) {
-          continue; // Skip pillars without names
-        }
-
-        DashboardAnalyticsOverviewResponse.PillarScore pillarScore = buildPillarScore(pillarData);
-        pillarScores.put(pillarName, pillarScore);
-      }
-
-    }
-    catch (Exception e) {
-      // Log error but don't fail the entire response - return empty map
-      return new HashMap<>();
+      pillarScores.put(pillar.getName(), buildPillarScore(pillar));
     }
 
     return pillarScores;
@@ -367,59 +438,52 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
   /**
    * Build pillar score from pillar data including categories
    */
-  private DashboardAnalyticsOverviewResponse.PillarScore buildPillarScore(Map<String, Object> pillarData) {
-    String name = (String) pillarData.get("name");
-    Double percentage = (Double) pillarData.get("percentage");
-    Double actualScore = (Double) pillarData.get("actualScore");
-    Double potentialScore = (Double) pillarData.get("potentialScore");
-    Double gapFromPotential = (Double) pillarData.get("gapFromPotential");
-
+  private DashboardAnalyticsOverviewResponse.PillarScore buildPillarScore(PillarData pillar) {
     // Build categories list
-    List<DashboardAnalyticsOverviewResponse.CategoryScore> categories = buildCategoryScores(pillarData);
+    List<DashboardAnalyticsOverviewResponse.CategoryScore> categories = buildCategoryScores(pillar);
 
-    return DashboardAnalyticsOverviewResponse.PillarScore.builder().name(name != null ? name : "Unknown Pillar").score(percentage != null ? percentage : 0.0).actualScore(actualScore != null ? actualScore : 0.0).potentialScore(potentialScore != null ? potentialScore : 0.0).gapFromPotential(gapFromPotential != null ? gapFromPotential : 0.0).categories(categories).build();
+    return DashboardAnalyticsOverviewResponse.PillarScore.builder().name(pillar.getName()).score(orDefault(pillar.getPercentage(), 0.0)).actualScore(orDefault(pillar.getActualScore(), 0.0)).potentialScore(orDefault(pillar.getPotentialScore(), 0.0)).gapFromPotential(orDefault(pillar.getGapFromPotential(), 0.0)).categories(categories).build();
   }
 
   /**
    * Build category scores from pillar data
    */
-  private List<DashboardAnalyticsOverviewResponse.CategoryScore> buildCategoryScores(Map<String, Object> pillarData) {
-    List<DashboardAnalyticsOverviewResponse.CategoryScore> categoryScores = new ArrayList<>();
+  private List<DashboardAnalyticsOverviewResponse.CategoryScore> buildCategoryScores(PillarData pillar) {
+    List<DashboardAnalyticsOverviewResponse.CategoryScore> categoryScores = new ArrayList<>(pillar.getCategories().size());
 
-    try {
-      Map<String, Object> categories = (Map<String, Object>) pillarData.get("categories");
-
-      if (categories == null || categories.isEmpty()) {
-        return categoryScores;
+    for (CategoryData category : pillar.getCategories()) {
+      if (category.getName() == null) {
+        continue; // Skip categories without names
       }
 
-      for (Map.Entry<String, Object> categoryEntry : categories.entrySet()) {
-        Map<String, Object> categoryData = (Map<String, Object>) categoryEntry.getValue();
-
-        String categoryName = (String) categoryData.get("name");
-        if (categoryName == null) {
-          continue; // Skip categories without names
-        }
+      // Calculate gap from potential from the percentage
+      double percentage = category.getPercentage();
+      double gapFromPotential = Double.isNaN(percentage) ? 0.0 : 100.0 - percentage;
 
-        Double percentage = (Double) categoryData.get("percentage");
-        Double actualScore = (Double) categoryData.get("actualScore");
-        Double potentialScore = (Double) categoryData.get("potentialScore");
-
-        // Calculate gap from potential if not provided
-        Double gapFromPotential = percentage != null ? 100.0 - percentage : 0.0;
-
-        DashboardAnalyticsOverviewResponse.CategoryScore categoryScore = DashboardAnalyticsOverviewResponse.CategoryScore.builder().name(categoryName).score(percentage != null ? percentage : 0.0).actualScore(actualScore != null ? actualScore : 0.0).potentialScore(potentialScore != null ? potentialScore : 0.0).gapFromPotential(gapFromPotential).build();
+      categoryScores.add(DashboardAnalyticsOverviewResponse.CategoryScore.builder().name(category.getName()).score(orDefault(percentage, 0.0)).actualScore(orDefault(category.getActualScore(), 0.0)).potentialScore(orDefault(category.getPotentialScore(), 0.0)).gapFromPotential(gapFromPotential).build());
+    }
 
-        categoryScores.add(categoryScore);
-      }
+    return categoryScores;
+  }
 
+  /**
+   * Build the summary of a top or bottom pillar
+   */
+  private DashboardAnalyticsOverviewResponse.PillarSummary buildPillarSummary(PillarData pillar) {
+    if (pillar == null) {
+      return null;
     }
-    catch (Exception e) {
-      // Log error but don't fail - return empty list
-      return new ArrayList<>();
-    }
+    return DashboardAnalyticsOverviewResponse.PillarSummary.builder().name(pillar.getName()).percentage(pillar.getPercentage()).actualScore(orDefault(pillar.getActualScore(), 0.0)).potentialScore(orDefault(pillar.getPotentialScore(), 0.0)).build();
+  }
 
-    return categoryScores;
+  /**
+   * Build the summary of a top or bottom category
+   */
+  private DashboardAnalyticsOverviewResponse.CategorySummary buildCategorySummary(CategoryData category, PillarData pillar) {
+    if (category == null) {
+      return null;
+    }
+    return DashboardAnalyticsOverviewResponse.CategorySummary.builder().name(category.getName()).pillar(pillar.getName()).percentage(category.getPercentage()).actualScore(orDefault(category.getActualScore(), 0.0)).potentialScore(orDefault(category.getPotentialScore(), 0.0)).build();
   }
 
   /**
@@ -435,18 +499,16 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
    */
   private APIGatewayProxyResponseEvent verifyTenantAccess(String assessmentMatrixId, String tenantId, Context context) {
     try {
-      // Get the assessment matrix to verify tenant access
-      Optional<AssessmentMatrix> matrixOpt = assessmentMatrixService.findById(assessmentMatrixId);
+      // The matrix is only loaded when its owner isn't cached yet
+      Optional<String> owner = cacheRegions.ownership().ownerOf(assessmentMatrixId, id -> RequestIdentityMap.find(AssessmentMatrix.class, id, assessmentMatrixService::findById).map(AssessmentMatrix::getTenantId));
 
-      if (matrixOpt.isEmpty()) {
+      if (owner.isEmpty()) {
         context.getLogger().log("DashboardAnalyticsRequestHandler: Assessment matrix not found: " + assessmentMatrixId);
         return ResponseBuilder.buildResponse(404, "Assessment matrix not found");
       }
 
-      AssessmentMatrix matrix = matrixOpt.get();
-
       // Verify that the tenant ID matches the company ID (tenant) of the assessment matrix
-      if (!tenantId.equals(matrix.getTenantId())) {
+      if (!tenantId.equals(owner.get())) {
         return ResponseBuilder.buildResponse(403, "Access denied to this assessment matrix");
       }
 
@@ -501,149 +563,17 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
     }
   }
 
-  /**
-   * Extract top/bottom pillars and categories from analytics data
-   */
-  private TopBottomAnalytics extractTopBottomAnalytics(Map<String, Object> analyticsData) {
-    try {
-      Map<String, Object> pillars = (Map<String, Object>) analyticsData.get("pillars");
-
-      if (pillars == null || pillars.isEmpty()) {
-        return new TopBottomAnalytics(null, null, null, null);
-      }
-
-      DashboardAnalyticsOverviewResponse.PillarSummary topPillar = null;
-      DashboardAnalyticsOverviewResponse.PillarSummary bottomPillar = null;
-      DashboardAnalyticsOverviewResponse.CategorySummary topCategory = null;
-      DashboardAnalyticsOverviewResponse.CategorySummary bottomCategory = null;
-
-      double maxPillarPercentage = Double.MIN_VALUE;
-      double minPillarPercentage = Double.MAX_VALUE;
-      double maxCategoryPercentage = Double.MIN_VALUE;
-      double minCategoryPercentage = Double.MAX_VALUE;
-
-      // Process each pillar
-      for (Map.Entry<String, Object> pillarEntry : pillars.entrySet()) {
-        Map<String, Object> pillarData = (Map<String, Object>) pillarEntry.getValue();
-
-        String pillarName = (String) pillarData.get("name");
-        Double pillarPercentage = (Double) pillarData.get("percentage");
-        Double actualScore = (Double) pillarData.get("actualScore");
-        Double potentialScore = (Double) pillarData.get("potentialScore");
-
-        if (pillarPercentage != null) {
-          // Check for top pillar
-          if (pillarPercentage > maxPillarPercentage) {
-            maxPillarPercentage = pillarPercentage;
-            topPillar = DashboardAnalyticsOverviewResponse.PillarSummary.builder().name(pillarName).percentage(pillarPercentage).actualScore(actualScore != null ? actualScore : 0.0).potentialScore(potentialScore != null ? potentialScore : 0.0).build();
-          }
-
-          // Check for bottom pillar
-          if (pillarPercentage < minPillarPercentage) {
-            minPillarPercentage = pillarPercentage;
-            bottomPillar = DashboardAnalyticsOverviewResponse.PillarSummary.builder().name(pillarName).percentage(pillarPercentage).actualScore(actualScore != null ? actualScore : 0.0).potentialScore(potentialScore != null ? potentialScore : 0.0).build();
-          }
-        }
-
-        // Process categories within this pillar
-        Map<String, Object> categories = (Map<String, Object>) pillarData.get("categories");
-        if (categories != null) {
-          for (Map.Entry<String, Object> categoryEntry : categories.entrySet()) {
-            Map<String, Object> categoryData = (Map<String, Object>) categoryEntry.getValue();
-
-            String categoryName = (String) categoryData.get("name");
-            Double categoryPercentage = (Double) categoryData.get("percentage");
-            Double categoryActualScore = (Double) categoryData.get("actualScore");
-            Double categoryPotentialScore = (Double) categoryData.get("potentialScore");
-
-            if (categoryPercentage != null) {
-              // Check for top category
-              if (categoryPercentage > maxCategoryPercentage) {
-                maxCategoryPercentage = categoryPercentage;
-                topCategory = DashboardAnalyticsOverviewResponse.CategorySummary.builder().name(categoryName).pillar(pillarName).percentage(categoryPercentage).actualScore(categoryActualScore != null ? categoryActualScore : 0.0).potentialScore(categoryPotentialScore != null ? categoryPotentialScore : 0.0).build();
-              }
-
-              // Check for bottom category
-              if (categoryPercentage < minCategoryPercentage) {
-                minCategoryPercentage = categoryPercentage;
-                bottomCategory = DashboardAnalyticsOverviewResponse.CategorySummary.builder().name(categoryName).pillar(pillarName).percentage(categoryPercentage).actualScore(categoryActualScore != null ? categoryActualScore : 0.0).potentialScore(categoryPotentialScore != null ? categoryPotentialScore : 0.0).build();
-              }
-            }
-          }
-        }
-      }
-
-      return new TopBottomAnalytics(topPillar, bottomPillar, topCategory, bottomCategory);
-
-    }
-    catch (Exception e) {
-      // Log error but don't fail the entire response
-      return new TopBottomAnalytics(null, null, null, null);
-    }
-  }
-
-  /**
-   * Helper class to hold top/bottom analytics results
-   */
-  private static class TopBottomAnalytics {
-    private final DashboardAnalyticsOverviewResponse.PillarSummary topPillar;
-    private final DashboardAnalyticsOverviewResponse.PillarSummary bottomPillar;
-    private final DashboardAnalyticsOverviewResponse.CategorySummary topCategory;
-    private final DashboardAnalyticsOverviewResponse.CategorySummary bottomCategory;
-
-    public TopBottomAnalytics(DashboardAnalyticsOverviewResponse.PillarSummary topPillar, DashboardAnalyticsOverviewResponse.PillarSummary bottomPillar, DashboardAnalyticsOverviewResponse.CategorySummary topCategory, DashboardAnalyticsOverviewResponse.CategorySummary bottomCategory) {
-      this.topPillar = topPillar;
-      this.bottomPillar = bottomPillar;
-      this.topCategory = topCategory;
-      this.bottomCategory = bottomCategory;
-    }
-
-    public DashboardAnalyticsOverviewResponse.PillarSummary getTopPillar() {
-      return topPillar;
-    }
-
-    public DashboardAnalyticsOverviewResponse.PillarSummary getBottomPillar() {
-      return bottomPillar;
-    }
-
-    public DashboardAnalyticsOverviewResponse.CategorySummary getTopCategory() {
-      return topCategory;
-    }
-
-    public DashboardAnalyticsOverviewResponse.CategorySummary getBottomCategory() {
-      return bottomCategory;
-    }
-  }
-
   /**
    * Build pillar scores map for team response (reuse overview logic)
    */
-  private Map<String, DashboardAnalyticsTeamResponse.PillarScore> buildTeamPillarScoresMap(Map<String, Object> analyticsData) {
+  private Map<String, DashboardAnalyticsTeamResponse.PillarScore> buildTeamPillarScoresMap(AnalyticsData analyticsData) {
     Map<String, DashboardAnalyticsTeamResponse.PillarScore> pillarScores = new HashMap<>();
 
-    try {
-      Map<String, Object> pillars = (Map<String, Object>) analyticsData.get("pillars");
-
-      if (pillars == null || pillars.isEmpty()) {
-        return pillarScores;
+    for (PillarData pillar : analyticsData.getPillars()) {
+      if (pillar.getName() == null) {
+        continue; // Skip pillars without names
       }
-
-      for (Map.Entry<String, Object> pillarEntry : pillars.entrySet()) {
-        Map<String, Object> pillarData = (Map<String, Object>) pillarEntry.getValue();
-
-        String pillarName = (String) pillarData.get("name");
-        if (pillarName == null) {
-          continue; // Skip pillars without names
-        }
-
-        DashboardAnalyticsTeamResponse.PillarScore pillarScore = buildTeamPillarScore(pillarData);
-        pillarScores.put(pillarName, pillarScore);
-      }
-
-    }
-    catch (Exception e) {
-      // Log error but don't fail the entire response - return empty map
-      return new HashMap<>();
+      pillarScores.put(pillar.getName(), buildTeamPillarScore(pillar));
     }
 
     return pillarScores;
@@ -652,56 +582,29 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
   /**
    * Build individual team pillar score from pillar data
    */
-  private DashboardAnalyticsTeamResponse.PillarScore buildTeamPillarScore(Map<String, Object> pillarData) {
-    String name = (String) pillarData.get("name");
-    Double percentage = (Double) pillarData.get("percentage");
-    Double actualScore = (Double) pillarData.get("actualScore");
-    Double potentialScore = (Double) pillarData.get("potentialScore");
-    Double gapFromPotential = (Double) pillarData.get("gapFromPotential");
-
+  private DashboardAnalyticsTeamResponse.PillarScore buildTeamPillarScore(PillarData pillar) {
     // Build categories list
-    List<DashboardAnalyticsTeamResponse.CategoryScore> categories = buildTeamCategoryScores(pillarData);
+    List<DashboardAnalyticsTeamResponse.CategoryScore> categories = buildTeamCategoryScores(pillar);
 
-    return DashboardAnalyticsTeamResponse.PillarScore.builder().name(name != null ? name : "Unknown Pillar").score(percentage != null ? percentage : 0.0).actualScore(actualScore != null ? actualScore : 0.0).potentialScore(potentialScore != null ? potentialScore : 0.0).gapFromPotential(gapFromPotential != null ? gapFromPotential : 0.0).categories(categories).build();
+    return DashboardAnalyticsTeamResponse.PillarScore.builder().name(pillar.getName()).score(orDefault(pillar.getPercentage(), 0.0)).actualScore(orDefault(pillar.getActualScore(), 0.0)).potentialScore(orDefault(pillar.getPotentialScore(), 0.0)).gapFromPotential(orDefault(pillar.getGapFromPotential(), 0.0)).categories(categories).build();
   }
 
   /**
    * Build category scores for team response
    */
-  private List<DashboardAnalyticsTeamResponse.CategoryScore> buildTeamCategoryScores(Map<String, Object> pillarData) {
-    List<DashboardAnalyticsTeamResponse.CategoryScore> categoryScores = new ArrayList<>();
+  private List<DashboardAnalyticsTeamResponse.CategoryScore> buildTeamCategoryScores(PillarData pillar) {
+    List<DashboardAnalyticsTeamResponse.CategoryScore> categoryScores = new ArrayList<>(pillar.getCategories().size());
 
-    try {
-      Map<String, Object> categories = (Map<String, Object>) pillarData.get("categories");
-
-      if (categories == null || categories.isEmpty()) {
-        return categoryScores;
+    for (CategoryData category : pillar.getCategories()) {
+      if (category.getName() == null) {
+        continue; // Skip categories without names
       }
 
-      for (Map.Entry<String, Object> categoryEntry : categories.entrySet()) {
-        Map<String, Object> categoryData = (Map<String, Object>) categoryEntry.getValue();
-
-        String categoryName = (String) categoryData.get("name");
-        if (categoryName == null) {
-          continue; // Skip categories without names
-        }
-
-        Double percentage = (Double) categoryData.get("percentage");
-        Double actualScore = (Double) categoryData.get("actualScore");
-        Double potentialScore = (Double) categoryData.get("potentialScore");
-
-        // Calculate gap from potential if not provided
-        Double gapFromPotential = percentage != null ? 100.0 - percentage : 0.0;
-
-        DashboardAnalyticsTeamResponse.CategoryScore categoryScore = DashboardAnalyticsTeamResponse.CategoryScore.builder().name(categoryName).score(percentage != null ? percentage : 0.0).actualScore(actualScore != null ? actualScore : 0.0).potentialScore(potentialScore != null ? potentialScore : 0.0).gapFromPotential(gapFromPotential).build();
-
-        categoryScores.add(categoryScore);
-      }
+      // Calculate gap from potential from the percentage
+      double percentage = category.getPercentage();
+      double gapFromPotential = Double.isNaN(percentage) ? 0.0 : 100.0 - percentage;
 
-    }
-    catch (Exception e) {
-      // Log error but don't fail - return empty list
-      return new ArrayList<>();
+      categoryScores.add(DashboardAnalyticsTeamResponse.CategoryScore.builder().name(category.getName()).score(orDefault(percentage, 0.0)).actualScore(orDefault(category.getActualScore(), 0.0)).potentialScore(orDefault(category.getPotentialScore(), 0.0)).gapFromPotential(gapFromPotential).build());
     }
 
     return categoryScores;
@@ -710,38 +613,19 @@ public class DashboardAnalyticsRequestHandler implements RequestHandlerStrategy
   /**
    * Build word cloud for team response
    */
-  private DashboardAnalyticsTeamResponse.WordCloud buildTeamWordCloud(Map<String, Object> analyticsData) {
-    try {
-      Map<String, Object> wordCloudData = (Map<String, Object>) analyticsData.get("wordCloud");
-
-      if (wordCloudData == null || wordCloudData.isEmpty()) {
-        return buildEmptyWordCloud();
-      }
-
-      String status = (String) wordCloudData.get("status");
-      Integer totalResponses = (Integer) wordCloudData.get("totalResponses");
-      List<Map<String, Object>> wordsData = (List<Map<String, Object>>) wordCloudData.get("words");
+  private DashboardAnalyticsTeamResponse.WordCloud buildTeamWordCloud(AnalyticsData analyticsData) {
+    WordCloudData wordCloudData = analyticsData.getWordCloud();
 
-      List<DashboardAnalyticsTeamResponse.WordFrequency> words = new ArrayList<>();
-
-      if (wordsData != null) {
-        for (Map<String, Object> wordData : wordsData) {
-          String text = (String) wordData.get("text");
-          Integer count = (Integer) wordData.get("count");
-
-          if (text != null && count != null) {
-            words.add(DashboardAnalyticsTeamResponse.WordFrequency.builder().text(text).count(count).build());
-          }
-        }
-      }
-
-      return DashboardAnalyticsTeamResponse.WordCloud.builder().words(words).totalResponses(totalResponses != null ? totalResponses : 0).status(status != null ? status : "none").build();
-
-    }
-    catch (Exception e) {
-      // Log error but don't fail - return empty word cloud
+    if (wordCloudData == null) {
       return buildEmptyWordCloud();
     }
+
+    List<DashboardAnalyticsTeamResponse.WordFrequency> words = new ArrayList<>(wordCloudData.getWords().size());
+    for (WordData word : wordCloudData.getWords()) {
+      words.add(DashboardAnalyticsTeamResponse.WordFrequency.builder().text(word.getText()).count(word.getCount()).build());
+    }
+
+    return DashboardAnalyticsTeamResponse.WordCloud.builder().words(words).totalResponses(wordCloudData.getTotalResponses()).status(wordCloudData.getStatus() != null ? wordCloudData.getStatus() : "none").build();
   }
 
   /**
@@ -1,65 +1,58 @@
 package com.agilecheckup.api.handler;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
+import com.agilecheckup.api.pagination.PageRequest;
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheManager;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.cache.CacheTags;
+import com.agilecheckup.gate.cache.MaterializedResponse;
 import com.agilecheckup.persistency.entity.Department;
 import com.agilecheckup.service.DepartmentService;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-public class DepartmentRequestHandler implements RequestHandlerStrategy {
+public class DepartmentRequestHandler implements RoutedRequestHandler<DepartmentRequestHandler> {
 
-  private final DepartmentService departmentService;
-  private final ObjectMapper objectMapper;
-
-  // Regex patterns for path matching
-  private static final Pattern GET_ALL_PATTERN = Pattern.compile("^/departments/?$");
-  private static final Pattern SINGLE_RESOURCE_PATTERN = Pattern.compile("^/departments/([^/]+)/?$");
+  // Resource tag of every cached department list; departments change rarely, so any write drops them all
+  private static final String DEPARTMENTS_RESOURCE = "departments";
+  private static final String DEPARTMENTS_CACHE_PREFIX = "departments:";
+  private static final int DEPARTMENTS_COMPRESSION_THRESHOLD = 16 * 1024;
 
-  public DepartmentRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper) {
+  private final DepartmentService departmentService;
+  private final JsonCodecRegistry json;
+  private final CacheRegions cacheRegions;
+  private final CacheManager departmentCache;
+
+  static final RouteTrie<RouteAction<DepartmentRequestHandler>> ROUTES = new RouteTrie<RouteAction<DepartmentRequestHandler>>()
+      .add("GET", "/departments", (handler, input, context, params) -> handler.handleGetAll(input))
+      .add("GET", "/departments/{id}", (handler, input, context, params) -> handler.handleGetById(params.get("id")))
+      .add("POST", "/departments", (handler, input, context, params) -> handler.handleCreate(input.getBody()))
+      .add("PUT", "/departments/{id}", (handler, input, context, params) -> handler.handleUpdate(params.get("id"), input.getBody()))
+      .add("DELETE", "/departments/{id}", (handler, input, context, params) -> handler.handleDelete(params.get("id")));
+
+  public DepartmentRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json, CacheRegions cacheRegions) {
     this.departmentService = serviceComponent.buildDepartmentService();
-    this.objectMapper = objectMapper;
+    this.json = json;
+    this.cacheRegions = cacheRegions;
+    this.departmentCache = cacheRegions.region(CacheRegions.DEPARTMENTS);
   }
 
   @Override
-  public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
-    try {
-      String path = input.getPath();
-      String method = input.getHttpMethod();
-
-      // GET /departments
-      if (method.equals("GET") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleGetAll(input);
-      }
-      // GET /departments/{id}
-      else if (method.equals("GET") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleGetById(id);
-      }
-      // POST /departments
-      else if (method.equals("POST") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleCreate(input.getBody());
-      }
-      // PUT /departments/{id}
-      else if (method.equals("PUT") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleUpdate(id, input.getBody());
-      }
-      // DELETE /departments/{id}
-      else if (method.equals("DELETE") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleDelete(id);
-      }
-      // Method not supported
-      else {
-        return ResponseBuilder.buildResponse(405, "Method Not Allowed");
-      }
+  public RouteTrie<RouteAction<DepartmentRequestHandler>> routes() {
+    return ROUTES;
+  }
 
+  @Override
+  public APIGatewayProxyResponseEvent handleRoute(RouteAction<DepartmentRequestHandler> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context) {
+    try {
+      return action.handle(this, input, context, pathParameters);
     }
     catch (Exception e) {
       context.getLogger().log("Error in department endpoint: " + e.getMessage());
@@ -70,20 +63,36 @@ public class DepartmentRequestHandler implements RequestHandlerStrategy {
   private APIGatewayProxyResponseEvent handleGetAll(APIGatewayProxyRequestEvent input) throws Exception {
     Map<String, String> queryParams = input.getQueryStringParameters();
 
+    Optional<PageRequest> page;
+    try {
+      page = PageRequest.from(queryParams);
+    }
+    catch (IllegalArgumentException e) {
+      return ResponseBuilder.buildResponse(400, e.getMessage());
+    }
+    // Each page is cached on its own, under the key of the list it is sliced from
+    String pageKey = page.map(request -> ":" + request.cacheKey()).orElse("");
+
+    Optional<MaterializedResponse> departments;
     if (queryParams != null && queryParams.containsKey("tenantId")) {
       String tenantId = queryParams.get("tenantId");
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(departmentService.findAllByTenantId(tenantId)));
+      departments = departmentCache.get(DEPARTMENTS_CACHE_PREFIX + "tenant:" + tenantId + pageKey, MaterializedResponse.class, () -> materialize(page, departmentService.findAllByTenantId(tenantId)), CacheTags.resource(DEPARTMENTS_RESOURCE));
     }
     else {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(departmentService.findAll()));
+      departments = departmentCache.get(DEPARTMENTS_CACHE_PREFIX + "all" + pageKey, MaterializedResponse.class, () -> materialize(page, departmentService.findAll()), CacheTags.resource(DEPARTMENTS_RESOURCE));
     }
+    return ResponseBuilder.buildResponse(200, departments.get());
+  }
+
+  private MaterializedResponse materialize(Optional<PageRequest> page, List<Department> departments) throws Exception {
+    return MaterializedResponse.of(json.writeBytes(PagedResponses.body(page, departments, Department::getId)), DEPARTMENTS_COMPRESSION_THRESHOLD);
   }
 
   private APIGatewayProxyResponseEvent handleGetById(String id) throws Exception {
-    Optional<Department> department = departmentService.findById(id);
+    Optional<Department> department = RequestIdentityMap.find(Department.class, id, departmentService::findById);
 
     if (department.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(department.get()));
+      return ResponseBuilder.buildResponse(200, json.write(department.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Department not found");
@@ -91,14 +100,15 @@ public class DepartmentRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleCreate(String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
     Optional<Department> department = departmentService.create(
         (String) requestMap.get("name"), (String) requestMap.get("description"), (String) requestMap.get("tenantId"), (String) requestMap.get("companyId")
     );
 
     if (department.isPresent()) {
-      return ResponseBuilder.buildResponse(201, objectMapper.writeValueAsString(department.get()));
+      cacheRegions.invalidateTag(CacheTags.resource(DEPARTMENTS_RESOURCE));
+      return ResponseBuilder.buildResponse(201, json.write(department.get()));
     }
     else {
       return ResponseBuilder.buildResponse(400, "Failed to create department");
@@ -106,14 +116,16 @@ public class DepartmentRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleUpdate(String id, String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
+    RequestIdentityMap.evict(Department.class, id);
     Optional<Department> department = departmentService.update(
         id, (String) requestMap.get("name"), (String) requestMap.get("description"), (String) requestMap.get("tenantId"), (String) requestMap.get("companyId")
     );
 
     if (department.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(department.get()));
+      cacheRegions.invalidateTag(CacheTags.resource(DEPARTMENTS_RESOURCE));
+      return ResponseBuilder.buildResponse(200, json.write(department.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Department not found or update failed");
@@ -121,19 +133,16 @@ public class DepartmentRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleDelete(String id) {
-    Optional<Department> department = departmentService.findById(id);
+    Optional<Department> department = RequestIdentityMap.find(Department.class, id, departmentService::findById);
 
     if (department.isPresent()) {
       departmentService.deleteById(id);
+      RequestIdentityMap.evict(Department.class, id);
+      cacheRegions.invalidateTag(CacheTags.resource(DEPARTMENTS_RESOURCE));
       return ResponseBuilder.buildResponse(204, "");
     }
     else {
       return ResponseBuilder.buildResponse(404, "Department not found");
     }
   }
-
-  private String extractIdFromPath(String path) {
-    // Extract ID from path like /departments/{id}
-    return path.substring(path.lastIndexOf("/") + 1);
-  }
 }
\ No newline at end of file
@@ -1,80 +1,82 @@
 package com.agilecheckup.api.handler;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.cache.CacheTags;
+import com.agilecheckup.gate.dto.BulkCreateResponse;
 import com.agilecheckup.persistency.entity.EmployeeAssessment;
 import com.agilecheckup.service.EmployeeAssessmentService;
 import com.agilecheckup.service.dto.EmployeeValidationRequest;
 import com.agilecheckup.service.dto.EmployeeValidationResponse;
+import com.agilecheckup.service.exception.EmployeeAssessmentAlreadyExistsException;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy {
-
-  // Regex patterns for path matching
-  private static final Pattern GET_ALL_PATTERN = Pattern.compile("^/employeeassessments/?$");
-  private static final Pattern SINGLE_RESOURCE_PATTERN = Pattern.compile("^/employeeassessments/([^/]+)/?$");
-  private static final Pattern UPDATE_SCORE_PATTERN = Pattern.compile("^/employeeassessments/([^/]+)/score/?$");
-  private static final Pattern VALIDATE_PATTERN = Pattern.compile("^/employeeassessments/validate/?$");
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+public class EmployeeAssessmentRequestHandler implements RoutedRequestHandler<EmployeeAssessmentRequestHandler> {
+
+  static final RouteTrie<RouteAction<EmployeeAssessmentRequestHandler>> ROUTES = new RouteTrie<RouteAction<EmployeeAssessmentRequestHandler>>()
+      .add("GET", "/employeeassessments", (handler, input, context, params) -> handler.handleGetAll(input))
+      .add("POST", "/employeeassessments/validate", (handler, input, context, params) -> handler.handleValidateEmployee(input))
+      .add("POST", "/employeeassessments/bulk", (handler, input, context, params) -> handler.handleBulkCreate(input.getBody(), context))
+      .add("GET", "/employeeassessments/{id}", (handler, input, context, params) -> handler.handleGetById(params.get("id"), input))
+      .add("POST", "/employeeassessments", (handler, input, context, params) -> handler.handleCreate(input.getBody()))
+      .add("PUT", "/employeeassessments/{id}", (handler, input, context, params) -> handler.handleUpdate(params.get("id"), input.getBody()))
+      .add("POST", "/employeeassessments/{id}/score", (handler, input, context, params) -> handler.handleUpdateScore(params.get("id"), input.getBody()))
+      .add("DELETE", "/employeeassessments/{id}", (handler, input, context, params) -> handler.handleDelete(params.get("id")));
+
+  static final int MAX_BULK_ROWS = 2500;
+  // Rows a worker creates one after the other; chunks are created in parallel
+  static final int BULK_CHUNK_SIZE = 25;
+  private static final int BULK_WORKER_THREADS = 8;
+  // Left to answer the rows created before the Lambda timeout
+  private static final long BULK_DEADLINE_MARGIN_MS = 1000;
 
   private final EmployeeAssessmentService employeeAssessmentService;
-  private final ObjectMapper objectMapper;
-
-  public EmployeeAssessmentRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper) {
+  private final JsonCodecRegistry json;
+  private final CacheRegions cacheRegions;
+  private final ExecutorService bulkExecutor = new ThreadPoolExecutor(BULK_WORKER_THREADS, BULK_WORKER_THREADS, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_BULK_ROWS / BULK_CHUNK_SIZE), runnable -> {
+    Thread thread = new Thread(runnable, "employee-assessment-bulk");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // Constructor sharing the cache whose dashboard entries employee assessment writes invalidate
+  public EmployeeAssessmentRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json, CacheRegions cacheRegions) {
     this.employeeAssessmentService = serviceComponent.buildEmployeeAssessmentService();
-    this.objectMapper = objectMapper;
+    this.json = json;
+    this.cacheRegions = cacheRegions;
   }
 
   @Override
-  public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
-    try {
-      String path = input.getPath();
-      String method = input.getHttpMethod();
-
-      // GET /employeeassessments
-      if (method.equals("GET") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleGetAll(input);
-      }
-      // POST /employeeassessments/validate
-      else if (method.equals("POST") && VALIDATE_PATTERN.matcher(path).matches()) {
-        return handleValidateEmployee(input);
-      }
-      // GET /employeeassessments/{id}
-      else if (method.equals("GET") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleGetById(id, input);
-      }
-      // POST /employeeassessments
-      else if (method.equals("POST") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleCreate(input.getBody());
-      }
-      // PUT /employeeassessments/{id}
-      else if (method.equals("PUT") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleUpdate(id, input.getBody());
-      }
-      // POST /employeeassessments/{id}/score - Special endpoint to update assessment score
-      else if (method.equals("POST") && UPDATE_SCORE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path.replace("/score", ""));
-        return handleUpdateScore(id, input.getBody());
-      }
-      // DELETE /employeeassessments/{id}
-      else if (method.equals("DELETE") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleDelete(id);
-      }
-      // Method not supported
-      else {
-        return ResponseBuilder.buildResponse(405, "Method Not Allowed");
-      }
+  public RouteTrie<RouteAction<EmployeeAssessmentRequestHandler>> routes() {
+    return ROUTES;
+  }
 
+  @Override
+  public APIGatewayProxyResponseEvent handleRoute(RouteAction<EmployeeAssessmentRequestHandler> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context) {
+    try {
+      return action.handle(this, input, context, pathParameters);
     }
     catch (Exception e) {
       context.getLogger().log("Error in employee assessment endpoint: " + e.getMessage());
@@ -94,13 +96,11 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
 
     if (assessmentMatrixId != null && !assessmentMatrixId.isEmpty()) {
       // Filter by assessment matrix
-      var resultsList = employeeAssessmentService.findByAssessmentMatrix(assessmentMatrixId, tenantId);
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(resultsList));
+      return PagedResponses.list(json, queryParams, () -> employeeAssessmentService.findByAssessmentMatrix(assessmentMatrixId, tenantId), EmployeeAssessment::getId);
     }
     else {
       // Return all for tenant
-      var resultsList = employeeAssessmentService.findAllByTenantId(tenantId);
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(resultsList));
+      return PagedResponses.list(json, queryParams, () -> employeeAssessmentService.findAllByTenantId(tenantId), EmployeeAssessment::getId);
     }
   }
 
@@ -115,7 +115,7 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
     Optional<EmployeeAssessment> assessment = employeeAssessmentService.findById(id, tenantId);
 
     if (assessment.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(assessment.get()));
+      return ResponseBuilder.buildResponse(200, json.write(assessment.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Employee assessment not found");
@@ -124,17 +124,12 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
 
   private APIGatewayProxyResponseEvent handleCreate(String requestBody) throws Exception {
     try {
-      EmployeeAssessment employeeAssessment = objectMapper.readValue(requestBody, EmployeeAssessment.class);
+      EmployeeAssessment employeeAssessment = json.read(requestBody, EmployeeAssessment.class);
 
       // Validate required fields
-      if (employeeAssessment.getTenantId() == null || employeeAssessment.getTenantId().isEmpty()) {
-        return ResponseBuilder.buildResponse(400, "tenantId is required");
-      }
-      if (employeeAssessment.getAssessmentMatrixId() == null || employeeAssessment.getAssessmentMatrixId().isEmpty()) {
-        return ResponseBuilder.buildResponse(400, "assessmentMatrixId is required");
-      }
-      if (employeeAssessment.getEmployee() == null || employeeAssessment.getEmployee().getEmail() == null || employeeAssessment.getEmployee().getEmail().isEmpty()) {
-        return ResponseBuilder.buildResponse(400, "employee email is required");
+      Optional<String> invalid = validateForCreate(employeeAssessment);
+      if (invalid.isPresent()) {
+        return ResponseBuilder.buildResponse(400, invalid.get());
       }
 
       // Set default status if not provided
@@ -145,20 +140,18 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
         employeeAssessment.setAnsweredQuestionCount(0);
       }
 
-      // Use  service create method with individual parameters
-      Optional<EmployeeAssessment> created = employeeAssessmentService.create(
-          employeeAssessment.getAssessmentMatrixId(), employeeAssessment.getTeamId(), employeeAssessment.getEmployee().getName(), employeeAssessment.getEmployee().getEmail(), employeeAssessment.getEmployee().getDocumentNumber(), employeeAssessment.getEmployee().getPersonDocumentType(), employeeAssessment.getEmployee().getGender(), employeeAssessment.getEmployee().getGenderPronoun()
-      );
+      Optional<EmployeeAssessment> created = create(employeeAssessment);
 
       if (created.isPresent()) {
-        return ResponseBuilder.buildResponse(201, objectMapper.writeValueAsString(created.get()));
+        cacheRegions.invalidateTag(CacheTags.matrix(employeeAssessment.getAssessmentMatrixId()));
+        return ResponseBuilder.buildResponse(201, json.write(created.get()));
       }
       else {
         return ResponseBuilder.buildResponse(400, "Failed to create employee assessment");
       }
 
     }
-    catch (com.agilecheckup.service.exception.EmployeeAssessmentAlreadyExistsException e) {
+    catch (EmployeeAssessmentAlreadyExistsException e) {
       return ResponseBuilder.buildResponse(409, "Duplicate employee assessment: " + e.getMessage());
     }
     catch (Exception e) {
@@ -166,8 +159,138 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
     }
   }
 
+  /**
+   * Required fields of a creation
+   *
+   * @return The message of the first missing field, or empty when the row can be created
+   */
+  private static Optional<String> validateForCreate(EmployeeAssessment employeeAssessment) {
+    if (employeeAssessment == null) {
+      return Optional.of("employee assessment is required");
+    }
+    if (employeeAssessment.getTenantId() == null || employeeAssessment.getTenantId().isEmpty()) {
+      return Optional.of("tenantId is required");
+    }
+    if (employeeAssessment.getAssessmentMatrixId() == null || employeeAssessment.getAssessmentMatrixId().isEmpty()) {
+      return Optional.of("assessmentMatrixId is required");
+    }
+    if (employeeAssessment.getEmployee() == null || employeeAssessment.getEmployee().getEmail() == null || employeeAssessment.getEmployee().getEmail().isEmpty()) {
+      return Optional.of("employee email is required");
+    }
+    return Optional.empty();
+  }
+
+  private Optional<EmployeeAssessment> create(EmployeeAssessment employeeAssessment) throws Exception {
+    // Use  service create method with individual parameters
+    return employeeAssessmentService.create(
+        employeeAssessment.getAssessmentMatrixId(), employeeAssessment.getTeamId(), employeeAssessment.getEmployee().getName(), employeeAssessment.getEmployee().getEmail(), employeeAssessment.getEmployee().getDocumentNumber(), employeeAssessment.getEmployee().getPersonDocumentType(), employeeAssessment.getEmployee().getGender(), employeeAssessment.getEmployee().getGenderPronoun()
+    );
+  }
+
+  /**
+   * Handle POST /employeeassessments/bulk: creates a JSON array of employee
+   * assessments and reports every row as CREATED, DUPLICATE or ERROR.
+   *
+   * Rows are all validated, and emails repeated within the request are
+   * reported as duplicates, before any backend call. The remaining rows are
+   * created in chunks running in parallel; rows not reached before the
+   * invocation times out are reported as errors, to be sent again.
+   */
+  private APIGatewayProxyResponseEvent handleBulkCreate(String requestBody, Context context) throws Exception {
+    EmployeeAssessment[] rows;
+    try {
+      rows = requestBody == null ? null : json.read(requestBody, EmployeeAssessment[].class);
+    }
+    catch (JsonProcessingException e) {
+      return ResponseBuilder.buildResponse(400, "Request body must be a JSON array of employee assessments");
+    }
+    if (rows == null || rows.length == 0) {
+      return ResponseBuilder.buildResponse(400, "Request body must be a JSON array of employee assessments");
+    }
+    if (rows.length > MAX_BULK_ROWS) {
+      return ResponseBuilder.buildResponse(400, "At most " + MAX_BULK_ROWS + " employee assessments can be created at once");
+    }
+
+    BulkCreateResponse.Row[] results = new BulkCreateResponse.Row[rows.length];
+    List<Integer> toCreate = new ArrayList<>(rows.length);
+    Set<String> emails = new HashSet<>();
+    for (int i = 0; i < rows.length; i++) {
+      Optional<String> invalid = validateForCreate(rows[i]);
+      if (invalid.isPresent()) {
+        results[i] = bulkRow(i, "ERROR", null, invalid.get());
+      }
+      else if (!emails.add(rows[i].getAssessmentMatrixId() + ":" + rows[i].getEmployee().getEmail().trim().toLowerCase(Locale.ROOT))) {
+        results[i] = bulkRow(i, "DUPLICATE", null, "Duplicate employee email in the request: " + rows[i].getEmployee().getEmail());
+      }
+      else {
+        toCreate.add(i);
+      }
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, context.getRemainingTimeInMillis() - BULK_DEADLINE_MARGIN_MS));
+    List<Future<?>> chunks = new ArrayList<>();
+    for (int start = 0; start < toCreate.size(); start += BULK_CHUNK_SIZE) {
+      List<Integer> chunk = toCreate.subList(start, Math.min(start + BULK_CHUNK_SIZE, toCreate.size()));
+      try {
+        chunks.add(bulkExecutor.submit(() -> createChunk(rows, chunk, results, deadline)));
+      }
+      catch (RejectedExecutionException e) {
+        chunk.forEach(i -> results[i] = bulkRow(i, "ERROR", null, "Too many bulk creations in progress, please retry later"));
+      }
+    }
+    for (Future<?> chunk : chunks) {
+      // Rows are settled one by one within the chunk, which never throws
+      chunk.get();
+    }
+
+    // Dashboards of every matrix that got employees are dropped once
+    Set<String> matrixIds = new LinkedHashSet<>();
+    BulkCreateResponse response = BulkCreateResponse.builder().results(List.of(results)).build();
+    for (BulkCreateResponse.Row row : results) {
+      switch (row.getStatus()) {
+        case "CREATED":
+          response.setCreated(response.getCreated() + 1);
+          matrixIds.add(rows[row.getIndex()].getAssessmentMatrixId());
+          break;
+        case "DUPLICATE":
+          response.setDuplicates(response.getDuplicates() + 1);
+          break;
+        default:
+          response.setErrors(response.getErrors() + 1);
+          break;
+      }
+    }
+    matrixIds.forEach(matrixId -> cacheRegions.invalidateTag(CacheTags.matrix(matrixId)));
+    context.getLogger().log("Bulk employee assessment creation: " + rows.length + " rows, " + response.getCreated() + " created, " + response.getDuplicates() + " duplicates, " + response.getErrors() + " errors");
+
+    return ResponseBuilder.buildResponse(200, json.write(response));
+  }
+
+  private void createChunk(EmployeeAssessment[] rows, List<Integer> chunk, BulkCreateResponse.Row[] results, long deadline) {
+    for (int i : chunk) {
+      if (System.nanoTime() > deadline) {
+        results[i] = bulkRow(i, "ERROR", null, "Not created before the request deadline, please send it again");
+        continue;
+      }
+      try {
+        Optional<EmployeeAssessment> created = create(rows[i]);
+        results[i] = created.isPresent() ? bulkRow(i, "CREATED", created.get().getId(), null) : bulkRow(i, "ERROR", null, "Failed to create employee assessment");
+      }
+      catch (EmployeeAssessmentAlreadyExistsException e) {
+        results[i] = bulkRow(i, "DUPLICATE", null, "Duplicate employee assessment: " + e.getMessage());
+      }
+      catch (Exception e) {
+        results[i] = bulkRow(i, "ERROR", null, e.getMessage());
+      }
+    }
+  }
+
+  private static BulkCreateResponse.Row bulkRow(int index, String status, String id, String message) {
+    return BulkCreateResponse.Row.builder().index(index).status(status).id(id).message(message).build();
+  }
+
   private APIGatewayProxyResponseEvent handleUpdate(String id, String requestBody) throws Exception {
-    EmployeeAssessment employeeAssessment = objectMapper.readValue(requestBody, EmployeeAssessment.class);
+    EmployeeAssessment employeeAssessment = json.read(requestBody, EmployeeAssessment.class);
 
     // Validate required fields
     if (employeeAssessment.getTenantId() == null || employeeAssessment.getTenantId().isEmpty()) {
@@ -180,7 +303,8 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
     );
 
     if (updated.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(updated.get()));
+      cacheRegions.invalidateTag(CacheTags.matrix(updated.get().getAssessmentMatrixId()));
+      return ResponseBuilder.buildResponse(200, json.write(updated.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Employee assessment not found or update failed");
@@ -192,7 +316,8 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
     EmployeeAssessment assessment = employeeAssessmentService.updateEmployeeAssessmentScore(id);
 
     if (assessment != null) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(assessment));
+      cacheRegions.invalidateTag(CacheTags.matrix(assessment.getAssessmentMatrixId()));
+      return ResponseBuilder.buildResponse(200, json.write(assessment));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Employee assessment not found or update failed");
@@ -202,6 +327,8 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
   private APIGatewayProxyResponseEvent handleDelete(String id) {
     try {
       employeeAssessmentService.deleteById(id);
+      // The request does not name the matrix, so every cached dashboard is dropped
+      cacheRegions.invalidateTag(CacheTags.resource(AssessmentMatrixRequestHandler.DASHBOARD_RESOURCE));
       return ResponseBuilder.buildResponse(204, "");
     }
     catch (Exception e) {
@@ -209,15 +336,6 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
     }
   }
 
-  private String extractIdFromPath(String path) {
-    // Extract ID from path like /employeeassessments/{id}
-    String pathWithoutParams = path;
-    if (path.contains("/score")) {
-      pathWithoutParams = path.replace("/score", "");
-    }
-    return pathWithoutParams.substring(pathWithoutParams.lastIndexOf("/") + 1);
-  }
-
   private APIGatewayProxyResponseEvent handleValidateEmployee(APIGatewayProxyRequestEvent input) throws Exception {
     try {
       EmployeeValidationRequest request = parseValidationRequest(input.getBody());
@@ -239,7 +357,7 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
     if (StringUtils.isBlank(requestBody)) {
       throw new IllegalArgumentException("Request body is required");
     }
-    return objectMapper.readValue(requestBody, EmployeeValidationRequest.class);
+    return json.read(requestBody, EmployeeValidationRequest.class);
   }
 
   private Optional<APIGatewayProxyResponseEvent> validateRequestFields(EmployeeValidationRequest request) {
@@ -266,7 +384,7 @@ public class EmployeeAssessmentRequestHandler implements RequestHandlerStrategy
     EmployeeValidationResponse response = employeeAssessmentService.validateEmployee(request);
 
     int httpStatus = determineHttpStatus(response);
-    String responseBody = objectMapper.writeValueAsString(response);
+    String responseBody = json.write(response);
 
     return ResponseBuilder.buildResponse(httpStatus, responseBody);
   }
@@ -0,0 +1,79 @@
+package com.agilecheckup.api.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Collects how long each initialization phase took (Dagger component,
+ * Jackson setup, route registration and each lazily built handler) so the
+ * cold start cost can be read from the Lambda logs.
+ *
+ * Phases may be recorded from concurrent requests, so access is synchronized.
+ */
+final class InitTimingReport {
+
+  private final List<String> phases = new ArrayList<>();
+  private final List<Long> durations = new ArrayList<>();
+  private int reported;
+
+  /**
+   * Runs an initialization step and records its duration under the given phase.
+   */
+  <T> T time(String phase, Supplier<T> step) {
+    long start = System.nanoTime();
+    try {
+      return step.get();
+    }
+    finally {
+      record(phase, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Runs an initialization step without a result and records its duration.
+   */
+  void time(String phase, Runnable step) {
+    time(phase, () -> {
+      step.run();
+      return null;
+    });
+  }
+
+  synchronized void record(String phase, long nanos) {
+    phases.add(phase);
+    durations.add(nanos);
+  }
+
+  /**
+   * Formats the phases recorded since the previous call, or returns null if
+   * nothing new was recorded. Used to log each phase exactly once.
+   */
+  synchronized String drainUnreported() {
+    if (reported == phases.size()) {
+      return null;
+    }
+    String report = format(reported, phases.size());
+    reported = phases.size();
+    return report;
+  }
+
+  /**
+   * Formats every recorded phase, e.g. "Init timings (ms): dagger=12.40, jackson=3.10".
+   */
+  synchronized String format() {
+    return format(0, phases.size());
+  }
+
+  private String format(int from, int to) {
+    StringBuilder report = new StringBuilder("Init timings (ms): ");
+    for (int i = from; i < to; i++) {
+      if (i > from) {
+        report.append(", ");
+      }
+      report.append(phases.get(i)).append('=').append(String.format(Locale.ROOT, "%.2f", durations.get(i) / 1_000_000.0));
+    }
+    return report.toString();
+  }
+}
@@ -1,13 +1,13 @@
 package com.agilecheckup.api.handler;
 
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
 import com.agilecheckup.security.JwtTokenProvider;
 import com.agilecheckup.service.AssessmentMatrixService;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,40 +15,37 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
-public class InvitationRequestHandler {
+public class InvitationRequestHandler implements RoutedRequestHandler<InvitationRequestHandler> {
 
   public static final String TENANT_ID = "tenantId";
   public static final String MATRIX_ID = "assessmentMatrixId";
   public static final String TOKEN = "token";
-  private final ObjectMapper objectMapper;
+
+  static final RouteTrie<RouteAction<InvitationRequestHandler>> ROUTES = new RouteTrie<RouteAction<InvitationRequestHandler>>()
+      .add("POST", "/assessmentmatrices/{assessmentMatrixId}/generate-invitation-token", (handler, request, context, params) -> handler.generateInvitationToken(params.get(MATRIX_ID), request))
+      .add("POST", "/invitation/validate-token", (handler, request, context, params) -> handler.validateInvitationToken(request));
+
+  private final JsonCodecRegistry json;
   private final JwtTokenProvider jwtTokenProvider;
   private final AssessmentMatrixService assessmentMatrixService;
 
-  public InvitationRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper) {
-    this.objectMapper = objectMapper;
+  public InvitationRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json) {
+    this.json = json;
     this.jwtTokenProvider = new JwtTokenProvider();
     this.assessmentMatrixService = serviceComponent.buildAssessmentMatrixService();
   }
 
-  public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent request, Context context) {
-    String path = request.getPath();
-    String method = request.getHttpMethod();
+  @Override
+  public RouteTrie<RouteAction<InvitationRequestHandler>> routes() {
+    return ROUTES;
+  }
 
-    log.info("Processing invitation request: {} {}", method, path);
+  @Override
+  public APIGatewayProxyResponseEvent handleRoute(RouteAction<InvitationRequestHandler> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent request, Context context) {
+    log.info("Processing invitation request: {} {}", request.getHttpMethod(), request.getPath());
 
     try {
-      // Generate invitation token
-      if (path.matches("/assessmentmatrices/[^/]+/generate-invitation-token") && "POST".equals(method)) {
-        return generateInvitationToken(request);
-      }
-
-      // Validate invitation token
-      if (path.equals("/invitation/validate-token") && "POST".equals(method)) {
-        return validateInvitationToken(request);
-      }
-
-      return ResponseBuilder.buildResponse(404, "Invitation endpoint not found");
-
+      return action.handle(this, request, context, pathParameters);
     }
     catch (Exception e) {
       log.error("Error processing invitation request: {}", e.getMessage(), e);
@@ -56,15 +53,16 @@ public class InvitationRequestHandler {
     }
   }
 
-  private APIGatewayProxyResponseEvent generateInvitationToken(APIGatewayProxyRequestEvent request) {
-    try {
-      // Extract assessment matrix ID from path
-      String path = request.getPath();
-      String assessmentMatrixId = path.split("/")[2]; // /assessmentmatrices/{id}/generate-invitation-token
+  @Override
+  public APIGatewayProxyResponseEvent handleUnmatched(APIGatewayProxyRequestEvent request, Context context) {
+    log.info("Processing invitation request: {} {}", request.getHttpMethod(), request.getPath());
+    return ResponseBuilder.buildResponse(404, "Invitation endpoint not found");
+  }
 
+  private APIGatewayProxyResponseEvent generateInvitationToken(String assessmentMatrixId, APIGatewayProxyRequestEvent request) {
+    try {
       // Parse request body to get tenant ID
-      Map<String, Object> requestBody = objectMapper.readValue(request.getBody(), new TypeReference<Map<String, Object>>() {
-      });
+      Map<String, Object> requestBody = json.readMap(request.getBody());
       String tenantId = (String) requestBody.get(TENANT_ID);
 
       if (tenantId == null || tenantId.trim().isEmpty()) {
@@ -78,7 +76,7 @@ public class InvitationRequestHandler {
       Map<String, String> response = new HashMap<>();
       response.put(TOKEN, token);
 
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      return ResponseBuilder.buildResponse(200, json.write(response));
 
     }
     catch (Exception e) {
@@ -90,8 +88,7 @@ public class InvitationRequestHandler {
   private APIGatewayProxyResponseEvent validateInvitationToken(APIGatewayProxyRequestEvent request) {
     try {
       // Parse request body to get token
-      Map<String, Object> requestBody = objectMapper.readValue(request.getBody(), new TypeReference<Map<String, Object>>() {
-      });
+      Map<String, Object> requestBody = json.readMap(request.getBody());
       String token = (String) requestBody.get(TOKEN);
 
       if (token == null || token.trim().isEmpty()) {
@@ -106,7 +103,7 @@ public class InvitationRequestHandler {
       response.put(TENANT_ID, claims.get(TENANT_ID, String.class));
       response.put(MATRIX_ID, claims.get(MATRIX_ID, String.class));
 
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      return ResponseBuilder.buildResponse(200, json.write(response));
 
     }
     catch (Exception e) {
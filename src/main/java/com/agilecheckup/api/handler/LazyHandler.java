@@ -0,0 +1,43 @@
+package com.agilecheckup.api.handler;
+
+import java.util.function.Supplier;
+
+/**
+ * Builds a request handler, and with it the services it pulls from the Dagger
+ * component, on first use. Construction happens at most once even when
+ * concurrent requests reach the handler at the same time.
+ *
+ * @param <H> the handler type
+ */
+final class LazyHandler<H> implements Supplier<H> {
+
+  private final String name;
+  private final Supplier<H> factory;
+  private final InitTimingReport timings;
+  private volatile H instance;
+
+  LazyHandler(String name, Supplier<H> factory, InitTimingReport timings) {
+    this.name = name;
+    this.factory = factory;
+    this.timings = timings;
+  }
+
+  @Override
+  public H get() {
+    H handler = instance;
+    if (handler == null) {
+      synchronized (this) {
+        handler = instance;
+        if (handler == null) {
+          handler = timings.time("handler:" + name, factory);
+          instance = handler;
+        }
+      }
+    }
+    return handler;
+  }
+
+  boolean isInitialized() {
+    return instance != null;
+  }
+}
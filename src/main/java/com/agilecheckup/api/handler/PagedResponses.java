@@ -0,0 +1,90 @@
+package com.agilecheckup.api.handler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+import com.agilecheckup.api.pagination.PageRequest;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
+import com.agilecheckup.gate.dto.CursorPageResponse;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+
+/**
+ * Responses of list endpoints: the whole list as a JSON array, as before, or
+ * a {@link CursorPageResponse} when the request passes {@code limit} or
+ * {@code cursor}. Endpoints listing a whole table rather than one tenant's
+ * items always respond with a page.
+ */
+final class PagedResponses {
+
+  // Lists not scoped to a tenant, paged even without limit or cursor so a request cannot send the whole table
+  private static final Set<String> ALWAYS_PAGED_PATHS = Set.of("/answers", "/companies");
+
+  private PagedResponses() {
+  }
+
+  /**
+   * Loads the list and responds with it or with the requested page; invalid
+   * pagination parameters get a 400 without loading anything.
+   */
+  static <T> APIGatewayProxyResponseEvent list(JsonCodecRegistry json, Map<String, String> queryParams, Callable<List<T>> loader, Function<T, String> idOf) throws Exception {
+    return list(json, queryParams, loader, idOf, items -> items);
+  }
+
+  /**
+   * Same as {@link #list(JsonCodecRegistry, Map, Callable, Function)}, converting
+   * only the items that are sent, e.g. to enrich them with related entities.
+   */
+  static <T, R> APIGatewayProxyResponseEvent list(JsonCodecRegistry json, Map<String, String> queryParams, Callable<List<T>> loader, Function<T, String> idOf, Function<List<T>, List<R>> convert) throws Exception {
+    Optional<PageRequest> page;
+    try {
+      page = PageRequest.from(queryParams);
+    }
+    catch (IllegalArgumentException e) {
+      return ResponseBuilder.buildResponse(400, e.getMessage());
+    }
+    return ResponseBuilder.buildResponse(200, json.write(body(page, loader.call(), idOf, convert)));
+  }
+
+  /**
+   * Loads the list and responds with the requested page, or with the first
+   * page when the request names none.
+   */
+  static <T> APIGatewayProxyResponseEvent page(JsonCodecRegistry json, Map<String, String> queryParams, Callable<List<T>> loader, Function<T, String> idOf) throws Exception {
+    PageRequest page;
+    try {
+      page = PageRequest.fromOrFirstPage(queryParams);
+    }
+    catch (IllegalArgumentException e) {
+      return ResponseBuilder.buildResponse(400, e.getMessage());
+    }
+    return ResponseBuilder.buildResponse(200, json.write(page.slice(loader.call(), idOf)));
+  }
+
+  /**
+   * @return true when the response to the request is a page of items rather than the items themselves
+   * @throws IllegalArgumentException if the pagination parameters are invalid
+   */
+  static boolean isPaged(APIGatewayProxyRequestEvent request) {
+    return ALWAYS_PAGED_PATHS.contains(request.getPath()) || PageRequest.from(request.getQueryStringParameters()).isPresent();
+  }
+
+  /**
+   * @return The list, or its requested page, to serialize as the response body
+   */
+  static <T> Object body(Optional<PageRequest> page, List<T> items, Function<T, String> idOf) {
+    return body(page, items, idOf, converted -> converted);
+  }
+
+  private static <T, R> Object body(Optional<PageRequest> page, List<T> items, Function<T, String> idOf, Function<List<T>, List<R>> convert) {
+    if (page.isEmpty()) {
+      return convert.apply(items);
+    }
+    CursorPageResponse<T> slice = page.get().slice(items, idOf);
+    return CursorPageResponse.<R>builder().items(convert.apply(slice.getItems())).nextCursor(slice.getNextCursor()).limit(slice.getLimit()).build();
+  }
+}
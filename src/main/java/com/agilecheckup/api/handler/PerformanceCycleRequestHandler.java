@@ -5,63 +5,45 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.cache.CacheTags;
 import com.agilecheckup.persistency.entity.PerformanceCycle;
 import com.agilecheckup.service.PerformanceCycleService;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-public class PerformanceCycleRequestHandler implements RequestHandlerStrategy {
+public class PerformanceCycleRequestHandler implements RoutedRequestHandler<PerformanceCycleRequestHandler> {
 
-  // Regex patterns for path matching
-  private static final Pattern GET_ALL_PATTERN = Pattern.compile("^/performancecycles/?$");
-  private static final Pattern SINGLE_RESOURCE_PATTERN = Pattern.compile("^/performancecycles/([^/]+)/?$");
+  static final RouteTrie<RouteAction<PerformanceCycleRequestHandler>> ROUTES = new RouteTrie<RouteAction<PerformanceCycleRequestHandler>>()
+      .add("GET", "/performancecycles", (handler, input, context, params) -> handler.handleGetAll(input))
+      .add("GET", "/performancecycles/{id}", (handler, input, context, params) -> handler.handleGetById(params.get("id")))
+      .add("POST", "/performancecycles", (handler, input, context, params) -> handler.handleCreate(input.getBody()))
+      .add("PUT", "/performancecycles/{id}", (handler, input, context, params) -> handler.handleUpdate(params.get("id"), input.getBody()))
+      .add("DELETE", "/performancecycles/{id}", (handler, input, context, params) -> handler.handleDelete(params.get("id")));
   private final PerformanceCycleService performanceCycleService;
-  private final ObjectMapper objectMapper;
+  private final JsonCodecRegistry json;
+  private final CacheRegions cacheRegions;
 
-  public PerformanceCycleRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper) {
+  public PerformanceCycleRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json, CacheRegions cacheRegions) {
     this.performanceCycleService = serviceComponent.buildPerformanceCycleService();
-    this.objectMapper = objectMapper;
+    this.json = json;
+    this.cacheRegions = cacheRegions;
   }
 
   @Override
-  public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
-    try {
-      String path = input.getPath();
-      String method = input.getHttpMethod();
-
-      // GET /performancecycles
-      if (method.equals("GET") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleGetAll(input);
-      }
-      // GET /performancecycles/{id}
-      else if (method.equals("GET") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleGetById(id);
-      }
-      // POST /performancecycles
-      else if (method.equals("POST") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleCreate(input.getBody());
-      }
-      // PUT /performancecycles/{id}
-      else if (method.equals("PUT") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleUpdate(id, input.getBody());
-      }
-      // DELETE /performancecycles/{id}
-      else if (method.equals("DELETE") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleDelete(id);
-      }
-      // Method not supported
-      else {
-        return ResponseBuilder.buildResponse(405, "Method Not Allowed");
-      }
+  public RouteTrie<RouteAction<PerformanceCycleRequestHandler>> routes() {
+    return ROUTES;
+  }
 
+  @Override
+  public APIGatewayProxyResponseEvent handleRoute(RouteAction<PerformanceCycleRequestHandler> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context) {
+    try {
+      return action.handle(this, input, context, pathParameters);
     }
     catch (Exception e) {
       context.getLogger().log("Error in performance cycle endpoint: " + e.getMessage());
@@ -74,7 +56,7 @@ public class PerformanceCycleRequestHandler implements RequestHandlerStrategy {
 
     if (queryParams != null && queryParams.containsKey("tenantId")) {
       String tenantId = queryParams.get("tenantId");
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(performanceCycleService.findAllByTenantId(tenantId)));
+      return PagedResponses.list(json, queryParams, () -> performanceCycleService.findAllByTenantId(tenantId), PerformanceCycle::getId);
     }
 
     // No tenantId provided - return error for security
@@ -82,10 +64,10 @@ public class PerformanceCycleRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleGetById(String id) throws Exception {
-    Optional<PerformanceCycle> performanceCycle = performanceCycleService.findById(id);
+    Optional<PerformanceCycle> performanceCycle = RequestIdentityMap.find(PerformanceCycle.class, id, performanceCycleService::findById);
 
     if (performanceCycle.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(performanceCycle.get()));
+      return ResponseBuilder.buildResponse(200, json.write(performanceCycle.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Performance cycle not found");
@@ -93,7 +75,7 @@ public class PerformanceCycleRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleCreate(String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
     LocalDate startDate = parseLocalDate(requestMap.get("startDate"));
     LocalDate endDate = parseLocalDate(requestMap.get("endDate"));
@@ -104,7 +86,8 @@ public class PerformanceCycleRequestHandler implements RequestHandlerStrategy {
     );
 
     if (performanceCycle.isPresent()) {
-      return ResponseBuilder.buildResponse(201, objectMapper.writeValueAsString(performanceCycle.get()));
+      invalidateTenantCaches(performanceCycle.get().getTenantId());
+      return ResponseBuilder.buildResponse(201, json.write(performanceCycle.get()));
     }
     else {
       return ResponseBuilder.buildResponse(400, "Failed to create performance cycle");
@@ -112,18 +95,20 @@ public class PerformanceCycleRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleUpdate(String id, String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
     LocalDate startDate = parseLocalDate(requestMap.get("startDate"));
     LocalDate endDate = parseLocalDate(requestMap.get("endDate"));
 
+    RequestIdentityMap.evict(PerformanceCycle.class, id);
     Optional<PerformanceCycle> performanceCycle = performanceCycleService.update(
         id, (String) requestMap.get("tenantId"),  //  signature: tenantId second
         (String) requestMap.get("name"), (String) requestMap.get("description"), (String) requestMap.get("companyId"), (Boolean) requestMap.get("isActive"), (Boolean) requestMap.get("isTimeSensitive"), startDate, endDate
     );
 
     if (performanceCycle.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(performanceCycle.get()));
+      invalidateTenantCaches(performanceCycle.get().getTenantId());
+      return ResponseBuilder.buildResponse(200, json.write(performanceCycle.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Performance cycle not found or update failed");
@@ -131,10 +116,12 @@ public class PerformanceCycleRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleDelete(String id) {
-    Optional<PerformanceCycle> performanceCycle = performanceCycleService.findById(id);
+    Optional<PerformanceCycle> performanceCycle = RequestIdentityMap.find(PerformanceCycle.class, id, performanceCycleService::findById);
 
     if (performanceCycle.isPresent()) {
       performanceCycleService.deleteById(id);  //  uses deleteById(id) instead of delete(entity)
+      RequestIdentityMap.evict(PerformanceCycle.class, id);
+      invalidateTenantCaches(performanceCycle.get().getTenantId());
       return ResponseBuilder.buildResponse(204, "");
     }
     else {
@@ -142,9 +129,11 @@ public class PerformanceCycleRequestHandler implements RequestHandlerStrategy {
     }
   }
 
-  private String extractIdFromPath(String path) {
-    // Extract ID from path like /performancecycles/{id}
-    return path.substring(path.lastIndexOf("/") + 1);
+  /**
+   * Drops the tenant-wide aggregates listing the tenant's cycles, such as the performance cycle summary.
+   */
+  private void invalidateTenantCaches(String tenantId) {
+    cacheRegions.invalidateTag(CacheTags.tenant(tenantId));
   }
 
   /**
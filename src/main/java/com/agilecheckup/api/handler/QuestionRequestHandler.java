@@ -3,9 +3,14 @@ package com.agilecheckup.api.handler;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheManager;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.cache.CacheTags;
+import com.agilecheckup.gate.cache.MaterializedResponse;
 import com.agilecheckup.persistency.entity.QuestionType;
 import com.agilecheckup.persistency.entity.question.Question;
 import com.agilecheckup.persistency.entity.question.QuestionOption;
@@ -17,78 +22,49 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-public class QuestionRequestHandler implements RequestHandlerStrategy {
+public class QuestionRequestHandler implements RoutedRequestHandler<QuestionRequestHandler> {
 
-  // Regex patterns for path matching
-  private static final Pattern GET_ALL_PATTERN = Pattern.compile("^/questions/?$");
-  private static final Pattern SINGLE_RESOURCE_PATTERN = Pattern.compile("^/questions/([^/]+)/?$");
-  private static final Pattern GET_BY_ASSESSMENT_MATRIX_PATTERN = Pattern.compile("^/questions/matrix/([^/]+)/?$");
-  private static final Pattern CUSTOM_QUESTION_PATTERN = Pattern.compile("^/questions/custom/?$");
-  private static final Pattern UPDATE_CUSTOM_QUESTION_PATTERN = Pattern.compile("^/questions/([^/]+)/custom/?$");
-  private static final Pattern GET_NEXT_QUESTION_PATTERN = Pattern.compile("^/questions/next/?$");
+  static final RouteTrie<RouteAction<QuestionRequestHandler>> ROUTES = new RouteTrie<RouteAction<QuestionRequestHandler>>()
+      .add("GET", "/questions", (handler, input, context, params) -> handler.handleGetAll(input))
+      .add("GET", "/questions/next", (handler, input, context, params) -> handler.handleGetNextQuestion(input.getQueryStringParameters()))
+      .add("GET", "/questions/{id}", (handler, input, context, params) -> handler.handleGetById(params.get("id")))
+      .add("GET", "/questions/matrix/{matrixId}", (handler, input, context, params) -> handler.handleGetByAssessmentMatrixId(params.get("matrixId"), input.getQueryStringParameters()))
+      .add("POST", "/questions", (handler, input, context, params) -> handler.handleCreate(input.getBody()))
+      .add("POST", "/questions/custom", (handler, input, context, params) -> handler.handleCreateCustomQuestion(input.getBody()))
+      .add("PUT", "/questions/{id}", (handler, input, context, params) -> handler.handleUpdate(params.get("id"), input.getBody()))
+      .add("PUT", "/questions/{id}/custom", (handler, input, context, params) -> handler.handleUpdateCustomQuestion(params.get("id"), input.getBody()))
+      .add("DELETE", "/questions/{id}", (handler, input, context, params) -> handler.handleDelete(params.get("id")));
+
+  // Resource tag of every cached question list, invalidated by updates that may move a question between matrices
+  private static final String QUESTIONS_RESOURCE = "questions";
+  private static final String QUESTIONS_BY_MATRIX_CACHE_PREFIX = "questions-by-matrix:";
+  private static final int QUESTIONS_COMPRESSION_THRESHOLD = 16 * 1024;
 
   private final QuestionService questionService;
   private final AssessmentNavigationService assessmentNavigationService;
   private final ObjectMapper objectMapper;
+  private final JsonCodecRegistry json;
+  private final CacheRegions cacheRegions;
+  private final CacheManager questionCache;
 
-  public QuestionRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper) {
+  public QuestionRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json, CacheRegions cacheRegions) {
     this.questionService = serviceComponent.buildQuestionService();
     this.assessmentNavigationService = serviceComponent.buildAssessmentNavigationService();
-    this.objectMapper = objectMapper;
+    this.objectMapper = json.getObjectMapper();
+    this.json = json;
+    this.cacheRegions = cacheRegions;
+    this.questionCache = cacheRegions.region(CacheRegions.QUESTIONS);
   }
 
   @Override
-  public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
-    try {
-      String path = input.getPath();
-      String method = input.getHttpMethod();
-
-      // GET /questions
-      if (method.equals("GET") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleGetAll(input);
-      }
-      // GET /questions/next
-      else if (method.equals("GET") && GET_NEXT_QUESTION_PATTERN.matcher(path).matches()) {
-        return handleGetNextQuestion(input.getQueryStringParameters());
-      }
-      // GET /questions/{id}
-      else if (method.equals("GET") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleGetById(id);
-      }
-      // GET /questions/matrix/{matrixId}
-      else if (method.equals("GET") && GET_BY_ASSESSMENT_MATRIX_PATTERN.matcher(path).matches()) {
-        String matrixId = path.substring(path.lastIndexOf("/") + 1);
-        return handleGetByAssessmentMatrixId(matrixId, input.getQueryStringParameters());
-      }
-      // POST /questions
-      else if (method.equals("POST") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleCreate(input.getBody());
-      }
-      // POST /questions/custom
-      else if (method.equals("POST") && CUSTOM_QUESTION_PATTERN.matcher(path).matches()) {
-        return handleCreateCustomQuestion(input.getBody());
-      }
-      // PUT /questions/{id}
-      else if (method.equals("PUT") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleUpdate(id, input.getBody());
-      }
-      // PUT /questions/{id}/custom
-      else if (method.equals("PUT") && UPDATE_CUSTOM_QUESTION_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path.replace("/custom", ""));
-        return handleUpdateCustomQuestion(id, input.getBody());
-      }
-      // DELETE /questions/{id}
-      else if (method.equals("DELETE") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleDelete(id);
-      }
-      // Method not supported
-      else {
-        return ResponseBuilder.buildResponse(405, "Method Not Allowed");
-      }
+  public RouteTrie<RouteAction<QuestionRequestHandler>> routes() {
+    return ROUTES;
+  }
 
+  @Override
+  public APIGatewayProxyResponseEvent handleRoute(RouteAction<QuestionRequestHandler> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context) {
+    try {
+      return action.handle(this, input, context, pathParameters);
     }
     catch (Exception e) {
       context.getLogger().log("Error in question endpoint: " + e.getMessage());
@@ -103,15 +79,14 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
       return ResponseBuilder.buildResponse(400, "Missing required query parameter: tenantId");
     }
 
-    List<Question> questions = questionService.findAllByTenantId(tenantId);
-    return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(questions));
+    return PagedResponses.list(json, queryParams, () -> questionService.findAllByTenantId(tenantId), Question::getId);
   }
 
   private APIGatewayProxyResponseEvent handleGetById(String id) throws Exception {
-    Optional<Question> question = questionService.findById(id);
+    Optional<Question> question = RequestIdentityMap.find(Question.class, id, questionService::findById);
 
     if (question.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(question.get()));
+      return ResponseBuilder.buildResponse(200, json.write(question.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Question not found");
@@ -124,12 +99,17 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
       return ResponseBuilder.buildResponse(400, "Missing required query parameter: tenantId");
     }
 
-    List<Question> questions = questionService.findByAssessmentMatrixId(matrixId, tenantId);
-    return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(questions));
+    // Questions are read on every step of an assessment, so the serialized list is cached per matrix
+    String cacheKey = QUESTIONS_BY_MATRIX_CACHE_PREFIX + matrixId + ":" + tenantId;
+    Optional<MaterializedResponse> questions = questionCache.get(cacheKey, MaterializedResponse.class, () -> {
+      List<Question> found = questionService.findByAssessmentMatrixId(matrixId, tenantId);
+      return MaterializedResponse.of(json.writeBytes(found), QUESTIONS_COMPRESSION_THRESHOLD);
+    }, CacheTags.questions(matrixId), CacheTags.resource(QUESTIONS_RESOURCE));
+    return ResponseBuilder.buildResponse(200, questions.get());
   }
 
   private APIGatewayProxyResponseEvent handleCreate(String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
     // Convert string to enum for QuestionType
     QuestionType questionType = QuestionType.valueOf((String) requestMap.get("questionType"));
@@ -139,7 +119,8 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
     );
 
     if (question.isPresent()) {
-      return ResponseBuilder.buildResponse(201, objectMapper.writeValueAsString(question.get()));
+      cacheRegions.invalidateTag(CacheTags.questions(question.get().getAssessmentMatrixId()));
+      return ResponseBuilder.buildResponse(201, json.write(question.get()));
     }
     else {
       return ResponseBuilder.buildResponse(400, "Failed to create question");
@@ -147,7 +128,7 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleCreateCustomQuestion(String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
     // Convert string to enum for QuestionType
     QuestionType questionType = QuestionType.valueOf((String) requestMap.get("questionType"));
@@ -162,7 +143,8 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
     );
 
     if (question.isPresent()) {
-      return ResponseBuilder.buildResponse(201, objectMapper.writeValueAsString(question.get()));
+      cacheRegions.invalidateTag(CacheTags.questions(question.get().getAssessmentMatrixId()));
+      return ResponseBuilder.buildResponse(201, json.write(question.get()));
     }
     else {
       return ResponseBuilder.buildResponse(400, "Failed to create custom question");
@@ -170,17 +152,19 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleUpdate(String id, String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
     // Convert string to enum for QuestionType
     QuestionType questionType = QuestionType.valueOf((String) requestMap.get("questionType"));
 
+    RequestIdentityMap.evict(Question.class, id);
     Optional<Question> question = questionService.update(
         id, (String) requestMap.get("question"), questionType, (String) requestMap.get("tenantId"), Double.valueOf(requestMap.get("points").toString()), (String) requestMap.get("assessmentMatrixId"), (String) requestMap.get("pillarId"), (String) requestMap.get("categoryId"), (String) requestMap.get("extraDescription")
     );
 
     if (question.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(question.get()));
+      cacheRegions.invalidateTag(CacheTags.resource(QUESTIONS_RESOURCE));
+      return ResponseBuilder.buildResponse(200, json.write(question.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Question not found or update failed");
@@ -188,7 +172,7 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleUpdateCustomQuestion(String id, String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
     // Convert string to enum for QuestionType
     QuestionType questionType = QuestionType.valueOf((String) requestMap.get("questionType"));
@@ -198,12 +182,14 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
         requestMap.get("options"), objectMapper.getTypeFactory().constructCollectionType(List.class, QuestionOption.class)
     );
 
+    RequestIdentityMap.evict(Question.class, id);
     Optional<Question> question = questionService.updateCustomQuestion(
         id, (String) requestMap.get("question"), questionType, (String) requestMap.get("tenantId"), (Boolean) requestMap.get("isMultipleChoice"), (Boolean) requestMap.get("showFlushed"), options, (String) requestMap.get("assessmentMatrixId"), (String) requestMap.get("pillarId"), (String) requestMap.get("categoryId"), (String) requestMap.get("extraDescription")
     );
 
     if (question.isPresent()) {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(question.get()));
+      cacheRegions.invalidateTag(CacheTags.resource(QUESTIONS_RESOURCE));
+      return ResponseBuilder.buildResponse(200, json.write(question.get()));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Question not found or update failed");
@@ -211,10 +197,12 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleDelete(String id) {
-    Optional<Question> question = questionService.findById(id);
+    Optional<Question> question = RequestIdentityMap.find(Question.class, id, questionService::findById);
 
     if (question.isPresent()) {
       questionService.delete(question.get());
+      RequestIdentityMap.evict(Question.class, id);
+      cacheRegions.invalidateTag(CacheTags.questions(question.get().getAssessmentMatrixId()));
       return ResponseBuilder.buildResponse(204, "");
     }
     else {
@@ -222,11 +210,6 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
     }
   }
 
-  private String extractIdFromPath(String path) {
-    // Extract ID from path like /questions/{id}
-    return path.substring(path.lastIndexOf("/") + 1);
-  }
-
   private APIGatewayProxyResponseEvent handleGetNextQuestion(Map<String, String> queryParams) throws Exception {
     String employeeAssessmentId = queryParams != null ? queryParams.get("employeeAssessmentId") : null;
     String tenantId = queryParams != null ? queryParams.get("tenantId") : null;
@@ -238,10 +221,10 @@ public class QuestionRequestHandler implements RequestHandlerStrategy {
     AnswerWithProgressResponse response = assessmentNavigationService.getNextUnansweredQuestion(employeeAssessmentId, tenantId);
 
     if (response.getQuestion() == null) {
-      return ResponseBuilder.buildResponse(404, objectMapper.writeValueAsString(response));
+      return ResponseBuilder.buildResponse(404, json.write(response));
     }
     else {
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      return ResponseBuilder.buildResponse(200, json.write(response));
     }
   }
 }
\ No newline at end of file
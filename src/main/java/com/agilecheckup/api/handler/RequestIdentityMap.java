@@ -0,0 +1,131 @@
+package com.agilecheckup.api.handler;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Entities read during one invocation, by type and id, so a handler looking
+ * up the same entity twice (an ownership check then the read, a lookup before
+ * a delete, teams sharing a department) reads it from the backend once.
+ *
+ * The map is bound to the invocation thread by {@link ApiGatewayHandler} and
+ * dropped when the response is sent; lookups outside an invocation go
+ * straight to the backend. Writes evict what they change. Batch
+ * sub-requests running on other threads share the map of their batch; a
+ * sub-request looking up an entity another one is reading waits for that read.
+ */
+final class RequestIdentityMap {
+
+  private static final ThreadLocal<RequestIdentityMap> CURRENT = new ThreadLocal<>();
+
+  // Reads by entity key, completed or in progress
+  private final Map<String, CompletableFuture<Optional<?>>> entities = new ConcurrentHashMap<>();
+  private final LongAdder lookups = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+
+  /**
+   * Binds a new identity map to the calling thread until {@link #close()}.
+   */
+  static RequestIdentityMap open() {
+    RequestIdentityMap identityMap = new RequestIdentityMap();
+    CURRENT.set(identityMap);
+    return identityMap;
+  }
+
+  void close() {
+    CURRENT.remove();
+  }
+
+  /**
+   * @return The identity map of the invocation running on the calling thread, or null
+   */
+  static RequestIdentityMap current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Runs part of the invocation on another thread, such as a batch
+   * sub-request, with this identity map bound to it.
+   */
+  <T> T runWith(Supplier<T> step) {
+    RequestIdentityMap previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      return step.get();
+    }
+    finally {
+      if (previous == null) {
+        CURRENT.remove();
+      }
+      else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Reads an entity once per invocation; a missing entity is remembered as missing too.
+   *
+   * @param loader The backend read, e.g. teamService::findById
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Optional<T> find(Class<T> type, String id, Function<String, Optional<T>> loader) {
+    RequestIdentityMap identityMap = CURRENT.get();
+    if (identityMap == null || id == null) {
+      return loader.apply(id);
+    }
+    identityMap.lookups.increment();
+    String key = key(type, id);
+    CompletableFuture<Optional<?>> read = new CompletableFuture<>();
+    CompletableFuture<Optional<?>> entity = identityMap.entities.putIfAbsent(key, read);
+    if (entity != null) {
+      identityMap.hits.increment();
+      try {
+        return (Optional<T>) entity.join();
+      }
+      catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+      }
+    }
+    try {
+      Optional<T> loaded = loader.apply(id);
+      read.complete(loaded);
+      return loaded;
+    }
+    catch (RuntimeException | Error e) {
+      // Not remembered: a later lookup reads the entity again
+      identityMap.entities.remove(key, read);
+      read.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Forgets an entity after a write, so a later lookup in the invocation reads it again.
+   */
+  static void evict(Class<?> type, String id) {
+    RequestIdentityMap identityMap = CURRENT.get();
+    if (identityMap != null && id != null) {
+      identityMap.entities.remove(key(type, id));
+    }
+  }
+
+  private static String key(Class<?> type, String id) {
+    return type.getName() + ":" + id;
+  }
+
+  /**
+   * Formats the lookups of the invocation, e.g. "Identity map: lookups=3 hits=1",
+   * or returns null when there were none.
+   */
+  String format() {
+    long total = lookups.sum();
+    return total == 0 ? null : "Identity map: lookups=" + total + " hits=" + hits.sum();
+  }
+}
@@ -1,12 +1,23 @@
 package com.agilecheckup.api.handler;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.agilecheckup.api.serialization.FieldSet;
+import com.agilecheckup.gate.cache.MaterializedResponse;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.core.JsonFactory;
 
 public class ResponseBuilder {
 
+  static final String ETAG = "ETag";
+  static final String IF_NONE_MATCH = "If-None-Match";
+  static final String FIELDS = "fields";
+
   public static APIGatewayProxyResponseEvent buildResponse(int statusCode, String body) {
     APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
     response.setStatusCode(statusCode);
@@ -17,9 +28,161 @@ public class ResponseBuilder {
     headers.put("Content-Type", "application/json");
     headers.put("Access-Control-Allow-Origin", "*");
     headers.put("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
-    headers.put("Access-Control-Allow-Headers", "Content-Type,Authorization");
+    headers.put("Access-Control-Allow-Headers", "Content-Type,Authorization,If-None-Match");
+    headers.put("Access-Control-Expose-Headers", ETAG);
     response.setHeaders(headers);
 
     return response;
   }
-}
\ No newline at end of file
+
+  /**
+   * Builds a response from a cached body, tagged with the ETag of its content hash.
+   */
+  public static APIGatewayProxyResponseEvent buildResponse(int statusCode, MaterializedResponse body) {
+    return withETag(buildResponse(statusCode, body.bodyAsString()), etag(body.contentHash()));
+  }
+
+  /**
+   * Builds the 200 response of a cached body, or a 304 without body when the
+   * request already holds it. The 304 is decided on the cached content hash,
+   * and a body kept gzipped is sent as is to clients accepting gzip, so
+   * neither decompresses it.
+   */
+  public static APIGatewayProxyResponseEvent buildResponse(APIGatewayProxyRequestEvent request, MaterializedResponse body) {
+    if (fields(request) != null) {
+      // The client holds the ETag of its fields, not of the cached body: answer in full and let the fields be selected
+      return buildResponse(200, body);
+    }
+    String held = matchIfNoneMatch(request, etag(body.contentHash()));
+    if (held != null) {
+      return notModified(held);
+    }
+    if (body.isCompressed() && ResponseCompression.GZIP.equals(ResponseCompression.negotiate(header(request, "Accept-Encoding")))) {
+      APIGatewayProxyResponseEvent response = withETag(buildResponse(200, ""), etag(body.contentHash()));
+      return ResponseCompression.encoded(response, Base64.getEncoder().encodeToString(body.gzippedBody()), ResponseCompression.GZIP);
+    }
+    return buildResponse(200, body);
+  }
+
+  /**
+   * Applies conditional GET to a response: a 200 to a GET gets a strong ETag,
+   * hashed from its body unless the handler set one from a cached hash, and
+   * becomes a 304 without body when it matches the request If-None-Match.
+   */
+  public static APIGatewayProxyResponseEvent conditional(APIGatewayProxyRequestEvent request, APIGatewayProxyResponseEvent response) {
+    if (request == null || response == null || !"GET".equalsIgnoreCase(request.getHttpMethod()) || response.getStatusCode() == null || response.getStatusCode() != 200 || response.getBody() == null) {
+      return response;
+    }
+    if (response.getHeaders() == null) {
+      response.setHeaders(new HashMap<>());
+    }
+    String etag = response.getHeaders().get(ETAG);
+    if (etag == null) {
+      etag = etag(MaterializedResponse.contentHashOf(response.getBody().getBytes(StandardCharsets.UTF_8)));
+      withETag(response, etag);
+    }
+    String held = matchIfNoneMatch(request, etag);
+    return held != null ? notModified(held) : response;
+  }
+
+  /**
+   * Restricts a 200 JSON response to the properties of the request fields
+   * parameter. The response is re-tagged, its ETag then being the hash of
+   * the selected properties.
+   */
+  public static APIGatewayProxyResponseEvent selectFields(APIGatewayProxyRequestEvent request, APIGatewayProxyResponseEvent response, JsonFactory jsonFactory) {
+    String fields = request == null ? null : fields(request);
+    if (fields == null || response == null || response.getStatusCode() == null || response.getStatusCode() != 200 || response.getBody() == null || Boolean.TRUE.equals(response.getIsBase64Encoded())) {
+      return response;
+    }
+    try {
+      FieldSet fieldSet = FieldSet.parse(fields);
+      boolean paged = PagedResponses.isPaged(request);
+      response.setBody(fieldSet.filter(response.getBody(), jsonFactory, paged));
+      response.getHeaders().remove(ETAG);
+      return response;
+    }
+    catch (IllegalArgumentException e) {
+      return buildResponse(400, e.getMessage());
+    }
+    catch (IOException e) {
+      // Not a JSON body
+      return response;
+    }
+  }
+
+  /**
+   * @return The fields query parameter, or null when the request has none
+   */
+  static String fields(APIGatewayProxyRequestEvent request) {
+    Map<String, String> queryParams = request.getQueryStringParameters();
+    String fields = queryParams == null ? null : queryParams.get(FIELDS);
+    return fields == null || fields.isBlank() ? null : fields;
+  }
+
+  private static APIGatewayProxyResponseEvent notModified(String etag) {
+    return withETag(buildResponse(304, ""), etag);
+  }
+
+  private static APIGatewayProxyResponseEvent withETag(APIGatewayProxyResponseEvent response, String etag) {
+    response.getHeaders().put(ETAG, etag);
+    // Tenant data: browsers may keep it, but must revalidate before reuse
+    response.getHeaders().put("Cache-Control", "private, no-cache");
+    return response;
+  }
+
+  private static String etag(String contentHash) {
+    return "\"" + contentHash + "\"";
+  }
+
+  /**
+   * @return The ETag of the body sent in the encoding, e.g. "\"<hash>-gzip\"",
+   *         so caches never take one encoding for the other
+   */
+  static String encodedETag(String etag, String encoding) {
+    return etag.substring(0, etag.length() - 1) + "-" + encoding + "\"";
+  }
+
+  /**
+   * Compares the ETag with every entity tag of If-None-Match, weakly as RFC 9110
+   * requires for GET, so a W/ prefix added by a proxy still matches. The tag of
+   * any encoding of the body matches too, the client holding the same content.
+   *
+   * @return The matching entity tag without W/, to send back with the 304, or null
+   */
+  static String matchIfNoneMatch(APIGatewayProxyRequestEvent request, String etag) {
+    String ifNoneMatch = header(request, IF_NONE_MATCH);
+    if (ifNoneMatch == null) {
+      return null;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*")) {
+        return etag;
+      }
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals(etag) || tag.equals(encodedETag(etag, ResponseCompression.GZIP)) || tag.equals(encodedETag(etag, ResponseCompression.DEFLATE))) {
+        return tag;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return The request header value, whatever the case of its name, or null
+   */
+  static String header(APIGatewayProxyRequestEvent request, String name) {
+    Map<String, String> headers = request.getHeaders();
+    if (headers == null) {
+      return null;
+    }
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey())) {
+        return header.getValue();
+      }
+    }
+    return null;
+  }
+}
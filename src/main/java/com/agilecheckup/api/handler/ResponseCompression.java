@@ -0,0 +1,205 @@
+package com.agilecheckup.api.handler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+
+/**
+ * Compresses response bodies with the encoding the client accepts (gzip or
+ * deflate), sent base64-encoded with a Content-Encoding header as API
+ * Gateway requires for binary bodies. Small bodies, and bodies that would
+ * not shrink once base64-encoded, are sent as they are.
+ *
+ * The ratio and time of every compression are logged and accumulated per
+ * route template, so the routes worth compressing can be read from the logs.
+ */
+final class ResponseCompression {
+
+  static final String GZIP = "gzip";
+  static final String DEFLATE = "deflate";
+  // Below this size the compression time and the base64 overhead outweigh the savings
+  static final int DEFAULT_THRESHOLD_BYTES = 1024;
+
+  private final int thresholdBytes;
+  private final Map<String, RouteStats> statsByRoute = new ConcurrentHashMap<>();
+
+  ResponseCompression() {
+    this(DEFAULT_THRESHOLD_BYTES);
+  }
+
+  ResponseCompression(int thresholdBytes) {
+    this.thresholdBytes = thresholdBytes;
+  }
+
+  /**
+   * Compresses the response body when the request accepts an encoding and the body is large enough.
+   * Every response negotiated here varies on Accept-Encoding, whether it is compressed or not.
+   *
+   * @param route The route template, e.g. "GET /assessmentmatrices/{id}/dashboard"
+   * @return The compressed response, or the response itself when it is sent uncompressed
+   */
+  APIGatewayProxyResponseEvent apply(String route, APIGatewayProxyRequestEvent request, APIGatewayProxyResponseEvent response, LambdaLogger logger) {
+    if (request == null || response == null || response.getBody() == null || Boolean.TRUE.equals(response.getIsBase64Encoded()) || response.getHeaders() == null || response.getHeaders().containsKey("Content-Encoding")) {
+      return response;
+    }
+    // Shared caches must not serve a body sent as is to a client that would have had it compressed, or the reverse
+    varyOnAcceptEncoding(response);
+    String encoding = negotiate(ResponseBuilder.header(request, "Accept-Encoding"));
+    if (encoding == null) {
+      return response;
+    }
+    byte[] body = response.getBody().getBytes(StandardCharsets.UTF_8);
+    if (body.length < thresholdBytes) {
+      return response;
+    }
+
+    long start = System.nanoTime();
+    String encoded = Base64.getEncoder().encodeToString(compress(body, encoding));
+    long nanos = System.nanoTime() - start;
+    statsByRoute.computeIfAbsent(route, key -> new RouteStats()).record(body.length, encoded.length(), nanos);
+    if (logger != null) {
+      logger.log(String.format(Locale.ROOT, "Compressed %s with %s: %d -> %d bytes (ratio %.2f) in %.2f ms", route, encoding, body.length, encoded.length(), (double) encoded.length() / body.length, nanos / 1_000_000.0));
+    }
+    if (encoded.length() >= body.length) {
+      return response;
+    }
+    return encoded(response, encoded, encoding);
+  }
+
+  /**
+   * Marks the response as carrying a base64-encoded body in the given encoding,
+   * with an ETag of its own as the encoded bytes differ from the identity ones.
+   */
+  static APIGatewayProxyResponseEvent encoded(APIGatewayProxyResponseEvent response, String base64Body, String encoding) {
+    response.setBody(base64Body);
+    response.setIsBase64Encoded(true);
+    response.getHeaders().put("Content-Encoding", encoding);
+    response.getHeaders().computeIfPresent(ResponseBuilder.ETAG, (name, etag) -> ResponseBuilder.encodedETag(etag, encoding));
+    varyOnAcceptEncoding(response);
+    return response;
+  }
+
+  /**
+   * Marks a response chosen by Accept-Encoding as such.
+   */
+  private static APIGatewayProxyResponseEvent varyOnAcceptEncoding(APIGatewayProxyResponseEvent response) {
+    response.getHeaders().put("Vary", "Accept-Encoding");
+    return response;
+  }
+
+  /**
+   * Picks the encoding of highest quality in an Accept-Encoding header, gzip on ties.
+   *
+   * @return "gzip", "deflate", or null when the client accepts neither
+   */
+  static String negotiate(String acceptEncoding) {
+    if (acceptEncoding == null || acceptEncoding.isBlank()) {
+      return null;
+    }
+    double gzip = -1;
+    double deflate = -1;
+    double wildcard = -1;
+    for (String part : acceptEncoding.split(",")) {
+      String[] tokens = part.trim().split(";");
+      String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+      double quality = quality(tokens);
+      switch (coding) {
+        case GZIP:
+        case "x-gzip":
+          gzip = Math.max(gzip, quality);
+          break;
+        case DEFLATE:
+          deflate = Math.max(deflate, quality);
+          break;
+        case "*":
+          wildcard = quality;
+          break;
+        default:
+          break;
+      }
+    }
+    // Codings not listed are covered by the wildcard
+    gzip = gzip < 0 ? wildcard : gzip;
+    deflate = deflate < 0 ? wildcard : deflate;
+    if (gzip <= 0 && deflate <= 0) {
+      return null;
+    }
+    return gzip >= deflate ? GZIP : DEFLATE;
+  }
+
+  private static double quality(String[] tokens) {
+    for (int i = 1; i < tokens.length; i++) {
+      String parameter = tokens[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2));
+        }
+        catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  private static byte[] compress(byte[] body, String encoding) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4);
+    try (OutputStream out = GZIP.equals(encoding) ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+      out.write(body);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Formats the compressions of every route, e.g.
+   * "Compression by route: GET /questions/matrix/{matrixId} count=3 ratio=0.18 avgMs=0.42".
+   */
+  String format() {
+    StringBuilder report = new StringBuilder("Compression by route:");
+    statsByRoute.forEach((route, stats) -> report.append(' ').append(route).append(String.format(Locale.ROOT, " count=%d ratio=%.2f avgMs=%.2f;", stats.count.sum(), stats.ratio(), stats.averageMillis())));
+    return report.toString();
+  }
+
+  /**
+   * Totals of the compressions of one route.
+   */
+  private static final class RouteStats {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder originalBytes = new LongAdder();
+    private final LongAdder encodedBytes = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    private void record(long original, long encoded, long elapsedNanos) {
+      count.increment();
+      originalBytes.add(original);
+      encodedBytes.add(encoded);
+      nanos.add(elapsedNanos);
+    }
+
+    private double ratio() {
+      long original = originalBytes.sum();
+      return original == 0 ? 1 : (double) encodedBytes.sum() / original;
+    }
+
+    private double averageMillis() {
+      long total = count.sum();
+      return total == 0 ? 0 : nanos.sum() / 1_000_000.0 / total;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.agilecheckup.api.handler;
+
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+
+/**
+ * Operation bound to a route template. Actions are declared once per handler
+ * class and receive the handler instance plus the path parameters already
+ * extracted by the route trie.
+ *
+ * @param <H> the handler type the action belongs to
+ */
+@FunctionalInterface
+public interface RouteAction<H> {
+  APIGatewayProxyResponseEvent handle(H handler, APIGatewayProxyRequestEvent input, Context context, Map<String, String> pathParameters) throws Exception;
+}
@@ -0,0 +1,27 @@
+package com.agilecheckup.api.handler;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+
+/**
+ * Entry of the global route trie: a handler route action together with the
+ * handler instance that runs it.
+ */
+final class RouteBinding<H extends RoutedRequestHandler<H>> {
+
+  private final Supplier<H> handler;
+  private final RouteAction<H> action;
+
+  RouteBinding(Supplier<H> handler, RouteAction<H> action) {
+    this.handler = handler;
+    this.action = action;
+  }
+
+  APIGatewayProxyResponseEvent dispatch(Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context) {
+    return handler.get().handleRoute(action, pathParameters, input, context);
+  }
+}
@@ -0,0 +1,48 @@
+package com.agilecheckup.api.handler;
+
+import java.util.Map;
+import java.util.Optional;
+
+import com.agilecheckup.api.routing.RouteMatch;
+import com.agilecheckup.api.routing.RouteTrie;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+
+/**
+ * Request handler whose endpoints are declared as a {@link RouteTrie} of
+ * {@link RouteAction}s. The same routes are registered in the global trie of
+ * {@link ApiGatewayHandler}, which dispatches straight to
+ * {@link #handleRoute}; {@link #handleRequest} remains available for direct
+ * invocation and does its own lookup.
+ *
+ * @param <H> the concrete handler type
+ */
+public interface RoutedRequestHandler<H> extends RequestHandlerStrategy {
+
+  /**
+   * @return The routes served by this handler
+   */
+  RouteTrie<RouteAction<H>> routes();
+
+  /**
+   * Runs a matched route, applying the handler's error handling.
+   */
+  APIGatewayProxyResponseEvent handleRoute(RouteAction<H> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context);
+
+  /**
+   * Builds the response for a request that matches none of the handler's routes.
+   */
+  default APIGatewayProxyResponseEvent handleUnmatched(APIGatewayProxyRequestEvent input, Context context) {
+    return ResponseBuilder.buildResponse(405, "Method Not Allowed");
+  }
+
+  @Override
+  default APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
+    Optional<RouteMatch<RouteAction<H>>> match = routes().match(input.getHttpMethod(), input.getPath());
+    if (match.isPresent()) {
+      return handleRoute(match.get().getTarget(), match.get().getPathParameters(), input, context);
+    }
+    return handleUnmatched(input, context);
+  }
+}
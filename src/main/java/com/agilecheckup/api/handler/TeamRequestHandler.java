@@ -1,12 +1,18 @@
 package com.agilecheckup.api.handler;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.agilecheckup.api.model.TeamResponse;
+import com.agilecheckup.api.routing.RouteTrie;
+import com.agilecheckup.api.serialization.FieldSet;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
 import com.agilecheckup.persistency.entity.Department;
 import com.agilecheckup.persistency.entity.Team;
@@ -15,57 +21,34 @@ import com.agilecheckup.service.TeamService;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-public class TeamRequestHandler implements RequestHandlerStrategy {
+public class TeamRequestHandler implements RoutedRequestHandler<TeamRequestHandler> {
 
-  // Regex patterns for path matching
-  private static final Pattern GET_ALL_PATTERN = Pattern.compile("^/teams/?$");
-  private static final Pattern SINGLE_RESOURCE_PATTERN = Pattern.compile("^/teams/([^/]+)/?$");
+  static final RouteTrie<RouteAction<TeamRequestHandler>> ROUTES = new RouteTrie<RouteAction<TeamRequestHandler>>()
+      .add("GET", "/teams", (handler, input, context, params) -> handler.handleGetAll(input, context))
+      .add("GET", "/teams/{id}", (handler, input, context, params) -> handler.handleGetById(params.get("id"), input))
+      .add("POST", "/teams", (handler, input, context, params) -> handler.handleCreate(input.getBody()))
+      .add("PUT", "/teams/{id}", (handler, input, context, params) -> handler.handleUpdate(params.get("id"), input.getBody()))
+      .add("DELETE", "/teams/{id}", (handler, input, context, params) -> handler.handleDelete(params.get("id")));
   private final TeamService teamService;
   private final DepartmentService departmentService;
-  private final ObjectMapper objectMapper;
+  private final JsonCodecRegistry json;
 
-  public TeamRequestHandler(ServiceComponent serviceComponent, ObjectMapper objectMapper) {
+  public TeamRequestHandler(ServiceComponent serviceComponent, JsonCodecRegistry json) {
     this.teamService = serviceComponent.buildTeamService();
     this.departmentService = serviceComponent.buildDepartmentService();
-    this.objectMapper = objectMapper;
+    this.json = json;
   }
 
   @Override
-  public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
-    try {
-      String path = input.getPath();
-      String method = input.getHttpMethod();
-
-      // GET /teams
-      if (method.equals("GET") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleGetAll(input);
-      }
-      // GET /teams/{id}
-      else if (method.equals("GET") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleGetById(id);
-      }
-      // POST /teams
-      else if (method.equals("POST") && GET_ALL_PATTERN.matcher(path).matches()) {
-        return handleCreate(input.getBody());
-      }
-      // PUT /teams/{id}
-      else if (method.equals("PUT") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleUpdate(id, input.getBody());
-      }
-      // DELETE /teams/{id}
-      else if (method.equals("DELETE") && SINGLE_RESOURCE_PATTERN.matcher(path).matches()) {
-        String id = extractIdFromPath(path);
-        return handleDelete(id);
-      }
-      // Method not supported
-      else {
-        return ResponseBuilder.buildResponse(405, "Method Not Allowed");
-      }
+  public RouteTrie<RouteAction<TeamRequestHandler>> routes() {
+    return ROUTES;
+  }
 
+  @Override
+  public APIGatewayProxyResponseEvent handleRoute(RouteAction<TeamRequestHandler> action, Map<String, String> pathParameters, APIGatewayProxyRequestEvent input, Context context) {
+    try {
+      return action.handle(this, input, context, pathParameters);
     }
     catch (Exception e) {
       context.getLogger().log("Error in team endpoint: " + e.getMessage());
@@ -73,24 +56,22 @@ public class TeamRequestHandler implements RequestHandlerStrategy {
     }
   }
 
-  private APIGatewayProxyResponseEvent handleGetAll(APIGatewayProxyRequestEvent input) throws Exception {
+  private APIGatewayProxyResponseEvent handleGetAll(APIGatewayProxyRequestEvent input, Context context) throws Exception {
     Map<String, String> queryParams = input.getQueryStringParameters();
 
     if (queryParams != null && queryParams.containsKey("tenantId")) {
       String tenantId = queryParams.get("tenantId");
       String departmentId = queryParams.get("departmentId");
+      boolean withDepartment = requestsDepartment(input);
 
       // If departmentId is provided, filter by department
       if (departmentId != null) {
-        List<Team> teams = teamService.findByDepartmentId(departmentId);
-        List<TeamResponse> responses = enrichTeamsWithDepartments(teams);
-        return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(responses));
+        return PagedResponses.list(json, queryParams, () -> teamService.findByDepartmentId(departmentId), Team::getId, teams -> enrichTeamsWithDepartments(teams, tenantId, withDepartment, context));
       }
       // If only tenantId is provided, return all teams for that tenant
       else {
-        List<Team> teams = teamService.findAllByTenantId(tenantId);
-        List<TeamResponse> responses = enrichTeamsWithDepartments(teams);
-        return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(responses));
+        // Only the teams sent are enriched with their department
+        return PagedResponses.list(json, queryParams, () -> teamService.findAllByTenantId(tenantId), Team::getId, teams -> enrichTeamsWithDepartments(teams, tenantId, withDepartment, context));
       }
     }
 
@@ -98,12 +79,12 @@ public class TeamRequestHandler implements RequestHandlerStrategy {
     return ResponseBuilder.buildResponse(400, "tenantId is required");
   }
 
-  private APIGatewayProxyResponseEvent handleGetById(String id) throws Exception {
-    Optional<Team> team = teamService.findById(id);
+  private APIGatewayProxyResponseEvent handleGetById(String id, APIGatewayProxyRequestEvent input) throws Exception {
+    Optional<Team> team = RequestIdentityMap.find(Team.class, id, teamService::findById);
 
     if (team.isPresent()) {
-      TeamResponse response = enrichTeamWithDepartment(team.get());
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      TeamResponse response = requestsDepartment(input) ? enrichTeamWithDepartment(team.get()) : TeamResponse.fromTeam(team.get(), null);
+      return ResponseBuilder.buildResponse(200, json.write(response));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Team not found");
@@ -111,7 +92,7 @@ public class TeamRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleCreate(String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
     Optional<Team> team = teamService.create(
         (String) requestMap.get("tenantId"), (String) requestMap.get("name"), (String) requestMap.get("description"), (String) requestMap.get("departmentId")
@@ -119,7 +100,7 @@ public class TeamRequestHandler implements RequestHandlerStrategy {
 
     if (team.isPresent()) {
       TeamResponse response = enrichTeamWithDepartment(team.get());
-      return ResponseBuilder.buildResponse(201, objectMapper.writeValueAsString(response));
+      return ResponseBuilder.buildResponse(201, json.write(response));
     }
     else {
       return ResponseBuilder.buildResponse(400, "Failed to create team");
@@ -127,15 +108,16 @@ public class TeamRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleUpdate(String id, String requestBody) throws Exception {
-    Map<String, Object> requestMap = objectMapper.readValue(requestBody, Map.class);
+    Map<String, Object> requestMap = json.readMap(requestBody);
 
+    RequestIdentityMap.evict(Team.class, id);
     Optional<Team> team = teamService.update(
         id, (String) requestMap.get("tenantId"), (String) requestMap.get("name"), (String) requestMap.get("description"), (String) requestMap.get("departmentId")
     );
 
     if (team.isPresent()) {
       TeamResponse response = enrichTeamWithDepartment(team.get());
-      return ResponseBuilder.buildResponse(200, objectMapper.writeValueAsString(response));
+      return ResponseBuilder.buildResponse(200, json.write(response));
     }
     else {
       return ResponseBuilder.buildResponse(404, "Team not found or update failed");
@@ -143,10 +125,11 @@ public class TeamRequestHandler implements RequestHandlerStrategy {
   }
 
   private APIGatewayProxyResponseEvent handleDelete(String id) {
-    Optional<Team> team = teamService.findById(id);
+    Optional<Team> team = RequestIdentityMap.find(Team.class, id, teamService::findById);
 
     if (team.isPresent()) {
       teamService.deleteById(id);
+      RequestIdentityMap.evict(Team.class, id);
       return ResponseBuilder.buildResponse(204, "");
     }
     else {
@@ -154,17 +137,58 @@ public class TeamRequestHandler implements RequestHandlerStrategy {
     }
   }
 
-  private String extractIdFromPath(String path) {
-    // Extract ID from path like /teams/{id}
-    return path.substring(path.lastIndexOf("/") + 1);
-  }
-
   private TeamResponse enrichTeamWithDepartment(Team team) {
-    Optional<Department> department = departmentService.findById(team.getDepartmentId());
+    Optional<Department> department = RequestIdentityMap.find(Department.class, team.getDepartmentId(), departmentService::findById);
     return TeamResponse.fromTeam(team, department.orElse(null));
   }
 
-  private List<TeamResponse> enrichTeamsWithDepartments(List<Team> teams) {
-    return teams.stream().map(this::enrichTeamWithDepartment).collect(Collectors.toList());
+  /**
+   * Enriches teams with their departments, each department read once: a
+   * single tenant read when the teams span several departments, a read by
+   * id otherwise. The number of backend reads is logged per request.
+   */
+  private List<TeamResponse> enrichTeamsWithDepartments(List<Team> teams, String tenantId, boolean withDepartment, Context context) {
+    if (!withDepartment) {
+      return teams.stream().map(team -> TeamResponse.fromTeam(team, null)).collect(Collectors.toList());
+    }
+    Set<String> departmentIds = teams.stream().map(Team::getDepartmentId).filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+    Map<String, Department> departments = new HashMap<>();
+    int backendCalls = 0;
+    if (departmentIds.size() > 1 && tenantId != null) {
+      for (Department department : departmentService.findAllByTenantId(tenantId)) {
+        if (departmentIds.contains(department.getId())) {
+          departments.put(department.getId(), department);
+        }
+      }
+      backendCalls++;
+    }
+    // Departments outside the tenant read, or the single department of the teams
+    for (String departmentId : departmentIds) {
+      if (!departments.containsKey(departmentId)) {
+        RequestIdentityMap.find(Department.class, departmentId, departmentService::findById).ifPresent(department -> departments.put(departmentId, department));
+        backendCalls++;
+      }
+    }
+    context.getLogger().log("Team enrichment: " + teams.size() + " teams, " + departmentIds.size() + " departments, " + backendCalls + " backend calls");
+
+    return teams.stream().map(team -> TeamResponse.fromTeam(team, team.getDepartmentId() == null ? null : departments.get(team.getDepartmentId()))).collect(Collectors.toList());
+  }
+
+  /**
+   * Whether the response shows the department, so it's worth looking up:
+   * false when the fields parameter selects no department property.
+   */
+  private static boolean requestsDepartment(APIGatewayProxyRequestEvent input) {
+    String fields = ResponseBuilder.fields(input);
+    if (fields == null) {
+      return true;
+    }
+    try {
+      return FieldSet.parse(fields).requests("department");
+    }
+    catch (IllegalArgumentException e) {
+      // The response becomes a 400 anyway
+      return false;
+    }
   }
 }
\ No newline at end of file
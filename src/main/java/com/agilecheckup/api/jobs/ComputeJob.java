@@ -0,0 +1,158 @@
+package com.agilecheckup.api.jobs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.agilecheckup.gate.cache.CacheCodec;
+
+import lombok.Getter;
+
+/**
+ * State of one analytics compute run, as reported by the job status endpoint.
+ *
+ * The compute itself is a single service call, so progress is reported per
+ * phase (queued, running, finished) rather than per processed record.
+ */
+@Getter
+public final class ComputeJob {
+
+  // Longest error message kept with the job
+  private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+  /**
+   * Codec storing the job state, so every container can report it from the second-level cache.
+   */
+  static final CacheCodec<ComputeJob> CODEC = new CacheCodec<>() {
+    @Override
+    public Class<ComputeJob> type() {
+      return ComputeJob.class;
+    }
+
+    @Override
+    public byte[] encode(ComputeJob job) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+      try (DataOutputStream out = new DataOutputStream(bytes)) {
+        out.writeUTF(job.jobId);
+        out.writeUTF(job.assessmentMatrixId);
+        out.writeUTF(job.tenantId);
+        out.writeLong(job.createdAt.toEpochMilli());
+        out.writeUTF(job.status.name());
+        writeInstant(out, job.startedAt);
+        writeInstant(out, job.finishedAt);
+        out.writeBoolean(job.errorMessage != null);
+        if (job.errorMessage != null) {
+          out.writeUTF(job.errorMessage);
+        }
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return bytes.toByteArray();
+    }
+
+    @Override
+    public ComputeJob decode(byte[] bytes) {
+      try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+        ComputeJob job = new ComputeJob(in.readUTF(), in.readUTF(), in.readUTF(), Instant.ofEpochMilli(in.readLong()));
+        job.status = Status.valueOf(in.readUTF());
+        job.startedAt = readInstant(in);
+        job.finishedAt = readInstant(in);
+        job.errorMessage = in.readBoolean() ? in.readUTF() : null;
+        return job;
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  };
+
+  public enum Status {
+    QUEUED, RUNNING, SUCCEEDED, FAILED
+  }
+
+  private final String jobId;
+  private final String assessmentMatrixId;
+  private final String tenantId;
+  private final Instant createdAt;
+  private volatile Status status = Status.QUEUED;
+  private volatile Instant startedAt;
+  private volatile Instant finishedAt;
+  private volatile String errorMessage;
+
+  ComputeJob(String assessmentMatrixId, String tenantId, Instant createdAt) {
+    this(UUID.randomUUID().toString(), assessmentMatrixId, tenantId, createdAt);
+  }
+
+  private ComputeJob(String jobId, String assessmentMatrixId, String tenantId, Instant createdAt) {
+    this.jobId = jobId;
+    this.assessmentMatrixId = assessmentMatrixId;
+    this.tenantId = tenantId;
+    this.createdAt = createdAt;
+  }
+
+  /**
+   * @return true once the job has succeeded or failed
+   */
+  public boolean isDone() {
+    Status current = status;
+    return current == Status.SUCCEEDED || current == Status.FAILED;
+  }
+
+  /**
+   * @return Coarse progress percentage: 0 while queued, 50 while running, 100 once done
+   */
+  public int getProgress() {
+    switch (status) {
+      case QUEUED:
+        return 0;
+      case RUNNING:
+        return 50;
+      default:
+        return 100;
+    }
+  }
+
+  /**
+   * @return Time spent running so far, or the total run time once done; 0 while queued
+   */
+  public long getDurationMillis() {
+    Instant started = startedAt;
+    if (started == null) {
+      return 0;
+    }
+    Instant finished = finishedAt;
+    return Duration.between(started, finished != null ? finished : Instant.now()).toMillis();
+  }
+
+  void markRunning(Instant now) {
+    startedAt = now;
+    status = Status.RUNNING;
+  }
+
+  void markSucceeded(Instant now) {
+    finishedAt = now;
+    status = Status.SUCCEEDED;
+  }
+
+  void markFailed(String message, Instant now) {
+    errorMessage = message != null && message.length() > MAX_ERROR_MESSAGE_LENGTH ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message;
+    finishedAt = now;
+    status = Status.FAILED;
+  }
+
+  private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+    out.writeLong(instant != null ? instant.toEpochMilli() : -1);
+  }
+
+  private static Instant readInstant(DataInputStream in) throws IOException {
+    long millis = in.readLong();
+    return millis >= 0 ? Instant.ofEpochMilli(millis) : null;
+  }
+}
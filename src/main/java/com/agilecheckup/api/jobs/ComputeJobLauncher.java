@@ -0,0 +1,64 @@
+package com.agilecheckup.api.jobs;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a compute job so that it runs after the response accepting it has
+ * been sent.
+ */
+public interface ComputeJobLauncher {
+
+  /**
+   * @param job    The job to start
+   * @param worker Runs the job in this process, for launchers without a remote worker
+   * @throws RejectedExecutionException if the job cannot be started
+   */
+  void launch(ComputeJob job, Runnable worker);
+
+  /**
+   * @param sharedState Whether job state is shared by every container, through a second-level cache
+   * @return The launcher of the environment: on Lambda, an asynchronous
+   *         invocation of this function when the invocation can read the
+   *         job state, the compute run before the response otherwise; a
+   *         local executor outside Lambda
+   */
+  static ComputeJobLauncher forEnvironment(boolean sharedState) {
+    return forFunction(System.getenv(LambdaComputeJobLauncher.FUNCTION_NAME_VARIABLE), sharedState);
+  }
+
+  /**
+   * @param functionName The Lambda function serving the API, or null outside Lambda
+   * @param sharedState  Whether job state is shared by every container
+   */
+  static ComputeJobLauncher forFunction(String functionName, boolean sharedState) {
+    if (functionName == null) {
+      return inProcess();
+    }
+    // Without a second level the job is only known to this container, not to the one running the invocation
+    return sharedState ? new LambdaComputeJobLauncher(functionName) : synchronous();
+  }
+
+  /**
+   * Runs jobs on the calling thread, so the job is done once submitted.
+   */
+  static ComputeJobLauncher synchronous() {
+    return (job, worker) -> worker.run();
+  }
+
+  /**
+   * Runs jobs on a small executor of this process. Only suited to local runs:
+   * Lambda freezes the container once the response is sent.
+   */
+  static ComputeJobLauncher inProcess() {
+    Executor executor = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+      Thread thread = new Thread(runnable, "analytics-compute");
+      thread.setDaemon(true);
+      return thread;
+    });
+    return (job, worker) -> executor.execute(worker);
+  }
+}
@@ -0,0 +1,154 @@
+package com.agilecheckup.api.jobs;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import com.agilecheckup.gate.cache.CacheManager;
+
+/**
+ * Tracks analytics computes run as background jobs.
+ *
+ * Jobs are started through a {@link ComputeJobLauncher}, which on Lambda
+ * invokes the function again so the compute outlives the response accepting
+ * it. Their state is kept in a cache region: with a second level configured,
+ * any container can report a job started or run by another. Without one the
+ * invocation could not find the job, so on Lambda it runs before the response.
+ * Finished jobs stay queryable for the TTL of the region so clients can poll
+ * for the outcome.
+ *
+ * Requests for a matrix that already has a queued or running job join that
+ * job instead of starting another full recompute. Two containers accepting a
+ * request for the same matrix at the same instant may still both start one.
+ */
+public class ComputeJobRegistry {
+
+  // Longer than the Lambda maximum timeout: a job still unfinished by then was lost with its invocation
+  static final Duration ABANDONED_AFTER = Duration.ofMinutes(20);
+  private static final String RUN_PATH_PREFIX = "/dashboard-analytics/compute-jobs/";
+  private static final String RUN_PATH_SUFFIX = "/run";
+  private static final String JOB_CACHE_PREFIX = "compute-job:";
+  private static final String ACTIVE_JOB_CACHE_PREFIX = "compute-job-active:";
+
+  private final CacheManager jobs;
+  private final ComputeJobLauncher launcher;
+  private final Clock clock;
+
+  public ComputeJobRegistry(CacheManager jobs, ComputeJobLauncher launcher) {
+    this(jobs, launcher, Clock.systemUTC());
+  }
+
+  // Constructor for testing with a controllable clock
+  ComputeJobRegistry(CacheManager jobs, ComputeJobLauncher launcher, Clock clock) {
+    this.jobs = jobs;
+    this.launcher = launcher;
+    this.clock = clock;
+    jobs.registerCodec(ComputeJob.CODEC);
+  }
+
+  /**
+   * @return The path of the route running the job, requested by the launcher
+   */
+  public static String runPath(String jobId) {
+    return RUN_PATH_PREFIX + jobId + RUN_PATH_SUFFIX;
+  }
+
+  /**
+   * Starts a compute for the matrix, or returns the job already queued or
+   * running for it.
+   *
+   * @param assessmentMatrixId The matrix to compute
+   * @param tenantId           The tenant owning the matrix, checked when the job is queried
+   * @param compute            The compute to run, when the launcher runs it in this process
+   * @return The job tracking the compute
+   * @throws RejectedExecutionException if the job cannot be started
+   */
+  public ComputeJob submit(String assessmentMatrixId, String tenantId, Consumer<ComputeJob> compute) {
+    Optional<ComputeJob> active = jobs.getLatest(ACTIVE_JOB_CACHE_PREFIX + assessmentMatrixId, ComputeJob.class).map(this::expireIfAbandoned);
+    if (active.isPresent() && !active.get().isDone()) {
+      return active.get();
+    }
+
+    ComputeJob job = new ComputeJob(assessmentMatrixId, tenantId, clock.instant());
+    save(job);
+    try {
+      launcher.launch(job, () -> run(job.getJobId(), compute));
+    }
+    catch (RejectedExecutionException e) {
+      job.markFailed(e.getMessage(), clock.instant());
+      save(job);
+      throw e;
+    }
+    return job;
+  }
+
+  /**
+   * @param jobId    The job ID returned on submit
+   * @param tenantId The tenant asking; jobs of other tenants are not visible
+   * @return The job, if it exists and belongs to the tenant
+   */
+  public Optional<ComputeJob> find(String jobId, String tenantId) {
+    return find(jobId).filter(job -> job.getTenantId().equals(tenantId)).map(this::expireIfAbandoned);
+  }
+
+  /**
+   * Runs a queued job and records its outcome. A job already started, by a
+   * retried delivery of the same invocation, is left as is.
+   *
+   * @param compute The compute of the job's matrix
+   * @return The job, or empty if it does not exist
+   */
+  public Optional<ComputeJob> run(String jobId, Consumer<ComputeJob> compute) {
+    Optional<ComputeJob> found = find(jobId);
+    if (found.isEmpty() || found.get().getStatus() != ComputeJob.Status.QUEUED) {
+      return found;
+    }
+
+    ComputeJob job = found.get();
+    job.markRunning(clock.instant());
+    save(job);
+    try {
+      compute.accept(job);
+      job.markSucceeded(clock.instant());
+    }
+    catch (Throwable e) {
+      // Errors too: a job left RUNNING would be reported as such until abandoned
+      job.markFailed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(), clock.instant());
+    }
+    finally {
+      save(job);
+    }
+    return Optional.of(job);
+  }
+
+  private Optional<ComputeJob> find(String jobId) {
+    return jobId != null ? jobs.getLatest(JOB_CACHE_PREFIX + jobId, ComputeJob.class) : Optional.empty();
+  }
+
+  private ComputeJob expireIfAbandoned(ComputeJob job) {
+    if (!job.isDone() && job.getCreatedAt().plus(ABANDONED_AFTER).isBefore(clock.instant())) {
+      job.markFailed("Compute job did not finish", clock.instant());
+      save(job);
+    }
+    return job;
+  }
+
+  /**
+   * Writes the job state; the matrix points at the job while it is active.
+   */
+  private void save(ComputeJob job) {
+    jobs.put(JOB_CACHE_PREFIX + job.getJobId(), job);
+    if (job.isDone()) {
+      String activeKey = ACTIVE_JOB_CACHE_PREFIX + job.getAssessmentMatrixId();
+      // A job expired as abandoned may finish after a newer one took the matrix
+      if (jobs.getLatest(activeKey, ComputeJob.class).filter(active -> active.getJobId().equals(job.getJobId())).isPresent()) {
+        jobs.evict(activeKey);
+      }
+    }
+    else {
+      jobs.put(ACTIVE_JOB_CACHE_PREFIX + job.getAssessmentMatrixId(), job);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.agilecheckup.api.jobs;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.InvocationType;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+
+/**
+ * Starts each job as an asynchronous invocation of this function, carrying a
+ * direct request to the job run route. The job then runs in an invocation of
+ * its own, with the full function timeout, instead of on threads of a
+ * container Lambda freezes after the response.
+ *
+ * The function role needs lambda:InvokeFunction on the function itself.
+ */
+public final class LambdaComputeJobLauncher implements ComputeJobLauncher {
+
+  static final String FUNCTION_NAME_VARIABLE = "AWS_LAMBDA_FUNCTION_NAME";
+  // Lambda answers an accepted asynchronous invocation with 202
+  private static final int ACCEPTED = 202;
+
+  private final String functionName;
+  private volatile LambdaClient lambda;
+
+  public LambdaComputeJobLauncher(String functionName) {
+    this.functionName = functionName;
+  }
+
+  @Override
+  public void launch(ComputeJob job, Runnable worker) {
+    // Job ids are UUIDs, safe to embed as is
+    String payload = "{\"httpMethod\":\"POST\",\"path\":\"" + ComputeJobRegistry.runPath(job.getJobId()) + "\"}";
+    try {
+      InvokeResponse response = client().invoke(InvokeRequest.builder().functionName(functionName).invocationType(InvocationType.EVENT).payload(SdkBytes.fromUtf8String(payload)).build());
+      if (response.statusCode() != ACCEPTED) {
+        throw new RejectedExecutionException("Compute job invocation answered " + response.statusCode());
+      }
+    }
+    catch (SdkException e) {
+      throw new RejectedExecutionException("Cannot start compute job: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The client is built on the first job, keeping it off the cold start of requests that start none.
+   */
+  private LambdaClient client() {
+    LambdaClient client = lambda;
+    if (client == null) {
+      synchronized (this) {
+        client = lambda;
+        if (client == null) {
+          client = LambdaClient.builder().httpClient(UrlConnectionHttpClient.create()).build();
+          lambda = client;
+        }
+      }
+    }
+    return client;
+  }
+}
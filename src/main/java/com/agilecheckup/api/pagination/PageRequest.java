@@ -0,0 +1,133 @@
+package com.agilecheckup.api.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import com.agilecheckup.gate.dto.CursorPageResponse;
+
+import lombok.Getter;
+
+/**
+ * A page of a list endpoint, from the {@code limit} and {@code cursor} query
+ * parameters. Items are paged in id order and the cursor holds the last id
+ * returned, so pages stay consistent while items are added or removed.
+ * The cursor is opaque to clients: they only pass back the
+ * {@code nextCursor} of the previous page.
+ */
+@Getter
+public final class PageRequest {
+
+  public static final int DEFAULT_LIMIT = 50;
+  public static final int MAX_LIMIT = 200;
+  private static final String CURSOR_VERSION = "v1:";
+
+  private final int limit;
+  // Id of the last item of the previous page, null for the first page
+  private final String afterId;
+
+  private PageRequest(int limit, String afterId) {
+    this.limit = limit;
+    this.afterId = afterId;
+  }
+
+  /**
+   * @return The requested page, or empty when the request has neither {@code limit} nor {@code cursor}
+   * @throws IllegalArgumentException if the limit is not 1 to {@link #MAX_LIMIT} or the cursor is not one we issued
+   */
+  public static Optional<PageRequest> from(Map<String, String> queryParams) {
+    if (queryParams == null || (!queryParams.containsKey("limit") && !queryParams.containsKey("cursor"))) {
+      return Optional.empty();
+    }
+    return Optional.of(new PageRequest(parseLimit(queryParams.get("limit")), decodeCursor(queryParams.get("cursor"))));
+  }
+
+  /**
+   * @return The requested page, or the first page of {@link #DEFAULT_LIMIT} items when the request has neither {@code limit} nor {@code cursor}
+   * @throws IllegalArgumentException if the limit is not 1 to {@link #MAX_LIMIT} or the cursor is not one we issued
+   */
+  public static PageRequest fromOrFirstPage(Map<String, String> queryParams) {
+    return from(queryParams).orElseGet(() -> new PageRequest(DEFAULT_LIMIT, null));
+  }
+
+  private static int parseLimit(String value) {
+    if (value == null) {
+      return DEFAULT_LIMIT;
+    }
+    try {
+      int limit = Integer.parseInt(value);
+      if (limit >= 1 && limit <= MAX_LIMIT) {
+        return limit;
+      }
+    }
+    catch (NumberFormatException e) {
+      // Reported below
+    }
+    throw new IllegalArgumentException("Invalid pagination parameters. limit must be 1-" + MAX_LIMIT);
+  }
+
+  private static String decodeCursor(String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return null;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      if (decoded.startsWith(CURSOR_VERSION)) {
+        return decoded.substring(CURSOR_VERSION.length());
+      }
+    }
+    catch (IllegalArgumentException e) {
+      // Reported below
+    }
+    throw new IllegalArgumentException("Invalid pagination parameters. cursor is not valid");
+  }
+
+  static String encodeCursor(String lastId) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString((CURSOR_VERSION + lastId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Selects the page from the full list. Only the page (plus one item, to know
+   * whether another page follows) is kept and sorted, rather than the whole list.
+   *
+   * @param items The items of the list, in any order
+   * @param idOf  The unique id of an item
+   */
+  public <T> CursorPageResponse<T> slice(List<T> items, Function<T, String> idOf) {
+    Comparator<T> byId = Comparator.comparing(idOf, Comparator.nullsFirst(Comparator.naturalOrder()));
+    // Max-heap of the smallest ids after the cursor
+    PriorityQueue<T> smallest = new PriorityQueue<>(limit + 2, byId.reversed());
+    for (T item : items) {
+      String id = idOf.apply(item);
+      if (afterId != null && (id == null || id.compareTo(afterId) <= 0)) {
+        continue;
+      }
+      smallest.add(item);
+      if (smallest.size() > limit + 1) {
+        smallest.poll();
+      }
+    }
+
+    List<T> page = new ArrayList<>(smallest);
+    page.sort(byId);
+    String nextCursor = null;
+    if (page.size() > limit) {
+      page = page.subList(0, limit);
+      nextCursor = encodeCursor(idOf.apply(page.get(limit - 1)));
+    }
+    return CursorPageResponse.<T>builder().items(new ArrayList<>(page)).nextCursor(nextCursor).limit(limit).build();
+  }
+
+  /**
+   * @return A string identifying the page, for cache keys of paged responses
+   */
+  public String cacheKey() {
+    return "limit=" + limit + "|after=" + afterId;
+  }
+}
@@ -0,0 +1,20 @@
+package com.agilecheckup.api.routing;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A route registered in a {@link RouteTrie}.
+ *
+ * @param <T> the routing target
+ */
+@Getter
+@RequiredArgsConstructor
+public final class Route<T> {
+  private final String method;
+  private final String template;
+  private final List<String> parameterNames;
+  private final T target;
+}
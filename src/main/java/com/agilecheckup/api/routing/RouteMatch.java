@@ -0,0 +1,23 @@
+package com.agilecheckup.api.routing;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Result of a successful {@link RouteTrie} lookup.
+ *
+ * @param <T> the routing target
+ */
+@Getter
+@RequiredArgsConstructor
+public final class RouteMatch<T> {
+  private final T target;
+  private final String template;
+  private final Map<String, String> pathParameters;
+
+  public String getPathParameter(String name) {
+    return pathParameters.get(name);
+  }
+}
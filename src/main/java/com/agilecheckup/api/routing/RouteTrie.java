@@ -0,0 +1,184 @@
+package com.agilecheckup.api.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Segment trie used to route API Gateway requests.
+ *
+ * Templates are registered once at init (e.g. "/teams/{id}") and split into
+ * literal and parameter segments. Lookups walk the trie one path segment at a
+ * time, so the cost depends on the path depth rather than on the number of
+ * registered routes. Literal segments take precedence over parameters, with
+ * backtracking, so "/questions/next" wins over "/questions/{id}" while
+ * "PUT /questions/next" still falls back to the parameter route.
+ *
+ * Instances are not thread-safe while routes are being added; once built they
+ * can be shared freely for lookups.
+ *
+ * @param <T> the routing target stored for each route
+ */
+public final class RouteTrie<T> {
+
+  /**
+   * Method wildcard, used when a route should answer every HTTP method not
+   * registered explicitly for the same template.
+   */
+  public static final String ANY_METHOD = "*";
+
+  private final Node<T> root = new Node<>();
+  private final List<Route<T>> routes = new ArrayList<>();
+
+  /**
+   * Registers a route.
+   *
+   * @param method   HTTP method, or {@link #ANY_METHOD}
+   * @param template Path template, with parameters written as {name}
+   * @param target   The routing target
+   * @return this trie, for chaining
+   * @throws IllegalStateException if the same method and template are already registered
+   */
+  public RouteTrie<T> add(String method, String template, T target) {
+    Node<T> node = root;
+    List<String> parameterNames = new ArrayList<>();
+
+    for (String segment : split(template)) {
+      if (segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}') {
+        parameterNames.add(segment.substring(1, segment.length() - 1));
+        node = node.parameterChild();
+      }
+      else {
+        node = node.literalChild(segment);
+      }
+    }
+
+    Route<T> route = new Route<>(method, template, parameterNames, target);
+    if (node.routes.putIfAbsent(method, route) != null) {
+      throw new IllegalStateException("Duplicate route: " + method + " " + template);
+    }
+    routes.add(route);
+    return this;
+  }
+
+  /**
+   * Finds the route for a request.
+   *
+   * @param method The HTTP method of the request
+   * @param path   The request path
+   * @return The matched route with its extracted path parameters, or empty if no route matches
+   */
+  public Optional<RouteMatch<T>> match(String method, String path) {
+    if (method == null || path == null) {
+      return Optional.empty();
+    }
+
+    String[] segments = split(path);
+    String[] captured = new String[segments.length];
+    Route<T> route = find(root, segments, 0, method, captured, 0);
+    if (route == null) {
+      return Optional.empty();
+    }
+
+    List<String> names = route.getParameterNames();
+    Map<String, String> pathParameters;
+    if (names.isEmpty()) {
+      pathParameters = Collections.emptyMap();
+    }
+    else {
+      pathParameters = new HashMap<>(names.size() * 2);
+      for (int i = 0; i < names.size(); i++) {
+        pathParameters.put(names.get(i), captured[i]);
+      }
+    }
+    return Optional.of(new RouteMatch<>(route.getTarget(), route.getTemplate(), pathParameters));
+  }
+
+  /**
+   * @return Every registered route, in registration order
+   */
+  public List<Route<T>> getRoutes() {
+    return Collections.unmodifiableList(routes);
+  }
+
+  /**
+   * Returns the first segment of a path without allocating the full segment
+   * array, e.g. "teams" for "/teams/123".
+   */
+  public static String firstSegment(String path) {
+    int start = path.startsWith("/") ? 1 : 0;
+    int end = path.indexOf('/', start);
+    return path.substring(start, end < 0 ? path.length() : end);
+  }
+
+  private Route<T> find(Node<T> node, String[] segments, int index, String method, String[] captured, int depth) {
+    if (index == segments.length) {
+      Route<T> route = node.routes.get(method);
+      return route != null ? route : node.routes.get(ANY_METHOD);
+    }
+
+    String segment = segments[index];
+    Node<T> literal = node.literals.get(segment);
+    if (literal != null) {
+      Route<T> route = find(literal, segments, index + 1, method, captured, depth);
+      if (route != null) {
+        return route;
+      }
+    }
+
+    if (node.parameter != null && !segment.isEmpty()) {
+      captured[depth] = segment;
+      return find(node.parameter, segments, index + 1, method, captured, depth + 1);
+    }
+    return null;
+  }
+
+  /**
+   * Splits a path on "/" ignoring one leading and one trailing slash, so
+   * "/teams/", "/teams" and "teams" all yield ["teams"].
+   */
+  static String[] split(String path) {
+    int start = path.startsWith("/") ? 1 : 0;
+    int end = path.length() > start && path.endsWith("/") ? path.length() - 1 : path.length();
+    if (start >= end) {
+      return new String[0];
+    }
+
+    int count = 1;
+    for (int i = start; i < end; i++) {
+      if (path.charAt(i) == '/') {
+        count++;
+      }
+    }
+
+    String[] segments = new String[count];
+    int segmentStart = start;
+    for (int i = 0; i < count; i++) {
+      int slash = path.indexOf('/', segmentStart);
+      int segmentEnd = slash < 0 || slash > end ? end : slash;
+      segments[i] = path.substring(segmentStart, segmentEnd);
+      segmentStart = segmentEnd + 1;
+    }
+    return segments;
+  }
+
+  private static final class Node<T> {
+    private final Map<String, Node<T>> literals = new HashMap<>();
+    private final Map<String, Route<T>> routes = new HashMap<>(4);
+    private Node<T> parameter;
+
+    private Node<T> literalChild(String segment) {
+      return literals.computeIfAbsent(segment, key -> new Node<>());
+    }
+
+    private Node<T> parameterChild() {
+      if (parameter == null) {
+        parameter = new Node<>();
+      }
+      return parameter;
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package com.agilecheckup.api.serialization;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+
+/**
+ * Sparse fieldset from a {@code fields} query parameter, e.g.
+ * {@code fields=id,name,department.name}: responses keep only the listed
+ * properties, dotted paths selecting nested ones. A root array is filtered
+ * element by element, and a paged response item by item.
+ *
+ * Fieldsets are parsed once per distinct parameter value and cached, so a
+ * screen polling with the same fields reuses the same filter.
+ */
+public final class FieldSet {
+
+  static final int MAX_FIELDS = 64;
+  static final int MAX_CACHED_FIELDSETS = 256;
+  private static final Pattern FIELD_NAME = Pattern.compile("[A-Za-z0-9_]+");
+  private static final ConcurrentMap<String, FieldSet> CACHE = new ConcurrentHashMap<>();
+
+  private final Node root;
+  private final TokenFilter pageFilter;
+
+  private FieldSet(Node root) {
+    this.root = root;
+    this.pageFilter = new PageFilter(root);
+  }
+
+  /**
+   * @param fields Comma-separated property paths
+   * @throws IllegalArgumentException if a path is not made of property names, or too many are listed
+   */
+  public static FieldSet parse(String fields) {
+    FieldSet cached = CACHE.get(fields);
+    if (cached != null) {
+      return cached;
+    }
+    FieldSet fieldSet = new FieldSet(parseTree(fields));
+    // Field sets come from clients: keep the common ones, not every combination ever requested
+    if (CACHE.size() < MAX_CACHED_FIELDSETS) {
+      CACHE.putIfAbsent(fields, fieldSet);
+    }
+    return fieldSet;
+  }
+
+  private static Node parseTree(String fields) {
+    TreeSet<String> paths = new TreeSet<>();
+    for (String path : fields.split(",")) {
+      if (!path.isBlank()) {
+        paths.add(path.trim());
+      }
+    }
+    if (paths.isEmpty() || paths.size() > MAX_FIELDS) {
+      throw new IllegalArgumentException("Invalid fields parameter: list 1 to " + MAX_FIELDS + " properties");
+    }
+
+    Node root = new Node();
+    for (String path : paths) {
+      Node node = root;
+      for (String name : path.split("\\.", -1)) {
+        if (!FIELD_NAME.matcher(name).matches()) {
+          throw new IllegalArgumentException("Invalid fields parameter: " + path);
+        }
+        // Paths are sorted, so a parent selected whole comes before its properties
+        if (!node.whole) {
+          node = node.children.computeIfAbsent(name, key -> new Node());
+        }
+      }
+      node.whole = true;
+      node.children.clear();
+    }
+    return root;
+  }
+
+  /**
+   * @return Whether the property, or any property nested in it, is selected
+   */
+  public boolean requests(String property) {
+    return root.children.containsKey(property);
+  }
+
+  /**
+   * Rewrites a JSON body keeping only the selected properties.
+   *
+   * @param paged Whether the body is a page of items rather than the items themselves
+   */
+  public String filter(String json, JsonFactory factory, boolean paged) throws IOException {
+    StringWriter out = new StringWriter(json.length() / 2);
+    try (JsonParser parser = factory.createParser(json);
+        JsonGenerator generator = new FilteringGeneratorDelegate(factory.createGenerator(out), paged ? pageFilter : root, TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true)) {
+      while (parser.nextToken() != null) {
+        generator.copyCurrentEvent(parser);
+      }
+    }
+    return out.toString();
+  }
+
+  /**
+   * Selected properties at one level; a leaf keeps its whole value.
+   */
+  private static final class Node extends TokenFilter {
+    private final Map<String, Node> children = new TreeMap<>();
+    private boolean whole;
+
+    @Override
+    public TokenFilter includeProperty(String name) {
+      Node child = children.get(name);
+      if (child == null) {
+        return null;
+      }
+      return child.whole ? TokenFilter.INCLUDE_ALL : child;
+    }
+
+    @Override
+    public TokenFilter includeElement(int index) {
+      // Every element of an array gets the same fields
+      return this;
+    }
+
+    @Override
+    public TokenFilter includeRootValue(int index) {
+      return this;
+    }
+
+    @Override
+    public boolean includeEmptyObject(boolean contentsFiltered) {
+      // Keep an element whose selected properties are all missing, so arrays keep their length
+      return true;
+    }
+
+    @Override
+    public boolean includeEmptyArray(boolean contentsFiltered) {
+      return true;
+    }
+  }
+
+  /**
+   * Keeps the page envelope and applies the fields to its items.
+   */
+  private static final class PageFilter extends TokenFilter {
+    private final Node items;
+
+    private PageFilter(Node items) {
+      this.items = items;
+    }
+
+    @Override
+    public TokenFilter includeProperty(String name) {
+      return "items".equals(name) ? items : TokenFilter.INCLUDE_ALL;
+    }
+
+    @Override
+    public TokenFilter includeRootValue(int index) {
+      return this;
+    }
+
+    @Override
+    public boolean includeEmptyObject(boolean contentsFiltered) {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package com.agilecheckup.api.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Typed Jackson readers and writers, shared by every request handler of the
+ * container through the gate component.
+ *
+ * An {@link ObjectWriter} or {@link ObjectReader} bound to a concrete type
+ * resolves its root serializer or deserializer once, instead of looking it up
+ * in the mapper caches on every call. Codecs are built on first use of each
+ * type (not up front, to keep cold starts short) and kept for the lifetime of
+ * the container. Responses are written into a per-thread buffer that is reused
+ * across requests.
+ *
+ * Readers and writers capture the mapper configuration when they are built,
+ * so the mapper must be fully configured before the first call.
+ */
+public final class JsonCodecRegistry {
+
+  /** Buffers that grew past this size are dropped rather than kept for the thread. */
+  static final int MAX_RETAINED_BUFFER_BYTES = 1024 * 1024;
+
+  private static final int INITIAL_BUFFER_BYTES = 8 * 1024;
+  private static final ThreadLocal<ReusableBuffer> BUFFERS = ThreadLocal.withInitial(() -> new ReusableBuffer(INITIAL_BUFFER_BYTES));
+
+  private final ObjectMapper objectMapper;
+  private final ObjectReader mapReader;
+  private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+  public JsonCodecRegistry(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.mapReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() {
+    });
+  }
+
+  /**
+   * @return The mapper the readers and writers are built from, for the tree and conversion calls they don't cover
+   */
+  public ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
+
+  /**
+   * @return The writer bound to the given type
+   */
+  public ObjectWriter writerFor(Class<?> type) {
+    return writers.computeIfAbsent(type, objectMapper::writerFor);
+  }
+
+  /**
+   * @return The reader bound to the given type
+   */
+  public ObjectReader readerFor(Class<?> type) {
+    return readers.computeIfAbsent(type, objectMapper::readerFor);
+  }
+
+  /**
+   * Serializes a value with the writer bound to its runtime type. The output is
+   * the same as {@link ObjectMapper#writeValueAsString(Object)}.
+   */
+  public String write(Object value) throws JsonProcessingException {
+    ReusableBuffer buffer = acquireBuffer();
+    try {
+      writeTo(buffer, value);
+      return buffer.toString(StandardCharsets.UTF_8);
+    }
+    finally {
+      releaseBuffer(buffer);
+    }
+  }
+
+  /**
+   * Serializes a value to UTF-8 bytes with the writer bound to its runtime type.
+   */
+  public byte[] writeBytes(Object value) throws JsonProcessingException {
+    ReusableBuffer buffer = acquireBuffer();
+    try {
+      writeTo(buffer, value);
+      return buffer.toByteArray();
+    }
+    finally {
+      releaseBuffer(buffer);
+    }
+  }
+
+  /**
+   * Deserializes a request body into the given type.
+   */
+  public <T> T read(String body, Class<T> type) throws JsonProcessingException {
+    return readerFor(type).readValue(body);
+  }
+
+  /**
+   * Deserializes a request body into a generic map, as the handlers do for
+   * request models without a dedicated class.
+   */
+  public Map<String, Object> readMap(String body) throws JsonProcessingException {
+    return mapReader.readValue(body);
+  }
+
+  private void writeTo(ReusableBuffer buffer, Object value) throws JsonProcessingException {
+    ObjectWriter writer = value == null ? objectMapper.writer() : writerFor(value.getClass());
+    try {
+      writer.writeValue(buffer, value);
+    }
+    catch (JsonProcessingException e) {
+      throw e;
+    }
+    catch (IOException e) {
+      // Writing to memory does not fail with plain I/O errors
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Takes the thread's buffer, or a fresh one if it is already in use higher up
+   * the stack (a serializer writing a nested value through the registry).
+   */
+  private static ReusableBuffer acquireBuffer() {
+    ReusableBuffer buffer = BUFFERS.get();
+    if (buffer.inUse) {
+      return new ReusableBuffer(INITIAL_BUFFER_BYTES);
+    }
+    buffer.inUse = true;
+    buffer.reset();
+    return buffer;
+  }
+
+  private static void releaseBuffer(ReusableBuffer buffer) {
+    buffer.inUse = false;
+    if (buffer.capacity() > MAX_RETAINED_BUFFER_BYTES && BUFFERS.get() == buffer) {
+      BUFFERS.remove();
+    }
+  }
+
+  /**
+   * Byte buffer whose backing array survives {@link #reset()}, so repeated
+   * writes on the same thread do not reallocate it.
+   */
+  static final class ReusableBuffer extends ByteArrayOutputStream {
+    private boolean inUse;
+
+    ReusableBuffer(int size) {
+      super(size);
+    }
+
+    int capacity() {
+      return buf.length;
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.agilecheckup.gate.cache;
+
+/**
+ * A second-level cache backend could not complete a call, because it is
+ * unreachable, timed out or answered with an error.
+ */
+public class CacheBackendException extends RuntimeException {
+
+  public CacheBackendException(String message) {
+    super(message);
+  }
+
+  public CacheBackendException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
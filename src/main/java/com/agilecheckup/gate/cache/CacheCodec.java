@@ -0,0 +1,14 @@
+package com.agilecheckup.gate.cache;
+
+/**
+ * Encodes values of one type for the second-level cache. Only values whose
+ * type has a codec registered on the {@link CacheManager} leave the container.
+ */
+public interface CacheCodec<T> {
+
+  Class<T> type();
+
+  byte[] encode(T value);
+
+  T decode(byte[] bytes);
+}
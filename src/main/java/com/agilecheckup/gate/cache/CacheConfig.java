@@ -0,0 +1,97 @@
+package com.agilecheckup.gate.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Cache settings from {@code application.properties}. Each property can be
+ * overridden by an environment variable of the same name in upper case with
+ * dots and dashes as underscores, e.g. {@code CACHE_L2_BACKEND} for
+ * {@code cache.l2.backend}.
+ */
+public final class CacheConfig {
+
+  private static final String RESOURCE = "/application.properties";
+
+  private final Properties properties;
+
+  CacheConfig(Properties properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * @return The settings of {@code application.properties}, empty when the file is missing
+   */
+  public static CacheConfig load() {
+    Properties properties = new Properties();
+    try (InputStream in = CacheConfig.class.getResourceAsStream(RESOURCE)) {
+      if (in != null) {
+        properties.load(in);
+      }
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("Cannot read " + RESOURCE, e);
+    }
+    return new CacheConfig(properties);
+  }
+
+  public String get(String name, String defaultValue) {
+    String override = System.getenv(name.toUpperCase().replace('.', '_').replace('-', '_'));
+    if (override != null && !override.isBlank()) {
+      return override.trim();
+    }
+    String value = properties.getProperty(name);
+    return value != null && !value.isBlank() ? value.trim() : defaultValue;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the value is not an integer
+   */
+  public int getInt(String name, int defaultValue) {
+    String value = get(name, null);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value);
+    }
+    catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + name + ": " + value, e);
+    }
+  }
+
+  /**
+   * @throws IllegalArgumentException if the value is not a number
+   */
+  public double getDouble(String name, double defaultValue) {
+    String value = get(name, null);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Double.parseDouble(value);
+    }
+    catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + name + ": " + value, e);
+    }
+  }
+
+  /**
+   * @throws IllegalArgumentException if the value is not a number of milliseconds
+   */
+  public Duration getMillis(String name, Duration defaultValue) {
+    String value = get(name, null);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Duration.ofMillis(Long.parseLong(value));
+    }
+    catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + name + ": " + value, e);
+    }
+  }
+}
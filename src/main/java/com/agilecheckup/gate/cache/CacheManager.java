@@ -1,7 +1,20 @@
 package com.agilecheckup.gate.cache;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -10,6 +23,9 @@ import org.apache.commons.lang3.StringUtils;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +33,10 @@ import lombok.RequiredArgsConstructor;
 /**
  * Simple in-memory cache manager for API Gateway responses.
  * 
+ * An optional second level ({@link CacheProvider}, e.g. {@link RedisCacheProvider})
+ * is shared by every container. It is chosen by {@code cache.l2.backend} in
+ * {@link com.agilecheckup.gate.component.GateCacheModule}.
+ * 
  * IMPORTANT: This is a temporary implementation residing in the Gate module.
  * As the caching needs grow, this should be refactored into a separate
  * AgileCheckupCache module.
@@ -52,18 +72,133 @@ import lombok.RequiredArgsConstructor;
 @Singleton
 public class CacheManager {
 
-  private final Cache<String, Object> cache;
+  /**
+   * How long a caller waits for a load started by another caller before loading on its own
+   */
+  public static final Duration DEFAULT_LOAD_TIMEOUT = Duration.ofSeconds(10);
+  private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+  // Share of the memory available to the JVM the cache may retain
+  private static final double DEFAULT_MEMORY_SHARE = 0.2;
+  // Estimate of values that cannot estimate their own size, per value and per collection element
+  private static final long DEFAULT_VALUE_BYTES = 256;
+  private static final long ENTRY_OVERHEAD_BYTES = 128;
+
+  private final Cache<String, CacheEntry> cache;
+  private final double memoryShare;
+  private final RefreshPolicy defaultPolicy;
+  private final Ticker ticker;
+  // Refresh ages and TTLs by key prefix; the longest matching prefix applies
+  private final ConcurrentHashMap<String, RefreshPolicy> policiesByPrefix = new ConcurrentHashMap<>();
+  // Keys of the live entries carrying each tag, so a tag is invalidated in O(tagged entries)
+  private final ConcurrentHashMap<String, Set<String>> keysByTag = new ConcurrentHashMap<>();
+  // Loads and refreshes in progress, shared by every caller missing the same key meanwhile
+  private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  // Loads in progress, marked by the invalidations of their key or tags so they do not cache what they read before
+  private final Set<PendingLoad> pendingLoads = ConcurrentHashMap.newKeySet();
+  private final LongAdder loadCount = new LongAdder();
+  private final LongAdder loadFailureCount = new LongAdder();
+  private final LongAdder coalescedLoadCount = new LongAdder();
+  private final LongAdder totalLoadTimeNanos = new LongAdder();
+  private final LongAdder refreshCount = new LongAdder();
+  private final LongAdder refreshFailureCount = new LongAdder();
+  private final LongAdder totalRefreshTimeNanos = new LongAdder();
+  // Cache shared across containers behind this one, or null to cache in memory only
+  private final SecondLevelCache secondLevel;
 
   /**
    * Default cache configuration:
-   * - Maximum 1000 entries (suitable for Lambda memory constraints)
-   * - 5 minutes TTL (balances freshness vs performance)
+   * - Bounded by the estimated bytes retained, a share of the max heap (see {@link #fitToMemoryLimit(int)})
+   * - 5 minutes TTL (balances freshness vs performance), configurable per key prefix
    * - LRU eviction policy
    */
   @Inject
   public CacheManager() {
-    this.cache = Caffeine.newBuilder().maximumSize(1000).expireAfterWrite(5, TimeUnit.MINUTES).recordStats() // Enable statistics for monitoring
-        .build();
+    this(DEFAULT_MEMORY_SHARE, null, DEFAULT_TTL, null, null);
+  }
+
+  /**
+   * Cache region, optionally backed by a second level shared across containers.
+   * Values with a registered {@link CacheCodec} ({@link MaterializedResponse} by
+   * default) are written through to it and read from it on a miss in memory.
+   *
+   * @param memoryShare  Share of the memory available to the JVM the cache may retain
+   * @param refreshAfter Default age after which an entry is reloaded by the next read, or null to never refresh on read
+   * @param hardTtl      Default age after which an entry expires
+   * @param secondLevel  The shared backend, or null to cache in memory only
+   * @param retryAfter   How long the backend is skipped after a failed call
+   */
+  public CacheManager(double memoryShare, Duration refreshAfter, Duration hardTtl, CacheProvider secondLevel, Duration retryAfter) {
+    this(Ticker.systemTicker(), memoryShare, budgetFor(Runtime.getRuntime().maxMemory(), memoryShare), new RefreshPolicy(refreshAfter, hardTtl), secondLevel, retryAfter);
+  }
+
+  // Constructor for testing with a controlled clock
+  CacheManager(Ticker ticker) {
+    this(ticker, budgetFor(Runtime.getRuntime().maxMemory(), DEFAULT_MEMORY_SHARE));
+  }
+
+  // Constructor for testing with a controlled clock and memory budget
+  CacheManager(Ticker ticker, long maximumBytes) {
+    this(ticker, maximumBytes, null, null);
+  }
+
+  // Constructor for testing with a controlled clock, memory budget and second level
+  CacheManager(Ticker ticker, long maximumBytes, CacheProvider secondLevel, Duration retryAfter) {
+    this(ticker, DEFAULT_MEMORY_SHARE, maximumBytes, new RefreshPolicy(null, DEFAULT_TTL), secondLevel, retryAfter);
+  }
+
+  private CacheManager(Ticker ticker, double memoryShare, long maximumBytes, RefreshPolicy defaultPolicy, CacheProvider secondLevel, Duration retryAfter) {
+    this.ticker = ticker;
+    this.memoryShare = memoryShare;
+    this.defaultPolicy = defaultPolicy;
+    this.secondLevel = secondLevel != null ? new SecondLevelCache(secondLevel, retryAfter) : null;
+    if (this.secondLevel != null) {
+      this.secondLevel.register(MaterializedResponse.CODEC);
+    }
+    this.cache = Caffeine.newBuilder().maximumWeight(maximumBytes).weigher((String key, CacheEntry entry) -> entry.weight).expireAfter(new HardTtlExpiry()).ticker(ticker).recordStats() // Enable statistics for monitoring
+        .removalListener(this::onRemoval).build();
+  }
+
+  /**
+   * Bounds the cache by the memory limit of the function, when it is below the max heap
+   * the cache was sized from.
+   *
+   * @param memoryLimitInMB The function memory limit, from {@code Context.getMemoryLimitInMB()}
+   */
+  public void fitToMemoryLimit(int memoryLimitInMB) {
+    if (memoryLimitInMB <= 0) {
+      return;
+    }
+    long available = Math.min(Runtime.getRuntime().maxMemory(), memoryLimitInMB * 1024L * 1024L);
+    cache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(budgetFor(available, memoryShare)));
+  }
+
+  /**
+   * Sets the refresh age and TTL of the entries whose key starts with the prefix.
+   * An entry older than the refresh age is reloaded by the next
+   * {@link #get(String, Class, Callable, String...)}, which waits for the reload;
+   * reads concurrent with it are served the entry as is. Entries older than the
+   * hard TTL are dropped. Applies to entries written after the call.
+   *
+   * @param keyPrefix    The key prefix, e.g. "dashboard:"
+   * @param refreshAfter Age after which an entry is reloaded by the next read, or null to never refresh on read
+   * @param hardTtl      Age after which an entry expires
+   * @throws IllegalArgumentException if the hard TTL is not positive or the refresh age is not below it
+   */
+  public void configure(String keyPrefix, Duration refreshAfter, Duration hardTtl) {
+    if (StringUtils.isBlank(keyPrefix)) {
+      throw new IllegalArgumentException("keyPrefix is required");
+    }
+    policiesByPrefix.put(keyPrefix, new RefreshPolicy(refreshAfter, hardTtl));
+  }
+
+  /**
+   * Lets values of the codec type be written to and read from the second level.
+   * Has no effect on a cache without second level.
+   */
+  public <T> void registerCodec(CacheCodec<T> codec) {
+    if (secondLevel != null) {
+      secondLevel.register(codec);
+    }
   }
 
   /**
@@ -78,11 +213,108 @@ public class CacheManager {
       return Optional.empty();
     }
 
-    Object value = cache.getIfPresent(key);
-    if (value != null && type.isInstance(value)) {
-      return Optional.of(type.cast(value));
+    CacheEntry entry = lookup(key);
+    return entry != null ? cast(entry.value, type) : Optional.empty();
+  }
+
+  /**
+   * Retrieves a value other containers may have rewritten: the second level
+   * is read first, and memory only serves when it misses or is unavailable.
+   *
+   * @param key  The cache key
+   * @param type The expected type of the cached value
+   * @return Optional containing the cached value if present and of correct type
+   */
+  public <T> Optional<T> getLatest(String key, Class<T> type) {
+    if (StringUtils.isBlank(key) || type == null) {
+      return Optional.empty();
+    }
+
+    if (secondLevel != null) {
+      Optional<SecondLevelCache.Hit> hit = secondLevel.get(key);
+      if (hit.isPresent()) {
+        return cast(putLocal(key, hit.get().value, hit.get().tags).value, type);
+      }
+    }
+    return get(key, type);
+  }
+
+  /**
+   * Retrieves a value from cache, loading and caching it on a miss.
+   * Concurrent callers missing the same key share a single load.
+   *
+   * @param key    The cache key (should include tenant ID for multi-tenancy)
+   * @param type   The expected type of the cached value
+   * @param loader Loads the value; a null result is returned as empty and not cached
+   * @param tags   The tags of the loaded entry, see {@link CacheTags}
+   * @return Optional containing the cached or loaded value
+   * @throws Exception the exception thrown by the loader
+   */
+  public <T> Optional<T> get(String key, Class<T> type, Callable<T> loader, String... tags) throws Exception {
+    return get(key, type, loader, DEFAULT_LOAD_TIMEOUT, tags);
+  }
+
+  /**
+   * Retrieves a value from cache, loading and caching it on a miss.
+   * Concurrent callers missing the same key share a single load; a caller
+   * waiting longer than the timeout for it loads the value on its own.
+   * An entry past the refresh age of its key prefix is reloaded by the caller,
+   * which waits for it: this is refresh on read, not stale-while-revalidate.
+   * Callers reading the entry meanwhile, or after a failed reload, are served
+   * it as is until its hard TTL.
+   *
+   * @param key     The cache key (should include tenant ID for multi-tenancy)
+   * @param type    The expected type of the cached value
+   * @param loader  Loads the value; a null result is returned as empty and not cached
+   * @param timeout How long to wait for a load started by another caller
+   * @param tags    The tags of the loaded entry, see {@link CacheTags}
+   * @return Optional containing the cached or loaded value
+   * @throws Exception the exception thrown by the loader
+   */
+  public <T> Optional<T> get(String key, Class<T> type, Callable<T> loader, Duration timeout, String... tags) throws Exception {
+    if (StringUtils.isBlank(key) || type == null) {
+      return Optional.empty();
+    }
+
+    CacheEntry entry = lookup(key);
+    if (entry != null && type.isInstance(entry.value)) {
+      if (isPastRefreshAge(key, entry)) {
+        Optional<T> refreshed = cast(refresh(key, loader, tags), type);
+        if (refreshed.isPresent()) {
+          return refreshed;
+        }
+      }
+      return Optional.of(type.cast(entry.value));
+    }
+
+    CompletableFuture<Object> load = new CompletableFuture<>();
+    CompletableFuture<Object> running = inFlight.putIfAbsent(key, load);
+    if (running != null) {
+      coalescedLoadCount.increment();
+      try {
+        return cast(running.get(timeout.toMillis(), TimeUnit.MILLISECONDS), type);
+      }
+      catch (ExecutionException e) {
+        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+      }
+      catch (TimeoutException e) {
+        // The shared load is stuck: do not hold this request behind it
+        return cast(load(key, loader, tags), type);
+      }
+    }
+
+    try {
+      Object value = load(key, loader, tags);
+      load.complete(value);
+      return cast(value, type);
+    }
+    catch (Exception | Error e) {
+      load.completeExceptionally(e);
+      throw e;
+    }
+    finally {
+      inFlight.remove(key, load);
     }
-    return Optional.empty();
   }
 
   /**
@@ -92,9 +324,78 @@ public class CacheManager {
    * @param value The value to cache
    */
   public void put(String key, Object value) {
-    if (StringUtils.isNotBlank(key) && value != null) {
-      cache.put(key, value);
+    put(key, value, new String[0]);
+  }
+
+  /**
+   * Stores a value in cache under one or more tags, so it can later be
+   * invalidated together with every other entry sharing a tag.
+   *
+   * @param key   The cache key (should include tenant ID for multi-tenancy)
+   * @param value The value to cache
+   * @param tags  The tags of the entry, see {@link CacheTags}
+   */
+  public void put(String key, Object value, String... tags) {
+    if (StringUtils.isBlank(key) || value == null) {
+      return;
+    }
+
+    Set<String> tagSet = Set.copyOf(Arrays.asList(tags));
+    putLocal(key, value, tagSet);
+    if (secondLevel != null && secondLevel.accepts(value)) {
+      secondLevel.put(key, value, tagSet, policyFor(key).hardTtl);
+    }
+  }
+
+  private CacheEntry putLocal(String key, Object value, Set<String> tags) {
+    CacheEntry entry = new CacheEntry(value, tags, ticker.read(), weigh(key, value));
+    // The entry is written before it is indexed: a concurrent removal of an older entry for the key
+    // then always sees it live and keeps the key indexed
+    cache.put(key, entry);
+    for (String tag : tags) {
+      keysByTag.computeIfAbsent(tag, ignored -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+    return entry;
+  }
+
+  /**
+   * Reads the entry from memory, then from the second level, keeping a second-level hit in memory.
+   */
+  private CacheEntry lookup(String key) {
+    CacheEntry entry = cache.getIfPresent(key);
+    if (entry != null || secondLevel == null) {
+      return entry;
     }
+    return secondLevel.get(key).map(hit -> putLocal(key, hit.value, hit.tags)).orElse(null);
+  }
+
+  /**
+   * Removes every entry carrying the tag.
+   *
+   * @param tag The tag to invalidate, see {@link CacheTags}
+   * @return The number of keys invalidated
+   */
+  public int invalidateTag(String tag) {
+    return invalidateTag(tag, true);
+  }
+
+  /**
+   * @param includeSecondLevel Whether to remove the tag from the second level
+   *                           too, left out when another region sharing it already did
+   */
+  int invalidateTag(String tag, boolean includeSecondLevel) {
+    if (tag != null) {
+      markPendingLoads(load -> load.tags.contains(tag));
+    }
+    if (tag != null && includeSecondLevel && secondLevel != null) {
+      secondLevel.invalidateTag(tag);
+    }
+    Set<String> keys = tag != null ? keysByTag.remove(tag) : null;
+    if (keys == null) {
+      return 0;
+    }
+    cache.invalidateAll(keys);
+    return keys.size();
   }
 
   /**
@@ -104,18 +405,177 @@ public class CacheManager {
    */
   public void evict(String key) {
     if (StringUtils.isNotBlank(key)) {
+      markPendingLoads(load -> load.key.equals(key));
       cache.invalidate(key);
+      if (secondLevel != null) {
+        secondLevel.delete(key);
+      }
     }
   }
 
   /**
-   * Clears all cached entries.
+   * Clears all cached entries of this container; the second level is left as is.
    * Use with caution in production.
    */
   public void clear() {
+    markPendingLoads(load -> true);
     cache.invalidateAll();
   }
 
+  /**
+   * Runs the loader, recording its time, and caches a non-null result
+   * unless the key or one of its tags was invalidated meanwhile.
+   */
+  private Object load(String key, Callable<?> loader, String... tags) throws Exception {
+    PendingLoad pending = new PendingLoad(key, Set.copyOf(Arrays.asList(tags)));
+    pendingLoads.add(pending);
+    try {
+      long start = System.nanoTime();
+      Object value;
+      try {
+        value = loader.call();
+      }
+      catch (Exception | Error e) {
+        loadFailureCount.increment();
+        throw e;
+      }
+      finally {
+        loadCount.increment();
+        totalLoadTimeNanos.add(System.nanoTime() - start);
+      }
+      if (!pending.invalidated) {
+        put(key, value, tags);
+        if (pending.invalidated) {
+          // Invalidated while being cached: the invalidation may have run before the put
+          cache.invalidate(key);
+          if (secondLevel != null) {
+            secondLevel.delete(key);
+          }
+        }
+      }
+      return value;
+    }
+    finally {
+      pendingLoads.remove(pending);
+    }
+  }
+
+  private void markPendingLoads(Predicate<PendingLoad> invalidated) {
+    for (PendingLoad load : pendingLoads) {
+      if (invalidated.test(load)) {
+        load.invalidated = true;
+      }
+    }
+  }
+
+  /**
+   * Reloads the key on the calling request, unless another caller is already loading it.
+   * Lambda freezes a container between requests, so a reload left to a background
+   * thread would only run, if ever, on a later request.
+   *
+   * @return The reloaded value, or null when the current entry is to be served instead
+   */
+  private Object refresh(String key, Callable<?> loader, String... tags) {
+    CompletableFuture<Object> refresh = new CompletableFuture<>();
+    if (inFlight.putIfAbsent(key, refresh) != null) {
+      return null;
+    }
+    long start = System.nanoTime();
+    try {
+      Object value = load(key, loader, tags);
+      refresh.complete(value);
+      refreshCount.increment();
+      return value;
+    }
+    catch (Exception e) {
+      // A failed refresh keeps serving the current entry until its hard TTL
+      refresh.completeExceptionally(e);
+      refreshFailureCount.increment();
+      return null;
+    }
+    catch (Error e) {
+      refresh.completeExceptionally(e);
+      throw e;
+    }
+    finally {
+      totalRefreshTimeNanos.add(System.nanoTime() - start);
+      inFlight.remove(key, refresh);
+    }
+  }
+
+  private boolean isPastRefreshAge(String key, CacheEntry entry) {
+    Duration refreshAfter = policyFor(key).refreshAfter;
+    return refreshAfter != null && ticker.read() - entry.writtenAtNanos >= refreshAfter.toNanos();
+  }
+
+  private RefreshPolicy policyFor(String key) {
+    RefreshPolicy policy = defaultPolicy;
+    int matchedLength = -1;
+    for (var configured : policiesByPrefix.entrySet()) {
+      if (key.startsWith(configured.getKey()) && configured.getKey().length() > matchedLength) {
+        policy = configured.getValue();
+        matchedLength = configured.getKey().length();
+      }
+    }
+    return policy;
+  }
+
+  /**
+   * Drops an expired, evicted or invalidated entry from the index of every tag it carried,
+   * unless the key has been written again meanwhile.
+   */
+  private void onRemoval(String key, CacheEntry entry, RemovalCause cause) {
+    if (cause == RemovalCause.REPLACED || entry == null) {
+      return;
+    }
+    for (String tag : entry.tags) {
+      keysByTag.computeIfPresent(tag, (ignored, keys) -> {
+        if (!cache.asMap().containsKey(key)) {
+          keys.remove(key);
+        }
+        return keys.isEmpty() ? null : keys;
+      });
+    }
+  }
+
+  private static long budgetFor(long availableBytes, double memoryShare) {
+    return (long) (availableBytes * memoryShare);
+  }
+
+  /**
+   * Estimates the bytes retained by an entry, capped to the largest weight Caffeine accepts.
+   */
+  private static int weigh(String key, Object value) {
+    long bytes = ENTRY_OVERHEAD_BYTES + 2L * key.length();
+    if (value instanceof SizeEstimated) {
+      bytes += ((SizeEstimated) value).estimatedBytes();
+    }
+    else if (value instanceof String) {
+      bytes += 40L + ((String) value).length();
+    }
+    else if (value instanceof Collection) {
+      bytes += DEFAULT_VALUE_BYTES * (1L + ((Collection<?>) value).size());
+    }
+    else if (value instanceof Map) {
+      bytes += DEFAULT_VALUE_BYTES * (1L + ((Map<?, ?>) value).size());
+    }
+    else {
+      bytes += DEFAULT_VALUE_BYTES;
+    }
+    return (int) Math.min(bytes, Integer.MAX_VALUE);
+  }
+
+  private static <T> Optional<T> cast(Object value, Class<T> type) {
+    return type.isInstance(value) ? Optional.of(type.cast(value)) : Optional.empty();
+  }
+
+  /**
+   * @return The number of keys currently indexed under the tag
+   */
+  int taggedKeyCount(String tag) {
+    return keysByTag.getOrDefault(tag, Collections.emptySet()).size();
+  }
+
   /**
    * Gets cache statistics for monitoring.
    * 
@@ -123,7 +583,70 @@ public class CacheManager {
    */
   public CacheStats getStats() {
     var stats = cache.stats();
-    return CacheStats.builder().hitCount(stats.hitCount()).missCount(stats.missCount()).hitRate(stats.hitRate()).evictionCount(stats.evictionCount()).size(cache.estimatedSize()).build();
+    var eviction = cache.policy().eviction();
+    long bytesInUse = eviction.map(policy -> policy.weightedSize().orElse(0L)).orElse(0L);
+    long maximumBytes = eviction.map(policy -> policy.getMaximum()).orElse(0L);
+    return CacheStats.builder().hitCount(stats.hitCount()).missCount(stats.missCount()).hitRate(stats.hitRate()).evictionCount(stats.evictionCount()).size(cache.estimatedSize()).bytesInUse(bytesInUse).maximumBytes(maximumBytes).loadCount(loadCount.sum()).loadFailureCount(loadFailureCount.sum()).coalescedLoadCount(coalescedLoadCount.sum()).totalLoadTimeMillis(TimeUnit.NANOSECONDS.toMillis(totalLoadTimeNanos.sum())).refreshCount(refreshCount.sum()).refreshFailureCount(refreshFailureCount.sum()).totalRefreshTimeMillis(TimeUnit.NANOSECONDS.toMillis(totalRefreshTimeNanos.sum())).secondLevelHitCount(secondLevel != null ? secondLevel.hitCount.sum() : 0).secondLevelMissCount(secondLevel != null ? secondLevel.missCount.sum() : 0).secondLevelFailureCount(secondLevel != null ? secondLevel.failureCount.sum() : 0).build();
+  }
+
+  /**
+   * Expires each entry after the hard TTL of its key prefix.
+   */
+  private final class HardTtlExpiry implements Expiry<String, CacheEntry> {
+    @Override
+    public long expireAfterCreate(String key, CacheEntry entry, long currentTime) {
+      return policyFor(key).hardTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, CacheEntry entry, long currentTime, long currentDuration) {
+      return policyFor(key).hardTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterRead(String key, CacheEntry entry, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  /**
+   * Refresh age and hard TTL of a key prefix.
+   */
+  private static final class RefreshPolicy {
+    private final Duration refreshAfter;
+    private final Duration hardTtl;
+
+    private RefreshPolicy(Duration refreshAfter, Duration hardTtl) {
+      if (hardTtl == null || hardTtl.isNegative() || hardTtl.isZero()) {
+        throw new IllegalArgumentException("hardTtl must be positive");
+      }
+      if (refreshAfter != null && (refreshAfter.isNegative() || refreshAfter.compareTo(hardTtl) >= 0)) {
+        throw new IllegalArgumentException("refreshAfter must be below hardTtl");
+      }
+      this.refreshAfter = refreshAfter;
+      this.hardTtl = hardTtl;
+    }
+  }
+
+  /**
+   * Cached value together with the tags it was stored under, its write time and estimated size.
+   */
+  @RequiredArgsConstructor
+  private static final class CacheEntry {
+    private final Object value;
+    private final Set<String> tags;
+    private final long writtenAtNanos;
+    private final int weight;
+  }
+
+  /**
+   * Load in progress, with the key and tags its value will be cached under.
+   */
+  @RequiredArgsConstructor
+  private static final class PendingLoad {
+    private final String key;
+    private final Set<String> tags;
+    private volatile boolean invalidated;
   }
 
   /**
@@ -138,5 +661,21 @@ public class CacheManager {
     private final double hitRate;
     private final long evictionCount;
     private final long size;
+    // Estimated bytes retained by the entries, and the budget they are evicted against
+    private final long bytesInUse;
+    private final long maximumBytes;
+    private final long loadCount;
+    private final long loadFailureCount;
+    // Misses served by a load another caller had already started
+    private final long coalescedLoadCount;
+    private final long totalLoadTimeMillis;
+    // Reloads of entries past their refresh age
+    private final long refreshCount;
+    private final long refreshFailureCount;
+    private final long totalRefreshTimeMillis;
+    // Lookups of the shared second level after a miss in memory, and its failed calls
+    private final long secondLevelHitCount;
+    private final long secondLevelMissCount;
+    private final long secondLevelFailureCount;
   }
 }
\ No newline at end of file
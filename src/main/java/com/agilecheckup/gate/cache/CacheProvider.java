@@ -0,0 +1,43 @@
+package com.agilecheckup.gate.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Second-level cache backend shared by every Lambda container, behind the
+ * in-memory cache of {@link CacheManager}. Values are opaque bytes; encoding
+ * them is left to the cache manager.
+ *
+ * Implementations fail fast: a call that cannot complete within the backend
+ * timeout throws {@link CacheBackendException}, and the cache manager keeps
+ * serving from memory only.
+ */
+public interface CacheProvider extends AutoCloseable {
+
+  /**
+   * @return The value stored under the key, or empty when absent or expired
+   */
+  Optional<byte[]> get(String key);
+
+  /**
+   * Stores a value for the TTL and records the key under each tag.
+   */
+  void put(String key, byte[] value, Duration ttl, Set<String> tags);
+
+  /**
+   * Removes every key recorded under the tag.
+   */
+  void invalidateTag(String tag);
+
+  /**
+   * Removes a key.
+   */
+  void delete(String key);
+
+  /**
+   * Releases connections. Failures are ignored.
+   */
+  @Override
+  void close();
+}
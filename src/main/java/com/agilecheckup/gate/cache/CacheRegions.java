@@ -0,0 +1,131 @@
+package com.agilecheckup.gate.cache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The cache of the API, split into named regions so each kind of data gets
+ * its own memory share, TTLs and statistics. Every region is a separate
+ * {@link CacheManager}; tags are invalidated across all of them, since a
+ * write may affect data cached in several regions.
+ *
+ * Regions are configured in {@code application.properties}:
+ * {@code cache.region.<name>.memory-share}, {@code cache.region.<name>.ttl-ms}
+ * and, to have the first read past a given age reload the entry,
+ * {@code cache.region.<name>.refresh-after-ms}.
+ * The owners kept for tenant checks are set with {@code cache.ownership.ttl-ms},
+ * by default the TTL of the matrices region, and {@code cache.ownership.negative-ttl-ms}.
+ */
+public class CacheRegions {
+
+  public static final String DASHBOARDS = "dashboards";
+  public static final String ANALYTICS = "analytics";
+  public static final String QUESTIONS = "questions";
+  public static final String DEPARTMENTS = "departments";
+  public static final String MATRICES = "matrices";
+  public static final String COMPUTE_JOBS = "compute-jobs";
+  private static final Duration MATRICES_TTL = Duration.ofMinutes(30);
+
+  private final Map<String, CacheManager> regions;
+  private final TenantOwnershipCache ownership;
+  private final boolean shared;
+
+  CacheRegions(Map<String, CacheManager> regions, TenantOwnershipCache ownership, boolean shared) {
+    this.regions = Collections.unmodifiableMap(new LinkedHashMap<>(regions));
+    this.ownership = ownership;
+    this.shared = shared;
+  }
+
+  /**
+   * Builds every region from the configuration, on top of an optional second level.
+   *
+   * @param config      The cache settings
+   * @param secondLevel The backend shared by every container, or null to cache in memory only
+   * @param retryAfter  How long the second level is skipped after a failed call
+   */
+  public static CacheRegions fromConfig(CacheConfig config, CacheProvider secondLevel, Duration retryAfter) {
+    Map<String, CacheManager> regions = new LinkedHashMap<>();
+    regions.put(DASHBOARDS, region(config, DASHBOARDS, 0.08, Duration.ofMinutes(2), Duration.ofMinutes(30), secondLevel, retryAfter));
+    regions.put(ANALYTICS, region(config, ANALYTICS, 0.05, null, Duration.ofMinutes(60), secondLevel, retryAfter));
+    regions.put(QUESTIONS, region(config, QUESTIONS, 0.03, Duration.ofMinutes(5), Duration.ofMinutes(30), secondLevel, retryAfter));
+    regions.put(DEPARTMENTS, region(config, DEPARTMENTS, 0.01, Duration.ofMinutes(5), Duration.ofMinutes(30), secondLevel, retryAfter));
+    regions.put(MATRICES, region(config, MATRICES, 0.02, Duration.ofMinutes(5), MATRICES_TTL, secondLevel, retryAfter));
+    regions.put(COMPUTE_JOBS, region(config, COMPUTE_JOBS, 0.005, null, Duration.ofMinutes(60), secondLevel, retryAfter));
+    // A delete only evicts the owner on the container serving it: the others keep it no longer than the matrix itself
+    Duration ownershipTtl = config.getMillis("cache.ownership.ttl-ms", config.getMillis("cache.region." + MATRICES + ".ttl-ms", MATRICES_TTL));
+    TenantOwnershipCache ownership = new TenantOwnershipCache(ownershipTtl, config.getMillis("cache.ownership.negative-ttl-ms", TenantOwnershipCache.DEFAULT_NEGATIVE_TTL));
+    return new CacheRegions(regions, ownership, secondLevel != null);
+  }
+
+  /**
+   * @return Regions with their default settings, cached in memory only
+   */
+  public static CacheRegions inMemory() {
+    return fromConfig(new CacheConfig(new Properties()), null, null);
+  }
+
+  private static CacheManager region(CacheConfig config, String name, double memoryShare, Duration refreshAfter, Duration hardTtl, CacheProvider secondLevel, Duration retryAfter) {
+    String prefix = "cache.region." + name + ".";
+    return new CacheManager(config.getDouble(prefix + "memory-share", memoryShare), config.getMillis(prefix + "refresh-after-ms", refreshAfter), config.getMillis(prefix + "ttl-ms", hardTtl), secondLevel, retryAfter);
+  }
+
+  /**
+   * @throws IllegalArgumentException if no region has the name
+   */
+  public CacheManager region(String name) {
+    CacheManager region = regions.get(name);
+    if (region == null) {
+      throw new IllegalArgumentException("Unknown cache region: " + name);
+    }
+    return region;
+  }
+
+  /**
+   * @return Whether entries are shared by every container through a second level
+   */
+  public boolean isShared() {
+    return shared;
+  }
+
+  /**
+   * @return The tenant owning each resource, kept in memory only as it never changes
+   */
+  public TenantOwnershipCache ownership() {
+    return ownership;
+  }
+
+  /**
+   * Removes every entry carrying the tag, in every region.
+   *
+   * @return The number of keys invalidated
+   */
+  public int invalidateTag(String tag) {
+    int invalidated = 0;
+    boolean secondLevelInvalidated = false;
+    for (CacheManager region : regions.values()) {
+      // Every region sits on the same second level: one invalidation there covers them all
+      invalidated += region.invalidateTag(tag, !secondLevelInvalidated);
+      secondLevelInvalidated = true;
+    }
+    return invalidated;
+  }
+
+  /**
+   * Bounds every region by its share of the function memory limit.
+   */
+  public void fitToMemoryLimit(int memoryLimitInMB) {
+    regions.values().forEach(region -> region.fitToMemoryLimit(memoryLimitInMB));
+  }
+
+  /**
+   * @return The statistics of every region, by region name
+   */
+  public Map<String, CacheManager.CacheStats> getStats() {
+    Map<String, CacheManager.CacheStats> stats = new LinkedHashMap<>();
+    regions.forEach((name, region) -> stats.put(name, region.getStats()));
+    return stats;
+  }
+}
@@ -0,0 +1,40 @@
+package com.agilecheckup.gate.cache;
+
+/**
+ * Tags attached to cache entries, so a write can invalidate every entry
+ * derived from the data it changed without knowing the entry keys.
+ */
+public final class CacheTags {
+
+  /**
+   * Entries built from the data of an assessment matrix (dashboards, analytics)
+   */
+  public static String matrix(String assessmentMatrixId) {
+    return "matrix:" + assessmentMatrixId;
+  }
+
+  /**
+   * Entries listing the questions of an assessment matrix; unlike {@link #matrix(String)},
+   * it is not invalidated by answers
+   */
+  public static String questions(String assessmentMatrixId) {
+    return "questions:" + assessmentMatrixId;
+  }
+
+  /**
+   * Entries aggregating data across a whole tenant (e.g. the performance cycle summary)
+   */
+  public static String tenant(String tenantId) {
+    return "tenant:" + tenantId;
+  }
+
+  /**
+   * Entries of one resource type, e.g. "dashboard"
+   */
+  public static String resource(String resourceType) {
+    return "resource:" + resourceType;
+  }
+
+  private CacheTags() {
+  }
+}
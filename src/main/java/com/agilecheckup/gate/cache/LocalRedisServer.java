@@ -0,0 +1,203 @@
+package com.agilecheckup.gate.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for Redis, listening on the loopback interface. It
+ * implements the commands {@link RedisCacheProvider} sends (PING, GET, SET
+ * with PX, DEL, SADD, SMEMBERS, PEXPIRE with NX/GT) with Redis semantics, so the
+ * second-level cache can be run locally and tested without a Redis server.
+ */
+public class LocalRedisServer implements AutoCloseable {
+
+  private final ServerSocket serverSocket;
+  private final Map<String, StoredValue> values = new ConcurrentHashMap<>();
+
+  /**
+   * Starts listening on an ephemeral loopback port, see {@link #getPort()}.
+   */
+  public LocalRedisServer() throws IOException {
+    this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    Thread acceptor = new Thread(this::acceptConnections, "local-redis-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  public String getHost() {
+    return serverSocket.getInetAddress().getHostAddress();
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  @Override
+  public void close() {
+    try {
+      serverSocket.close();
+    }
+    catch (IOException e) {
+      // Already closed
+    }
+  }
+
+  private void acceptConnections() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket connection = serverSocket.accept();
+        Thread worker = new Thread(() -> serve(connection), "local-redis-connection");
+        worker.setDaemon(true);
+        worker.start();
+      }
+      catch (IOException e) {
+        // Closed while accepting
+      }
+    }
+  }
+
+  private void serve(Socket connection) {
+    try (connection; InputStream in = new BufferedInputStream(connection.getInputStream()); OutputStream out = new BufferedOutputStream(connection.getOutputStream())) {
+      while (!serverSocket.isClosed()) {
+        Object command = Resp.read(in);
+        if (!(command instanceof List) || ((List<?>) command).isEmpty()) {
+          Resp.writeError(out, "ERR expected a command array");
+        }
+        else {
+          execute((List<?>) command, out);
+        }
+        // Replies of a pipeline are flushed once every buffered command is answered
+        if (in.available() == 0) {
+          out.flush();
+        }
+      }
+    }
+    catch (IOException e) {
+      // Client disconnected
+    }
+  }
+
+  private void execute(List<?> command, OutputStream out) throws IOException {
+    List<String> args = new ArrayList<>(command.size());
+    for (Object arg : command) {
+      args.add(Resp.string((byte[]) arg));
+    }
+    String name = args.get(0).toUpperCase();
+    switch (name) {
+      case "PING":
+        Resp.writeSimple(out, "PONG");
+        break;
+      case "GET": {
+        StoredValue value = live(args.get(1));
+        if (value != null && value.members != null) {
+          Resp.writeError(out, "WRONGTYPE Operation against a key holding the wrong kind of value");
+        }
+        else {
+          Resp.writeBulk(out, value != null ? value.bytes : null);
+        }
+        break;
+      }
+      case "SET": {
+        long expiresAt = args.size() >= 5 && "PX".equalsIgnoreCase(args.get(3)) ? System.currentTimeMillis() + Long.parseLong(args.get(4)) : Long.MAX_VALUE;
+        values.put(args.get(1), new StoredValue((byte[]) command.get(2), null, expiresAt));
+        Resp.writeSimple(out, "OK");
+        break;
+      }
+      case "DEL": {
+        long removed = 0;
+        for (String key : args.subList(1, args.size())) {
+          removed += live(key) != null && values.remove(key) != null ? 1 : 0;
+        }
+        Resp.writeInteger(out, removed);
+        break;
+      }
+      case "SADD": {
+        StoredValue set = values.compute(args.get(1), (key, current) -> current == null || current.isExpired() ? new StoredValue(null, ConcurrentHashMap.newKeySet(), Long.MAX_VALUE) : current);
+        if (set.members == null) {
+          Resp.writeError(out, "WRONGTYPE Operation against a key holding the wrong kind of value");
+          break;
+        }
+        long added = 0;
+        for (String member : args.subList(2, args.size())) {
+          added += set.members.add(member) ? 1 : 0;
+        }
+        Resp.writeInteger(out, added);
+        break;
+      }
+      case "SMEMBERS": {
+        StoredValue set = live(args.get(1));
+        List<byte[]> members = new ArrayList<>();
+        if (set != null && set.members != null) {
+          set.members.forEach(member -> members.add(Resp.bytes(member)));
+        }
+        Resp.writeArray(out, members);
+        break;
+      }
+      case "PEXPIRE": {
+        long expiresAt = System.currentTimeMillis() + Long.parseLong(args.get(2));
+        String condition = args.size() >= 4 ? args.get(3).toUpperCase() : "";
+        boolean[] set = new boolean[1];
+        values.computeIfPresent(args.get(1), (key, current) -> {
+          if (current.isExpired()) {
+            return null;
+          }
+          // As in Redis, a key without expiry counts as expiring never: GT leaves it as is
+          boolean persistent = current.expiresAt == Long.MAX_VALUE;
+          if ("NX".equals(condition)) {
+            set[0] = persistent;
+          }
+          else if ("GT".equals(condition)) {
+            set[0] = !persistent && expiresAt > current.expiresAt;
+          }
+          else {
+            set[0] = true;
+          }
+          return set[0] ? new StoredValue(current.bytes, current.members, expiresAt) : current;
+        });
+        Resp.writeInteger(out, set[0] ? 1 : 0);
+        break;
+      }
+      default:
+        Resp.writeError(out, "ERR unknown command '" + name + "'");
+    }
+  }
+
+  private StoredValue live(String key) {
+    StoredValue value = values.get(key);
+    if (value != null && value.isExpired()) {
+      values.remove(key, value);
+      return null;
+    }
+    return value;
+  }
+
+  /**
+   * A string value or a set of members, with its expiry time in epoch millis.
+   */
+  private static final class StoredValue {
+    private final byte[] bytes;
+    private final Set<String> members;
+    private final long expiresAt;
+
+    private StoredValue(byte[] bytes, Set<String> members, long expiresAt) {
+      this.bytes = bytes;
+      this.members = members;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired() {
+      return System.currentTimeMillis() >= expiresAt;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package com.agilecheckup.gate.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response body serialized once and cached as UTF-8 bytes, so it can be sent
+ * again without rebuilding or re-serializing the response.
+ *
+ * The cache key is expected to carry the version of the data the body was
+ * built from (e.g. the analytics lastUpdated timestamp), so a new version
+ * simply misses instead of needing an explicit invalidation.
+ *
+ * Large bodies may be kept gzipped, trading a decompression per hit for a
+ * smaller cache footprint. The content hash is computed on the uncompressed body.
+ */
+public final class MaterializedResponse implements SizeEstimated {
+
+  /**
+   * Codec storing the body as kept in memory, compressed or not, so it
+   * reaches the second-level cache without being serialized again.
+   */
+  public static final CacheCodec<MaterializedResponse> CODEC = new CacheCodec<>() {
+    @Override
+    public Class<MaterializedResponse> type() {
+      return MaterializedResponse.class;
+    }
+
+    @Override
+    public byte[] encode(MaterializedResponse response) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(response.stored.length + 64);
+      try (DataOutputStream out = new DataOutputStream(bytes)) {
+        out.writeBoolean(response.compressed);
+        out.writeInt(response.size);
+        out.writeUTF(response.contentHash);
+        out.writeInt(response.stored.length);
+        out.write(response.stored);
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return bytes.toByteArray();
+    }
+
+    @Override
+    public MaterializedResponse decode(byte[] bytes) {
+      try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+        boolean compressed = in.readBoolean();
+        int size = in.readInt();
+        String contentHash = in.readUTF();
+        byte[] stored = in.readNBytes(in.readInt());
+        return new MaterializedResponse(stored, compressed, size, contentHash);
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  };
+
+  private final byte[] stored;
+  private final boolean compressed;
+  private final int size;
+  private final String contentHash;
+
+  public MaterializedResponse(byte[] body) {
+    this(body, body, false);
+  }
+
+  private MaterializedResponse(byte[] body, byte[] stored, boolean compressed) {
+    this(stored, compressed, body.length, contentHashOf(body));
+  }
+
+  private MaterializedResponse(byte[] stored, boolean compressed, int size, String contentHash) {
+    this.stored = stored;
+    this.compressed = compressed;
+    this.size = size;
+    this.contentHash = contentHash;
+  }
+
+  /**
+   * Materializes a body, keeping it gzipped when it is at least the threshold
+   * and compression actually shrinks it.
+   *
+   * @param body                 The UTF-8 response body
+   * @param compressionThreshold Minimum body size in bytes to try compression
+   */
+  public static MaterializedResponse of(byte[] body, int compressionThreshold) {
+    if (body.length < compressionThreshold) {
+      return new MaterializedResponse(body);
+    }
+    byte[] gzipped = gzip(body);
+    return gzipped.length < body.length ? new MaterializedResponse(body, gzipped, true) : new MaterializedResponse(body);
+  }
+
+  /**
+   * @return The body as sent in the API Gateway response
+   */
+  public String bodyAsString() {
+    return new String(compressed ? gunzip(stored) : stored, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return The uncompressed UTF-8 body
+   */
+  public byte[] body() {
+    return compressed ? gunzip(stored) : stored.clone();
+  }
+
+  /**
+   * @return The gzipped body as kept in memory, to send to clients accepting gzip without recompressing it
+   * @throws IllegalStateException if the body is not kept compressed
+   */
+  public byte[] gzippedBody() {
+    if (!compressed) {
+      throw new IllegalStateException("Body is not compressed");
+    }
+    return stored.clone();
+  }
+
+  /**
+   * @return The body size in bytes, uncompressed
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return Whether the body is kept gzipped
+   */
+  public boolean isCompressed() {
+    return compressed;
+  }
+
+  /**
+   * @return Base64url SHA-256 of the uncompressed body
+   */
+  public String contentHash() {
+    return contentHash;
+  }
+
+  @Override
+  public long estimatedBytes() {
+    // Object and array headers, the hash string and the stored body
+    return 112L + stored.length;
+  }
+
+  /**
+   * @return Base64url SHA-256 of the body, as returned by {@link #contentHash()}
+   */
+  public static String contentHashOf(byte[] body) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static byte[] gzip(byte[] body) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(body);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private byte[] gunzip(byte[] gzipped) {
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+      return gzip.readNBytes(size);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
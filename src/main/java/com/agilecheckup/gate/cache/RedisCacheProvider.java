@@ -0,0 +1,151 @@
+package com.agilecheckup.gate.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link CacheProvider} speaking the Redis protocol over one pipelined
+ * connection, with connect and read timeouts bounding every call.
+ *
+ * Tags are kept as Redis sets of keys, expiring with the longest-lived entry
+ * added to them, which needs the NX and GT options of PEXPIRE (Redis 7).
+ * A failed call drops the connection; the next call reconnects.
+ */
+public class RedisCacheProvider implements CacheProvider {
+
+  private static final String KEY_PREFIX = "agilecheckup:";
+  private static final String TAG_PREFIX = KEY_PREFIX + "tag:";
+
+  private final String host;
+  private final int port;
+  private final int timeoutMillis;
+  private Socket socket;
+  private InputStream in;
+  private OutputStream out;
+
+  public RedisCacheProvider(String host, int port, Duration timeout) {
+    this.host = host;
+    this.port = port;
+    this.timeoutMillis = (int) timeout.toMillis();
+  }
+
+  @Override
+  public Optional<byte[]> get(String key) {
+    Object reply = execute(List.of(command("GET", KEY_PREFIX + key))).get(0);
+    return Optional.ofNullable((byte[]) reply);
+  }
+
+  @Override
+  public void put(String key, byte[] value, Duration ttl, Set<String> tags) {
+    String ttlMillis = Long.toString(Math.max(1, ttl.toMillis()));
+    List<List<byte[]>> commands = new ArrayList<>();
+    List<byte[]> set = command("SET", KEY_PREFIX + key);
+    set.add(value);
+    set.add(Resp.bytes("PX"));
+    set.add(Resp.bytes(ttlMillis));
+    commands.add(set);
+    for (String tag : tags) {
+      commands.add(command("SADD", TAG_PREFIX + tag, KEY_PREFIX + key));
+      // Only ever extend the set: a shorter TTL would drop it before keys added with a longer one
+      commands.add(command("PEXPIRE", TAG_PREFIX + tag, ttlMillis, "NX"));
+      commands.add(command("PEXPIRE", TAG_PREFIX + tag, ttlMillis, "GT"));
+    }
+    execute(commands);
+  }
+
+  @Override
+  public void invalidateTag(String tag) {
+    Object members = execute(List.of(command("SMEMBERS", TAG_PREFIX + tag))).get(0);
+    List<byte[]> delete = command("DEL", TAG_PREFIX + tag);
+    if (members instanceof List) {
+      for (Object member : (List<?>) members) {
+        delete.add((byte[]) member);
+      }
+    }
+    execute(List.of(delete));
+  }
+
+  @Override
+  public void delete(String key) {
+    execute(List.of(command("DEL", KEY_PREFIX + key)));
+  }
+
+  @Override
+  public synchronized void close() {
+    if (socket != null) {
+      try {
+        socket.close();
+      }
+      catch (IOException e) {
+        // Nothing left to release
+      }
+      socket = null;
+    }
+  }
+
+  private static List<byte[]> command(String... parts) {
+    List<byte[]> command = new ArrayList<>(parts.length + 3);
+    Arrays.stream(parts).map(Resp::bytes).forEach(command::add);
+    return command;
+  }
+
+  /**
+   * Sends the commands in one write and reads their replies in order.
+   *
+   * @throws CacheBackendException when the backend is unreachable, times out or replies with an error
+   */
+  private synchronized List<Object> execute(List<List<byte[]>> commands) {
+    try {
+      connect();
+      for (List<byte[]> command : commands) {
+        Resp.writeArray(out, command);
+      }
+      out.flush();
+      List<Object> replies = new ArrayList<>(commands.size());
+      for (int i = 0; i < commands.size(); i++) {
+        replies.add(Resp.read(in));
+      }
+      for (Object reply : replies) {
+        if (reply instanceof Resp.Error) {
+          throw new CacheBackendException("Redis error: " + ((Resp.Error) reply).message);
+        }
+      }
+      return replies;
+    }
+    catch (IOException | RuntimeException e) {
+      // The connection may hold unread replies: never reuse it
+      close();
+      throw e instanceof CacheBackendException ? (CacheBackendException) e : new CacheBackendException("Redis call failed: " + e.getMessage(), e);
+    }
+  }
+
+  private void connect() throws IOException {
+    if (socket != null) {
+      return;
+    }
+    Socket connection = new Socket();
+    try {
+      connection.setTcpNoDelay(true);
+      connection.setSoTimeout(timeoutMillis);
+      connection.connect(new InetSocketAddress(host, port), timeoutMillis);
+    }
+    catch (IOException e) {
+      connection.close();
+      throw e;
+    }
+    socket = connection;
+    in = new BufferedInputStream(connection.getInputStream());
+    out = new BufferedOutputStream(connection.getOutputStream());
+  }
+}
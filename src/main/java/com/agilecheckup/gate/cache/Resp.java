@@ -0,0 +1,147 @@
+package com.agilecheckup.gate.cache;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reading and writing of the Redis serialization protocol (RESP2), shared by
+ * {@link RedisCacheProvider} and {@link LocalRedisServer}.
+ *
+ * Replies are read as: simple strings as {@link String}, errors as {@link Error},
+ * integers as {@link Long}, bulk strings as byte[], arrays as {@link List}
+ * and null bulk strings or arrays as null.
+ */
+final class Resp {
+
+  private static final byte[] CRLF = {'\r', '\n'};
+
+  /**
+   * An error reply.
+   */
+  static final class Error {
+    final String message;
+
+    Error(String message) {
+      this.message = message;
+    }
+  }
+
+  static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  static String string(byte[] value) {
+    return new String(value, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes a command, or an array reply, as an array of bulk strings.
+   */
+  static void writeArray(OutputStream out, List<byte[]> items) throws IOException {
+    writeLine(out, '*', items.size());
+    for (byte[] item : items) {
+      writeBulk(out, item);
+    }
+  }
+
+  static void writeBulk(OutputStream out, byte[] value) throws IOException {
+    if (value == null) {
+      writeLine(out, '$', -1);
+      return;
+    }
+    writeLine(out, '$', value.length);
+    out.write(value);
+    out.write(CRLF);
+  }
+
+  static void writeSimple(OutputStream out, String value) throws IOException {
+    out.write('+');
+    out.write(bytes(value));
+    out.write(CRLF);
+  }
+
+  static void writeError(OutputStream out, String message) throws IOException {
+    out.write('-');
+    out.write(bytes(message));
+    out.write(CRLF);
+  }
+
+  static void writeInteger(OutputStream out, long value) throws IOException {
+    writeLine(out, ':', value);
+  }
+
+  private static void writeLine(OutputStream out, char type, long value) throws IOException {
+    out.write(type);
+    out.write(bytes(Long.toString(value)));
+    out.write(CRLF);
+  }
+
+  /**
+   * Reads one reply, or one command sent as an array of bulk strings.
+   *
+   * @throws EOFException when the stream ends before a complete value
+   */
+  static Object read(InputStream in) throws IOException {
+    int type = in.read();
+    if (type == -1) {
+      throw new EOFException("Connection closed");
+    }
+    String line = readLine(in);
+    switch (type) {
+      case '+':
+        return line;
+      case '-':
+        return new Error(line);
+      case ':':
+        return Long.parseLong(line);
+      case '$':
+        return readBulk(in, Integer.parseInt(line));
+      case '*':
+        int count = Integer.parseInt(line);
+        if (count < 0) {
+          return null;
+        }
+        List<Object> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          items.add(read(in));
+        }
+        return items;
+      default:
+        throw new IOException("Unexpected RESP type: " + (char) type);
+    }
+  }
+
+  private static byte[] readBulk(InputStream in, int length) throws IOException {
+    if (length < 0) {
+      return null;
+    }
+    byte[] value = in.readNBytes(length);
+    if (value.length < length || in.read() != '\r' || in.read() != '\n') {
+      throw new EOFException("Truncated bulk string");
+    }
+    return value;
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    StringBuilder line = new StringBuilder();
+    int c;
+    while ((c = in.read()) != '\r') {
+      if (c == -1) {
+        throw new EOFException("Truncated line");
+      }
+      line.append((char) c);
+    }
+    if (in.read() != '\n') {
+      throw new IOException("Malformed line terminator");
+    }
+    return line.toString();
+  }
+
+  private Resp() {
+  }
+}
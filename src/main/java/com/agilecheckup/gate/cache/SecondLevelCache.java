@@ -0,0 +1,175 @@
+package com.agilecheckup.gate.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Second level of {@link CacheManager}: encodes values with their registered
+ * codec and tags, and shields the cache from its {@link CacheProvider}.
+ * After a backend failure the second level is skipped for a retry interval,
+ * so an unreachable backend costs one timeout per interval rather than one
+ * per request.
+ */
+final class SecondLevelCache {
+
+  private static final int FORMAT_VERSION = 1;
+
+  private final CacheProvider provider;
+  private final long retryAfterNanos;
+  private final Map<Class<?>, CacheCodec<?>> codecsByType = new ConcurrentHashMap<>();
+  private final Map<String, CacheCodec<?>> codecsByName = new ConcurrentHashMap<>();
+  private volatile long unavailableUntilNanos;
+  private volatile boolean unavailable;
+  final LongAdder hitCount = new LongAdder();
+  final LongAdder missCount = new LongAdder();
+  final LongAdder failureCount = new LongAdder();
+
+  SecondLevelCache(CacheProvider provider, Duration retryAfter) {
+    this.provider = provider;
+    this.retryAfterNanos = retryAfter.toNanos();
+  }
+
+  /**
+   * A value read back from the second level, with the tags it was stored under.
+   */
+  static final class Hit {
+    final Object value;
+    final Set<String> tags;
+
+    private Hit(Object value, Set<String> tags) {
+      this.value = value;
+      this.tags = tags;
+    }
+  }
+
+  <T> void register(CacheCodec<T> codec) {
+    codecsByType.put(codec.type(), codec);
+    codecsByName.put(codec.type().getName(), codec);
+  }
+
+  boolean accepts(Object value) {
+    return codecsByType.containsKey(value.getClass());
+  }
+
+  Optional<Hit> get(String key) {
+    if (isSkipped()) {
+      return Optional.empty();
+    }
+    try {
+      Optional<byte[]> stored = provider.get(key);
+      Optional<Hit> hit = stored.flatMap(this::decode);
+      (hit.isPresent() ? hitCount : missCount).increment();
+      return hit;
+    }
+    catch (CacheBackendException e) {
+      markUnavailable();
+      return Optional.empty();
+    }
+  }
+
+  void put(String key, Object value, Set<String> tags, Duration ttl) {
+    if (isSkipped()) {
+      return;
+    }
+    try {
+      provider.put(key, encode(value, tags), ttl, tags);
+    }
+    catch (CacheBackendException e) {
+      markUnavailable();
+    }
+  }
+
+  void invalidateTag(String tag) {
+    if (isSkipped()) {
+      return;
+    }
+    try {
+      provider.invalidateTag(tag);
+    }
+    catch (CacheBackendException e) {
+      markUnavailable();
+    }
+  }
+
+  void delete(String key) {
+    if (isSkipped()) {
+      return;
+    }
+    try {
+      provider.delete(key);
+    }
+    catch (CacheBackendException e) {
+      markUnavailable();
+    }
+  }
+
+  private boolean isSkipped() {
+    if (unavailable && System.nanoTime() - unavailableUntilNanos < 0) {
+      return true;
+    }
+    unavailable = false;
+    return false;
+  }
+
+  private void markUnavailable() {
+    failureCount.increment();
+    unavailableUntilNanos = System.nanoTime() + retryAfterNanos;
+    unavailable = true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private byte[] encode(Object value, Set<String> tags) {
+    CacheCodec<Object> codec = (CacheCodec<Object>) codecsByType.get(value.getClass());
+    byte[] payload = codec.encode(value);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + 64);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(FORMAT_VERSION);
+      out.writeUTF(codec.type().getName());
+      out.writeShort(tags.size());
+      for (String tag : tags) {
+        out.writeUTF(tag);
+      }
+      out.writeInt(payload.length);
+      out.write(payload);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Cannot encode " + value.getClass().getName(), e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @return The decoded value, or empty when it was written in another format or by an unknown codec
+   */
+  private Optional<Hit> decode(byte[] stored) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(stored))) {
+      if (in.readByte() != FORMAT_VERSION) {
+        return Optional.empty();
+      }
+      CacheCodec<?> codec = codecsByName.get(in.readUTF());
+      if (codec == null) {
+        return Optional.empty();
+      }
+      int tagCount = in.readUnsignedShort();
+      Set<String> tags = new HashSet<>(tagCount);
+      for (int i = 0; i < tagCount; i++) {
+        tags.add(in.readUTF());
+      }
+      byte[] payload = in.readNBytes(in.readInt());
+      return Optional.of(new Hit(codec.decode(payload), tags));
+    }
+    catch (IOException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.agilecheckup.gate.cache;
+
+/**
+ * Cached value able to estimate the heap it retains, so the cache is bounded
+ * by memory rather than by entry count.
+ */
+public interface SizeEstimated {
+
+  /**
+   * @return Approximate retained size in bytes, including the value's own objects
+   */
+  long estimatedBytes();
+}
@@ -0,0 +1,88 @@
+package com.agilecheckup.gate.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * The tenant owning each resource, by resource id, for tenant checks that
+ * would otherwise load the whole resource to compare its tenant.
+ *
+ * Ownership never changes after creation, so owners are only evicted when
+ * the resource is deleted. That eviction only reaches the container serving
+ * the delete: the others keep the owner until it expires, so the TTL is
+ * kept to that of the cached resource. Unknown resources are remembered
+ * briefly, so a resource created on another container is found soon after.
+ */
+public class TenantOwnershipCache {
+
+  static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+  // An id and a tenant id take about 200 bytes: the cache stays within a few MB
+  private static final long MAXIMUM_ENTRIES = 20_000;
+
+  private final Cache<String, Optional<String>> ownersById;
+
+  public TenantOwnershipCache(Duration ttl, Duration negativeTtl) {
+    this(ttl, negativeTtl, Ticker.systemTicker());
+  }
+
+  // Constructor for testing with a controllable clock
+  TenantOwnershipCache(Duration ttl, Duration negativeTtl, Ticker ticker) {
+    this.ownersById = Caffeine.newBuilder().maximumSize(MAXIMUM_ENTRIES).expireAfter(new OwnershipExpiry(ttl.toNanos(), negativeTtl.toNanos())).ticker(ticker).build();
+  }
+
+  /**
+   * @param loader Reads the owner from the backend, empty when the resource does not exist
+   * @return The tenant owning the resource, or empty when it does not exist
+   */
+  public Optional<String> ownerOf(String resourceId, Function<String, Optional<String>> loader) {
+    return ownersById.get(resourceId, loader);
+  }
+
+  /**
+   * Records the owner of a resource just created, replacing a cached "unknown".
+   */
+  public void remember(String resourceId, String tenantId) {
+    ownersById.put(resourceId, Optional.ofNullable(tenantId));
+  }
+
+  /**
+   * Forgets a deleted resource.
+   */
+  public void evict(String resourceId) {
+    ownersById.invalidate(resourceId);
+  }
+
+  /**
+   * Owners live for the full TTL, unknown resources for the negative one; reads don't extend either.
+   */
+  private static final class OwnershipExpiry implements Expiry<String, Optional<String>> {
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    private OwnershipExpiry(long ttlNanos, long negativeTtlNanos) {
+      this.ttlNanos = ttlNanos;
+      this.negativeTtlNanos = negativeTtlNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(String key, Optional<String> owner, long currentTime) {
+      return owner.isPresent() ? ttlNanos : negativeTtlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Optional<String> owner, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, owner, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Optional<String> owner, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
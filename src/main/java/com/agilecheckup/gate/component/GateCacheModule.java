@@ -1,8 +1,13 @@
 package com.agilecheckup.gate.component;
 
-import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 
-import com.agilecheckup.gate.cache.CacheManager;
+import com.agilecheckup.gate.cache.CacheConfig;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.cache.LocalRedisServer;
+import com.agilecheckup.gate.cache.RedisCacheProvider;
 
 import dagger.Module;
 import dagger.Provides;
@@ -19,9 +24,34 @@ import dagger.Provides;
 @Module
 public class GateCacheModule {
 
+  /**
+   * Builds the cache regions on the second level named by {@code cache.l2.backend}:
+   * "none" (memory only), "redis" ({@code cache.l2.redis.host}/{@code port}) or
+   * "local" (an in-process Redis stand-in, for local runs).
+   */
   @Provides
-  @Singleton
-  public CacheManager provideCacheManager() {
-    return new CacheManager();
+  @GateScope
+  public CacheRegions provideCacheRegions() {
+    CacheConfig config = CacheConfig.load();
+    Duration timeout = config.getMillis("cache.l2.timeout-ms", Duration.ofMillis(50));
+    Duration retryAfter = config.getMillis("cache.l2.retry-after-ms", Duration.ofSeconds(30));
+    String backend = config.get("cache.l2.backend", "none");
+
+    switch (backend) {
+      case "none":
+        return CacheRegions.fromConfig(config, null, null);
+      case "redis":
+        return CacheRegions.fromConfig(config, new RedisCacheProvider(config.get("cache.l2.redis.host", "localhost"), config.getInt("cache.l2.redis.port", 6379), timeout), retryAfter);
+      case "local":
+        try {
+          LocalRedisServer server = new LocalRedisServer();
+          return CacheRegions.fromConfig(config, new RedisCacheProvider(server.getHost(), server.getPort(), timeout), retryAfter);
+        }
+        catch (IOException e) {
+          throw new UncheckedIOException("Cannot start the local cache server", e);
+        }
+      default:
+        throw new IllegalArgumentException("Unknown cache.l2.backend: " + backend);
+    }
   }
-}
\ No newline at end of file
+}
@@ -1,9 +1,8 @@
 package com.agilecheckup.gate.component;
 
-import javax.inject.Singleton;
-
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
-import com.agilecheckup.gate.cache.CacheManager;
+import com.agilecheckup.gate.cache.CacheRegions;
 
 import dagger.Component;
 
@@ -13,14 +12,21 @@ import dagger.Component;
  * 
  * @author Claude (claude-opus-4-20250514)
  */
-@Singleton
-@Component(modules = {GateCacheModule.class}, dependencies = {ServiceComponent.class})
+@GateScope
+@Component(modules = {GateCacheModule.class, GateSerializationModule.class}, dependencies = {ServiceComponent.class})
 public interface GateComponent extends ServiceComponent {
 
   /**
-   * Provides access to the cache manager.
+   * Provides access to the cache shared by every request handler.
+   * 
+   * @return The CacheRegions instance
+   */
+  CacheRegions cacheRegions();
+
+  /**
+   * Provides access to the JSON codecs shared by every request handler.
    * 
-   * @return The CacheManager instance
+   * @return The JsonCodecRegistry instance
    */
-  CacheManager cacheManager();
-}
\ No newline at end of file
+  JsonCodecRegistry jsonCodecs();
+}
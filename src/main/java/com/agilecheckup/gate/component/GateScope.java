@@ -0,0 +1,18 @@
+package com.agilecheckup.gate.component;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import javax.inject.Scope;
+
+/**
+ * Scope of {@link GateComponent}: one instance per Lambda container. Kept
+ * apart from the scope of the service component it depends on, as Dagger
+ * does not let a component share the scope of its dependencies.
+ */
+@Scope
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GateScope {
+}
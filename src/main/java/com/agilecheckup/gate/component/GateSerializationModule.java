@@ -0,0 +1,32 @@
+package com.agilecheckup.gate.component;
+
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import dagger.Module;
+import dagger.Provides;
+
+/**
+ * Dagger module for the JSON codecs of the API Gateway: one configured mapper
+ * and one registry of its readers and writers per container, so every
+ * handler reuses the same prepared codecs and buffers.
+ */
+@Module
+public class GateSerializationModule {
+
+  @Provides
+  @GateScope
+  public JsonCodecRegistry provideJsonCodecRegistry() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    // Register JavaTimeModule to handle LocalDateTime serialization/deserialization
+    objectMapper.registerModule(new JavaTimeModule());
+    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    // Configure Jackson to handle empty strings as null for enums (to support optional Gender/GenderPronoun)
+    objectMapper.configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
+    return new JsonCodecRegistry(objectMapper);
+  }
+}
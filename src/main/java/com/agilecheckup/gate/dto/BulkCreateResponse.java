@@ -0,0 +1,35 @@
+package com.agilecheckup.gate.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for bulk creations: the outcome of every row, in request
+ * order, and the count of each outcome
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResponse {
+
+  private int created;
+  private int duplicates;
+  private int errors;
+  private List<Row> results;
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Row {
+    private int index;
+    private String status; // CREATED, DUPLICATE, ERROR
+    private String id;
+    private String message;
+  }
+}
@@ -0,0 +1,27 @@
+package com.agilecheckup.gate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for analytics compute jobs, returned when a job is accepted
+ * and by the job status endpoint
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComputeJobResponse {
+
+  private String jobId;
+  private String assessmentMatrixId;
+  private String status; // QUEUED, RUNNING, SUCCEEDED, FAILED
+  private Integer progress;
+  private Long durationMillis;
+  private String createdAt;
+  private String startedAt;
+  private String finishedAt;
+  private String errorMessage;
+}
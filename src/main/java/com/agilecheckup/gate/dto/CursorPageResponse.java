@@ -0,0 +1,23 @@
+package com.agilecheckup.gate.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a list endpoint. nextCursor is passed back as the cursor
+ * parameter to get the following page, and is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+  private List<T> items;
+  private String nextCursor;
+  private int limit;
+}
@@ -0,0 +1,113 @@
+package com.agilecheckup.api.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.agilecheckup.api.analytics.AnalyticsData.CategoryData;
+import com.agilecheckup.api.analytics.AnalyticsData.PillarData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class AnalyticsDataParserTest {
+
+  private static final String ANALYTICS_JSON = "{"
+      + "\"pillars\": {"
+      + "\"pillar1\": {\"name\": \"Team Collaboration\", \"percentage\": 87.5, \"actualScore\": 175.0, \"potentialScore\": 200.0, \"gapFromPotential\": 12.5,"
+      + "\"categories\": {"
+      + "\"cat1\": {\"name\": \"Communication\", \"percentage\": 90.0, \"actualScore\": 45.0, \"potentialScore\": 50.0},"
+      + "\"cat2\": {\"name\": \"Trust\", \"percentage\": 85.0, \"actualScore\": 85.0, \"potentialScore\": 100.0}}},"
+      + "\"pillar2\": {\"name\": \"Technical Practices\", \"percentage\": 65.0, \"actualScore\": 130.0, \"potentialScore\": 200.0, \"gapFromPotential\": 35.0,"
+      + "\"categories\": {"
+      + "\"cat3\": {\"name\": \"Code Quality\", \"percentage\": 70.0, \"actualScore\": 70.0, \"potentialScore\": 100.0},"
+      + "\"cat4\": {\"name\": \"Testing\", \"percentage\": 60.0, \"actualScore\": 60.0, \"potentialScore\": 100.0}}}},"
+      + "\"wordCloud\": {\"status\": \"ready\", \"totalResponses\": 12, \"words\": [{\"text\": \"agile\", \"count\": 5}, {\"text\": \"noCount\"}, {\"count\": 2}]}"
+      + "}";
+
+  private AnalyticsDataParser parser;
+
+  @BeforeEach
+  void setUp() {
+    parser = new AnalyticsDataParser(new ObjectMapper().getFactory());
+  }
+
+  @Test
+  void parse_shouldReadPillarsAndCategoriesInDocumentOrder() {
+    AnalyticsData data = parser.parse(ANALYTICS_JSON);
+
+    assertThat(data.getPillars()).extracting(PillarData::getName).containsExactly("Team Collaboration", "Technical Practices");
+    PillarData pillar = data.getPillars().get(0);
+    assertThat(pillar.getPercentage()).isEqualTo(87.5);
+    assertThat(pillar.getActualScore()).isEqualTo(175.0);
+    assertThat(pillar.getPotentialScore()).isEqualTo(200.0);
+    assertThat(pillar.getGapFromPotential()).isEqualTo(12.5);
+    assertThat(pillar.getCategories()).extracting(CategoryData::getName).containsExactly("Communication", "Trust");
+  }
+
+  @Test
+  void parse_shouldRankTopAndBottomDuringParse() {
+    AnalyticsData data = parser.parse(ANALYTICS_JSON);
+
+    assertThat(data.getTopPillar().getName()).isEqualTo("Team Collaboration");
+    assertThat(data.getBottomPillar().getName()).isEqualTo("Technical Practices");
+    assertThat(data.getTopCategory().getName()).isEqualTo("Communication");
+    assertThat(data.getTopCategoryPillar().getName()).isEqualTo("Team Collaboration");
+    assertThat(data.getBottomCategory().getName()).isEqualTo("Testing");
+    assertThat(data.getBottomCategoryPillar().getName()).isEqualTo("Technical Practices");
+  }
+
+  @Test
+  void parse_shouldKeepFirstCandidate_whenPercentagesTie() {
+    AnalyticsData data = parser.parse("{\"pillars\": {\"p1\": {\"name\": \"First\", \"percentage\": 50.0}, \"p2\": {\"name\": \"Second\", \"percentage\": 50.0}}}");
+
+    assertThat(data.getTopPillar().getName()).isEqualTo("First");
+    assertThat(data.getBottomPillar().getName()).isEqualTo("First");
+  }
+
+  @Test
+  void parse_shouldResolveCategoryPillar_whenNameFollowsCategories() {
+    AnalyticsData data = parser.parse("{\"pillars\": {\"p1\": {\"categories\": {\"c1\": {\"name\": \"Only\", \"percentage\": 40}}, \"name\": \"Late Name\", \"percentage\": 40}}}");
+
+    assertThat(data.getTopCategoryPillar().getName()).isEqualTo("Late Name");
+    assertThat(data.getTopCategory().getPercentage()).isEqualTo(40.0);
+  }
+
+  @Test
+  void parse_shouldMarkMissingAndMistypedValuesAsNaN() {
+    AnalyticsData data = parser.parse("{\"pillars\": {\"p1\": {\"name\": \"Partial\", \"percentage\": \"high\", \"extra\": {\"nested\": [1, 2]}, \"categories\": {\"c1\": {\"percentage\": 75.0}}}}}");
+
+    PillarData pillar = data.getPillars().get(0);
+    assertThat(pillar.getPercentage()).isNaN();
+    assertThat(pillar.getActualScore()).isNaN();
+    assertThat(pillar.getCategories().get(0).getName()).isNull();
+    assertThat(data.getTopPillar()).isNull();
+    assertThat(data.getTopCategory().getPercentage()).isEqualTo(75.0);
+  }
+
+  @Test
+  void parse_shouldReadWordCloud_droppingIncompleteWords() {
+    AnalyticsData data = parser.parse(ANALYTICS_JSON);
+
+    assertThat(data.getWordCloud().getStatus()).isEqualTo("ready");
+    assertThat(data.getWordCloud().getTotalResponses()).isEqualTo(12);
+    assertThat(data.getWordCloud().getWords()).hasSize(1);
+    assertThat(data.getWordCloud().getWords().get(0).getText()).isEqualTo("agile");
+    assertThat(data.getWordCloud().getWords().get(0).getCount()).isEqualTo(5);
+  }
+
+  @Test
+  void parse_shouldReturnNoWordCloud_whenWordCloudIsEmpty() {
+    AnalyticsData data = parser.parse("{\"pillars\": {}, \"wordCloud\": {}}");
+
+    assertThat(data.getPillars()).isEmpty();
+    assertThat(data.getWordCloud()).isNull();
+  }
+
+  @Test
+  void parse_shouldReturnEmpty_whenJsonIsMissingOrMalformed() {
+    assertThat(parser.parse(null)).isSameAs(AnalyticsData.EMPTY);
+    assertThat(parser.parse("  ")).isSameAs(AnalyticsData.EMPTY);
+    assertThat(parser.parse("[1, 2]")).isSameAs(AnalyticsData.EMPTY);
+    assertThat(parser.parse("{\"pillars\": {incomplete json")).isSameAs(AnalyticsData.EMPTY);
+  }
+}
@@ -0,0 +1,108 @@
+package com.agilecheckup.api.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.agilecheckup.gate.dto.PerformanceCycleSummaryResponse;
+import com.agilecheckup.gate.dto.PerformanceCycleSummaryResponse.PerformanceCycleCard;
+import com.agilecheckup.persistency.entity.AssessmentMatrix;
+import com.agilecheckup.persistency.entity.DashboardAnalytics;
+import com.agilecheckup.persistency.entity.PerformanceCycle;
+import com.agilecheckup.service.AssessmentMatrixService;
+import com.agilecheckup.service.CompanyService;
+import com.agilecheckup.service.DashboardAnalyticsService;
+import com.agilecheckup.service.PerformanceCycleService;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceCycleSummaryAggregatorTest {
+
+  private static final String COMPANY_ID = "company123";
+  private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+  @Mock
+  private PerformanceCycleService performanceCycleService;
+
+  @Mock
+  private AssessmentMatrixService assessmentMatrixService;
+
+  @Mock
+  private DashboardAnalyticsService dashboardAnalyticsService;
+
+  @Mock
+  private CompanyService companyService;
+
+  private PerformanceCycleSummaryAggregator aggregator;
+
+  @BeforeEach
+  void setUp() {
+    aggregator = new PerformanceCycleSummaryAggregator(performanceCycleService, assessmentMatrixService, dashboardAnalyticsService, companyService, Executors.newFixedThreadPool(2));
+  }
+
+  @Test
+  void aggregate_rollsUpMatrixAnalyticsPerCycle() {
+    PerformanceCycle older = PerformanceCycle.builder().id("cycle-1").name("Q1 2024").tenantId(COMPANY_ID).companyId(COMPANY_ID).isActive(true).isTimeSensitive(true).startDate(LocalDate.of(2024, 1, 1)).endDate(LocalDate.of(2024, 3, 31)).build();
+    PerformanceCycle newer = PerformanceCycle.builder().id("cycle-2").name("Q2 2024").tenantId(COMPANY_ID).companyId(COMPANY_ID).isActive(true).isTimeSensitive(true).startDate(LocalDate.of(2024, 4, 1)).endDate(LocalDate.of(2024, 6, 30)).build();
+    AssessmentMatrix engineering = AssessmentMatrix.builder().id("matrix-1").name("Engineering").tenantId(COMPANY_ID).performanceCycleId("cycle-2").pillarMap(new HashMap<>()).questionCount(0).build();
+    AssessmentMatrix sales = AssessmentMatrix.builder().id("matrix-2").name("Sales").tenantId(COMPANY_ID).performanceCycleId("cycle-2").pillarMap(new HashMap<>()).questionCount(0).build();
+
+    doReturn(List.of(older, newer)).when(performanceCycleService).findAllByTenantId(COMPANY_ID);
+    doReturn(List.of(engineering, sales)).when(assessmentMatrixService).findAllByTenantId(COMPANY_ID);
+    doReturn(Optional.empty()).when(companyService).findById(COMPANY_ID);
+    doReturn(Optional.of(overview("matrix-1", 10, 50.0, Instant.parse("2024-05-01T10:00:00Z")))).when(dashboardAnalyticsService).getOverview("matrix-1");
+    doReturn(Optional.of(overview("matrix-2", 10, 100.0, Instant.parse("2024-05-02T10:00:00Z")))).when(dashboardAnalyticsService).getOverview("matrix-2");
+
+    PerformanceCycleSummaryResponse response = aggregator.aggregate(COMPANY_ID);
+
+    assertThat(response.getCompanyName()).isEqualTo("N/A");
+    assertThat(response.getPerformanceCycles()).extracting(PerformanceCycleCard::getId).containsExactly("cycle-2", "cycle-1");
+
+    PerformanceCycleCard current = response.getPerformanceCycles().get(0);
+    assertThat(current.getAssessmentMatrixCount()).isEqualTo(2);
+    assertThat(current.getTotalEmployeeAssessments()).isEqualTo(20);
+    assertThat(current.getCompletedAssessments()).isEqualTo(15);
+    assertThat(current.getCompletionPercentage()).isEqualTo(75.0);
+    assertThat(current.getLastActivityDate()).isEqualTo("2024-05-02T10:00:00Z");
+
+    PerformanceCycleCard previous = response.getPerformanceCycles().get(1);
+    assertThat(previous.getAssessmentMatrixCount()).isZero();
+    assertThat(previous.getCompletionPercentage()).isEqualTo(0.0);
+  }
+
+  @Test
+  void aggregate_lookupFailure_propagatesOriginalException() {
+    doThrow(new IllegalStateException("DynamoDB unavailable")).when(assessmentMatrixService).findAllByTenantId(COMPANY_ID);
+
+    assertThatThrownBy(() -> aggregator.aggregate(COMPANY_ID)).isInstanceOf(IllegalStateException.class).hasMessage("DynamoDB unavailable");
+  }
+
+  @Test
+  void resolveStatus_followsActivationAndDates() {
+    assertThat(PerformanceCycleSummaryAggregator.resolveStatus(cycle(false, null, null), TODAY)).isEqualTo("COMPLETED");
+    assertThat(PerformanceCycleSummaryAggregator.resolveStatus(cycle(true, TODAY.plusDays(1), null), TODAY)).isEqualTo("UPCOMING");
+    assertThat(PerformanceCycleSummaryAggregator.resolveStatus(cycle(true, TODAY.minusDays(30), TODAY.minusDays(1)), TODAY)).isEqualTo("EXPIRED");
+    assertThat(PerformanceCycleSummaryAggregator.resolveStatus(cycle(true, TODAY.minusDays(30), TODAY), TODAY)).isEqualTo("ACTIVE");
+  }
+
+  private PerformanceCycle cycle(boolean active, LocalDate startDate, LocalDate endDate) {
+    return PerformanceCycle.builder().id("cycle").name("Cycle").tenantId(COMPANY_ID).companyId(COMPANY_ID).isActive(active).isTimeSensitive(endDate != null).startDate(startDate).endDate(endDate).build();
+  }
+
+  private DashboardAnalytics overview(String matrixId, int employees, double completion, Instant lastUpdated) {
+    return DashboardAnalytics.builder().assessmentMatrixId(matrixId).companyId(COMPANY_ID).employeeCount(employees).completionPercentage(completion).lastUpdated(lastUpdated).build();
+  }
+}
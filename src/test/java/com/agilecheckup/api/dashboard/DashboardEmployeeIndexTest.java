@@ -0,0 +1,85 @@
+package com.agilecheckup.api.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.agilecheckup.api.dashboard.DashboardEmployeeQuery.SortField;
+import com.agilecheckup.persistency.entity.AssessmentStatus;
+import com.agilecheckup.service.dto.EmployeeAssessmentSummary;
+
+class DashboardEmployeeIndexTest {
+
+  private DashboardEmployeeIndex index;
+
+  @BeforeEach
+  void setUp() {
+    // Employees 3, 6 and 9 completed with scores 63, 66 and 69; the others have no score yet
+    List<EmployeeAssessmentSummary> employees = new ArrayList<>();
+    for (int i = 1; i <= 10; i++) {
+      boolean completed = i % 3 == 0;
+      employees.add(EmployeeAssessmentSummary.builder().employeeAssessmentId("assessment-" + i).employeeId("emp" + i).employeeName("Employee " + i).employeeEmail("person" + i + "@example.com").teamId("team-" + (i % 2)).assessmentStatus(completed ? AssessmentStatus.COMPLETED : AssessmentStatus.IN_PROGRESS).currentScore(completed ? Double.valueOf(60 + i) : null).lastActivityDate(LocalDateTime.of(2024, 1, i, 9, 0)).build());
+    }
+    index = new DashboardEmployeeIndex(employees);
+  }
+
+  @Test
+  void query_sortByScoreDescending_keepsUnscoredEmployeesLast() {
+    DashboardEmployeeIndex.Page page = index.query(DashboardEmployeeQuery.builder().sort(SortField.SCORE).descending(true).build(), 1, 4);
+
+    assertThat(names(page)).containsExactly("Employee 9", "Employee 6", "Employee 3", "Employee 1");
+    assertThat(page.getTotalCount()).isEqualTo(10);
+  }
+
+  @Test
+  void query_scoreRange_returnsEmployeesWithinBoundsInclusive() {
+    DashboardEmployeeIndex.Page page = index.query(DashboardEmployeeQuery.builder().minScore(66.0).maxScore(69.0).sort(SortField.NAME).build(), 1, 10);
+
+    assertThat(names(page)).containsExactly("Employee 6", "Employee 9");
+  }
+
+  @Test
+  void query_teamAndStatus_combinesFilters() {
+    DashboardEmployeeIndex.Page page = index.query(DashboardEmployeeQuery.builder().teamId("team-0").status("completed").build(), 1, 10);
+
+    assertThat(names(page)).containsExactly("Employee 6");
+    assertThat(page.getTotalCount()).isEqualTo(1);
+  }
+
+  @Test
+  void query_searchMatchesNameOrEmailPrefixCaseInsensitively() {
+    DashboardEmployeeIndex.Page byName = index.query(DashboardEmployeeQuery.builder().search("employee 1").build(), 1, 10);
+    DashboardEmployeeIndex.Page byEmail = index.query(DashboardEmployeeQuery.builder().search("PERSON1").sort(SortField.LAST_ACTIVITY_DATE).descending(true).build(), 1, 10);
+
+    assertThat(names(byName)).containsExactly("Employee 1", "Employee 10");
+    assertThat(names(byEmail)).containsExactly("Employee 10", "Employee 1");
+  }
+
+  @Test
+  void query_pagesThroughFilteredResults() {
+    DashboardEmployeeQuery query = DashboardEmployeeQuery.builder().status("IN_PROGRESS").sort(SortField.LAST_ACTIVITY_DATE).build();
+
+    assertThat(names(index.query(query, 2, 3))).containsExactly("Employee 5", "Employee 7", "Employee 8");
+    assertThat(index.query(query, 4, 3).getContent()).isEmpty();
+    assertThat(index.query(query, 1, 3).getTotalCount()).isEqualTo(7);
+  }
+
+  @Test
+  void query_unknownTeam_returnsNothing() {
+    DashboardEmployeeIndex.Page page = index.query(DashboardEmployeeQuery.builder().teamId("missing").build(), 1, 10);
+
+    assertThat(page.getContent()).isEmpty();
+    assertThat(page.getTotalCount()).isZero();
+  }
+
+  private List<String> names(DashboardEmployeeIndex.Page page) {
+    List<String> names = new ArrayList<>();
+    page.getContent().forEach(summary -> names.add(summary.getEmployeeName()));
+    return names;
+  }
+}
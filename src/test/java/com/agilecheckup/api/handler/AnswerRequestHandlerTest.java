@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -17,10 +18,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.agilecheckup.api.pagination.PageRequest;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheManager;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.cache.CacheTags;
+import com.agilecheckup.persistency.entity.EmployeeAssessment;
 import com.agilecheckup.persistency.entity.question.Answer;
 import com.agilecheckup.service.AnswerService;
 import com.agilecheckup.service.AssessmentNavigationService;
+import com.agilecheckup.service.EmployeeAssessmentService;
 import com.agilecheckup.service.dto.AnswerWithProgressResponse;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.LambdaLogger;
@@ -42,6 +50,9 @@ class AnswerRequestHandlerTest {
   @Mock
   private AssessmentNavigationService assessmentNavigationService;
 
+  @Mock
+  private EmployeeAssessmentService employeeAssessmentService;
+
   @Mock
   private Context context;
 
@@ -50,6 +61,7 @@ class AnswerRequestHandlerTest {
 
   private AnswerRequestHandler handler;
   private ObjectMapper objectMapper;
+  private CacheRegions cacheRegions;
 
   @BeforeEach
   void setUp() {
@@ -59,8 +71,10 @@ class AnswerRequestHandlerTest {
 
     lenient().doReturn(answerService).when(serviceComponent).buildAnswerService();
     lenient().doReturn(assessmentNavigationService).when(serviceComponent).buildAssessmentNavigationService();
+    lenient().doReturn(employeeAssessmentService).when(serviceComponent).buildEmployeeAssessmentService();
     lenient().doReturn(lambdaLogger).when(context).getLogger();
-    handler = new AnswerRequestHandler(serviceComponent, objectMapper);
+    cacheRegions = CacheRegions.inMemory();
+    handler = new AnswerRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), cacheRegions);
   }
 
   @Test
@@ -97,6 +111,27 @@ class AnswerRequestHandlerTest {
     assertThat(response.getBody()).contains("answer-2");
   }
 
+  @Test
+  void shouldPageAllAnswers_whenNoLimitIsGiven() {
+    // Given
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/answers").withHttpMethod("GET");
+
+    List<Answer> answers = new ArrayList<>();
+    for (int i = 0; i < PageRequest.DEFAULT_LIMIT + 10; i++) {
+      Answer answer = new Answer();
+      answer.setId(String.format("answer-%03d", i));
+      answers.add(answer);
+    }
+    when(answerService.findAll()).thenReturn(answers);
+
+    // When
+    APIGatewayProxyResponseEvent response = handler.handleRequest(request, context);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("\"limit\":" + PageRequest.DEFAULT_LIMIT).contains("\"nextCursor\":\"").contains("answer-049").doesNotContain("answer-050");
+  }
+
   @Test
   void shouldSuccessfullyGetAnswerById() {
     // Given
@@ -236,6 +271,43 @@ class AnswerRequestHandlerTest {
     assertThat(response.getBody()).contains("No");
   }
 
+  @Test
+  void shouldOnlyEvictDashboardOfTheAnsweredMatrixOnUpdate() {
+    // Given: cached dashboards of the answered matrix and of another one
+    String answerId = "answer-123";
+    CacheManager dashboards = cacheRegions.region(CacheRegions.DASHBOARDS);
+    String dashboardTag = CacheTags.resource(AssessmentMatrixRequestHandler.DASHBOARD_RESOURCE);
+    dashboards.put("dashboard:am-1", "answered", CacheTags.matrix("am-1"), dashboardTag);
+    dashboards.put("dashboard:am-2", "other", CacheTags.matrix("am-2"), dashboardTag);
+
+    Answer answer = new Answer();
+    answer.setId(answerId);
+    answer.setQuestionId("q-1");
+    answer.setEmployeeAssessmentId("ea-1");
+    answer.setValue("No");
+    answer.setAnsweredAt(LocalDateTime.of(2024, 1, 1, 11, 0));
+    answer.setTenantId("tenant-123");
+
+    when(answerService.findById(answerId)).thenReturn(Optional.of(answer));
+    when(answerService.update(eq(answerId), any(LocalDateTime.class), eq("No"), isNull())).thenReturn(Optional.of(answer));
+    doReturn(Optional.of(EmployeeAssessment.builder().id("ea-1").assessmentMatrixId("am-1").build())).when(employeeAssessmentService).findById("ea-1", "tenant-123");
+
+    // When: a read leaves every dashboard cached
+    handler.handleRequest(new APIGatewayProxyRequestEvent().withPath("/answers/" + answerId).withHttpMethod("GET"), context);
+
+    // Then
+    assertThat(dashboards.get("dashboard:am-1", String.class)).contains("answered");
+    assertThat(dashboards.get("dashboard:am-2", String.class)).contains("other");
+
+    // When: an update only drops the dashboard of the answered matrix
+    APIGatewayProxyResponseEvent response = handler.handleRequest(new APIGatewayProxyRequestEvent().withPath("/answers/" + answerId).withHttpMethod("PUT").withBody("{\"answeredAt\": \"2024-01-01T11:00:00\", \"value\": \"No\"}"), context);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(dashboards.get("dashboard:am-1", String.class)).isEmpty();
+    assertThat(dashboards.get("dashboard:am-2", String.class)).contains("other");
+  }
+
   @Test
   void shouldSuccessfullyDeleteAnswer() {
     // Given
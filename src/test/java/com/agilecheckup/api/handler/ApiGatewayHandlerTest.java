@@ -93,7 +93,52 @@ class ApiGatewayHandlerTest {
     assertThat(response.getStatusCode()).isNotEqualTo(404);
   }
 
+  @Test
+  void handleRequest_buildsOnlyTheHandlerServingTheRequest() {
+    // Given
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+    request.setPath("/companies");
+    request.setHttpMethod("GET");
+    assertThat(handler.isHandlerInitialized("companies")).isFalse();
+
+    // When
+    handler.handleRequest(request, context);
+
+    // Then
+    assertThat(handler.isHandlerInitialized("companies")).isTrue();
+    assertThat(handler.isHandlerInitialized("answers")).isFalse();
+    assertThat(handler.isHandlerInitialized("dashboard-analytics")).isFalse();
+    assertThat(handler.getInitTimingReport()).contains("dagger=", "jackson=", "routes=", "handler:companies=");
+  }
+
   // Helper class for mocking the Lambda logger
+  @Test
+  void handleRequest_batch_dispatchesEverySubRequestThroughTheRoutes() {
+    // Given
+    doReturn(30_000).when(context).getRemainingTimeInMillis();
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+    request.setPath("/batch");
+    request.setHttpMethod("POST");
+    request.setBody("[{\"method\": \"GET\", \"path\": \"/unknown\"}, {\"method\": \"GET\", \"path\": \"/teams\"}]");
+
+    // When
+    APIGatewayProxyResponseEvent response = handler.handleRequest(request, context);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).isEqualTo("[{\"status\":404,\"body\":\"Resource Not Found\"},{\"status\":400,\"body\":\"tenantId is required\"}]");
+    assertThat(handler.isHandlerInitialized("teams")).isTrue();
+  }
+
+  @Test
+  void handleRequest_batchWithGet_returns405() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+    request.setPath("/batch");
+    request.setHttpMethod("GET");
+
+    assertThat(handler.handleRequest(request, context).getStatusCode()).isEqualTo(405);
+  }
+
   private static class TestLogger implements com.amazonaws.services.lambda.runtime.LambdaLogger {
     @Override
     public void log(String message) {
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
@@ -27,8 +28,9 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
-import com.agilecheckup.gate.cache.CacheManager;
+import com.agilecheckup.gate.cache.CacheRegions;
 import com.agilecheckup.persistency.entity.AssessmentConfiguration;
 import com.agilecheckup.persistency.entity.AssessmentMatrix;
 import com.agilecheckup.persistency.entity.Category;
@@ -52,8 +54,7 @@ class AssessmentMatrixRequestHandlerTest {
   @Mock
   private AssessmentMatrixService assessmentMatrixService;
 
-  @Mock
-  private CacheManager cacheManager;
+  private CacheRegions cacheRegions;
 
   @Mock
   private Context context;
@@ -68,18 +69,19 @@ class AssessmentMatrixRequestHandlerTest {
 
 
   private AssessmentMatrixRequestHandler handler;
+  private ObjectMapper objectMapper;
 
   @BeforeEach
   void setUp() {
-    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper = new ObjectMapper();
     objectMapper.registerModule(new JavaTimeModule());
     lenient().doReturn(assessmentMatrixService).when(serviceComponent).buildAssessmentMatrixService();
     lenient().doReturn(lambdaLogger).when(context).getLogger();
 
-    // Mock cache manager to always return empty (no cache hits)
-    lenient().doReturn(Optional.empty()).when(cacheManager).get(anyString(), any(Class.class));
+    // Fresh cache per test, so every test starts without cache hits
+    cacheRegions = CacheRegions.inMemory();
 
-    handler = new AssessmentMatrixRequestHandler(serviceComponent, objectMapper, cacheManager);
+    handler = new AssessmentMatrixRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), cacheRegions);
   }
 
   @Test
@@ -529,6 +531,102 @@ class AssessmentMatrixRequestHandlerTest {
     verify(assessmentMatrixService).getAssessmentDashboard(matrixId, tenantId);
   }
 
+  @Test
+  void handleGetDashboard_pagingThroughDataset_shouldLoadBackendOnce() throws Exception {
+    // Given
+    String matrixId = "matrix-123";
+    String tenantId = "tenant-456";
+    AssessmentMatrixRequestHandler cachingHandler = new AssessmentMatrixRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), CacheRegions.inMemory());
+
+    com.agilecheckup.service.dto.AssessmentDashboardData dashboardData = com.agilecheckup.service.dto.AssessmentDashboardData.builder().assessmentMatrixId(matrixId).matrixName("Large Matrix").teamSummaries(createTestTeamSummaries()).employeeSummaries(createLargeEmployeeSummaryList(120)).totalEmployees(120).completedAssessments(80).build();
+
+    doReturn(Optional.of(dashboardData)).when(assessmentMatrixService).getAssessmentDashboard(matrixId, tenantId);
+
+    // When
+    APIGatewayProxyResponseEvent firstPage = cachingHandler.handleRequest(dashboardRequest(matrixId, tenantId, "1", "50"), context);
+    APIGatewayProxyResponseEvent lastPage = cachingHandler.handleRequest(dashboardRequest(matrixId, tenantId, "3", "50"), context);
+    APIGatewayProxyResponseEvent otherPageSize = cachingHandler.handleRequest(dashboardRequest(matrixId, tenantId, "2", "100"), context);
+
+    // Then
+    assertThat(firstPage.getBody()).contains("\"page\":1").contains("\"totalCount\":120").contains("\"teamSummaries\":");
+    assertThat(objectMapper.readTree(lastPage.getBody()).path("employees").path("content").size()).isEqualTo(20);
+    assertThat(objectMapper.readTree(otherPageSize.getBody()).path("employees").path("content").size()).isEqualTo(20);
+    verify(assessmentMatrixService, times(1)).getAssessmentDashboard(matrixId, tenantId);
+  }
+
+  @Test
+  void handleGetDashboard_repeatedPage_shouldServeCachedPayload() throws Exception {
+    // Given
+    String matrixId = "matrix-123";
+    String tenantId = "tenant-456";
+
+    com.agilecheckup.service.dto.AssessmentDashboardData dashboardData = com.agilecheckup.service.dto.AssessmentDashboardData.builder().assessmentMatrixId(matrixId).matrixName("Large Matrix").teamSummaries(createTestTeamSummaries()).employeeSummaries(createLargeEmployeeSummaryList(300)).totalEmployees(300).completedAssessments(80).build();
+
+    doReturn(Optional.of(dashboardData)).when(assessmentMatrixService).getAssessmentDashboard(matrixId, tenantId);
+
+    // When
+    APIGatewayProxyResponseEvent first = handler.handleRequest(dashboardRequest(matrixId, tenantId, "1", "200"), context);
+    APIGatewayProxyResponseEvent second = handler.handleRequest(dashboardRequest(matrixId, tenantId, "1", "200"), context);
+
+    // Then
+    assertThat(second.getStatusCode()).isEqualTo(200);
+    assertThat(second.getBody()).isEqualTo(first.getBody());
+    assertThat(cacheRegions.region(CacheRegions.DASHBOARDS).getStats().getLoadCount()).isEqualTo(2); // One page payload and one dataset
+    verify(assessmentMatrixService, times(1)).getAssessmentDashboard(matrixId, tenantId);
+  }
+
+  @Test
+  void handleGetDashboard_withFilterAndSort_shouldReturnMatchingEmployeesInOrder() throws Exception {
+    // Given
+    String matrixId = "matrix-123";
+    String tenantId = "tenant-456";
+
+    com.agilecheckup.service.dto.AssessmentDashboardData dashboardData = com.agilecheckup.service.dto.AssessmentDashboardData.builder().assessmentMatrixId(matrixId).matrixName("Test Matrix").teamSummaries(createTestTeamSummaries()).employeeSummaries(createLargeEmployeeSummaryList(30)).totalEmployees(30).completedAssessments(10).build();
+
+    doReturn(Optional.of(dashboardData)).when(assessmentMatrixService).getAssessmentDashboard(matrixId, tenantId);
+
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("tenantId", tenantId);
+    queryParams.put("status", "COMPLETED");
+    queryParams.put("minScore", "80");
+    queryParams.put("sort", "score");
+    queryParams.put("order", "desc");
+
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/assessmentmatrices/" + matrixId + "/dashboard").withHttpMethod("GET").withQueryStringParameters(queryParams);
+
+    // When
+    APIGatewayProxyResponseEvent response = handler.handleRequest(request, context);
+
+    // Then: completed employees are every third one, scoring 70 + (i % 30)
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    com.fasterxml.jackson.databind.JsonNode employees = objectMapper.readTree(response.getBody()).path("employees");
+    assertThat(employees.path("totalCount").asInt()).isEqualTo(6);
+    assertThat(employees.path("content").findValuesAsText("employeeName")).containsExactly("Employee 27", "Employee 24", "Employee 21", "Employee 18", "Employee 15", "Employee 12");
+    // Team summaries are not affected by employee filters
+    assertThat(response.getBody()).contains("\"teamSummaries\":");
+  }
+
+  @Test
+  void handleGetDashboard_withInvalidSort_shouldReturnBadRequest() {
+    // Given
+    String matrixId = "matrix-123";
+    String tenantId = "tenant-456";
+
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("tenantId", tenantId);
+    queryParams.put("sort", "salary");
+
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/assessmentmatrices/" + matrixId + "/dashboard").withHttpMethod("GET").withQueryStringParameters(queryParams);
+
+    // When
+    APIGatewayProxyResponseEvent response = handler.handleRequest(request, context);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(400);
+    assertThat(response.getBody()).contains("Invalid sort parameter");
+    verify(assessmentMatrixService, never()).getAssessmentDashboard(anyString(), anyString());
+  }
+
   @Test
   void handleGetDashboard_withServiceException_shouldReturnInternalServerError() throws Exception {
     // Given
@@ -549,6 +647,14 @@ class AssessmentMatrixRequestHandlerTest {
 
   // ========== Helper Methods for Dashboard Tests ==========
 
+  private APIGatewayProxyRequestEvent dashboardRequest(String matrixId, String tenantId, String page, String pageSize) {
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("tenantId", tenantId);
+    queryParams.put("page", page);
+    queryParams.put("pageSize", pageSize);
+    return new APIGatewayProxyRequestEvent().withPath("/assessmentmatrices/" + matrixId + "/dashboard").withHttpMethod("GET").withQueryStringParameters(queryParams);
+  }
+
   // Team summaries created for
   private List<com.agilecheckup.service.dto.TeamAssessmentSummary> createTestTeamSummaries() {
     List<com.agilecheckup.service.dto.TeamAssessmentSummary> summaries = new ArrayList<>();
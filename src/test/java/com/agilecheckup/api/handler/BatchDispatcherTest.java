@@ -0,0 +1,125 @@
+package com.agilecheckup.api.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class BatchDispatcherTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final CountDownLatch never = new CountDownLatch(1);
+
+  @Mock
+  private Context context;
+
+  @Mock
+  private LambdaLogger lambdaLogger;
+
+  private BatchDispatcher batch;
+
+  @BeforeEach
+  void setUp() {
+    lenient().doReturn(lambdaLogger).when(context).getLogger();
+    batch = new BatchDispatcher(objectMapper, (request, context) -> {
+      switch (request.getPath()) {
+        case "/teams":
+          return ResponseBuilder.buildResponse(200, "[{\"id\":\"team-1\",\"tenantId\":\"" + request.getQueryStringParameters().get("tenantId") + "\"}]");
+        case "/hanging":
+          try {
+            never.await();
+          }
+          catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return ResponseBuilder.buildResponse(200, "{}");
+        case "/malformed":
+          return ResponseBuilder.buildResponse(200, "{\"id\":\"team-1\"} trailing");
+        case "/failing":
+          throw new IllegalStateException("backend down");
+        default:
+          return ResponseBuilder.buildResponse(404, "Resource Not Found");
+      }
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    never.countDown();
+  }
+
+  @Test
+  void handle_shouldAnswerEverySubRequestInOrder() throws Exception {
+    doReturn(30_000).when(context).getRemainingTimeInMillis();
+
+    APIGatewayProxyResponseEvent response = batch.handle(request("[{\"method\":\"GET\",\"path\":\"/teams\",\"query\":{\"tenantId\":\"tenant-1\"}},{\"method\":\"GET\",\"path\":\"/unknown\"},{\"method\":\"GET\",\"path\":\"/failing\"}]"), context);
+
+    JsonNode items = objectMapper.readTree(response.getBody());
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(items).hasSize(3);
+    assertThat(items.get(0).get("status").asInt()).isEqualTo(200);
+    assertThat(items.get(0).get("body").get(0).get("tenantId").asText()).isEqualTo("tenant-1");
+    assertThat(items.get(1).get("status").asInt()).isEqualTo(404);
+    assertThat(items.get(1).get("body").asText()).isEqualTo("Resource Not Found");
+    assertThat(items.get(2).get("status").asInt()).isEqualTo(500);
+  }
+
+  @Test
+  void handle_malformedSubResponseBody_shouldEmbedItAsText() throws Exception {
+    doReturn(30_000).when(context).getRemainingTimeInMillis();
+
+    APIGatewayProxyResponseEvent response = batch.handle(request("[{\"method\":\"GET\",\"path\":\"/malformed\"},{\"method\":\"GET\",\"path\":\"/teams\",\"query\":{\"tenantId\":\"tenant-1\"}}]"), context);
+
+    // The batch response stays valid JSON, with the malformed body as a string
+    JsonNode items = objectMapper.readTree(response.getBody());
+    assertThat(items).hasSize(2);
+    assertThat(items.get(0).get("body").isTextual()).isTrue();
+    assertThat(items.get(0).get("body").asText()).isEqualTo("{\"id\":\"team-1\"} trailing");
+    assertThat(items.get(1).get("body").get(0).get("id").asText()).isEqualTo("team-1");
+  }
+
+  @Test
+  void handle_pastDeadline_shouldAnswer504ForUnfinishedSubRequests() throws Exception {
+    doReturn((int) BatchDispatcher.DEADLINE_MARGIN_MS + 200).when(context).getRemainingTimeInMillis();
+
+    APIGatewayProxyResponseEvent response = batch.handle(request("[{\"method\":\"GET\",\"path\":\"/teams\",\"query\":{\"tenantId\":\"tenant-1\"}},{\"method\":\"GET\",\"path\":\"/hanging\"}]"), context);
+
+    JsonNode items = objectMapper.readTree(response.getBody());
+    assertThat(items.get(0).get("status").asInt()).isEqualTo(200);
+    assertThat(items.get(1).get("status").asInt()).isEqualTo(504);
+  }
+
+  @Test
+  void handle_invalidBatch_shouldReturn400() throws Exception {
+    StringBuilder tooMany = new StringBuilder("[");
+    for (int i = 0; i <= BatchDispatcher.MAX_ITEMS; i++) {
+      tooMany.append(i == 0 ? "" : ",").append("{\"method\":\"GET\",\"path\":\"/teams\"}");
+    }
+
+    assertThat(batch.handle(request(tooMany.append("]").toString()), context).getStatusCode()).isEqualTo(400);
+    assertThat(batch.handle(request("{\"method\":\"GET\",\"path\":\"/teams\"}"), context).getStatusCode()).isEqualTo(400);
+    assertThat(batch.handle(request("[{\"method\":\"GET\"}]"), context).getStatusCode()).isEqualTo(400);
+    assertThat(batch.handle(request("[{\"method\":\"POST\",\"path\":\"/batch\"}]"), context).getStatusCode()).isEqualTo(400);
+  }
+
+  private static APIGatewayProxyRequestEvent request(String body) {
+    return new APIGatewayProxyRequestEvent().withHttpMethod("POST").withPath(BatchDispatcher.PATH).withHeaders(Map.of("Accept-Encoding", "gzip")).withBody(body);
+  }
+}
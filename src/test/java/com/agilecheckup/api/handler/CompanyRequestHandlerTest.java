@@ -20,6 +20,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
 import com.agilecheckup.persistency.entity.Company;
 import com.agilecheckup.persistency.entity.CompanySize;
@@ -57,7 +58,7 @@ class CompanyRequestHandlerTest {
     objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
     lenient().doReturn(companyService).when(serviceComponent).buildCompanyService();
     lenient().doReturn(lambdaLogger).when(context).getLogger();
-    handler = new CompanyRequestHandler(serviceComponent, objectMapper);
+    handler = new CompanyRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper));
   }
 
   @Test
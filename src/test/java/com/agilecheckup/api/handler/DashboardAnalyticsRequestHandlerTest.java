@@ -5,6 +5,9 @@ import static org.mockito.Mockito.*;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,12 +15,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.agilecheckup.api.jobs.ComputeJobRegistry;
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheRegions;
 import com.agilecheckup.persistency.entity.AnalyticsScope;
 import com.agilecheckup.persistency.entity.AssessmentMatrix;
 import com.agilecheckup.persistency.entity.DashboardAnalytics;
+import com.agilecheckup.persistency.entity.PerformanceCycle;
 import com.agilecheckup.service.AssessmentMatrixService;
+import com.agilecheckup.service.CompanyService;
 import com.agilecheckup.service.DashboardAnalyticsService;
+import com.agilecheckup.service.PerformanceCycleService;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
@@ -37,6 +46,12 @@ class DashboardAnalyticsRequestHandlerTest {
   @Mock
   private AssessmentMatrixService assessmentMatrixService;
 
+  @Mock
+  private PerformanceCycleService performanceCycleService;
+
+  @Mock
+  private CompanyService companyService;
+
   @Mock
   private Context context;
 
@@ -57,9 +72,11 @@ class DashboardAnalyticsRequestHandlerTest {
 
     when(serviceComponent.buildDashboardAnalyticsService()).thenReturn(dashboardAnalyticsService);
     when(serviceComponent.buildAssessmentMatrixService()).thenReturn(assessmentMatrixService);
+    when(serviceComponent.buildPerformanceCycleService()).thenReturn(performanceCycleService);
+    when(serviceComponent.buildCompanyService()).thenReturn(companyService);
     lenient().when(context.getLogger()).thenReturn(lambdaLogger);
 
-    handler = new DashboardAnalyticsRequestHandler(serviceComponent, objectMapper);
+    handler = new DashboardAnalyticsRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), CacheRegions.inMemory());
   }
 
   @Test
@@ -159,6 +176,50 @@ class DashboardAnalyticsRequestHandlerTest {
     verify(dashboardAnalyticsService).getTeamAnalytics(ASSESSMENT_MATRIX_ID, TEAM_ID);
   }
 
+  @Test
+  void handleRequest_OverviewEndpoint_SameLastUpdated_ShouldServeMaterializedResponse() {
+    // Given
+    APIGatewayProxyRequestEvent request = createOverviewRequest();
+    DashboardAnalytics mockAnalytics = createMockDashboardAnalytics(Instant.parse("2024-12-01T10:00:00Z"));
+
+    when(assessmentMatrixService.findById(ASSESSMENT_MATRIX_ID)).thenReturn(Optional.of(createMockAssessmentMatrix()));
+    when(dashboardAnalyticsService.getOverview(ASSESSMENT_MATRIX_ID)).thenReturn(Optional.of(mockAnalytics));
+    when(dashboardAnalyticsService.getAllAnalytics(ASSESSMENT_MATRIX_ID)).thenReturn(Arrays.asList(mockAnalytics));
+
+    // When
+    APIGatewayProxyResponseEvent first = handler.handleRequest(request, context);
+    APIGatewayProxyResponseEvent second = handler.handleRequest(request, context);
+
+    // Then
+    assertThat(second.getStatusCode()).isEqualTo(200);
+    assertThat(second.getBody()).isEqualTo(first.getBody());
+    verify(dashboardAnalyticsService, times(2)).getOverview(ASSESSMENT_MATRIX_ID);
+    verify(dashboardAnalyticsService, times(1)).getAllAnalytics(ASSESSMENT_MATRIX_ID);
+    // The second tenant check uses the cached owner
+    verify(assessmentMatrixService, times(1)).findById(ASSESSMENT_MATRIX_ID);
+  }
+
+  @Test
+  void handleRequest_OverviewEndpoint_NewLastUpdated_ShouldRebuildResponse() {
+    // Given
+    APIGatewayProxyRequestEvent request = createOverviewRequest();
+    DashboardAnalytics before = createMockDashboardAnalytics(Instant.parse("2024-12-01T10:00:00Z"));
+    DashboardAnalytics after = createMockDashboardAnalytics(Instant.parse("2024-12-01T11:00:00Z"));
+
+    when(assessmentMatrixService.findById(ASSESSMENT_MATRIX_ID)).thenReturn(Optional.of(createMockAssessmentMatrix()));
+    when(dashboardAnalyticsService.getOverview(ASSESSMENT_MATRIX_ID)).thenReturn(Optional.of(before), Optional.of(after));
+    when(dashboardAnalyticsService.getAllAnalytics(ASSESSMENT_MATRIX_ID)).thenReturn(Arrays.asList(before), Arrays.asList(after));
+
+    // When
+    handler.handleRequest(request, context);
+    APIGatewayProxyResponseEvent response = handler.handleRequest(request, context);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("2024-12-01T11:00:00Z");
+    verify(dashboardAnalyticsService, times(2)).getAllAnalytics(ASSESSMENT_MATRIX_ID);
+  }
+
   @Test
   void handleRequest_PerformanceCycleSummaryEndpoint_WithValidTenantId_ShouldReturnSummary() {
     // Given
@@ -170,6 +231,9 @@ class DashboardAnalyticsRequestHandlerTest {
     queryParams.put("tenantId", COMPANY_ID);
     request.setQueryStringParameters(queryParams);
 
+    doReturn(List.of()).when(performanceCycleService).findAllByTenantId(COMPANY_ID);
+    doReturn(List.of()).when(assessmentMatrixService).findAllByTenantId(COMPANY_ID);
+
     // When
     APIGatewayProxyResponseEvent response = handler.handleRequest(request, context);
 
@@ -178,6 +242,135 @@ class DashboardAnalyticsRequestHandlerTest {
     assertThat(response.getBody()).isNotNull();
   }
 
+  @Test
+  void handleRequest_PerformanceCycleSummaryEndpoint_ShouldCacheUntilComputeFinishes() {
+    // Given
+    APIGatewayProxyRequestEvent summaryRequest = new APIGatewayProxyRequestEvent();
+    summaryRequest.setPath("/performance-cycle-summary/" + COMPANY_ID);
+    summaryRequest.setHttpMethod("GET");
+    summaryRequest.setQueryStringParameters(Map.of("tenantId", COMPANY_ID));
+
+    APIGatewayProxyRequestEvent computeRequest = new APIGatewayProxyRequestEvent();
+    computeRequest.setPath("/dashboard-analytics/compute/" + ASSESSMENT_MATRIX_ID);
+    computeRequest.setHttpMethod("POST");
+    computeRequest.setQueryStringParameters(Map.of("tenantId", COMPANY_ID));
+
+    when(assessmentMatrixService.findById(ASSESSMENT_MATRIX_ID)).thenReturn(Optional.of(createMockAssessmentMatrix()));
+    doReturn(List.of()).when(performanceCycleService).findAllByTenantId(COMPANY_ID);
+    doReturn(List.of()).when(assessmentMatrixService).findAllByTenantId(COMPANY_ID);
+
+    // When
+    handler.handleRequest(summaryRequest, context);
+    handler.handleRequest(summaryRequest, context);
+    handler.handleRequest(computeRequest, context);
+    APIGatewayProxyResponseEvent response = handler.handleRequest(summaryRequest, context);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("\"companyId\":\"" + COMPANY_ID + "\"");
+    verify(performanceCycleService, times(2)).findAllByTenantId(COMPANY_ID);
+    verify(assessmentMatrixService, times(2)).findAllByTenantId(COMPANY_ID);
+  }
+
+  @Test
+  void handleRequest_PerformanceCycleSummaryEndpoint_ShouldAggregateOnce_whenRequestsMissConcurrently() throws Exception {
+    // Given
+    CacheRegions cacheRegions = CacheRegions.inMemory();
+    handler = new DashboardAnalyticsRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), cacheRegions);
+    APIGatewayProxyRequestEvent summaryRequest = new APIGatewayProxyRequestEvent();
+    summaryRequest.setPath("/performance-cycle-summary/" + COMPANY_ID);
+    summaryRequest.setHttpMethod("GET");
+    summaryRequest.setQueryStringParameters(Map.of("tenantId", COMPANY_ID));
+
+    CountDownLatch aggregateStarted = new CountDownLatch(1);
+    CountDownLatch releaseAggregate = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      aggregateStarted.countDown();
+      releaseAggregate.await(5, TimeUnit.SECONDS);
+      return List.of();
+    }).when(performanceCycleService).findAllByTenantId(COMPANY_ID);
+    doReturn(List.of()).when(assessmentMatrixService).findAllByTenantId(COMPANY_ID);
+
+    // When
+    CompletableFuture<APIGatewayProxyResponseEvent> first = CompletableFuture.supplyAsync(() -> handler.handleRequest(summaryRequest, context));
+    aggregateStarted.await(5, TimeUnit.SECONDS);
+    CompletableFuture<APIGatewayProxyResponseEvent> second = CompletableFuture.supplyAsync(() -> handler.handleRequest(summaryRequest, context));
+    while (cacheRegions.getStats().get(CacheRegions.ANALYTICS).getCoalescedLoadCount() == 0) {
+      Thread.onSpinWait();
+    }
+    releaseAggregate.countDown();
+
+    // Then
+    assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(200);
+    assertThat(second.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(first.get().getBody());
+    verify(performanceCycleService, times(1)).findAllByTenantId(COMPANY_ID);
+  }
+
+  @Test
+  void handleRequest_PerformanceCycleSummaryEndpoint_ShouldRecomputeAfterMatrixDelete() {
+    // Given: the summary and the matrix handler share the cache regions, as in ApiGatewayHandler
+    CacheRegions cacheRegions = CacheRegions.inMemory();
+    handler = new DashboardAnalyticsRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), cacheRegions);
+    AssessmentMatrixRequestHandler matrixHandler = new AssessmentMatrixRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), cacheRegions);
+
+    APIGatewayProxyRequestEvent summaryRequest = new APIGatewayProxyRequestEvent();
+    summaryRequest.setPath("/performance-cycle-summary/" + COMPANY_ID);
+    summaryRequest.setHttpMethod("GET");
+    summaryRequest.setQueryStringParameters(Map.of("tenantId", COMPANY_ID));
+
+    APIGatewayProxyRequestEvent deleteRequest = new APIGatewayProxyRequestEvent();
+    deleteRequest.setPath("/assessmentmatrices/" + ASSESSMENT_MATRIX_ID);
+    deleteRequest.setHttpMethod("DELETE");
+
+    when(assessmentMatrixService.findById(ASSESSMENT_MATRIX_ID)).thenReturn(Optional.of(createMockAssessmentMatrix()));
+    when(assessmentMatrixService.deleteById(ASSESSMENT_MATRIX_ID)).thenReturn(true);
+    doReturn(List.of()).when(performanceCycleService).findAllByTenantId(COMPANY_ID);
+    doReturn(List.of()).when(assessmentMatrixService).findAllByTenantId(COMPANY_ID);
+
+    // When
+    handler.handleRequest(summaryRequest, context);
+    APIGatewayProxyResponseEvent deleted = matrixHandler.handleRequest(deleteRequest, context);
+    APIGatewayProxyResponseEvent response = handler.handleRequest(summaryRequest, context);
+
+    // Then
+    assertThat(deleted.getStatusCode()).isEqualTo(204);
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    verify(performanceCycleService, times(2)).findAllByTenantId(COMPANY_ID);
+    verify(assessmentMatrixService, times(2)).findAllByTenantId(COMPANY_ID);
+  }
+
+  @Test
+  void handleRequest_PerformanceCycleSummaryEndpoint_ShouldRecomputeAfterCycleDelete() {
+    // Given
+    CacheRegions cacheRegions = CacheRegions.inMemory();
+    handler = new DashboardAnalyticsRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), cacheRegions);
+    PerformanceCycleRequestHandler cycleHandler = new PerformanceCycleRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), cacheRegions);
+
+    APIGatewayProxyRequestEvent summaryRequest = new APIGatewayProxyRequestEvent();
+    summaryRequest.setPath("/performance-cycle-summary/" + COMPANY_ID);
+    summaryRequest.setHttpMethod("GET");
+    summaryRequest.setQueryStringParameters(Map.of("tenantId", COMPANY_ID));
+
+    APIGatewayProxyRequestEvent deleteRequest = new APIGatewayProxyRequestEvent();
+    deleteRequest.setPath("/performancecycles/cycle1");
+    deleteRequest.setHttpMethod("DELETE");
+
+    PerformanceCycle cycle = PerformanceCycle.builder().id("cycle1").name("Q1").tenantId(COMPANY_ID).companyId(COMPANY_ID).isActive(true).isTimeSensitive(false).build();
+    doReturn(Optional.of(cycle)).when(performanceCycleService).findById("cycle1");
+    doReturn(List.of()).when(performanceCycleService).findAllByTenantId(COMPANY_ID);
+    doReturn(List.of()).when(assessmentMatrixService).findAllByTenantId(COMPANY_ID);
+
+    // When
+    handler.handleRequest(summaryRequest, context);
+    APIGatewayProxyResponseEvent deleted = cycleHandler.handleRequest(deleteRequest, context);
+    handler.handleRequest(summaryRequest, context);
+
+    // Then
+    assertThat(deleted.getStatusCode()).isEqualTo(204);
+    verify(performanceCycleService).deleteById("cycle1");
+    verify(performanceCycleService, times(2)).findAllByTenantId(COMPANY_ID);
+  }
+
   @Test
   void handleRequest_InvalidPath_ShouldReturnNotFound() {
     // Given
@@ -337,6 +530,78 @@ class DashboardAnalyticsRequestHandlerTest {
     verify(dashboardAnalyticsService).updateAssessmentMatrixAnalytics(ASSESSMENT_MATRIX_ID);
   }
 
+  @Test
+  void handleRequest_ComputeEndpoint_Async_ShouldReturnAcceptedJobAndReportStatus() {
+    // Given
+    List<Runnable> queued = new ArrayList<>();
+    handler = new DashboardAnalyticsRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), CacheRegions.inMemory(), new ComputeJobRegistry(CacheRegions.inMemory().region(CacheRegions.COMPUTE_JOBS), (job, worker) -> queued.add(worker)));
+
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+    request.setPath("/dashboard-analytics/compute/" + ASSESSMENT_MATRIX_ID);
+    request.setHttpMethod("POST");
+    request.setQueryStringParameters(Map.of("tenantId", COMPANY_ID, "async", "true"));
+
+    when(assessmentMatrixService.findById(ASSESSMENT_MATRIX_ID)).thenReturn(Optional.of(createMockAssessmentMatrix()));
+
+    // When
+    APIGatewayProxyResponseEvent accepted = handler.handleRequest(request, context);
+    APIGatewayProxyResponseEvent repeated = handler.handleRequest(request, context);
+
+    // Then
+    assertThat(accepted.getStatusCode()).isEqualTo(202);
+    assertThat(accepted.getBody()).contains("\"status\":\"QUEUED\"");
+    assertThat(repeated.getBody()).isEqualTo(accepted.getBody());
+    assertThat(queued).hasSize(1);
+    verifyNoInteractions(dashboardAnalyticsService);
+
+    queued.get(0).run();
+    verify(dashboardAnalyticsService).updateAssessmentMatrixAnalytics(ASSESSMENT_MATRIX_ID);
+
+    String jobId = accepted.getBody().replaceAll(".*\"jobId\":\"([^\"]+)\".*", "$1");
+    APIGatewayProxyRequestEvent statusRequest = new APIGatewayProxyRequestEvent();
+    statusRequest.setPath("/dashboard-analytics/compute-jobs/" + jobId);
+    statusRequest.setHttpMethod("GET");
+    statusRequest.setQueryStringParameters(Map.of("tenantId", COMPANY_ID));
+
+    APIGatewayProxyResponseEvent status = handler.handleRequest(statusRequest, context);
+    assertThat(status.getStatusCode()).isEqualTo(200);
+    assertThat(status.getBody()).contains("\"status\":\"SUCCEEDED\"").contains("\"progress\":100");
+
+    statusRequest.setQueryStringParameters(Map.of("tenantId", "other-tenant"));
+    assertThat(handler.handleRequest(statusRequest, context).getStatusCode()).isEqualTo(404);
+  }
+
+  @Test
+  void handleRequest_RunComputeJob_ShouldOnlyServeDirectInvocations() {
+    // Given: a launcher that leaves the job to the run route, as the Lambda launcher does
+    handler = new DashboardAnalyticsRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), CacheRegions.inMemory(), new ComputeJobRegistry(CacheRegions.inMemory().region(CacheRegions.COMPUTE_JOBS), (job, worker) -> {
+    }));
+
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+    request.setPath("/dashboard-analytics/compute/" + ASSESSMENT_MATRIX_ID);
+    request.setHttpMethod("POST");
+    request.setQueryStringParameters(Map.of("tenantId", COMPANY_ID, "async", "true"));
+    when(assessmentMatrixService.findById(ASSESSMENT_MATRIX_ID)).thenReturn(Optional.of(createMockAssessmentMatrix()));
+    String jobId = handler.handleRequest(request, context).getBody().replaceAll(".*\"jobId\":\"([^\"]+)\".*", "$1");
+
+    APIGatewayProxyRequestEvent run = new APIGatewayProxyRequestEvent();
+    run.setPath(ComputeJobRegistry.runPath(jobId));
+    run.setHttpMethod("POST");
+
+    // When: the same request through API Gateway, then as the launcher's invocation
+    run.setRequestContext(new APIGatewayProxyRequestEvent.ProxyRequestContext());
+    APIGatewayProxyResponseEvent external = handler.handleRequest(run, context);
+    verifyNoInteractions(dashboardAnalyticsService);
+    run.setRequestContext(null);
+    APIGatewayProxyResponseEvent direct = handler.handleRequest(run, context);
+
+    // Then
+    assertThat(external.getStatusCode()).isEqualTo(404);
+    assertThat(direct.getStatusCode()).isEqualTo(200);
+    assertThat(direct.getBody()).contains("\"status\":\"SUCCEEDED\"");
+    verify(dashboardAnalyticsService).updateAssessmentMatrixAnalytics(ASSESSMENT_MATRIX_ID);
+  }
+
   @Test
   void handleRequest_ComputeEndpoint_WithWrongMethod_ShouldReturnMethodNotAllowed() {
     // Given
@@ -604,6 +869,18 @@ class DashboardAnalyticsRequestHandlerTest {
     assertThat(response.getBody()).contains("\"Team Collaboration\":");
   }
 
+  private APIGatewayProxyRequestEvent createOverviewRequest() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+    request.setPath("/dashboard-analytics/overview/" + ASSESSMENT_MATRIX_ID);
+    request.setHttpMethod("GET");
+    request.setQueryStringParameters(Map.of("tenantId", COMPANY_ID));
+    return request;
+  }
+
+  private DashboardAnalytics createMockDashboardAnalytics(Instant lastUpdated) {
+    return DashboardAnalytics.builder().companyPerformanceCycleId(COMPANY_ID + "#cycle456").assessmentMatrixScopeId(ASSESSMENT_MATRIX_ID + "#ASSESSMENT_MATRIX").companyId(COMPANY_ID).performanceCycleId("cycle456").assessmentMatrixId(ASSESSMENT_MATRIX_ID).scope(AnalyticsScope.ASSESSMENT_MATRIX).teamName("Overview").companyName("Test Company").performanceCycleName("Q4 2024 Assessment").assessmentMatrixName("Test Assessment Matrix").generalAverage(85.5).employeeCount(10).completionPercentage(90.0).lastUpdated(lastUpdated).analyticsDataJson("{\"pillars\": {}, \"wordCloud\": {}}").build();
+  }
+
   private DashboardAnalytics createMockDashboardAnalytics() {
     return DashboardAnalytics.builder().companyPerformanceCycleId(COMPANY_ID + "#cycle456").assessmentMatrixScopeId(ASSESSMENT_MATRIX_ID + "#TEAM#" + TEAM_ID).companyId(COMPANY_ID).performanceCycleId("cycle456").assessmentMatrixId(ASSESSMENT_MATRIX_ID).scope(AnalyticsScope.TEAM).teamId(TEAM_ID).teamName("Test Team").companyName("Test Company").performanceCycleName("Q4 2024 Assessment").assessmentMatrixName("Test Assessment Matrix").generalAverage(85.5).employeeCount(10).completionPercentage(90.0).lastUpdated(Instant.now()).analyticsDataJson("{\"pillars\": {}, \"wordCloud\": {}}").build();
   }
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
@@ -20,7 +21,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheRegions;
 import com.agilecheckup.persistency.entity.Department;
 import com.agilecheckup.service.DepartmentService;
 import com.amazonaws.services.lambda.runtime.Context;
@@ -51,7 +54,7 @@ class DepartmentRequestHandlerTest {
     ObjectMapper objectMapper = new ObjectMapper();
     lenient().doReturn(departmentService).when(serviceComponent).buildDepartmentService();
     lenient().doReturn(lambdaLogger).when(context).getLogger();
-    handler = new DepartmentRequestHandler(serviceComponent, objectMapper);
+    handler = new DepartmentRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), CacheRegions.inMemory());
   }
 
   @Test
@@ -112,6 +115,84 @@ class DepartmentRequestHandlerTest {
     assertThat(response.getBody()).contains("Engineering");
   }
 
+  @Test
+  void shouldServeDepartmentsFromCacheUntilADepartmentIsCreated() {
+    // Given
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("tenantId", "tenant-123");
+
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/departments").withHttpMethod("GET").withQueryStringParameters(queryParams);
+    String requestBody = "{\"name\":\"Sales\",\"description\":\"Sales department\",\"tenantId\":\"tenant-123\",\"companyId\":\"company-123\"}";
+    APIGatewayProxyRequestEvent createRequest = new APIGatewayProxyRequestEvent().withPath("/departments").withHttpMethod("POST").withBody(requestBody);
+
+    Department dept1 = new Department();
+    dept1.setId("dept-1");
+    dept1.setName("Engineering");
+    dept1.setTenantId("tenant-123");
+
+    Department dept2 = new Department();
+    dept2.setId("dept-2");
+    dept2.setName("Sales");
+    dept2.setTenantId("tenant-123");
+
+    doReturn(Arrays.asList(dept1)).doReturn(Arrays.asList(dept1, dept2)).when(departmentService).findAllByTenantId("tenant-123");
+    doReturn(Optional.of(dept2)).when(departmentService).create("Sales", "Sales department", "tenant-123", "company-123");
+
+    // When
+    APIGatewayProxyResponseEvent first = handler.handleRequest(request, context);
+    APIGatewayProxyResponseEvent cached = handler.handleRequest(request, context);
+    handler.handleRequest(createRequest, context);
+    APIGatewayProxyResponseEvent reloaded = handler.handleRequest(request, context);
+
+    // Then
+    assertThat(cached.getBody()).isEqualTo(first.getBody());
+    assertThat(reloaded.getBody()).contains("Sales");
+    verify(departmentService, times(2)).findAllByTenantId("tenant-123");
+  }
+
+  @Test
+  void shouldGetDepartmentsPageByPageWithCursor() throws Exception {
+    // Given
+    Department dept1 = new Department();
+    dept1.setId("dept-1");
+    dept1.setName("Engineering");
+    Department dept2 = new Department();
+    dept2.setId("dept-2");
+    dept2.setName("Sales");
+
+    doReturn(Arrays.asList(dept2, dept1)).when(departmentService).findAllByTenantId("tenant-123");
+
+    Map<String, String> firstParams = new HashMap<>();
+    firstParams.put("tenantId", "tenant-123");
+    firstParams.put("limit", "1");
+
+    // When
+    APIGatewayProxyResponseEvent first = handler.handleRequest(new APIGatewayProxyRequestEvent().withPath("/departments").withHttpMethod("GET").withQueryStringParameters(firstParams), context);
+    String nextCursor = new ObjectMapper().readTree(first.getBody()).path("nextCursor").asText();
+    Map<String, String> secondParams = new HashMap<>(firstParams);
+    secondParams.put("cursor", nextCursor);
+    APIGatewayProxyResponseEvent second = handler.handleRequest(new APIGatewayProxyRequestEvent().withPath("/departments").withHttpMethod("GET").withQueryStringParameters(secondParams), context);
+
+    // Then
+    assertThat(first.getStatusCode()).isEqualTo(200);
+    assertThat(first.getBody()).contains("Engineering").doesNotContain("Sales");
+    assertThat(second.getBody()).contains("Sales").contains("\"nextCursor\":null");
+  }
+
+  @Test
+  void shouldRejectInvalidPageLimit() {
+    // Given
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("limit", "1000");
+
+    // When
+    APIGatewayProxyResponseEvent response = handler.handleRequest(new APIGatewayProxyRequestEvent().withPath("/departments").withHttpMethod("GET").withQueryStringParameters(queryParams), context);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(400);
+    verify(departmentService, never()).findAll();
+  }
+
   @Test
   void shouldSuccessfullyGetDepartmentById() {
     // Given
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
@@ -24,7 +25,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheRegions;
 import com.agilecheckup.persistency.entity.EmployeeAssessment;
 import com.agilecheckup.persistency.entity.EmployeeAssessmentScore;
 import com.agilecheckup.persistency.entity.person.Gender;
@@ -38,6 +41,7 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -62,7 +66,7 @@ class EmployeeAssessmentRequestHandlerTest {
     ObjectMapper objectMapper = new ObjectMapper();
     lenient().doReturn(employeeAssessmentService).when(serviceComponent).buildEmployeeAssessmentService();
     lenient().doReturn(lambdaLogger).when(context).getLogger();
-    handler = new EmployeeAssessmentRequestHandler(serviceComponent, objectMapper);
+    handler = new EmployeeAssessmentRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), CacheRegions.inMemory());
   }
 
   @Test
@@ -611,4 +615,46 @@ class EmployeeAssessmentRequestHandlerTest {
     assertThat(response.getBody()).contains("new-ea-id");
     assertThat(response.getBody()).contains("\"teamId\":null");
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldReportEveryRowOfBulkCreation() throws Exception {
+    // Given
+    String requestBody = "[" + bulkRow("alice@example.com") + "," + "{\"tenantId\": \"test-tenant-123\", \"assessmentMatrixId\": \"am-123\", \"employee\": {\"name\": \"No Email\"}}" + "," + bulkRow("Alice@Example.com ") + "," + bulkRow("bob@example.com") + "]";
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/employeeassessments/bulk").withHttpMethod("POST").withBody(requestBody);
+    doReturn(30_000).when(context).getRemainingTimeInMillis();
+
+    EmployeeAssessment createdAssessment = EmployeeAssessment.builder().id("ea-alice").assessmentMatrixId("am-123").employee(NaturalPerson.builder().email("alice@example.com").name("Alice").build()).build();
+    doReturn(Optional.of(createdAssessment)).when(employeeAssessmentService).create(eq("am-123"), any(), any(), eq("alice@example.com"), any(), any(), any(), any());
+    doThrow(new com.agilecheckup.service.exception.EmployeeAssessmentAlreadyExistsException("bob@example.com", "am-123")).when(employeeAssessmentService).create(eq("am-123"), any(), any(), eq("bob@example.com"), any(), any(), any(), any());
+
+    // When
+    APIGatewayProxyResponseEvent response = handler.handleRequest(request, context);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    JsonNode body = new ObjectMapper().readTree(response.getBody());
+    assertThat(body.get("created").asInt()).isEqualTo(1);
+    assertThat(body.get("duplicates").asInt()).isEqualTo(2);
+    assertThat(body.get("errors").asInt()).isEqualTo(1);
+    assertThat(body.get("results").get(0).get("id").asText()).isEqualTo("ea-alice");
+    assertThat(body.get("results").get(1).get("message").asText()).isEqualTo("employee email is required");
+    assertThat(body.get("results").get(2).get("status").asText()).isEqualTo("DUPLICATE");
+    assertThat(body.get("results").get(3).get("status").asText()).isEqualTo("DUPLICATE");
+    // Invalid rows and emails repeated in the request never reach the backend
+    verify(employeeAssessmentService, times(2)).create(anyString(), any(), any(), anyString(), any(), any(), any(), any());
+  }
+
+  @Test
+  void shouldRejectBulkCreationThatIsNotAnArray() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/employeeassessments/bulk").withHttpMethod("POST").withBody(bulkRow("alice@example.com"));
+
+    APIGatewayProxyResponseEvent response = handler.handleRequest(request, context);
+
+    assertThat(response.getStatusCode()).isEqualTo(400);
+    verify(employeeAssessmentService, never()).create(any(), any(), any(), any(), any(), any(), any(), any());
+  }
+
+  private static String bulkRow(String email) {
+    return "{\"tenantId\": \"test-tenant-123\", \"assessmentMatrixId\": \"am-123\", \"teamId\": \"team-123\", \"employee\": {\"name\": \"Employee\", \"email\": \"" + email + "\"}}";
+  }
+}
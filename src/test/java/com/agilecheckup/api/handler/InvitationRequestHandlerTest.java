@@ -14,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
 import com.agilecheckup.security.JwtTokenProvider;
 import com.agilecheckup.service.AssessmentMatrixService;
@@ -50,7 +51,7 @@ class InvitationRequestHandlerTest {
     // Setup the service component to return the mocked service
     when(serviceComponent.buildAssessmentMatrixService()).thenReturn(assessmentMatrixService);
     
-    handler = new InvitationRequestHandler(serviceComponent, objectMapper);
+    handler = new InvitationRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper));
     lenient().when(context.getLogger()).thenReturn(lambdaLogger);
   }
 
@@ -0,0 +1,79 @@
+package com.agilecheckup.api.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class LazyHandlerTest {
+
+  @Test
+  void get_shouldNotBuildHandler_untilFirstUse() {
+    AtomicInteger builds = new AtomicInteger();
+    LazyHandler<Object> handler = new LazyHandler<>("teams", () -> {
+      builds.incrementAndGet();
+      return new Object();
+    }, new InitTimingReport());
+
+    assertThat(handler.isInitialized()).isFalse();
+    assertThat(builds).hasValue(0);
+
+    Object first = handler.get();
+
+    assertThat(handler.isInitialized()).isTrue();
+    assertThat(handler.get()).isSameAs(first);
+    assertThat(builds).hasValue(1);
+  }
+
+  @Test
+  void get_shouldBuildHandlerOnce_underConcurrentAccess() throws Exception {
+    AtomicInteger builds = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    LazyHandler<Object> handler = new LazyHandler<>("answers", () -> {
+      builds.incrementAndGet();
+      return new Object();
+    }, new InitTimingReport());
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return handler.get();
+        }));
+      }
+      start.countDown();
+
+      Object expected = results.get(0).get(5, TimeUnit.SECONDS);
+      for (Future<Object> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(expected);
+      }
+      assertThat(builds).hasValue(1);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void get_shouldRecordConstructionTime() {
+    InitTimingReport timings = new InitTimingReport();
+    LazyHandler<Object> handler = new LazyHandler<>("questions", Object::new, timings);
+
+    handler.get();
+    handler.get();
+
+    String report = timings.drainUnreported();
+    assertThat(report).startsWith("Init timings (ms): handler:questions=");
+    assertThat(timings.drainUnreported()).isNull();
+  }
+}
@@ -21,7 +21,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheRegions;
 import com.agilecheckup.persistency.entity.PerformanceCycle;
 import com.agilecheckup.service.PerformanceCycleService;
 import com.amazonaws.services.lambda.runtime.Context;
@@ -55,7 +57,7 @@ class PerformanceCycleRequestHandlerTest {
     objectMapper.registerModule(new JavaTimeModule());
     lenient().doReturn(mockPerformanceCycleService).when(mockServiceComponent).buildPerformanceCycleService();
     lenient().doReturn(mockLambdaLogger).when(mockContext).getLogger();
-    handler = new PerformanceCycleRequestHandler(mockServiceComponent, objectMapper);
+    handler = new PerformanceCycleRequestHandler(mockServiceComponent, new JsonCodecRegistry(objectMapper), CacheRegions.inMemory());
   }
 
   @Test
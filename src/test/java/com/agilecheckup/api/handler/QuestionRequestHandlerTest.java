@@ -6,6 +6,7 @@ import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.time.LocalDateTime;
@@ -21,7 +22,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
+import com.agilecheckup.gate.cache.CacheRegions;
 import com.agilecheckup.persistency.entity.QuestionType;
 import com.agilecheckup.persistency.entity.question.Answer;
 import com.agilecheckup.persistency.entity.question.Question;
@@ -65,7 +68,7 @@ class QuestionRequestHandlerTest {
     lenient().doReturn(questionService).when(serviceComponent).buildQuestionService();
     lenient().doReturn(assessmentNavigationService).when(serviceComponent).buildAssessmentNavigationService();
     lenient().doReturn(lambdaLogger).when(context).getLogger();
-    handler = new QuestionRequestHandler(serviceComponent, objectMapper);
+    handler = new QuestionRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper), CacheRegions.inMemory());
   }
 
   @Test
@@ -148,6 +151,32 @@ class QuestionRequestHandlerTest {
     assertThat(response.getBody()).contains("Team effectiveness question");
   }
 
+  @Test
+  void shouldServeQuestionsByAssessmentMatrixIdFromCacheUntilAQuestionIsDeleted() {
+    // Given
+    String matrixId = "matrix-123";
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("tenantId", "tenant-123");
+
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/questions/matrix/" + matrixId).withHttpMethod("GET").withQueryStringParameters(queryParams);
+    APIGatewayProxyRequestEvent deleteRequest = new APIGatewayProxyRequestEvent().withPath("/questions/q-1").withHttpMethod("DELETE");
+
+    Question question1 = Question.builder().id("q-1").question("Team effectiveness question").assessmentMatrixId(matrixId).questionType(QuestionType.YES_NO).tenantId("tenant-123").pillarId("pillar-123").pillarName("Pillar Name").categoryId("category-123").categoryName("Category Name").build();
+
+    doReturn(Arrays.asList(question1)).when(questionService).findByAssessmentMatrixId(eq(matrixId), eq("tenant-123"));
+    doReturn(Optional.of(question1)).when(questionService).findById("q-1");
+
+    // When
+    APIGatewayProxyResponseEvent first = handler.handleRequest(request, context);
+    APIGatewayProxyResponseEvent second = handler.handleRequest(request, context);
+    handler.handleRequest(deleteRequest, context);
+    handler.handleRequest(request, context);
+
+    // Then
+    assertThat(second.getBody()).isEqualTo(first.getBody());
+    verify(questionService, times(2)).findByAssessmentMatrixId(eq(matrixId), eq("tenant-123"));
+  }
+
   @Test
   void shouldSuccessfullyCreateQuestion() {
     // Given
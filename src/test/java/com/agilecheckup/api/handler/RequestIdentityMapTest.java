@@ -0,0 +1,115 @@
+package com.agilecheckup.api.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class RequestIdentityMapTest {
+
+  private final AtomicInteger reads = new AtomicInteger();
+  private final Function<String, Optional<String>> loader = id -> {
+    reads.incrementAndGet();
+    return id.startsWith("missing") ? Optional.empty() : Optional.of("entity-" + id);
+  };
+
+  @Test
+  void find_withinInvocation_shouldReadEachEntityOnce() {
+    RequestIdentityMap identityMap = RequestIdentityMap.open();
+    try {
+      assertThat(RequestIdentityMap.find(String.class, "1", loader)).contains("entity-1");
+      assertThat(RequestIdentityMap.find(String.class, "1", loader)).contains("entity-1");
+      assertThat(RequestIdentityMap.find(String.class, "missing", loader)).isEmpty();
+      assertThat(RequestIdentityMap.find(String.class, "missing", loader)).isEmpty();
+      // Same id, other type
+      assertThat(RequestIdentityMap.find(Object.class, "1", id -> loader.apply(id).map(Object.class::cast))).contains("entity-1");
+    }
+    finally {
+      identityMap.close();
+    }
+
+    assertThat(reads).hasValue(3);
+    assertThat(identityMap.format()).isEqualTo("Identity map: lookups=5 hits=2");
+  }
+
+  @Test
+  void find_concurrentSubRequests_shouldShareOneRead() throws Exception {
+    RequestIdentityMap identityMap = RequestIdentityMap.open();
+    CountDownLatch readStarted = new CountDownLatch(1);
+    CountDownLatch releaseRead = new CountDownLatch(1);
+    Function<String, Optional<String>> slowLoader = id -> {
+      readStarted.countDown();
+      try {
+        releaseRead.await(5, TimeUnit.SECONDS);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return loader.apply(id);
+    };
+    try {
+      CompletableFuture<Optional<String>> first = CompletableFuture.supplyAsync(() -> identityMap.runWith(() -> RequestIdentityMap.find(String.class, "1", slowLoader)));
+      readStarted.await(5, TimeUnit.SECONDS);
+      CompletableFuture<Optional<String>> second = CompletableFuture.supplyAsync(() -> identityMap.runWith(() -> RequestIdentityMap.find(String.class, "1", slowLoader)));
+      while (!"Identity map: lookups=2 hits=1".equals(identityMap.format())) {
+        Thread.onSpinWait();
+      }
+      releaseRead.countDown();
+
+      assertThat(first.get(5, TimeUnit.SECONDS)).contains("entity-1");
+      assertThat(second.get(5, TimeUnit.SECONDS)).contains("entity-1");
+    }
+    finally {
+      identityMap.close();
+    }
+
+    assertThat(reads).hasValue(1);
+  }
+
+  @Test
+  void find_failedRead_shouldNotBeRemembered() {
+    RequestIdentityMap identityMap = RequestIdentityMap.open();
+    try {
+      assertThatThrownBy(() -> RequestIdentityMap.find(String.class, "1", id -> {
+        throw new IllegalStateException("backend down");
+      })).isInstanceOf(IllegalStateException.class);
+
+      assertThat(RequestIdentityMap.find(String.class, "1", loader)).contains("entity-1");
+    }
+    finally {
+      identityMap.close();
+    }
+  }
+
+  @Test
+  void evict_shouldReadEntityAgain() {
+    RequestIdentityMap identityMap = RequestIdentityMap.open();
+    try {
+      RequestIdentityMap.find(String.class, "1", loader);
+      RequestIdentityMap.evict(String.class, "1");
+      RequestIdentityMap.find(String.class, "1", loader);
+    }
+    finally {
+      identityMap.close();
+    }
+
+    assertThat(reads).hasValue(2);
+  }
+
+  @Test
+  void find_outsideInvocation_shouldAlwaysRead() {
+    RequestIdentityMap.open().close();
+
+    RequestIdentityMap.find(String.class, "1", loader);
+    RequestIdentityMap.find(String.class, "1", loader);
+
+    assertThat(reads).hasValue(2);
+  }
+}
@@ -0,0 +1,111 @@
+package com.agilecheckup.api.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.agilecheckup.gate.cache.MaterializedResponse;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.core.JsonFactory;
+
+class ResponseBuilderTest {
+
+  @Test
+  void conditional_shouldTagReadResponseWithStrongETag() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withHttpMethod("GET");
+
+    APIGatewayProxyResponseEvent response = ResponseBuilder.conditional(request, ResponseBuilder.buildResponse(200, "{\"id\":\"1\"}"));
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getHeaders().get("ETag")).startsWith("\"").endsWith("\"");
+    assertThat(response.getBody()).isEqualTo("{\"id\":\"1\"}");
+  }
+
+  @Test
+  void conditional_matchingIfNoneMatch_shouldReturn304WithoutBody() {
+    String etag = ResponseBuilder.conditional(new APIGatewayProxyRequestEvent().withHttpMethod("GET"), ResponseBuilder.buildResponse(200, "{\"id\":\"1\"}")).getHeaders().get("ETag");
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withHttpMethod("GET").withHeaders(Map.of("if-none-match", "\"other\", W/" + etag));
+
+    APIGatewayProxyResponseEvent response = ResponseBuilder.conditional(request, ResponseBuilder.buildResponse(200, "{\"id\":\"1\"}"));
+
+    assertThat(response.getStatusCode()).isEqualTo(304);
+    assertThat(response.getBody()).isEmpty();
+    assertThat(response.getHeaders().get("ETag")).isEqualTo(etag);
+  }
+
+  @Test
+  void conditional_ifNoneMatchOfGzippedBody_shouldReturn304WithThatETag() {
+    String etag = ResponseBuilder.conditional(new APIGatewayProxyRequestEvent().withHttpMethod("GET"), ResponseBuilder.buildResponse(200, "{\"id\":\"1\"}")).getHeaders().get("ETag");
+    String gzipETag = ResponseBuilder.encodedETag(etag, ResponseCompression.GZIP);
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withHttpMethod("GET").withHeaders(Map.of("If-None-Match", gzipETag));
+
+    APIGatewayProxyResponseEvent response = ResponseBuilder.conditional(request, ResponseBuilder.buildResponse(200, "{\"id\":\"1\"}"));
+
+    assertThat(gzipETag).isEqualTo(etag.substring(0, etag.length() - 1) + "-gzip\"");
+    assertThat(response.getStatusCode()).isEqualTo(304);
+    assertThat(response.getHeaders().get("ETag")).isEqualTo(gzipETag);
+  }
+
+  @Test
+  void conditional_changedBody_shouldReturnFullResponse() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withHttpMethod("GET").withHeaders(Map.of("If-None-Match", "\"stale\""));
+
+    APIGatewayProxyResponseEvent response = ResponseBuilder.conditional(request, ResponseBuilder.buildResponse(200, "{\"id\":\"2\"}"));
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).isEqualTo("{\"id\":\"2\"}");
+  }
+
+  @Test
+  void conditional_shouldLeaveWritesAndErrorsUntouched() {
+    APIGatewayProxyRequestEvent post = new APIGatewayProxyRequestEvent().withHttpMethod("POST").withHeaders(Map.of("If-None-Match", "*"));
+    APIGatewayProxyRequestEvent get = new APIGatewayProxyRequestEvent().withHttpMethod("GET").withHeaders(Map.of("If-None-Match", "*"));
+
+    assertThat(ResponseBuilder.conditional(post, ResponseBuilder.buildResponse(200, "{}")).getStatusCode()).isEqualTo(200);
+    assertThat(ResponseBuilder.conditional(get, ResponseBuilder.buildResponse(404, "Not found")).getHeaders()).doesNotContainKey("ETag");
+  }
+
+  @Test
+  void buildResponse_cachedBody_shouldUseItsContentHashAsETag() {
+    MaterializedResponse body = MaterializedResponse.of("{\"page\":1}".repeat(100).getBytes(StandardCharsets.UTF_8), 64);
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withHttpMethod("GET").withHeaders(Map.of("If-None-Match", "\"" + body.contentHash() + "\""));
+
+    APIGatewayProxyResponseEvent fresh = ResponseBuilder.buildResponse(200, body);
+    APIGatewayProxyResponseEvent notModified = ResponseBuilder.buildResponse(request, body);
+
+    assertThat(fresh.getHeaders().get("ETag")).isEqualTo("\"" + body.contentHash() + "\"");
+    assertThat(ResponseBuilder.conditional(new APIGatewayProxyRequestEvent().withHttpMethod("GET"), ResponseBuilder.buildResponse(200, fresh.getBody())).getHeaders().get("ETag")).isEqualTo(fresh.getHeaders().get("ETag"));
+    assertThat(notModified.getStatusCode()).isEqualTo(304);
+  }
+
+  @Test
+  void selectFields_shouldCutBodyAndRetagIt() {
+    MaterializedResponse body = MaterializedResponse.of("{\"id\":\"1\",\"name\":\"Engineering\",\"description\":\"Dept\"}".getBytes(StandardCharsets.UTF_8), 1024);
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withHttpMethod("GET").withQueryStringParameters(Map.of("fields", "id,name"));
+
+    APIGatewayProxyResponseEvent response = ResponseBuilder.conditional(request, ResponseBuilder.selectFields(request, ResponseBuilder.buildResponse(request, body), new JsonFactory()));
+
+    assertThat(response.getBody()).isEqualTo("{\"id\":\"1\",\"name\":\"Engineering\"}");
+    assertThat(response.getHeaders().get("ETag")).isNotEqualTo("\"" + body.contentHash() + "\"");
+  }
+
+  @Test
+  void selectFields_onListAlwaysPaged_shouldCutEachItem() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withHttpMethod("GET").withPath("/companies").withQueryStringParameters(Map.of("fields", "id"));
+
+    APIGatewayProxyResponseEvent response = ResponseBuilder.selectFields(request, ResponseBuilder.buildResponse(200, "{\"items\":[{\"id\":\"1\",\"name\":\"Acme\"}],\"nextCursor\":null,\"limit\":50}"), new JsonFactory());
+
+    assertThat(response.getBody()).isEqualTo("{\"items\":[{\"id\":\"1\"}],\"nextCursor\":null,\"limit\":50}");
+  }
+
+  @Test
+  void selectFields_invalidFields_shouldReturn400() {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withHttpMethod("GET").withQueryStringParameters(Map.of("fields", "department..name"));
+
+    assertThat(ResponseBuilder.selectFields(request, ResponseBuilder.buildResponse(200, "{}"), new JsonFactory()).getStatusCode()).isEqualTo(400);
+  }
+}
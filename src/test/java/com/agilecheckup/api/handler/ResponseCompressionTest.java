@@ -0,0 +1,101 @@
+package com.agilecheckup.api.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.agilecheckup.gate.cache.MaterializedResponse;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+
+class ResponseCompressionTest {
+
+  private static final String LARGE_BODY = "{\"employees\":[" + "{\"name\":\"Employee\",\"score\":42.0},".repeat(200) + "{}]}";
+
+  private final ResponseCompression compression = new ResponseCompression();
+
+  @Test
+  void negotiate_shouldPickHighestQualityAndPreferGzipOnTies() {
+    assertThat(ResponseCompression.negotiate("gzip, deflate, br")).isEqualTo("gzip");
+    assertThat(ResponseCompression.negotiate("deflate")).isEqualTo("deflate");
+    assertThat(ResponseCompression.negotiate("gzip;q=0.5, deflate;q=0.8")).isEqualTo("deflate");
+    assertThat(ResponseCompression.negotiate("*;q=0.3")).isEqualTo("gzip");
+    assertThat(ResponseCompression.negotiate("gzip;q=0, *;q=0")).isNull();
+    assertThat(ResponseCompression.negotiate("br")).isNull();
+    assertThat(ResponseCompression.negotiate(null)).isNull();
+  }
+
+  @Test
+  void apply_largeBody_shouldSendItGzippedAndBase64Encoded() throws IOException {
+    APIGatewayProxyResponseEvent response = compression.apply("GET /assessmentmatrices", request("gzip"), ResponseBuilder.buildResponse(200, LARGE_BODY), null);
+
+    assertThat(response.getIsBase64Encoded()).isTrue();
+    assertThat(response.getHeaders()).containsEntry("Content-Encoding", "gzip").containsEntry("Vary", "Accept-Encoding");
+    assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(response.getBody()))))).isEqualTo(LARGE_BODY);
+    assertThat(compression.format()).contains("GET /assessmentmatrices count=1");
+  }
+
+  @Test
+  void apply_compressedBody_shouldGetETagOfItsEncoding() {
+    APIGatewayProxyResponseEvent tagged = ResponseBuilder.conditional(request("gzip"), ResponseBuilder.buildResponse(200, LARGE_BODY));
+    String identityETag = tagged.getHeaders().get("ETag");
+
+    APIGatewayProxyResponseEvent response = compression.apply("GET /assessmentmatrices", request("gzip"), tagged, null);
+
+    assertThat(response.getHeaders().get("ETag")).isEqualTo(identityETag.substring(0, identityETag.length() - 1) + "-gzip\"");
+  }
+
+  @Test
+  void apply_deflate_shouldSendZlibStream() throws IOException {
+    APIGatewayProxyResponseEvent response = compression.apply("GET /assessmentmatrices", request("deflate"), ResponseBuilder.buildResponse(200, LARGE_BODY), null);
+
+    assertThat(response.getHeaders()).containsEntry("Content-Encoding", "deflate");
+    assertThat(decode(new InflaterInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(response.getBody()))))).isEqualTo(LARGE_BODY);
+  }
+
+  @Test
+  void apply_smallBodyOrNoAcceptEncoding_shouldSendItAsIs() {
+    APIGatewayProxyResponseEvent small = compression.apply("GET /departments", request("gzip"), ResponseBuilder.buildResponse(200, "{\"id\":\"1\"}"), null);
+    APIGatewayProxyResponseEvent identity = compression.apply("GET /departments", request(null), ResponseBuilder.buildResponse(200, LARGE_BODY), null);
+
+    assertThat(small.getBody()).isEqualTo("{\"id\":\"1\"}");
+    assertThat(small.getHeaders()).doesNotContainKey("Content-Encoding");
+    assertThat(identity.getBody()).isEqualTo(LARGE_BODY);
+    // Both were chosen by Accept-Encoding, so caches must key them on it too
+    assertThat(small.getHeaders()).containsEntry("Vary", "Accept-Encoding");
+    assertThat(identity.getHeaders()).containsEntry("Vary", "Accept-Encoding");
+  }
+
+  @Test
+  void buildResponse_cachedGzippedBody_shouldBeSentWithoutRecompression() throws IOException {
+    MaterializedResponse body = MaterializedResponse.of(LARGE_BODY.getBytes(StandardCharsets.UTF_8), 1024);
+
+    APIGatewayProxyResponseEvent response = ResponseBuilder.buildResponse(request("gzip"), body);
+
+    assertThat(response.getHeaders()).containsEntry("Content-Encoding", "gzip").containsEntry("ETag", "\"" + body.contentHash() + "-gzip\"");
+    assertThat(Base64.getDecoder().decode(response.getBody())).isEqualTo(body.gzippedBody());
+    assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(body.gzippedBody())))).isEqualTo(LARGE_BODY);
+    // Already encoded responses are left alone
+    assertThat(compression.apply("GET /assessmentmatrices/{id}/dashboard", request("gzip"), response, null)).isSameAs(response);
+  }
+
+  private static APIGatewayProxyRequestEvent request(String acceptEncoding) {
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withHttpMethod("GET");
+    return acceptEncoding != null ? request.withHeaders(Map.of("Accept-Encoding", acceptEncoding)) : request;
+  }
+
+  private static String decode(InputStream in) throws IOException {
+    try (in) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
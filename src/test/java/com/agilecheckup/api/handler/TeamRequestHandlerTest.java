@@ -23,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.agilecheckup.api.serialization.JsonCodecRegistry;
 import com.agilecheckup.dagger.component.ServiceComponent;
 import com.agilecheckup.persistency.entity.Department;
 import com.agilecheckup.persistency.entity.Team;
@@ -60,7 +61,7 @@ class TeamRequestHandlerTest {
     lenient().doReturn(teamService).when(serviceComponent).buildTeamService();
     lenient().doReturn(departmentService).when(serviceComponent).buildDepartmentService();
     lenient().doReturn(lambdaLogger).when(context).getLogger();
-    handler = new TeamRequestHandler(serviceComponent, objectMapper);
+    handler = new TeamRequestHandler(serviceComponent, new JsonCodecRegistry(objectMapper));
   }
 
   // @Test - DISABLED: Temporary serialization issue with Department in TeamResponse
@@ -137,6 +138,87 @@ class TeamRequestHandlerTest {
     verify(teamService, never()).findByDepartmentId(anyString());
   }
 
+  @Test
+  void handleGetAll_whenFieldsSelectNoDepartment_shouldSkipDepartmentLookup() {
+    // Given
+    String tenantId = "tenant-123";
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("tenantId", tenantId);
+    queryParams.put("fields", "id,name");
+
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/teams").withHttpMethod("GET").withQueryStringParameters(queryParams);
+
+    Department department = createDepartment("dept-1", "Engineering");
+    doReturn(Arrays.asList(createTeam("team-1", "Team Alpha", department, tenantId), createTeam("team-2", "Team Beta", department, tenantId))).when(teamService).findAllByTenantId(tenantId);
+
+    // When
+    APIGatewayProxyResponseEvent response = handler.handleRequest(request, context);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("team-1", "Team Alpha", "team-2", "Team Beta");
+    verify(departmentService, never()).findById(anyString());
+  }
+
+  @Test
+  void handleGetAll_teamsOfSeveralDepartments_shouldReadDepartmentsOnce() {
+    // Given
+    String tenantId = "tenant-123";
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/teams").withHttpMethod("GET").withQueryStringParameters(Map.of("tenantId", tenantId));
+
+    Department engineering = createDepartment("dept-1", "Engineering");
+    Department sales = createDepartment("dept-2", "Sales");
+    List<Team> teams = Arrays.asList(createTeam("team-1", "Team Alpha", engineering, tenantId), createTeam("team-2", "Team Beta", sales, tenantId), createTeam("team-3", "Team Gamma", engineering, tenantId));
+    doReturn(teams).when(teamService).findAllByTenantId(tenantId);
+    doReturn(Arrays.asList(engineering, sales, createDepartment("dept-3", "Finance"))).when(departmentService).findAllByTenantId(tenantId);
+
+    // When
+    handler.handleRequest(request, context);
+
+    // Then
+    verify(departmentService).findAllByTenantId(tenantId);
+    verify(departmentService, never()).findById(anyString());
+    verify(lambdaLogger).log(contains("3 teams, 2 departments, 1 backend calls"));
+  }
+
+  @Test
+  void handleGetAll_teamsOfOneDepartment_shouldReadItById() {
+    // Given
+    String tenantId = "tenant-123";
+    String departmentId = "dept-1";
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/teams").withHttpMethod("GET").withQueryStringParameters(Map.of("tenantId", tenantId, "departmentId", departmentId));
+
+    Department department = createDepartment(departmentId, "Engineering");
+    doReturn(Arrays.asList(createTeam("team-1", "Team Alpha", department, tenantId), createTeam("team-2", "Team Beta", department, tenantId))).when(teamService).findByDepartmentId(departmentId);
+    doReturn(Optional.empty()).when(departmentService).findById(departmentId);
+
+    // When
+    handler.handleRequest(request, context);
+
+    // Then
+    verify(departmentService).findById(departmentId);
+    verify(departmentService, never()).findAllByTenantId(anyString());
+    verify(lambdaLogger).log(contains("2 teams, 1 departments, 1 backend calls"));
+  }
+
+  @Test
+  void handleGetById_whenFieldsSelectDepartment_shouldLookItUp() {
+    // Given
+    String teamId = "team-123";
+    APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent().withPath("/teams/" + teamId).withHttpMethod("GET").withQueryStringParameters(Map.of("fields", "id,department.name"));
+
+    Department department = createDepartment("dept-1", "Engineering");
+    doReturn(Optional.of(createTeam(teamId, "Team Alpha", department, "tenant-123"))).when(teamService).findById(teamId);
+    doReturn(Optional.empty()).when(departmentService).findById(department.getId());
+
+    // When
+    APIGatewayProxyResponseEvent response = handler.handleRequest(request, context);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    verify(departmentService).findById(department.getId());
+  }
+
   // @Test - DISABLED: Temporary serialization issue with Department in TeamResponse
   void handleGetById_whenTeamExists_shouldReturnTeam() {
     // Given
@@ -0,0 +1,243 @@
+package com.agilecheckup.api.jobs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.agilecheckup.gate.cache.CacheConfig;
+import com.agilecheckup.gate.cache.CacheRegions;
+import com.agilecheckup.gate.cache.LocalRedisServer;
+import com.agilecheckup.gate.cache.RedisCacheProvider;
+
+class ComputeJobRegistryTest {
+
+  private static final String MATRIX_ID = "matrix456";
+  private static final String TENANT_ID = "company123";
+
+  private final List<Runnable> queued = new ArrayList<>();
+  private final ComputeJobRegistry registry = new ComputeJobRegistry(CacheRegions.inMemory().region(CacheRegions.COMPUTE_JOBS), (job, worker) -> queued.add(worker));
+
+  @Test
+  void submit_queuesJobUntilLauncherRunsIt() {
+    ComputeJob job = registry.submit(MATRIX_ID, TENANT_ID, started -> {
+    });
+
+    assertThat(job.getStatus()).isEqualTo(ComputeJob.Status.QUEUED);
+    assertThat(job.getProgress()).isZero();
+    assertThat(job.getDurationMillis()).isZero();
+
+    queued.get(0).run();
+
+    ComputeJob done = registry.find(job.getJobId(), TENANT_ID).orElseThrow();
+    assertThat(done.getStatus()).isEqualTo(ComputeJob.Status.SUCCEEDED);
+    assertThat(done.getProgress()).isEqualTo(100);
+    assertThat(done.getStartedAt()).isNotNull();
+    assertThat(done.getFinishedAt()).isNotNull();
+  }
+
+  @Test
+  void submit_sameMatrixWhileActive_joinsExistingJob() {
+    AtomicInteger runs = new AtomicInteger();
+
+    ComputeJob first = registry.submit(MATRIX_ID, TENANT_ID, started -> runs.incrementAndGet());
+    ComputeJob second = registry.submit(MATRIX_ID, TENANT_ID, started -> runs.incrementAndGet());
+
+    assertThat(second.getJobId()).isEqualTo(first.getJobId());
+    assertThat(queued).hasSize(1);
+
+    queued.get(0).run();
+    assertThat(runs).hasValue(1);
+  }
+
+  @Test
+  void submit_sameMatrixAfterCompletion_startsNewJob() {
+    ComputeJob first = registry.submit(MATRIX_ID, TENANT_ID, started -> {
+    });
+    queued.get(0).run();
+
+    ComputeJob second = registry.submit(MATRIX_ID, TENANT_ID, started -> {
+    });
+
+    assertThat(second.getJobId()).isNotEqualTo(first.getJobId());
+    assertThat(queued).hasSize(2);
+  }
+
+  @Test
+  void submit_failingCompute_marksJobFailed() {
+    ComputeJob job = registry.submit(MATRIX_ID, TENANT_ID, started -> {
+      throw new IllegalStateException("boom");
+    });
+    queued.get(0).run();
+
+    assertThat(registry.find(job.getJobId(), TENANT_ID)).hasValueSatisfying(failed -> {
+      assertThat(failed.getStatus()).isEqualTo(ComputeJob.Status.FAILED);
+      assertThat(failed.getErrorMessage()).isEqualTo("boom");
+    });
+  }
+
+  @Test
+  void submit_computeThrowingError_marksJobFailed() {
+    ComputeJob job = registry.submit(MATRIX_ID, TENANT_ID, started -> {
+      throw new OutOfMemoryError();
+    });
+    queued.get(0).run();
+
+    assertThat(registry.find(job.getJobId(), TENANT_ID)).hasValueSatisfying(failed -> {
+      assertThat(failed.getStatus()).isEqualTo(ComputeJob.Status.FAILED);
+      assertThat(failed.getErrorMessage()).isEqualTo("OutOfMemoryError");
+    });
+    // The matrix is released for the next compute
+    registry.submit(MATRIX_ID, TENANT_ID, started -> {
+    });
+    assertThat(queued).hasSize(2);
+  }
+
+  @Test
+  void submit_notLaunched_releasesMatrix() {
+    AtomicInteger attempts = new AtomicInteger();
+    ComputeJobRegistry saturated = new ComputeJobRegistry(CacheRegions.inMemory().region(CacheRegions.COMPUTE_JOBS), (job, worker) -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw new RejectedExecutionException("full");
+      }
+      queued.add(worker);
+    });
+
+    assertThatThrownBy(() -> saturated.submit(MATRIX_ID, TENANT_ID, started -> {
+    })).isInstanceOf(RejectedExecutionException.class);
+
+    // The rejected job must not keep later requests for the matrix coalescing onto it
+    ComputeJob retry = saturated.submit(MATRIX_ID, TENANT_ID, started -> {
+    });
+    assertThat(retry.getStatus()).isEqualTo(ComputeJob.Status.QUEUED);
+    assertThat(queued).hasSize(1);
+  }
+
+  @Test
+  void run_jobAlreadyStarted_doesNotRunItAgain() {
+    AtomicInteger runs = new AtomicInteger();
+    ComputeJob job = registry.submit(MATRIX_ID, TENANT_ID, started -> runs.incrementAndGet());
+    queued.get(0).run();
+
+    // A retried delivery of the invocation
+    registry.run(job.getJobId(), started -> runs.incrementAndGet());
+
+    assertThat(runs).hasValue(1);
+    assertThat(registry.run("unknown", started -> runs.incrementAndGet())).isEmpty();
+  }
+
+  @Test
+  void find_jobNotFinishedInTime_isReportedFailed() {
+    MutableClock clock = new MutableClock();
+    ComputeJobRegistry timed = new ComputeJobRegistry(CacheRegions.inMemory().region(CacheRegions.COMPUTE_JOBS), (job, worker) -> queued.add(worker), clock);
+    ComputeJob job = timed.submit(MATRIX_ID, TENANT_ID, started -> {
+    });
+
+    clock.advance(ComputeJobRegistry.ABANDONED_AFTER.plusSeconds(1));
+
+    assertThat(timed.find(job.getJobId(), TENANT_ID)).hasValueSatisfying(lost -> assertThat(lost.getStatus()).isEqualTo(ComputeJob.Status.FAILED));
+    assertThat(timed.submit(MATRIX_ID, TENANT_ID, started -> {
+    }).getJobId()).isNotEqualTo(job.getJobId());
+  }
+
+  @Test
+  void find_onlyReturnsJobsOfTheTenant() {
+    ComputeJob job = registry.submit(MATRIX_ID, TENANT_ID, started -> {
+    });
+
+    assertThat(registry.find(job.getJobId(), TENANT_ID)).isPresent();
+    assertThat(registry.find(job.getJobId(), "other-tenant")).isEmpty();
+    assertThat(registry.find("unknown", TENANT_ID)).isEmpty();
+  }
+
+  @Test
+  void jobs_areSharedByContainersThroughTheSecondLevel() throws IOException {
+    try (LocalRedisServer server = new LocalRedisServer()) {
+      RedisCacheProvider provider = new RedisCacheProvider(server.getHost(), server.getPort(), Duration.ofSeconds(2));
+      try {
+        // The launcher hands the job to another container, which only knows its ID
+        ComputeJobRegistry running = new ComputeJobRegistry(regions(provider).region(CacheRegions.COMPUTE_JOBS), (job, worker) -> {
+        });
+        AtomicInteger runs = new AtomicInteger();
+        ComputeJobRegistry accepting = new ComputeJobRegistry(regions(provider).region(CacheRegions.COMPUTE_JOBS), (job, worker) -> running.run(job.getJobId(), started -> runs.incrementAndGet()));
+
+        ComputeJob job = accepting.submit(MATRIX_ID, TENANT_ID, started -> {
+        });
+
+        assertThat(runs).hasValue(1);
+        assertThat(accepting.find(job.getJobId(), TENANT_ID)).hasValueSatisfying(done -> assertThat(done.getStatus()).isEqualTo(ComputeJob.Status.SUCCEEDED));
+      }
+      finally {
+        provider.close();
+      }
+    }
+  }
+
+  @Test
+  void jobs_areNotSharedByContainersWithoutSecondLevel() {
+    ComputeJobRegistry running = new ComputeJobRegistry(CacheRegions.inMemory().region(CacheRegions.COMPUTE_JOBS), (job, worker) -> {
+    });
+    ComputeJobRegistry accepting = new ComputeJobRegistry(CacheRegions.inMemory().region(CacheRegions.COMPUTE_JOBS), (job, worker) -> assertThat(running.run(job.getJobId(), started -> {
+    })).isEmpty());
+
+    ComputeJob job = accepting.submit(MATRIX_ID, TENANT_ID, started -> {
+    });
+
+    assertThat(accepting.find(job.getJobId(), TENANT_ID)).hasValueSatisfying(lost -> assertThat(lost.getStatus()).isEqualTo(ComputeJob.Status.QUEUED));
+  }
+
+  @Test
+  void forFunction_withoutSecondLevel_runsJobBeforeResponding() {
+    ComputeJobLauncher launcher = ComputeJobLauncher.forFunction("agilecheckup-api", false);
+    ComputeJobRegistry lambda = new ComputeJobRegistry(CacheRegions.inMemory().region(CacheRegions.COMPUTE_JOBS), launcher);
+
+    ComputeJob job = lambda.submit(MATRIX_ID, TENANT_ID, started -> {
+    });
+
+    assertThat(launcher).isNotInstanceOf(LambdaComputeJobLauncher.class);
+    assertThat(lambda.find(job.getJobId(), TENANT_ID)).hasValueSatisfying(done -> assertThat(done.getStatus()).isEqualTo(ComputeJob.Status.SUCCEEDED));
+  }
+
+  @Test
+  void forFunction_withSecondLevel_invokesFunction() {
+    assertThat(ComputeJobLauncher.forFunction("agilecheckup-api", true)).isInstanceOf(LambdaComputeJobLauncher.class);
+    assertThat(ComputeJobLauncher.forFunction(null, true)).isNotInstanceOf(LambdaComputeJobLauncher.class);
+  }
+
+  private static CacheRegions regions(RedisCacheProvider provider) {
+    return CacheRegions.fromConfig(CacheConfig.load(), provider, Duration.ofSeconds(30));
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
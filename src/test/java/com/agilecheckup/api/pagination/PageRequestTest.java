@@ -0,0 +1,81 @@
+package com.agilecheckup.api.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.agilecheckup.gate.dto.CursorPageResponse;
+
+class PageRequestTest {
+
+  @Test
+  void from_withoutLimitOrCursor_shouldNotPage() {
+    assertThat(PageRequest.from(null)).isEmpty();
+    assertThat(PageRequest.from(Map.of("tenantId", "tenant-1"))).isEmpty();
+  }
+
+  @Test
+  void from_shouldDefaultLimitAndRejectInvalidParameters() {
+    assertThat(PageRequest.from(Map.of("cursor", "")).map(PageRequest::getLimit)).contains(PageRequest.DEFAULT_LIMIT);
+    assertThatThrownBy(() -> PageRequest.from(Map.of("limit", "0"))).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PageRequest.from(Map.of("limit", String.valueOf(PageRequest.MAX_LIMIT + 1)))).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PageRequest.from(Map.of("limit", "ten"))).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PageRequest.from(Map.of("cursor", "not-a-cursor"))).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void fromOrFirstPage_withoutLimitOrCursor_shouldPageWithDefaultLimit() {
+    PageRequest page = PageRequest.fromOrFirstPage(Map.of("tenantId", "tenant-1"));
+
+    assertThat(page.getLimit()).isEqualTo(PageRequest.DEFAULT_LIMIT);
+    assertThat(page.getAfterId()).isNull();
+    assertThat(PageRequest.fromOrFirstPage(null).getLimit()).isEqualTo(PageRequest.DEFAULT_LIMIT);
+    assertThat(PageRequest.fromOrFirstPage(Map.of("limit", "10")).getLimit()).isEqualTo(10);
+  }
+
+  @Test
+  void slice_shouldWalkTheWholeListInIdOrder() {
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      ids.add(String.format("id-%02d", i));
+    }
+    List<String> shuffled = new ArrayList<>(ids);
+    Collections.shuffle(shuffled);
+
+    List<String> seen = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      PageRequest page = PageRequest.from(cursor == null ? Map.of("limit", "10") : Map.of("limit", "10", "cursor", cursor)).orElseThrow();
+      CursorPageResponse<String> response = page.slice(shuffled, Function.identity());
+      seen.addAll(response.getItems());
+      cursor = response.getNextCursor();
+      pages++;
+    }
+    while (cursor != null);
+
+    assertThat(pages).isEqualTo(3);
+    assertThat(seen).isEqualTo(ids);
+  }
+
+  @Test
+  void slice_shouldResumeAfterCursorWhenItemsAreAdded() {
+    PageRequest first = PageRequest.from(Map.of("limit", "2")).orElseThrow();
+    CursorPageResponse<String> firstPage = first.slice(List.of("b", "d", "a", "c"), Function.identity());
+
+    Optional<PageRequest> second = PageRequest.from(Map.of("limit", "2", "cursor", firstPage.getNextCursor()));
+    CursorPageResponse<String> secondPage = second.orElseThrow().slice(List.of("b", "d", "a", "c", "aa"), Function.identity());
+
+    assertThat(firstPage.getItems()).containsExactly("a", "b");
+    assertThat(secondPage.getItems()).containsExactly("c", "d");
+    assertThat(secondPage.getNextCursor()).isNull();
+  }
+}
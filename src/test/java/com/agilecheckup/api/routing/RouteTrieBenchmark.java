@@ -0,0 +1,125 @@
+package com.agilecheckup.api.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the route trie against the regex chain it replaced, for growing
+ * route counts. Each resource registers the same five CRUD-style routes the
+ * handlers use, and requests are spread across all resources so the regex
+ * chain pays its average scan cost.
+ *
+ * Run the main method from the test classpath, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteTrieBenchmark {
+
+  private static final int ROUTES_PER_RESOURCE = 5;
+
+  @Param({"10", "100", "1000"})
+  private int routeCount;
+
+  private RouteTrie<Integer> trie;
+  private List<RegexRoute> regexChain;
+  private String[] methods;
+  private String[] paths;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    trie = new RouteTrie<>();
+    regexChain = new ArrayList<>();
+    int resources = Math.max(1, routeCount / ROUTES_PER_RESOURCE);
+    methods = new String[resources * 2];
+    paths = new String[resources * 2];
+
+    for (int i = 0; i < resources; i++) {
+      String resource = "resource" + i;
+      addRoute("GET", "/" + resource, "^/" + resource + "/?$");
+      addRoute("POST", "/" + resource, "^/" + resource + "/?$");
+      addRoute("GET", "/" + resource + "/{id}", "^/" + resource + "/([^/]+)/?$");
+      addRoute("PUT", "/" + resource + "/{id}", "^/" + resource + "/([^/]+)/?$");
+      addRoute("GET", "/" + resource + "/{id}/dashboard", "^/" + resource + "/([^/]+)/dashboard/?$");
+
+      methods[i * 2] = "GET";
+      paths[i * 2] = "/" + resource + "/a1b2c3d4-e5f6";
+      methods[i * 2 + 1] = "GET";
+      paths[i * 2 + 1] = "/" + resource + "/a1b2c3d4-e5f6/dashboard";
+    }
+  }
+
+  @Benchmark
+  public Object trie() {
+    int index = nextIndex();
+    return trie.match(methods[index], paths[index]).orElse(null);
+  }
+
+  @Benchmark
+  public Object regexChain() {
+    int index = nextIndex();
+    String method = methods[index];
+    String path = paths[index];
+    for (RegexRoute route : regexChain) {
+      if (!route.method.equals(method)) {
+        continue;
+      }
+      Matcher matcher = route.pattern.matcher(path);
+      if (matcher.matches()) {
+        return matcher.groupCount() > 0 ? matcher.group(1) : route.target;
+      }
+    }
+    return null;
+  }
+
+  private void addRoute(String method, String template, String regex) {
+    int target = regexChain.size();
+    trie.add(method, template, target);
+    regexChain.add(new RegexRoute(method, Pattern.compile(regex), target));
+  }
+
+  private int nextIndex() {
+    int index = next;
+    next = index + 1 == paths.length ? 0 : index + 1;
+    return index;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(RouteTrieBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  private static final class RegexRoute {
+    private final String method;
+    private final Pattern pattern;
+    private final Integer target;
+
+    private RegexRoute(String method, Pattern pattern, Integer target) {
+      this.method = method;
+      this.pattern = pattern;
+      this.target = target;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.agilecheckup.api.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RouteTrieTest {
+
+  private RouteTrie<String> trie;
+
+  @BeforeEach
+  void setUp() {
+    trie = new RouteTrie<String>()
+        .add("GET", "/questions", "getAll")
+        .add("GET", "/questions/{id}", "getById")
+        .add("PUT", "/questions/{id}", "update")
+        .add("GET", "/questions/next", "next")
+        .add("GET", "/questions/matrix/{matrixId}", "byMatrix")
+        .add("GET", "/dashboard-analytics/team/{assessmentMatrixId}/{teamId}", "team")
+        .add("POST", "/dashboard-analytics/compute/{assessmentMatrixId}", "compute")
+        .add(RouteTrie.ANY_METHOD, "/dashboard-analytics/compute/{assessmentMatrixId}", "computeWrongMethod");
+  }
+
+  @Test
+  void match_shouldReturnLiteralRoute() {
+    Optional<RouteMatch<String>> match = trie.match("GET", "/questions");
+
+    assertThat(match).isPresent();
+    assertThat(match.get().getTarget()).isEqualTo("getAll");
+    assertThat(match.get().getPathParameters()).isEmpty();
+  }
+
+  @Test
+  void match_shouldExtractPathParameter() {
+    Optional<RouteMatch<String>> match = trie.match("GET", "/questions/q-123");
+
+    assertThat(match).isPresent();
+    assertThat(match.get().getTarget()).isEqualTo("getById");
+    assertThat(match.get().getTemplate()).isEqualTo("/questions/{id}");
+    assertThat(match.get().getPathParameter("id")).isEqualTo("q-123");
+  }
+
+  @Test
+  void match_shouldExtractMultiplePathParameters() {
+    Optional<RouteMatch<String>> match = trie.match("GET", "/dashboard-analytics/team/matrix-1/team-2");
+
+    assertThat(match).isPresent();
+    assertThat(match.get().getPathParameters())
+        .containsEntry("assessmentMatrixId", "matrix-1")
+        .containsEntry("teamId", "team-2")
+        .hasSize(2);
+  }
+
+  @Test
+  void match_shouldPreferLiteralOverParameter() {
+    assertThat(trie.match("GET", "/questions/next").map(RouteMatch::getTarget)).contains("next");
+  }
+
+  @Test
+  void match_shouldBacktrackToParameter_whenLiteralHasNoRouteForMethod() {
+    Optional<RouteMatch<String>> match = trie.match("PUT", "/questions/next");
+
+    assertThat(match).isPresent();
+    assertThat(match.get().getTarget()).isEqualTo("update");
+    assertThat(match.get().getPathParameter("id")).isEqualTo("next");
+  }
+
+  @Test
+  void match_shouldBacktrackToParameter_whenLiteralSubtreeDoesNotMatch() {
+    Optional<RouteMatch<String>> match = trie.match("GET", "/questions/matrix");
+
+    assertThat(match).isPresent();
+    assertThat(match.get().getTarget()).isEqualTo("getById");
+    assertThat(match.get().getPathParameter("id")).isEqualTo("matrix");
+  }
+
+  @Test
+  void match_shouldIgnoreTrailingSlash() {
+    assertThat(trie.match("GET", "/questions/").map(RouteMatch::getTarget)).contains("getAll");
+    assertThat(trie.match("GET", "/questions/matrix/m-1/").map(RouteMatch::getTarget)).contains("byMatrix");
+  }
+
+  @Test
+  void match_shouldFallBackToAnyMethodRoute() {
+    assertThat(trie.match("POST", "/dashboard-analytics/compute/m-1").map(RouteMatch::getTarget)).contains("compute");
+    assertThat(trie.match("GET", "/dashboard-analytics/compute/m-1").map(RouteMatch::getTarget)).contains("computeWrongMethod");
+  }
+
+  @Test
+  void match_shouldReturnEmpty_whenNoRouteMatches() {
+    assertThat(trie.match("DELETE", "/questions/q-1")).isEmpty();
+    assertThat(trie.match("GET", "/questions/matrix/m-1/extra")).isEmpty();
+    assertThat(trie.match("GET", "/unknown")).isEmpty();
+    assertThat(trie.match("GET", "/questions//next")).isEmpty();
+  }
+
+  @Test
+  void match_shouldReturnEmpty_whenMethodOrPathIsNull() {
+    assertThat(trie.match(null, "/questions")).isEmpty();
+    assertThat(trie.match("GET", null)).isEmpty();
+  }
+
+  @Test
+  void add_shouldRejectDuplicateRoute() {
+    assertThatThrownBy(() -> trie.add("GET", "/questions/{questionId}", "duplicate"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("GET /questions/{questionId}");
+  }
+
+  @Test
+  void getRoutes_shouldReturnRoutesInRegistrationOrder() {
+    assertThat(trie.getRoutes()).hasSize(8);
+    assertThat(trie.getRoutes().get(1).getTemplate()).isEqualTo("/questions/{id}");
+    assertThat(trie.getRoutes().get(1).getParameterNames()).containsExactly("id");
+  }
+
+  @Test
+  void firstSegment_shouldReturnResourceType() {
+    assertThat(RouteTrie.firstSegment("/teams/123")).isEqualTo("teams");
+    assertThat(RouteTrie.firstSegment("/teams")).isEqualTo("teams");
+    assertThat(RouteTrie.firstSegment("teams/123")).isEqualTo("teams");
+  }
+}
@@ -0,0 +1,55 @@
+package com.agilecheckup.api.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+class FieldSetTest {
+
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private static final String TEAM = "{\"id\":\"team-1\",\"name\":\"Alpha\",\"description\":\"Team\",\"department\":{\"id\":\"dept-1\",\"name\":\"Engineering\",\"description\":\"Dept\"}}";
+
+  @Test
+  void filter_shouldKeepListedAndNestedProperties() throws IOException {
+    assertThat(FieldSet.parse("id,name").filter(TEAM, JSON, false)).isEqualTo("{\"id\":\"team-1\",\"name\":\"Alpha\"}");
+    assertThat(FieldSet.parse("id,department.name").filter(TEAM, JSON, false)).isEqualTo("{\"id\":\"team-1\",\"department\":{\"name\":\"Engineering\"}}");
+    // A parent selects all of its properties
+    assertThat(FieldSet.parse("department,department.name").filter(TEAM, JSON, false)).isEqualTo("{\"department\":{\"id\":\"dept-1\",\"name\":\"Engineering\",\"description\":\"Dept\"}}");
+  }
+
+  @Test
+  void filter_arrayOrPage_shouldFilterEveryItem() throws IOException {
+    String teams = "[" + TEAM + ",{\"id\":\"team-2\",\"department\":null}]";
+    String page = "{\"items\":" + teams + ",\"nextCursor\":\"djE6dGVhbS0y\",\"limit\":2}";
+
+    assertThat(FieldSet.parse("name").filter(teams, JSON, false)).isEqualTo("[{\"name\":\"Alpha\"},{}]");
+    assertThat(FieldSet.parse("id").filter(page, JSON, true)).isEqualTo("{\"items\":[{\"id\":\"team-1\"},{\"id\":\"team-2\"}],\"nextCursor\":\"djE6dGVhbS0y\",\"limit\":2}");
+  }
+
+  @Test
+  void parse_shouldReuseFieldSetAndTellRequestedProperties() {
+    FieldSet fieldSet = FieldSet.parse("id,department.name");
+
+    assertThat(FieldSet.parse("id,department.name")).isSameAs(fieldSet);
+    assertThat(fieldSet.requests("department")).isTrue();
+    assertThat(FieldSet.parse("id,name").requests("department")).isFalse();
+  }
+
+  @Test
+  void parse_invalidFields_shouldThrow() {
+    assertThatThrownBy(() -> FieldSet.parse(" , ")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> FieldSet.parse("department..name")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> FieldSet.parse("id,{name}")).isInstanceOf(IllegalArgumentException.class);
+    StringBuilder tooMany = new StringBuilder("last");
+    for (int i = 0; i < FieldSet.MAX_FIELDS; i++) {
+      tooMany.append(",f").append(i);
+    }
+    assertThatThrownBy(() -> FieldSet.parse(tooMany.toString())).isInstanceOf(IllegalArgumentException.class);
+  }
+}
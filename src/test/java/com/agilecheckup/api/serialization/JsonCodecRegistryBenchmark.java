@@ -0,0 +1,106 @@
+package com.agilecheckup.api.serialization;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.agilecheckup.gate.dto.DashboardResponse;
+import com.agilecheckup.gate.dto.EmployeeAssessmentDetail;
+import com.agilecheckup.gate.dto.EmployeePageResponse;
+import com.agilecheckup.gate.dto.TeamSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Compares the handlers' former serialization path (generic
+ * {@link ObjectMapper#writeValueAsString} and readValue into Map.class) with
+ * the pre-bound codecs of {@link JsonCodecRegistry}, on dashboard-sized
+ * payloads: a page of employee details plus the team summaries.
+ *
+ * Run the main method from the test classpath, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecRegistryBenchmark {
+
+  @Param({"20", "100", "500"})
+  private int employees;
+
+  private ObjectMapper objectMapper;
+  private JsonCodecRegistry json;
+  private DashboardResponse dashboard;
+  private String requestBody;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    objectMapper = new ObjectMapper();
+    objectMapper.registerModule(new JavaTimeModule());
+    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    json = new JsonCodecRegistry(objectMapper);
+
+    List<EmployeeAssessmentDetail> details = new ArrayList<>();
+    for (int i = 0; i < employees; i++) {
+      details.add(EmployeeAssessmentDetail.builder().employeeAssessmentId("ea-" + i).employeeName("Employee " + i).employeeEmail("employee" + i + "@example.com").teamId("team-" + (i % 10)).status(i % 3 == 0 ? "COMPLETED" : "IN_PROGRESS").answeredQuestions(i % 40).currentScore(50.0 + i % 50).lastActivityDate(LocalDateTime.of(2024, 1, 1, 9, 0).plusHours(i)).build());
+    }
+    List<TeamSummary> teams = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      teams.add(TeamSummary.builder().teamId("team-" + i).teamName("Team " + i).totalEmployees(employees / 10).completedAssessments(employees / 30).completionPercentage(33.3).averageScore(72.5).build());
+    }
+    EmployeePageResponse page = EmployeePageResponse.builder().content(details).page(1).pageSize(employees).totalCount(employees).build();
+    dashboard = DashboardResponse.builder().matrixId("matrix-1").matrixName("Engineering Matrix").potentialScore(Map.of("score", 100.0)).teamSummaries(teams).employees(page).totalEmployees(employees).completedAssessments(employees / 3).build();
+    requestBody = objectMapper.writeValueAsString(Map.of("tenantId", "tenant-1", "name", "Team", "description", "Description", "departmentId", "department-1"));
+  }
+
+  @Benchmark
+  public String objectMapperWrite() throws Exception {
+    return objectMapper.writeValueAsString(dashboard);
+  }
+
+  @Benchmark
+  public String registryWrite() throws Exception {
+    return json.write(dashboard);
+  }
+
+  @Benchmark
+  public byte[] registryWriteBytes() throws Exception {
+    return json.writeBytes(dashboard);
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public Map<String, Object> objectMapperReadMap() throws Exception {
+    return objectMapper.readValue(requestBody, Map.class);
+  }
+
+  @Benchmark
+  public Map<String, Object> registryReadMap() throws Exception {
+    return json.readMap(requestBody);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JsonCodecRegistryBenchmark.class.getSimpleName()).build()).run();
+  }
+}
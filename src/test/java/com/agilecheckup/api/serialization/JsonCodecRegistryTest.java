@@ -0,0 +1,98 @@
+package com.agilecheckup.api.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.agilecheckup.gate.dto.DashboardResponse;
+import com.agilecheckup.gate.dto.EmployeeAssessmentDetail;
+import com.agilecheckup.gate.dto.EmployeePageResponse;
+import com.agilecheckup.gate.dto.TeamSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class JsonCodecRegistryTest {
+
+  private ObjectMapper objectMapper;
+  private JsonCodecRegistry json;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+    objectMapper.registerModule(new JavaTimeModule());
+    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    json = new JsonCodecRegistry(objectMapper);
+  }
+
+  @Test
+  void writerFor_shouldBuildWriterOncePerType() {
+    assertThat(json.writerFor(DashboardResponse.class)).isSameAs(json.writerFor(DashboardResponse.class));
+    assertThat(json.readerFor(DashboardResponse.class)).isSameAs(json.readerFor(DashboardResponse.class));
+  }
+
+  @Test
+  void write_shouldMatchObjectMapperOutput() throws Exception {
+    DashboardResponse response = buildDashboardResponse();
+
+    assertThat(json.write(response)).isEqualTo(objectMapper.writeValueAsString(response));
+    assertThat(json.write(Collections.singletonList(response))).isEqualTo(objectMapper.writeValueAsString(Collections.singletonList(response)));
+    assertThat(json.write(null)).isEqualTo("null");
+  }
+
+  @Test
+  void writeBytes_shouldReturnUtf8Json() throws Exception {
+    Map<String, String> response = Map.of("name", "Équipe Ação");
+
+    byte[] bytes = json.writeBytes(response);
+
+    assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(response));
+  }
+
+  @Test
+  void write_shouldNotLeakPreviousContent_whenBufferIsReused() throws Exception {
+    json.write(buildDashboardResponse());
+
+    assertThat(json.write(Map.of("a", 1))).isEqualTo("{\"a\":1}");
+  }
+
+  @Test
+  void write_shouldHandleLargePayloads() throws Exception {
+    char[] chars = new char[JsonCodecRegistry.MAX_RETAINED_BUFFER_BYTES + 10];
+    Arrays.fill(chars, 'x');
+    String large = new String(chars);
+
+    assertThat(json.write(large)).hasSize(large.length() + 2);
+    assertThat(json.write("small")).isEqualTo("\"small\"");
+  }
+
+  @Test
+  void readMap_shouldParseRequestBody() throws Exception {
+    Map<String, Object> body = json.readMap("{\"tenantId\":\"tenant-1\",\"count\":2}");
+
+    assertThat(body).containsEntry("tenantId", "tenant-1").containsEntry("count", 2);
+  }
+
+  @Test
+  void read_shouldParseTypedRequestBody() throws Exception {
+    TeamSummary summary = json.read("{\"teamId\":\"team-1\",\"totalEmployees\":3}", TeamSummary.class);
+
+    assertThat(summary.getTeamId()).isEqualTo("team-1");
+    assertThat(summary.getTotalEmployees()).isEqualTo(3);
+  }
+
+  private DashboardResponse buildDashboardResponse() {
+    EmployeeAssessmentDetail detail = EmployeeAssessmentDetail.builder().employeeAssessmentId("ea-1").employeeName("John Doe").employeeEmail("john@example.com").teamId("team-1").status("COMPLETED").answeredQuestions(10).currentScore(85.5).lastActivityDate(LocalDateTime.of(2024, 1, 15, 10, 30)).build();
+    List<TeamSummary> teams = Collections.singletonList(TeamSummary.builder().teamId("team-1").teamName("Team One").totalEmployees(1).completedAssessments(1).completionPercentage(100.0).averageScore(85.5).build());
+    EmployeePageResponse page = EmployeePageResponse.builder().content(Collections.singletonList(detail)).page(1).pageSize(20).totalCount(1).build();
+    return DashboardResponse.builder().matrixId("matrix-1").matrixName("Matrix").potentialScore(Map.of("total", 100)).teamSummaries(teams).employees(page).totalEmployees(1).completedAssessments(1).build();
+  }
+}
@@ -1,8 +1,19 @@
 package com.agilecheckup.gate.cache;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -181,6 +192,343 @@ class CacheManagerTest {
     assertThat(stats.getSize()).isEqualTo(1);
   }
 
+  @Test
+  void invalidateTag_shouldRemoveOnlyEntriesCarryingTheTag() {
+    cacheManager.put("dashboard:m1:1", "page1", CacheTags.matrix("m1"));
+    cacheManager.put("dashboard:m1:2", "page2", CacheTags.matrix("m1"), CacheTags.tenant("t1"));
+    cacheManager.put("dashboard:m2:1", "other", CacheTags.matrix("m2"));
+
+    int invalidated = cacheManager.invalidateTag(CacheTags.matrix("m1"));
+
+    assertThat(invalidated).isEqualTo(2);
+    assertThat(cacheManager.get("dashboard:m1:1", String.class)).isEmpty();
+    assertThat(cacheManager.get("dashboard:m1:2", String.class)).isEmpty();
+    assertThat(cacheManager.get("dashboard:m2:1", String.class)).contains("other");
+    assertThat(cacheManager.taggedKeyCount(CacheTags.matrix("m1"))).isZero();
+  }
+
+  @Test
+  void invalidateTag_shouldReturnZero_whenTagIsUnknownOrNull() {
+    cacheManager.put("key", "value", CacheTags.tenant("t1"));
+
+    assertThat(cacheManager.invalidateTag(CacheTags.tenant("t2"))).isZero();
+    assertThat(cacheManager.invalidateTag(null)).isZero();
+    assertThat(cacheManager.get("key", String.class)).contains("value");
+  }
+
+  @Test
+  void put_shouldStoreTaggedValue_whenTagsRepeat() {
+    cacheManager.put("key", "value", CacheTags.matrix("m1"), CacheTags.matrix("m1"));
+
+    assertThat(cacheManager.get("key", String.class)).contains("value");
+    assertThat(cacheManager.taggedKeyCount(CacheTags.matrix("m1"))).isEqualTo(1);
+  }
+
+  @Test
+  void getWithLoader_shouldLoadOnceAndServeFromCache() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+
+    Optional<String> first = cacheManager.get("key", String.class, () -> "value" + loads.incrementAndGet());
+    Optional<String> second = cacheManager.get("key", String.class, () -> "value" + loads.incrementAndGet());
+
+    assertThat(first).contains("value1");
+    assertThat(second).contains("value1");
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(cacheManager.getStats().getLoadCount()).isEqualTo(1);
+  }
+
+  @Test
+  void getWithLoader_shouldShareInFlightLoad_whenCallersMissConcurrently() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch releaseLoad = new CountDownLatch(1);
+
+    CompletableFuture<Optional<String>> leader = CompletableFuture.supplyAsync(() -> getUnchecked("key", () -> {
+      loads.incrementAndGet();
+      loadStarted.countDown();
+      releaseLoad.await();
+      return "value";
+    }));
+    loadStarted.await(5, TimeUnit.SECONDS);
+    CompletableFuture<Optional<String>> follower = CompletableFuture.supplyAsync(() -> getUnchecked("key", () -> "value" + loads.incrementAndGet()));
+    while (cacheManager.getStats().getCoalescedLoadCount() == 0) {
+      Thread.onSpinWait();
+    }
+    releaseLoad.countDown();
+
+    assertThat(leader.get(5, TimeUnit.SECONDS)).contains("value");
+    assertThat(follower.get(5, TimeUnit.SECONDS)).contains("value");
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  void getWithLoader_shouldLoadOnItsOwn_whenSharedLoadTimesOut() throws Exception {
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch releaseLoad = new CountDownLatch(1);
+    CompletableFuture<Optional<String>> stuck = CompletableFuture.supplyAsync(() -> getUnchecked("key", () -> {
+      loadStarted.countDown();
+      releaseLoad.await();
+      return "slow";
+    }));
+    loadStarted.await(5, TimeUnit.SECONDS);
+
+    Optional<String> result = cacheManager.get("key", String.class, () -> "fast", Duration.ofMillis(10));
+
+    assertThat(result).contains("fast");
+    releaseLoad.countDown();
+    stuck.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void getWithLoader_shouldNotCache_whenLoaderReturnsNull() throws Exception {
+    Optional<String> result = cacheManager.get("key", String.class, () -> null);
+
+    assertThat(result).isEmpty();
+    assertThat(cacheManager.get("key", String.class, () -> "value")).contains("value");
+  }
+
+  @Test
+  void getWithLoader_shouldPropagateLoaderFailure() {
+    assertThatThrownBy(() -> cacheManager.get("key", String.class, () -> {
+      throw new IllegalStateException("backend down");
+    })).isInstanceOf(IllegalStateException.class).hasMessage("backend down");
+
+    assertThat(cacheManager.getStats().getLoadFailureCount()).isEqualTo(1);
+    assertThat(cacheManager.get("key", String.class)).isEmpty();
+  }
+
+  @Test
+  void getWithLoader_shouldTagLoadedEntry() throws Exception {
+    cacheManager.get("key", String.class, () -> "value", CacheTags.matrix("m1"));
+
+    cacheManager.invalidateTag(CacheTags.matrix("m1"));
+
+    assertThat(cacheManager.get("key", String.class)).isEmpty();
+  }
+
+  @Test
+  void getWithLoader_shouldNotCache_whenItsTagIsInvalidatedDuringLoad() throws Exception {
+    Optional<String> loaded = cacheManager.get("key", String.class, () -> {
+      cacheManager.invalidateTag(CacheTags.matrix("m1"));
+      return "read before the write";
+    }, CacheTags.matrix("m1"));
+
+    assertThat(loaded).contains("read before the write");
+    assertThat(cacheManager.get("key", String.class)).isEmpty();
+  }
+
+  @Test
+  void getWithLoader_shouldNotCache_whenItsKeyIsEvictedDuringLoad() throws Exception {
+    cacheManager.get("key", String.class, () -> {
+      cacheManager.evict("key");
+      return "read before the write";
+    });
+
+    assertThat(cacheManager.get("key", String.class)).isEmpty();
+  }
+
+  @Test
+  void getWithLoader_shouldCache_whenOnlyUnrelatedEntriesAreInvalidatedDuringLoad() throws Exception {
+    cacheManager.get("key", String.class, () -> {
+      cacheManager.invalidateTag(CacheTags.matrix("m2"));
+      cacheManager.evict("other");
+      return "value";
+    }, CacheTags.matrix("m1"));
+
+    assertThat(cacheManager.get("key", String.class)).contains("value");
+  }
+
+  @Test
+  void getWithLoader_shouldRefreshOnCaller_whenPastRefreshAge() throws Exception {
+    AtomicLong nanos = new AtomicLong();
+    CacheManager refreshing = new CacheManager(nanos::get);
+    refreshing.configure("dashboard:", Duration.ofMinutes(1), Duration.ofMinutes(10));
+    AtomicInteger loads = new AtomicInteger();
+    refreshing.get("dashboard:m1", String.class, () -> "v" + loads.incrementAndGet());
+
+    nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+    Optional<String> refreshed = refreshing.get("dashboard:m1", String.class, () -> "v" + loads.incrementAndGet());
+
+    assertThat(refreshed).contains("v2");
+    assertThat(refreshing.get("dashboard:m1", String.class)).contains("v2");
+    assertThat(refreshing.getStats().getRefreshCount()).isEqualTo(1);
+  }
+
+  @Test
+  void getWithLoader_shouldServeCurrentEntry_whileAnotherCallerRefreshes() throws Exception {
+    AtomicLong nanos = new AtomicLong();
+    CacheManager refreshing = new CacheManager(nanos::get);
+    refreshing.configure("dashboard:", Duration.ofMinutes(1), Duration.ofMinutes(10));
+    refreshing.put("dashboard:m1", "v1");
+    nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+    CountDownLatch refreshStarted = new CountDownLatch(1);
+    CountDownLatch releaseRefresh = new CountDownLatch(1);
+
+    CompletableFuture<Optional<String>> refresher = CompletableFuture.supplyAsync(() -> {
+      try {
+        return refreshing.get("dashboard:m1", String.class, () -> {
+          refreshStarted.countDown();
+          releaseRefresh.await();
+          return "v2";
+        });
+      }
+      catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    refreshStarted.await(5, TimeUnit.SECONDS);
+    Optional<String> stale = refreshing.get("dashboard:m1", String.class, () -> "unexpected");
+    releaseRefresh.countDown();
+
+    assertThat(stale).contains("v1");
+    assertThat(refresher.get(5, TimeUnit.SECONDS)).contains("v2");
+    assertThat(refreshing.get("dashboard:m1", String.class)).contains("v2");
+  }
+
+  @Test
+  void getWithLoader_shouldKeepServingEntry_whenRefreshFails() throws Exception {
+    AtomicLong nanos = new AtomicLong();
+    CacheManager refreshing = new CacheManager(nanos::get);
+    refreshing.configure("dashboard:", Duration.ofMinutes(1), Duration.ofMinutes(10));
+    refreshing.put("dashboard:m1", "v1");
+
+    nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+    Optional<String> stale = refreshing.get("dashboard:m1", String.class, () -> {
+      throw new IllegalStateException("backend down");
+    });
+
+    assertThat(stale).contains("v1");
+    assertThat(refreshing.get("dashboard:m1", String.class)).contains("v1");
+    assertThat(refreshing.getStats().getRefreshFailureCount()).isEqualTo(1);
+
+    // The stale entry is only served until its hard TTL
+    nanos.addAndGet(Duration.ofMinutes(10).toNanos());
+    assertThat(refreshing.get("dashboard:m1", String.class)).isEmpty();
+  }
+
+  @Test
+  void get_shouldExpireEntry_afterHardTtlOfItsPrefix() {
+    AtomicLong nanos = new AtomicLong();
+    CacheManager refreshing = new CacheManager(nanos::get);
+    refreshing.configure("short:", null, Duration.ofMinutes(1));
+    refreshing.put("short:key", "value");
+    refreshing.put("other:key", "value");
+
+    nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+    assertThat(refreshing.get("short:key", String.class)).isEmpty();
+    assertThat(refreshing.get("other:key", String.class)).contains("value");
+  }
+
+  @Test
+  void configure_shouldRejectRefreshAfterNotBelowHardTtl() {
+    assertThatIllegalArgumentException().isThrownBy(() -> cacheManager.configure("dashboard:", Duration.ofMinutes(5), Duration.ofMinutes(5)));
+  }
+
+  @Test
+  void getStats_shouldReportEstimatedBytesAgainstBudget() {
+    CacheManager weighted = new CacheManager(System::nanoTime, 1024 * 1024);
+
+    weighted.put("small", "value");
+    weighted.put("large", new MaterializedResponse(new byte[10_000]));
+
+    CacheManager.CacheStats stats = weighted.getStats();
+    assertThat(stats.getMaximumBytes()).isEqualTo(1024 * 1024);
+    assertThat(stats.getBytesInUse()).isGreaterThan(10_000);
+  }
+
+  @Test
+  void fitToMemoryLimit_shouldLowerBudgetToShareOfMemoryLimit() {
+    cacheManager.fitToMemoryLimit(1);
+
+    assertThat(cacheManager.getStats().getMaximumBytes()).isLessThan(1024 * 1024).isPositive();
+  }
+
+  @Test
+  void get_shouldReadSecondLevel_whenAnotherContainerCachedTheValue() throws Exception {
+    try (LocalRedisServer server = new LocalRedisServer()) {
+      CacheManager first = twoTier(server);
+      CacheManager second = twoTier(server);
+      MaterializedResponse response = MaterializedResponse.of("{\"a\":1}".getBytes(StandardCharsets.UTF_8), 0);
+
+      first.put("analytics-overview:m1", response, CacheTags.matrix("m1"));
+      Optional<MaterializedResponse> shared = second.get("analytics-overview:m1", MaterializedResponse.class);
+
+      assertThat(shared).hasValueSatisfying(value -> {
+        assertThat(value.bodyAsString()).isEqualTo("{\"a\":1}");
+        assertThat(value.contentHash()).isEqualTo(response.contentHash());
+      });
+      assertThat(second.getStats().getSecondLevelHitCount()).isEqualTo(1);
+
+      // The tags travel with the value, so invalidating in either container clears both levels
+      second.invalidateTag(CacheTags.matrix("m1"));
+      assertThat(second.get("analytics-overview:m1", MaterializedResponse.class)).isEmpty();
+      assertThat(twoTier(server).get("analytics-overview:m1", MaterializedResponse.class)).isEmpty();
+    }
+  }
+
+  @Test
+  void get_shouldKeepValuesWithoutCodecInMemoryOnly() throws Exception {
+    try (LocalRedisServer server = new LocalRedisServer()) {
+      twoTier(server).put("key", "value");
+
+      assertThat(twoTier(server).get("key", String.class)).isEmpty();
+    }
+  }
+
+  @Test
+  void getWithLoader_shouldFallBackToMemory_whenSecondLevelFails() throws Exception {
+    CacheManager twoTier = new CacheManager(System::nanoTime, 1024 * 1024, new FailingProvider(), Duration.ofMinutes(1));
+    MaterializedResponse response = new MaterializedResponse("{}".getBytes(StandardCharsets.UTF_8));
+
+    Optional<MaterializedResponse> loaded = twoTier.get("key", MaterializedResponse.class, () -> response);
+    Optional<MaterializedResponse> cached = twoTier.get("key", MaterializedResponse.class, () -> null);
+
+    assertThat(loaded).containsSame(response);
+    assertThat(cached).containsSame(response);
+    // The first failure skips the second level for the retry delay
+    assertThat(twoTier.getStats().getSecondLevelFailureCount()).isEqualTo(1);
+  }
+
+  private static CacheManager twoTier(LocalRedisServer server) {
+    return new CacheManager(System::nanoTime, 1024 * 1024, new RedisCacheProvider(server.getHost(), server.getPort(), Duration.ofSeconds(2)), Duration.ofSeconds(30));
+  }
+
+  private static final class FailingProvider implements CacheProvider {
+    @Override
+    public Optional<byte[]> get(String key) {
+      throw new CacheBackendException("timed out");
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl, Set<String> tags) {
+      throw new CacheBackendException("timed out");
+    }
+
+    @Override
+    public void invalidateTag(String tag) {
+      throw new CacheBackendException("timed out");
+    }
+
+    @Override
+    public void delete(String key) {
+      throw new CacheBackendException("timed out");
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private Optional<String> getUnchecked(String key, Callable<String> loader) {
+    try {
+      return cacheManager.get(key, String.class, loader);
+    }
+    catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   // Test helper class
   @lombok.AllArgsConstructor
   @lombok.Getter
@@ -0,0 +1,83 @@
+package com.agilecheckup.gate.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class CacheRegionsTest {
+
+  @Test
+  void fromConfig_shouldSizeEachRegionByItsMemoryShare() {
+    Properties properties = new Properties();
+    properties.setProperty("cache.region.departments.memory-share", "0.2");
+    properties.setProperty("cache.region.questions.memory-share", "0.1");
+
+    CacheRegions regions = CacheRegions.fromConfig(new CacheConfig(properties), null, null);
+
+    long departments = regions.getStats().get(CacheRegions.DEPARTMENTS).getMaximumBytes();
+    long questions = regions.getStats().get(CacheRegions.QUESTIONS).getMaximumBytes();
+    assertThat(departments).isCloseTo(questions * 2, within(2L));
+  }
+
+  @Test
+  void fromConfig_shouldRejectRefreshAfterNotBelowTtl() {
+    Properties properties = new Properties();
+    properties.setProperty("cache.region.matrices.refresh-after-ms", "60000");
+    properties.setProperty("cache.region.matrices.ttl-ms", "60000");
+
+    assertThatThrownBy(() -> CacheRegions.fromConfig(new CacheConfig(properties), null, null)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void invalidateTag_shouldRemoveTaggedEntriesOfEveryRegion() {
+    CacheRegions regions = CacheRegions.inMemory();
+    regions.region(CacheRegions.DASHBOARDS).put("dashboard:m1", "dashboard", CacheTags.matrix("m1"));
+    regions.region(CacheRegions.ANALYTICS).put("analytics:m1", "analytics", CacheTags.matrix("m1"));
+    regions.region(CacheRegions.ANALYTICS).put("analytics:m2", "analytics", CacheTags.matrix("m2"));
+
+    int invalidated = regions.invalidateTag(CacheTags.matrix("m1"));
+
+    assertThat(invalidated).isEqualTo(2);
+    assertThat(regions.region(CacheRegions.DASHBOARDS).get("dashboard:m1", String.class)).isEmpty();
+    assertThat(regions.region(CacheRegions.ANALYTICS).get("analytics:m1", String.class)).isEmpty();
+    assertThat(regions.region(CacheRegions.ANALYTICS).get("analytics:m2", String.class)).contains("analytics");
+  }
+
+  @Test
+  void invalidateTag_shouldInvalidateSharedSecondLevelOnce() throws IOException {
+    try (LocalRedisServer server = new LocalRedisServer()) {
+      AtomicInteger invalidations = new AtomicInteger();
+      RedisCacheProvider provider = new RedisCacheProvider(server.getHost(), server.getPort(), Duration.ofSeconds(2)) {
+        @Override
+        public void invalidateTag(String tag) {
+          invalidations.incrementAndGet();
+          super.invalidateTag(tag);
+        }
+      };
+      try {
+        CacheRegions regions = CacheRegions.fromConfig(new CacheConfig(new Properties()), provider, Duration.ofSeconds(30));
+        regions.region(CacheRegions.DASHBOARDS).put("dashboard:m1", "dashboard", CacheTags.matrix("m1"));
+
+        regions.invalidateTag(CacheTags.matrix("m1"));
+
+        assertThat(invalidations).hasValue(1);
+        assertThat(regions.region(CacheRegions.DASHBOARDS).get("dashboard:m1", String.class)).isEmpty();
+      }
+      finally {
+        provider.close();
+      }
+    }
+  }
+
+  @Test
+  void region_shouldRejectUnknownName() {
+    assertThatThrownBy(() -> CacheRegions.inMemory().region("unknown")).isInstanceOf(IllegalArgumentException.class);
+  }
+}
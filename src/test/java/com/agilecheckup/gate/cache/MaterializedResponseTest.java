@@ -0,0 +1,41 @@
+package com.agilecheckup.gate.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class MaterializedResponseTest {
+
+  @Test
+  void of_shouldKeepSmallBodyUncompressed() {
+    MaterializedResponse response = MaterializedResponse.of("{\"a\":1}".getBytes(StandardCharsets.UTF_8), 1024);
+
+    assertThat(response.isCompressed()).isFalse();
+    assertThat(response.bodyAsString()).isEqualTo("{\"a\":1}");
+  }
+
+  @Test
+  void of_shouldCompressLargeBodyAndRestoreIt() {
+    String body = "{\"employees\":[" + "{\"name\":\"Employee\",\"score\":42.0},".repeat(500) + "{}]}";
+
+    MaterializedResponse response = MaterializedResponse.of(body.getBytes(StandardCharsets.UTF_8), 1024);
+
+    assertThat(response.isCompressed()).isTrue();
+    assertThat(response.bodyAsString()).isEqualTo(body);
+    assertThat(response.size()).isEqualTo(body.length());
+    assertThat(response.estimatedBytes()).isLessThan(body.length());
+  }
+
+  @Test
+  void contentHash_shouldDependOnBodyOnly() {
+    byte[] body = "{\"employees\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    MaterializedResponse plain = new MaterializedResponse(body);
+    MaterializedResponse compressed = MaterializedResponse.of(body, 0);
+
+    assertThat(plain.contentHash()).isEqualTo(compressed.contentHash());
+    assertThat(plain.contentHash()).isNotEqualTo(new MaterializedResponse("{}".getBytes(StandardCharsets.UTF_8)).contentHash());
+  }
+}
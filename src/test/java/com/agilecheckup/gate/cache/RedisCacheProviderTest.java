@@ -0,0 +1,93 @@
+package com.agilecheckup.gate.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RedisCacheProviderTest {
+
+  private LocalRedisServer server;
+  private RedisCacheProvider provider;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new LocalRedisServer();
+    provider = new RedisCacheProvider(server.getHost(), server.getPort(), Duration.ofSeconds(2));
+  }
+
+  @AfterEach
+  void tearDown() {
+    provider.close();
+    server.close();
+  }
+
+  @Test
+  void get_shouldReturnStoredValue() {
+    provider.put("key", bytes("value"), Duration.ofMinutes(1), Set.of());
+
+    assertThat(provider.get("key")).hasValueSatisfying(value -> assertThat(new String(value, StandardCharsets.UTF_8)).isEqualTo("value"));
+    assertThat(provider.get("missing")).isEmpty();
+  }
+
+  @Test
+  void get_shouldReturnEmpty_afterTtl() throws InterruptedException {
+    provider.put("key", bytes("value"), Duration.ofMillis(20), Set.of());
+
+    Thread.sleep(50);
+
+    assertThat(provider.get("key")).isEmpty();
+  }
+
+  @Test
+  void invalidateTag_shouldDeleteEveryKeyOfTheTag() {
+    provider.put("a", bytes("1"), Duration.ofMinutes(1), Set.of("matrix:m1"));
+    provider.put("b", bytes("2"), Duration.ofMinutes(1), Set.of("matrix:m1", "tenant:t1"));
+    provider.put("c", bytes("3"), Duration.ofMinutes(1), Set.of("tenant:t1"));
+
+    provider.invalidateTag("matrix:m1");
+
+    assertThat(provider.get("a")).isEmpty();
+    assertThat(provider.get("b")).isEmpty();
+    assertThat(provider.get("c")).isPresent();
+  }
+
+  @Test
+  void invalidateTag_shouldDeleteKeysOutlivingLaterPutsOfTheTag() throws InterruptedException {
+    provider.put("long", bytes("1"), Duration.ofMinutes(1), Set.of("tenant:t1"));
+    provider.put("short", bytes("2"), Duration.ofMillis(20), Set.of("tenant:t1"));
+
+    Thread.sleep(50);
+    provider.invalidateTag("tenant:t1");
+
+    assertThat(provider.get("long")).isEmpty();
+  }
+
+  @Test
+  void delete_shouldRemoveKey() {
+    provider.put("key", bytes("value"), Duration.ofMinutes(1), Set.of());
+
+    provider.delete("key");
+
+    assertThat(provider.get("key")).isEmpty();
+  }
+
+  @Test
+  void get_shouldFail_whenServerIsDown() {
+    server.close();
+    RedisCacheProvider unreachable = new RedisCacheProvider(server.getHost(), server.getPort(), Duration.ofMillis(200));
+
+    assertThatThrownBy(() -> unreachable.get("key")).isInstanceOf(CacheBackendException.class);
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,55 @@
+package com.agilecheckup.gate.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class TenantOwnershipCacheTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicInteger reads = new AtomicInteger();
+  private final TenantOwnershipCache ownership = new TenantOwnershipCache(Duration.ofHours(12), Duration.ofSeconds(30), nanos::get);
+
+  private Function<String, Optional<String>> loader(String tenantId) {
+    return id -> {
+      reads.incrementAndGet();
+      return Optional.ofNullable(tenantId);
+    };
+  }
+
+  @Test
+  void ownerOf_shouldReadOwnerOnceForTheWholeTtl() {
+    assertThat(ownership.ownerOf("matrix-1", loader("tenant-1"))).contains("tenant-1");
+    nanos.addAndGet(Duration.ofHours(11).toNanos());
+    assertThat(ownership.ownerOf("matrix-1", loader("tenant-1"))).contains("tenant-1");
+
+    assertThat(reads).hasValue(1);
+  }
+
+  @Test
+  void ownerOf_unknownResource_shouldBeRecheckedAfterNegativeTtl() {
+    assertThat(ownership.ownerOf("matrix-1", loader(null))).isEmpty();
+    assertThat(ownership.ownerOf("matrix-1", loader(null))).isEmpty();
+    nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+    assertThat(ownership.ownerOf("matrix-1", loader("tenant-1"))).contains("tenant-1");
+
+    assertThat(reads).hasValue(2);
+  }
+
+  @Test
+  void rememberAndEvict_shouldReplaceCachedOwner() {
+    ownership.ownerOf("matrix-1", loader(null));
+    ownership.remember("matrix-1", "tenant-1");
+    assertThat(ownership.ownerOf("matrix-1", loader(null))).contains("tenant-1");
+
+    ownership.evict("matrix-1");
+    assertThat(ownership.ownerOf("matrix-1", loader(null))).isEmpty();
+    assertThat(reads).hasValue(2);
+  }
+}